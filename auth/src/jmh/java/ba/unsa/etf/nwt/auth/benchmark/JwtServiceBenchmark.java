@@ -0,0 +1,88 @@
+package ba.unsa.etf.nwt.auth.benchmark;
+
+import ba.unsa.etf.nwt.auth.domain.Role;
+import ba.unsa.etf.nwt.auth.domain.User;
+import ba.unsa.etf.nwt.auth.exceptions.JwtException;
+import ba.unsa.etf.nwt.auth.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the token hot path: signing at login, and parsing plus authority extraction on every
+ * request through {@code JwtAuthorizationFilter}. {@code parseWithNewParser} builds the key and parser
+ * per call, as the service used to, and is kept as a reference point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    private static final String AUTHORITIES_KEY = "authorities";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setup() throws JwtException {
+        jwtService = new JwtService(SECRET, AUTHORITIES_KEY, Duration.ofHours(1));
+
+        user = new User("benchmark@example.com", "password");
+        user.setHandle(UUID.randomUUID());
+        user.setRole(Role.USER);
+
+        token = jwtService.generateToken(user);
+        claims = jwtService.resolveClaims(token);
+    }
+
+    @Benchmark
+    public String generate() throws JwtException {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtService.resolveClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseWithNewParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> authorities() {
+        return jwtService.getAuthoritiesFromClaims(claims);
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> parseAndAuthorities() {
+        return jwtService.getAuthoritiesFromClaims(jwtService.resolveClaims(token));
+    }
+}
@@ -1,23 +0,0 @@
-package ba.unsa.etf.nwt.auth.config;
-
-import ba.unsa.etf.nwt.auth.ws.interceptor.EventInterceptor;
-import com.netflix.discovery.EurekaClient;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.lang.NonNull;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class EventConfiguration {
-
-	@Bean
-	WebMvcConfigurer eventsConfigurer(final EurekaClient eurekaClient) {
-		return new WebMvcConfigurer() {
-			@Override
-			public void addInterceptors(@NonNull final InterceptorRegistry registry) {
-				registry.addInterceptor(new EventInterceptor(eurekaClient));
-			}
-		};
-	}
-}
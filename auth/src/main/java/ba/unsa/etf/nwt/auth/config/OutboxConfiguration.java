@@ -0,0 +1,34 @@
+package ba.unsa.etf.nwt.auth.config;
+
+import ba.unsa.etf.nwt.auth.messaging.outbox.OutboxRelay;
+import ba.unsa.etf.nwt.auth.repositories.OutboxMessageRepository;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+	@Bean
+	public OutboxRelay outboxRelay(
+			final OutboxMessageRepository outboxMessageRepository,
+			final PlatformTransactionManager transactionManager,
+			final RabbitTemplate rabbitTemplate,
+			final OutboxProperties properties
+	) {
+		return new OutboxRelay(
+				outboxMessageRepository,
+				new TransactionTemplate(transactionManager),
+				rabbitTemplate,
+				properties.batchSize(),
+				properties.pollInterval(),
+				properties.confirmTimeout(),
+				properties.retention(),
+				properties.lagWarning()
+		);
+	}
+}
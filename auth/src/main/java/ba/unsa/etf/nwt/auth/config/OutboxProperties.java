@@ -0,0 +1,14 @@
+package ba.unsa.etf.nwt.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("outbox")
+public record OutboxProperties(@DefaultValue("100") int batchSize,
+							   @DefaultValue("500ms") Duration pollInterval,
+							   @DefaultValue("5s") Duration confirmTimeout,
+							   @DefaultValue("1d") Duration retention,
+							   @DefaultValue("30s") Duration lagWarning) {
+}
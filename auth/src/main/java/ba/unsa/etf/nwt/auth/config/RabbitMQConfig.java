@@ -2,6 +2,7 @@ package ba.unsa.etf.nwt.auth.config;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -26,11 +27,19 @@ public class RabbitMQConfig {
     public static final String USER_CREATION_FAILED_QUEUE = "auth.user.creation.failed.queue";
     public static final String USER_CREATION_FAILED_ROUTING_KEY = "user.creation.failed";
 
+    // Fanout, every gateway and auth instance binds its own queue
+    public static final String REVOCATION_EXCHANGE = "auth.revocation.exchange";
+
     @Bean
     public TopicExchange userExchange() {
         return new TopicExchange(USER_EXCHANGE);
     }
 
+    @Bean
+    public FanoutExchange revocationExchange() {
+        return new FanoutExchange(REVOCATION_EXCHANGE);
+    }
+
     // Workout service queue
     @Bean
     public Queue workoutUserCreatedQueue() {
@@ -102,6 +111,8 @@ public class RabbitMQConfig {
                 ba.unsa.etf.nwt.auth.dto.UserCreatedEvent.class);
         idClassMapping.put("ba.unsa.etf.nwt.auth.dto.UserCreationFailedEvent",
                 ba.unsa.etf.nwt.auth.dto.UserCreationFailedEvent.class);
+        idClassMapping.put("ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent",
+                ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent.class);
         classMapper.setIdClassMapping(idClassMapping);
         return classMapper;
     }
@@ -0,0 +1,82 @@
+package ba.unsa.etf.nwt.auth.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A message written in the same transaction as the change it announces and published afterwards by
+ * {@link ba.unsa.etf.nwt.auth.messaging.outbox.OutboxRelay}. The payload is already converted, so the relay
+ * sends exactly what a direct {@code convertAndSend} would have.
+ */
+@Entity
+@Table(name = "outbox_message", indexes = @Index(name = "outbox_message_pending", columnList = "sent_at, id"))
+public class OutboxMessage {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private String exchange;
+
+	@Column(name = "routing_key", nullable = false)
+	private String routingKey;
+
+	@Column(name = "type_id")
+	private String typeId;
+
+	@Column(nullable = false, columnDefinition = "text")
+	private String payload;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "sent_at")
+	private Instant sentAt;
+
+	public OutboxMessage() {
+	}
+
+	public OutboxMessage(
+			final String exchange,
+			final String routingKey,
+			final String typeId,
+			final String payload,
+			final Instant createdAt
+	) {
+		this.exchange = exchange;
+		this.routingKey = routingKey;
+		this.typeId = typeId;
+		this.payload = payload;
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getExchange() {
+		return exchange;
+	}
+
+	public String getRoutingKey() {
+		return routingKey;
+	}
+
+	public String getTypeId() {
+		return typeId;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getSentAt() {
+		return sentAt;
+	}
+}
@@ -0,0 +1,72 @@
+package ba.unsa.etf.nwt.auth.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Either a single token by its id, or every token of a user issued at or before {@code revokedAt}.
+ * Kept until {@code expiresAt}, after which the tokens it covers have expired anyway.
+ */
+@Entity
+@Table(
+		name = "token_revocation",
+		indexes = {
+				@Index(name = "token_revocation_subject", columnList = "kind, subject"),
+				@Index(name = "token_revocation_expires_at", columnList = "expires_at")
+		}
+)
+public class TokenRevocation {
+
+	public enum Kind {
+		TOKEN,
+		USER
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private Kind kind;
+
+	@Column(nullable = false)
+	private String subject;
+
+	@Column(name = "revoked_at", nullable = false)
+	private Instant revokedAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	public TokenRevocation() {
+	}
+
+	public TokenRevocation(final Kind kind, final String subject, final Instant revokedAt, final Instant expiresAt) {
+		this.kind = kind;
+		this.subject = subject;
+		this.revokedAt = revokedAt;
+		this.expiresAt = expiresAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public Instant getRevokedAt() {
+		return revokedAt;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+}
@@ -0,0 +1,10 @@
+package ba.unsa.etf.nwt.auth.dto;
+
+import java.time.Instant;
+
+/**
+ * The revocation Bloom filter as served to gateways. {@code version} is the id of the newest revocation
+ * it includes, {@code bits} the filter itself (base64 in JSON).
+ */
+public record RevocationSnapshot(long version, Instant createdAt, int hashCount, byte[] bits) {
+}
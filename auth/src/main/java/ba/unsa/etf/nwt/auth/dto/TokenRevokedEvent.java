@@ -0,0 +1,71 @@
+package ba.unsa.etf.nwt.auth.dto;
+
+import java.time.Instant;
+
+public class TokenRevokedEvent {
+    private Long id;
+    private String kind;
+    private String subject;
+    private Instant revokedAt;
+    private Instant expiresAt;
+
+    public TokenRevokedEvent() {
+    }
+
+    public TokenRevokedEvent(Long id, String kind, String subject, Instant revokedAt, Instant expiresAt) {
+        this.id = id;
+        this.kind = kind;
+        this.subject = subject;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRevokedEvent{" +
+                "id=" + id +
+                ", kind='" + kind + '\'' +
+                ", subject='" + subject + '\'' +
+                '}';
+    }
+}
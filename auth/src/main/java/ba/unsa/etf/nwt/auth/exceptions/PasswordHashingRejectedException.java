@@ -0,0 +1,25 @@
+package ba.unsa.etf.nwt.auth.exceptions;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when the password hashing queue is full. Unchecked, because it has to get out of
+ * {@code PasswordEncoder.matches} through the authentication manager.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+	@Serial
+	private static final long serialVersionUID = 3271694513958021836L;
+
+	private final Duration retryAfter;
+
+	public PasswordHashingRejectedException(final Duration retryAfter) {
+		super("Too many password checks in progress, try again later.");
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
@@ -0,0 +1,32 @@
+package ba.unsa.etf.nwt.auth.messaging.event;
+
+import ba.unsa.etf.nwt.auth.config.RabbitMQConfig;
+import ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent;
+import ba.unsa.etf.nwt.auth.services.RevocationService;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks up revocations made on other auth instances. Each instance binds its own anonymous queue.
+ */
+@Component
+public class TokenRevokedListener {
+
+    private final RevocationService revocationService;
+
+    public TokenRevokedListener(RevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue,
+            exchange = @Exchange(value = RabbitMQConfig.REVOCATION_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void handleTokenRevoked(TokenRevokedEvent event) {
+        revocationService.apply(event);
+    }
+}
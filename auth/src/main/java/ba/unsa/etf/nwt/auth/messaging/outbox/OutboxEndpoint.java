@@ -0,0 +1,23 @@
+package ba.unsa.etf.nwt.auth.messaging.outbox;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outbox relay lag at {@code /actuator/outbox}.
+ */
+@Component
+@Endpoint(id = "outbox")
+public class OutboxEndpoint {
+	private final OutboxRelay outboxRelay;
+
+	public OutboxEndpoint(final OutboxRelay outboxRelay) {
+		this.outboxRelay = outboxRelay;
+	}
+
+	@ReadOperation
+	public OutboxRelay.Lag lag() {
+		return outboxRelay.lag();
+	}
+}
@@ -0,0 +1,217 @@
+package ba.unsa.etf.nwt.auth.messaging.outbox;
+
+import ba.unsa.etf.nwt.auth.domain.OutboxMessage;
+import ba.unsa.etf.nwt.auth.repositories.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes {@link OutboxMessage} rows to the broker. A single thread locks up to {@code batchSize} pending
+ * rows, sends them on one channel, waits for the broker to confirm the whole batch and marks the rows
+ * sent in the same transaction. If the broker doesn't confirm, the transaction rolls back and the batch is
+ * retried, so delivery is at least once; every message carries a stable id consumers can dedupe on.
+ * <p>
+ * The relay polls every {@code pollInterval} and is woken early by {@link #wakeUp()} once a transaction
+ * that wrote to the outbox commits. Sent rows are kept for {@code retention} and then deleted. The thread
+ * is started once the application context is refreshed and stopped before its beans are destroyed.
+ */
+public class OutboxRelay implements SmartLifecycle {
+	private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+	private static final long MAINTENANCE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	private final OutboxMessageRepository outboxMessageRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final RabbitTemplate rabbitTemplate;
+	private final int batchSize;
+	private final long pollIntervalNanos;
+	private final long confirmTimeoutMillis;
+	private final Duration retention;
+	private final Duration lagWarning;
+	private final Semaphore wakeUp = new Semaphore(0);
+	private final LongAdder relayed = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	private volatile Thread relay;
+	private volatile boolean running;
+	private volatile Instant lastRelayedAt;
+	private volatile Duration lastDelay = Duration.ZERO;
+	private long lastMaintenance = System.nanoTime() - MAINTENANCE_INTERVAL_NANOS;
+
+	public OutboxRelay(
+			final OutboxMessageRepository outboxMessageRepository,
+			final TransactionTemplate transactionTemplate,
+			final RabbitTemplate rabbitTemplate,
+			final int batchSize,
+			final Duration pollInterval,
+			final Duration confirmTimeout,
+			final Duration retention,
+			final Duration lagWarning
+	) {
+		this.outboxMessageRepository = outboxMessageRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.rabbitTemplate = rabbitTemplate;
+		this.batchSize = batchSize;
+		this.pollIntervalNanos = pollInterval.toNanos();
+		this.confirmTimeoutMillis = confirmTimeout.toMillis();
+		this.retention = retention;
+		this.lagWarning = lagWarning;
+	}
+
+	public void wakeUp() {
+		wakeUp.release();
+	}
+
+	/**
+	 * How far publishing is behind: rows not yet confirmed by the broker and the age of the oldest one,
+	 * plus the delay from commit to confirm of the last relayed message.
+	 */
+	public Lag lag() {
+		final Instant oldest = outboxMessageRepository.findOldestPendingCreatedAt();
+		return new Lag(
+				outboxMessageRepository.countBySentAtIsNull(),
+				oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now()),
+				lastDelay,
+				lastRelayedAt,
+				relayed.sum(),
+				failures.sum()
+		);
+	}
+
+	@Override
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		relay = Thread.ofPlatform().daemon().name("outbox-relay").start(this::run);
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		wakeUp();
+		try {
+			relay.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				// A full batch means more are probably waiting
+				if (relayBatch() == batchSize) {
+					continue;
+				}
+			} catch (final RuntimeException e) {
+				failures.increment();
+				LOGGER.error("Failed relaying outbox messages, retrying in {} ms: {}",
+						TimeUnit.NANOSECONDS.toMillis(pollIntervalNanos), e.getMessage());
+			}
+
+			try {
+				maintain();
+				wakeUp.tryAcquire(pollIntervalNanos, TimeUnit.NANOSECONDS);
+				wakeUp.drainPermits();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	int relayBatch() {
+		final Integer count = transactionTemplate.execute(status -> {
+			final List<OutboxMessage> batch = outboxMessageRepository.lockPending(batchSize);
+			if (batch.isEmpty()) {
+				return 0;
+			}
+
+			rabbitTemplate.invoke(operations -> {
+				for (final OutboxMessage message : batch) {
+					operations.send(message.getExchange(), message.getRoutingKey(), toMessage(message));
+				}
+				operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+				return null;
+			});
+
+			final Instant now = Instant.now();
+			outboxMessageRepository.markSent(batch.stream().map(OutboxMessage::getId).toList(), now);
+			lastRelayedAt = now;
+			lastDelay = Duration.between(batch.getLast().getCreatedAt(), now);
+			return batch.size();
+		});
+
+		relayed.add(count);
+		return count;
+	}
+
+	private void maintain() {
+		if (System.nanoTime() - lastMaintenance < MAINTENANCE_INTERVAL_NANOS) {
+			return;
+		}
+		lastMaintenance = System.nanoTime();
+
+		try {
+			final Lag lag = lag();
+			if (lag.oldestPendingAge().compareTo(lagWarning) > 0) {
+				LOGGER.warn("Outbox is behind: {} pending, oldest {} s", lag.pending(), lag.oldestPendingAge().toSeconds());
+			}
+
+			final Integer deleted = transactionTemplate.execute(status ->
+					outboxMessageRepository.deleteSentBefore(Instant.now().minus(retention))
+			);
+			if (deleted > 0) {
+				LOGGER.debug("Deleted {} sent outbox messages", deleted);
+			}
+		} catch (final RuntimeException e) {
+			LOGGER.error("Outbox maintenance failed, retrying on the next run: {}", e.getMessage());
+		}
+	}
+
+	private static Message toMessage(final OutboxMessage message) {
+		final MessageProperties properties = new MessageProperties();
+		properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+		properties.setContentEncoding(StandardCharsets.UTF_8.name());
+		properties.setMessageId("auth-outbox-" + message.getId());
+		properties.setTimestamp(Date.from(message.getCreatedAt()));
+		if (message.getTypeId() != null) {
+			properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, message.getTypeId());
+		}
+		return new Message(message.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+	}
+
+	public record Lag(
+			long pending,
+			Duration oldestPendingAge,
+			Duration lastDelay,
+			Instant lastRelayedAt,
+			long relayed,
+			long failures
+	) {
+	}
+}
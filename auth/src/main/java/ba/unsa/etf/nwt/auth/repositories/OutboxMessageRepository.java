@@ -0,0 +1,37 @@
+package ba.unsa.etf.nwt.auth.repositories;
+
+import ba.unsa.etf.nwt.auth.domain.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+	// Rows another relay instance is already publishing are skipped rather than waited for
+	@Query(value = """
+			SELECT * FROM outbox_message
+			WHERE sent_at IS NULL
+			ORDER BY id
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<OutboxMessage> lockPending(@Param("limit") int limit);
+
+	@Modifying
+	@Query("UPDATE OutboxMessage m SET m.sentAt = :sentAt WHERE m.id IN :ids")
+	int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt);
+
+	@Modifying
+	@Query("DELETE FROM OutboxMessage m WHERE m.sentAt < :before")
+	int deleteSentBefore(@Param("before") Instant before);
+
+	long countBySentAtIsNull();
+
+	@Query("SELECT min(m.createdAt) FROM OutboxMessage m WHERE m.sentAt IS NULL")
+	Instant findOldestPendingCreatedAt();
+}
@@ -0,0 +1,30 @@
+package ba.unsa.etf.nwt.auth.repositories;
+
+import ba.unsa.etf.nwt.auth.domain.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+	List<TokenRevocation> findByExpiresAtAfter(Instant now);
+
+	boolean existsByKindAndSubject(TokenRevocation.Kind kind, String subject);
+
+	boolean existsByKindAndSubjectAndRevokedAtGreaterThanEqual(
+			TokenRevocation.Kind kind,
+			String subject,
+			Instant issuedAt
+	);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :before")
+	int deleteExpiredBefore(@Param("before") Instant before);
+}
@@ -2,15 +2,16 @@ package ba.unsa.etf.nwt.auth.repositories;
 
 import ba.unsa.etf.nwt.auth.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
+// Declared query methods get no transaction by default, the lookups only read
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByEmail(String email);
 
 	User findByHandle(UUID handle);
-
-	boolean existsByEmail(String email);
 }
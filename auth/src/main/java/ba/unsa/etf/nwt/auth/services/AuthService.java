@@ -7,52 +7,69 @@ import ba.unsa.etf.nwt.auth.exceptions.JwtException;
 import ba.unsa.etf.nwt.auth.exceptions.UserServiceException;
 import ba.unsa.etf.nwt.auth.repositories.UserRepository;
 import ba.unsa.etf.nwt.error_logging.model.ErrorType;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Runs at the default READ COMMITTED isolation. Duplicate emails are rejected by the unique constraint
+ * on the insert itself rather than an exists check beforehand, which needed SERIALIZABLE to be race-free
+ * and made concurrent registrations abort each other.
+ * <p>
+ * Passwords are hashed outside of any transaction: hashing may queue behind other logins (see
+ * {@link ba.unsa.etf.nwt.auth.spring_security.hashing.BoundedPasswordEncoder}) and shouldn't hold a
+ * database connection meanwhile. The lookups in login run in the read-only transactions of UserRepository.
+ */
 @Service
-@Transactional(isolation = Isolation.SERIALIZABLE, rollbackFor = Exception.class)
 public class AuthService {
 	private final UserRepository userRepository;
 	private final JwtService jwtService;
 	private final PasswordEncoder passwordEncoder;
 	private final AuthenticationManager authenticationManager;
 	private final UserEventPublisher userEventPublisher;
+	private final TransactionTemplate transactionTemplate;
 
 	public AuthService(
 			final UserRepository userRepository,
 			final JwtService jwtService,
 			final PasswordEncoder passwordEncoder,
 			final AuthenticationManager authenticationManager,
-			final UserEventPublisher userEventPublisher
+			final UserEventPublisher userEventPublisher,
+			final PlatformTransactionManager transactionManager
 	) {
 		this.userRepository = userRepository;
 		this.jwtService = jwtService;
 		this.passwordEncoder = passwordEncoder;
 		this.authenticationManager = authenticationManager;
 		this.userEventPublisher = userEventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 
 	public AuthResponse register(final User user) throws UserServiceException {
 		try {
-			if (userRepository.existsByEmail(user.getEmail())) {
+			user.setRole(Role.USER); // for now...
+			user.setPassword(passwordEncoder.encode(user.getPassword()));
+
+			final User newUser;
+			try {
+				newUser = transactionTemplate.execute(status -> {
+					final User saved = userRepository.saveAndFlush(user);
+					userEventPublisher.publishUserCreatedEvent(new UserCreatedEvent(saved.getHandle(), saved.getEmail()));
+					return saved;
+				});
+			} catch (final DataIntegrityViolationException e) {
 				throw new UserServiceException(
 						"User already exists with email: " + user.getEmail(), ErrorType.ALREADY_EXISTS
 				);
 			}
 
-			user.setRole(Role.USER); // for now...
-			user.setPassword(passwordEncoder.encode(user.getPassword()));
-			final User newUser = userRepository.save(user);
-			userEventPublisher.publishUserCreatedEvent(new UserCreatedEvent(newUser.getHandle(), newUser.getEmail()));
-
 			final String generatedToken = jwtService.generateToken(user);
 
 			return new AuthResponse(generatedToken, newUser);
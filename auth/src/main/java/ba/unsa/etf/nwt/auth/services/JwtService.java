@@ -1,8 +1,10 @@
 package ba.unsa.etf.nwt.auth.services;
 
+import ba.unsa.etf.nwt.auth.domain.Role;
 import ba.unsa.etf.nwt.auth.domain.User;
 import ba.unsa.etf.nwt.auth.exceptions.JwtException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,31 +12,51 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * The signing key and parser are built once and shared, both are immutable and safe to use from
+ * any thread. A key too weak for HMAC-SHA fails at startup instead of on the first login.
+ */
 public class JwtService {
-	private final String secretKey;
+	public static final String HANDLE_CLAIM = "handle";
+
+	// Tokens only ever carry one of the roles, so their authority sets are shared instead of built per request
+	private static final Map<String, Set<GrantedAuthority>> ROLE_AUTHORITIES = Arrays.stream(Role.values())
+			.map(Role::toString)
+			.collect(Collectors.toUnmodifiableMap(Function.identity(), role -> Set.of(new SimpleGrantedAuthority(role))));
+
+	private final SecretKey signingKey;
+	private final JwtParser parser;
 	private final String authoritiesKey;
 	private final Duration tokenValidityTime;
 
 	public JwtService(final String secretKey, final String authoritiesKey, final Duration tokenValidityTime) {
-		this.secretKey = secretKey;
+		this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser().verifyWith(this.signingKey).build();
 		this.authoritiesKey = authoritiesKey;
 		this.tokenValidityTime = tokenValidityTime;
 	}
 
 	public String generateToken(final User user) throws JwtException {
 		try {
+			final Instant now = Instant.now();
 			return Jwts.builder()
+					.id(UUID.randomUUID().toString())
 					.subject(user.getEmail())
 					.claim(this.authoritiesKey, user.getRole().toString())
-					.issuedAt(Date.from(Instant.now()))
-					.expiration(Date.from(Instant.now().plus(this.tokenValidityTime)))
-					.signWith(getSignInKey())
+					.claim(HANDLE_CLAIM, user.getHandle().toString())
+					.issuedAt(Date.from(now))
+					.expiration(Date.from(now.plus(this.tokenValidityTime)))
+					.signWith(this.signingKey)
 					.compact();
 		} catch (final Exception e) {
 			throw new JwtException(e.getMessage());
@@ -42,9 +64,7 @@ public class JwtService {
 	}
 
 	public Claims resolveClaims(final String token) {
-		return Jwts.parser()
-				.verifyWith((SecretKey) getSignInKey())
-				.build()
+		return this.parser
 				.parseSignedClaims(token)
 				.getPayload();
 	}
@@ -55,11 +75,8 @@ public class JwtService {
 	}
 
 	public Set<GrantedAuthority> getAuthoritiesFromClaims(final Claims claims) {
-		return Set.of(new SimpleGrantedAuthority(claims.get(this.authoritiesKey).toString()));
-	}
-
-	private Key getSignInKey(){
-		byte[] keyBytes = this.secretKey.getBytes(StandardCharsets.UTF_8);
-		return Keys.hmacShaKeyFor(keyBytes);
+		final String role = claims.get(this.authoritiesKey).toString();
+		final Set<GrantedAuthority> authorities = ROLE_AUTHORITIES.get(role);
+		return authorities != null ? authorities : Set.of(new SimpleGrantedAuthority(role));
 	}
 }
@@ -0,0 +1,208 @@
+package ba.unsa.etf.nwt.auth.services;
+
+import ba.unsa.etf.nwt.auth.domain.TokenRevocation;
+import ba.unsa.etf.nwt.auth.dto.RevocationSnapshot;
+import ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent;
+import ba.unsa.etf.nwt.auth.repositories.TokenRevocationRepository;
+import ba.unsa.etf.nwt.auth.spring_security.properties.JwtProperties;
+import ba.unsa.etf.nwt.auth.spring_security.properties.RevocationProperties;
+import ba.unsa.etf.nwt.auth.spring_security.revocation.RevocationFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revoked tokens are stored in {@code token_revocation} and mirrored into an in-memory
+ * {@link RevocationFilter}, so checking a token on the request path is a few bit lookups and the database
+ * is only asked when the filter reports a possible match. The same filter is served to gateways as a
+ * {@link RevocationSnapshot}, and every revocation is announced as a {@link TokenRevokedEvent} through
+ * the outbox so that gateways and other auth instances add it without waiting for the next snapshot.
+ * <p>
+ * The filter only grows between rebuilds, which drop expired revocations and resize it to what is left.
+ */
+@Service
+public class RevocationService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RevocationService.class);
+
+	public static final String TOKEN_KEY_PREFIX = "t:";
+	public static final String USER_KEY_PREFIX = "u:";
+
+	private final TokenRevocationRepository tokenRevocationRepository;
+	private final UserEventPublisher userEventPublisher;
+	private final Duration tokenValidityTime;
+	private final double falsePositiveRate;
+	private final int minCapacity;
+
+	private volatile State state;
+	// Revocations applied while a rebuild is reading the table, re-added to the rebuilt filter
+	private List<String> addedDuringRebuild;
+
+	public RevocationService(
+			final TokenRevocationRepository tokenRevocationRepository,
+			final UserEventPublisher userEventPublisher,
+			final JwtProperties jwtProperties,
+			final RevocationProperties revocationProperties
+	) {
+		this.tokenRevocationRepository = tokenRevocationRepository;
+		this.userEventPublisher = userEventPublisher;
+		this.tokenValidityTime = jwtProperties.tokenValidityTime();
+		this.falsePositiveRate = revocationProperties.falsePositiveRate();
+		this.minCapacity = revocationProperties.minCapacity();
+		this.state = new State(RevocationFilter.create(minCapacity, falsePositiveRate), 0);
+	}
+
+	/**
+	 * Revokes the token the claims came from. Tokens issued before token ids were added are revoked
+	 * together with any other token of the user issued at the same time or earlier.
+	 */
+	@Transactional
+	public void revoke(final Claims claims) {
+		final Instant expiresAt = claims.getExpiration().toInstant();
+		if (claims.getId() != null) {
+			save(new TokenRevocation(TokenRevocation.Kind.TOKEN, claims.getId(), Instant.now(), expiresAt));
+		} else {
+			save(new TokenRevocation(
+					TokenRevocation.Kind.USER,
+					claims.get(JwtService.HANDLE_CLAIM, String.class),
+					claims.getIssuedAt().toInstant(),
+					expiresAt
+			));
+		}
+	}
+
+	/**
+	 * Revokes every token issued to the user so far.
+	 */
+	@Transactional
+	public void revokeUser(final UUID handle) {
+		final Instant now = Instant.now();
+		save(new TokenRevocation(TokenRevocation.Kind.USER, handle.toString(), now, now.plus(tokenValidityTime)));
+	}
+
+	public boolean isRevoked(final Claims claims) {
+		final RevocationFilter filter = state.filter();
+
+		final String tokenId = claims.getId();
+		if (tokenId != null
+				&& filter.mightContain(TOKEN_KEY_PREFIX + tokenId)
+				&& tokenRevocationRepository.existsByKindAndSubject(TokenRevocation.Kind.TOKEN, tokenId)) {
+			return true;
+		}
+
+		final String handle = claims.get(JwtService.HANDLE_CLAIM, String.class);
+		return handle != null
+				&& filter.mightContain(USER_KEY_PREFIX + handle)
+				&& tokenRevocationRepository.existsByKindAndSubjectAndRevokedAtGreaterThanEqual(
+						TokenRevocation.Kind.USER,
+						handle,
+						claims.getIssuedAt() == null ? Instant.EPOCH : claims.getIssuedAt().toInstant()
+				);
+	}
+
+	/**
+	 * Adds a revocation made by this or another instance. Repeats are harmless.
+	 */
+	public synchronized void apply(final TokenRevokedEvent event) {
+		final String key = key(event.getKind(), event.getSubject());
+		final State current = state;
+		current.filter().add(key);
+		if (addedDuringRebuild != null) {
+			addedDuringRebuild.add(key);
+		}
+		if (event.getId() != null && event.getId() > current.version()) {
+			state = new State(current.filter(), event.getId());
+		}
+	}
+
+	public RevocationSnapshot snapshot() {
+		final State current = state;
+		return new RevocationSnapshot(
+				current.version(),
+				Instant.now(),
+				current.filter().hashCount(),
+				current.filter().toBytes()
+		);
+	}
+
+	@PostConstruct
+	public void load() {
+		rebuild();
+	}
+
+	@Scheduled(
+			initialDelayString = "${revocation.rebuild-interval:5m}",
+			fixedDelayString = "${revocation.rebuild-interval:5m}"
+	)
+	public void rebuild() {
+		try {
+			synchronized (this) {
+				addedDuringRebuild = new ArrayList<>();
+			}
+
+			final Instant now = Instant.now();
+			final int deleted = tokenRevocationRepository.deleteExpiredBefore(now);
+			final List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtAfter(now);
+
+			// Sized for twice what is active now, so revocations until the next rebuild keep the error rate
+			final RevocationFilter filter = RevocationFilter.create(
+					Math.max(minCapacity, active.size() * 2), falsePositiveRate
+			);
+			long version = 0;
+			for (final TokenRevocation revocation : active) {
+				filter.add(key(revocation.getKind().name(), revocation.getSubject()));
+				version = Math.max(version, revocation.getId());
+			}
+
+			synchronized (this) {
+				addedDuringRebuild.forEach(filter::add);
+				state = new State(filter, Math.max(version, state.version()));
+			}
+			LOGGER.debug("Rebuilt revocation filter with {} revocations, dropped {} expired", active.size(), deleted);
+		} catch (final RuntimeException e) {
+			LOGGER.error("Rebuilding the revocation filter failed, retrying on the next run", e);
+		} finally {
+			synchronized (this) {
+				addedDuringRebuild = null;
+			}
+		}
+	}
+
+	private void save(final TokenRevocation revocation) {
+		final TokenRevocation saved = tokenRevocationRepository.save(revocation);
+		final TokenRevokedEvent event = new TokenRevokedEvent(
+				saved.getId(),
+				saved.getKind().name(),
+				saved.getSubject(),
+				saved.getRevokedAt(),
+				saved.getExpiresAt()
+		);
+		userEventPublisher.publishTokenRevokedEvent(event);
+
+		// Don't wait for our own event to come back from the broker
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply(event);
+			}
+		});
+	}
+
+	private static String key(final String kind, final String subject) {
+		return (TokenRevocation.Kind.TOKEN.name().equals(kind) ? TOKEN_KEY_PREFIX : USER_KEY_PREFIX) + subject;
+	}
+
+	private record State(RevocationFilter filter, long version) {
+	}
+}
@@ -1,25 +1,71 @@
 package ba.unsa.etf.nwt.auth.services;
 
 import ba.unsa.etf.nwt.auth.config.RabbitMQConfig;
+import ba.unsa.etf.nwt.auth.domain.OutboxMessage;
+import ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent;
 import ba.unsa.etf.nwt.auth.dto.UserCreatedEvent;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import ba.unsa.etf.nwt.auth.messaging.outbox.OutboxRelay;
+import ba.unsa.etf.nwt.auth.repositories.OutboxMessageRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Events are written to the outbox in the caller's transaction, so they are published only if it commits
+ * and the caller never waits on the broker. {@link OutboxRelay} does the actual sending.
+ */
 @Service
 public class UserEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final Jackson2JsonMessageConverter messageConverter;
+    private final OutboxRelay outboxRelay;
 
-    public UserEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public UserEventPublisher(
+            OutboxMessageRepository outboxMessageRepository,
+            Jackson2JsonMessageConverter messageConverter,
+            OutboxRelay outboxRelay
+    ) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.messageConverter = messageConverter;
+        this.outboxRelay = outboxRelay;
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishUserCreatedEvent(UserCreatedEvent event) {
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.USER_EXCHANGE,
-                "user.created",
-                event
-        );
+        enqueue(RabbitMQConfig.USER_EXCHANGE, RabbitMQConfig.USER_CREATED_ROUTING_KEY, event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishTokenRevokedEvent(TokenRevokedEvent event) {
+        enqueue(RabbitMQConfig.REVOCATION_EXCHANGE, "", event);
     }
-}
 
+    private void enqueue(String exchange, String routingKey, Object event) {
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        String typeId = message.getMessageProperties().getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        outboxMessageRepository.save(new OutboxMessage(
+                exchange,
+                routingKey,
+                typeId,
+                new String(message.getBody(), StandardCharsets.UTF_8),
+                Instant.now()
+        ));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,9 +19,11 @@ import java.util.UUID;
 @Service
 public class UserService implements UserDetailsService {
 	private final UserRepository userRepository;
+	private final RevocationService revocationService;
 
-	public UserService(final UserRepository userRepository) {
+	public UserService(final UserRepository userRepository, final RevocationService revocationService) {
 		this.userRepository = userRepository;
+		this.revocationService = revocationService;
 	}
 
 	public User get(final UUID handle) throws UserServiceException {
@@ -46,9 +49,11 @@ public class UserService implements UserDetailsService {
 				.build();
 	}
 
+	@Transactional
 	public void delete(UUID handle) {
 		User user = userRepository.findByHandle(handle);
 		userRepository.deleteById(user.getId());
+		revocationService.revokeUser(handle);
 	}
 
 	public List<User> getAllUsers() {
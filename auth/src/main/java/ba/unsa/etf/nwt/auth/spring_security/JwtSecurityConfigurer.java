@@ -23,6 +23,7 @@ public class JwtSecurityConfigurer implements SecurityConfigurer {
 						requests -> requests
 								.requestMatchers("/api/v1/auth/register").permitAll()
 								.requestMatchers("/api/v1/auth/login").permitAll()
+								.requestMatchers("/api/v1/auth/revocations").permitAll()
 								.requestMatchers("/api/v1/user/{id}").permitAll()
 								.requestMatchers("/api/v1/**").authenticated()
 								.anyRequest().permitAll()
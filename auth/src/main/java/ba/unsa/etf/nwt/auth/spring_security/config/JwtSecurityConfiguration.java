@@ -1,9 +1,11 @@
 package ba.unsa.etf.nwt.auth.spring_security.config;
 
 import ba.unsa.etf.nwt.auth.services.JwtService;
+import ba.unsa.etf.nwt.auth.services.RevocationService;
 import ba.unsa.etf.nwt.auth.spring_security.JwtSecurityConfigurer;
 import ba.unsa.etf.nwt.auth.spring_security.filters.JwtAuthorizationFilter;
 import ba.unsa.etf.nwt.auth.spring_security.properties.JwtProperties;
+import ba.unsa.etf.nwt.auth.spring_security.properties.RevocationProperties;
 import ba.unsa.etf.nwt.auth.spring_security.SecurityConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -11,15 +13,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, RevocationProperties.class})
 public class JwtSecurityConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	public SecurityConfigurer securityConfigurer(final JwtService jwtService, final JwtProperties jwtProperties) {
-		return new JwtSecurityConfigurer(
-				new JwtAuthorizationFilter(jwtService, jwtProperties.headerTitle(), jwtProperties.tokenPrefix())
-		);
+	public SecurityConfigurer securityConfigurer(
+			final JwtService jwtService,
+			final RevocationService revocationService,
+			final JwtProperties jwtProperties
+	) {
+		return new JwtSecurityConfigurer(new JwtAuthorizationFilter(
+				jwtService,
+				revocationService,
+				jwtProperties.headerTitle(),
+				jwtProperties.tokenPrefix()
+		));
 	}
 
 	@Bean
@@ -2,8 +2,12 @@ package ba.unsa.etf.nwt.auth.spring_security.config;
 
 import ba.unsa.etf.nwt.auth.services.UserService;
 import ba.unsa.etf.nwt.auth.spring_security.SecurityConfigurer;
+import ba.unsa.etf.nwt.auth.spring_security.hashing.BoundedPasswordEncoder;
+import ba.unsa.etf.nwt.auth.spring_security.properties.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import net.devh.boot.grpc.server.security.authentication.BasicGrpcAuthenticationReader;
 import net.devh.boot.grpc.server.security.authentication.GrpcAuthenticationReader;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +22,7 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class WebSecurityConfiguration {
 
 	@Bean
@@ -40,8 +45,14 @@ public class WebSecurityConfiguration {
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(final PasswordHashingProperties properties, final MeterRegistry meterRegistry) {
+		return new BoundedPasswordEncoder(
+				new BCryptPasswordEncoder(properties.strength()),
+				properties.threadCount(),
+				properties.queueCapacity(),
+				properties.retryAfter(),
+				meterRegistry
+		);
 	}
 
 	@Bean
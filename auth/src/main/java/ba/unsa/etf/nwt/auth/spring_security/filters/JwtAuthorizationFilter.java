@@ -1,6 +1,7 @@
 package ba.unsa.etf.nwt.auth.spring_security.filters;
 
 import ba.unsa.etf.nwt.auth.services.JwtService;
+import ba.unsa.etf.nwt.auth.services.RevocationService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -8,7 +9,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,11 +23,18 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 	);
 
 	private final JwtService jwtService;
+	private final RevocationService revocationService;
 	private final String headerTitle;
 	private final String tokenPrefix;
 
-	public JwtAuthorizationFilter(final JwtService jwtService, final String headerTitle, final String tokenPrefix) {
+	public JwtAuthorizationFilter(
+			final JwtService jwtService,
+			final RevocationService revocationService,
+			final String headerTitle,
+			final String tokenPrefix
+	) {
 		this.jwtService = jwtService;
+		this.revocationService = revocationService;
 		this.headerTitle = headerTitle;
 		this.tokenPrefix = tokenPrefix;
 	}
@@ -50,14 +57,21 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 			final Claims claims = jwtService.resolveClaims(token);
 
 			if (claims != null && !jwtService.isExpired(claims)) {
+				if (revocationService.isRevoked(claims)) {
+					response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+					return;
+				}
+
 				final String username = claims.getSubject();
 				final Set<GrantedAuthority> userAuthorities = jwtService.getAuthoritiesFromClaims(claims);
 
-				final Authentication authentication = new UsernamePasswordAuthenticationToken(
+				final UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
 						username,
 						null,
 						userAuthorities
 				);
+				// Logout needs the token id and expiry
+				authentication.setDetails(claims);
 
 				SecurityContextHolder.getContext().setAuthentication(authentication);
 				filterChain.doFilter(request, response);
@@ -0,0 +1,137 @@
+package ba.unsa.etf.nwt.auth.spring_security.hashing;
+
+import ba.unsa.etf.nwt.auth.exceptions.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing of a delegate encoder (BCrypt) on a fixed pool of {@code threads} instead of the request
+ * thread. Hashing is CPU-bound, so with the pool sized to the cores a login storm can only queue up, it
+ * can't take the CPU from token validation and the other endpoints. Once {@code queueCapacity} hashes are
+ * waiting, further calls fail fast with {@link PasswordHashingRejectedException} instead of waiting.
+ * <p>
+ * Metrics, all tagged with the operation ({@code encode} or {@code matches}) where it applies:
+ * <ul>
+ *     <li>{@code auth.password.hashing}: time spent hashing, to tune the cost factor against</li>
+ *     <li>{@code auth.password.hashing.wait}: time spent queued before hashing started</li>
+ *     <li>{@code auth.password.hashing.queue}, {@code auth.password.hashing.active}: queued and running hashes</li>
+ *     <li>{@code auth.password.hashing.rejected}: calls turned away because the queue was full</li>
+ * </ul>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+	private static final String METRIC = "auth.password.hashing";
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final Duration retryAfter;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Timer encodeWaitTimer;
+	private final Timer matchesWaitTimer;
+	private final Counter rejected;
+
+	public BoundedPasswordEncoder(
+			final PasswordEncoder delegate,
+			final int threads,
+			final int queueCapacity,
+			final Duration retryAfter,
+			final MeterRegistry meterRegistry
+	) {
+		this.delegate = delegate;
+		this.executor = new ThreadPoolExecutor(
+				threads,
+				threads,
+				0,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				Thread.ofPlatform().daemon().name("password-hashing-", 0).factory(),
+				new ThreadPoolExecutor.AbortPolicy()
+		);
+		this.retryAfter = retryAfter;
+
+		this.encodeTimer = hashTimer(METRIC, "encode", meterRegistry);
+		this.matchesTimer = hashTimer(METRIC, "matches", meterRegistry);
+		this.encodeWaitTimer = hashTimer(METRIC + ".wait", "encode", meterRegistry);
+		this.matchesWaitTimer = hashTimer(METRIC + ".wait", "matches", meterRegistry);
+		this.rejected = Counter.builder(METRIC + ".rejected")
+				.description("Password hashing calls rejected because the queue was full")
+				.register(meterRegistry);
+		Gauge.builder(METRIC + ".queue", executor, pool -> pool.getQueue().size())
+				.description("Password hashing calls waiting for a thread")
+				.register(meterRegistry);
+		Gauge.builder(METRIC + ".active", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Password hashing calls running")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(final CharSequence rawPassword) {
+		return run(() -> delegate.encode(rawPassword), encodeTimer, encodeWaitTimer);
+	}
+
+	@Override
+	public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+		return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer, matchesWaitTimer);
+	}
+
+	@Override
+	public boolean upgradeEncoding(final String encodedPassword) {
+		// Only parses the hash, nothing to offload
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	private <T> T run(final Supplier<T> hash, final Timer timer, final Timer waitTimer) {
+		final long submitted = System.nanoTime();
+		final Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+				return timer.record(hash);
+			});
+		} catch (final RejectedExecutionException e) {
+			rejected.increment();
+			throw new PasswordHashingRejectedException(retryAfter);
+		}
+
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("Password hashing failed", e.getCause());
+		}
+	}
+
+	private static Timer hashTimer(final String name, final String operation, final MeterRegistry meterRegistry) {
+		return Timer.builder(name)
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,20 @@
+package ba.unsa.etf.nwt.auth.spring_security.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param threads hashing threads, 0 for one per available core
+ */
+@ConfigurationProperties("password-hashing")
+public record PasswordHashingProperties(@DefaultValue("10") int strength,
+										@DefaultValue("0") int threads,
+										@DefaultValue("64") int queueCapacity,
+										@DefaultValue("1s") Duration retryAfter) {
+
+	public int threadCount() {
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+}
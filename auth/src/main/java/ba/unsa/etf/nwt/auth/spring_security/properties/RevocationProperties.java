@@ -0,0 +1,12 @@
+package ba.unsa.etf.nwt.auth.spring_security.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param minCapacity keys the filter is sized for at least, so a few revocations don't force a rebuild
+ */
+@ConfigurationProperties("revocation")
+public record RevocationProperties(@DefaultValue("0.01") double falsePositiveRate,
+								   @DefaultValue("1024") int minCapacity) {
+}
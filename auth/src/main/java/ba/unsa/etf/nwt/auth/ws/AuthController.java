@@ -2,8 +2,11 @@ package ba.unsa.etf.nwt.auth.ws;
 
 import ba.unsa.etf.nwt.auth.domain.User;
 import ba.unsa.etf.nwt.auth.exceptions.UserServiceException;
+import ba.unsa.etf.nwt.auth.dto.RevocationSnapshot;
 import ba.unsa.etf.nwt.auth.services.AuthService;
+import ba.unsa.etf.nwt.auth.services.RevocationService;
 import ba.unsa.etf.nwt.auth.services.UserService;
+import io.jsonwebtoken.Claims;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,10 +23,16 @@ import java.util.UUID;
 public class AuthController {
 	private final AuthService authService;
 	private final UserService userService;
+	private final RevocationService revocationService;
 
-	public AuthController(final AuthService authService, final UserService userService) {
+	public AuthController(
+			final AuthService authService,
+			final UserService userService,
+			final RevocationService revocationService
+	) {
 		this.authService = authService;
 		this.userService = userService;
+		this.revocationService = revocationService;
 	}
 
 	@PostMapping("register")
@@ -36,6 +45,19 @@ public class AuthController {
 		return ResponseEntity.ok(authService.login(authRequest.email(), authRequest.password()));
 	}
 
+	@PostMapping("logout")
+	@PreAuthorize("isAuthenticated()")
+	public ResponseEntity<?> logout() {
+		revocationService.revoke((Claims) SecurityContextHolder.getContext().getAuthentication().getDetails());
+		return ResponseEntity.noContent().build();
+	}
+
+	// Polled by the gateways, see RevocationService
+	@GetMapping("revocations")
+	public ResponseEntity<RevocationSnapshot> revocations() {
+		return ResponseEntity.ok(revocationService.snapshot());
+	}
+
 	@GetMapping("validate")
 	@PreAuthorize("isAuthenticated()")
 	public ResponseEntity<?> validateToken() throws UserServiceException {
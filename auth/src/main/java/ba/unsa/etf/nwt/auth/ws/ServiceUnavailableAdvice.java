@@ -0,0 +1,23 @@
+package ba.unsa.etf.nwt.auth.ws;
+
+import ba.unsa.etf.nwt.auth.exceptions.PasswordHashingRejectedException;
+import ba.unsa.etf.nwt.error_logging.model.ErrorResponse;
+import ba.unsa.etf.nwt.error_logging.model.ErrorType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class ServiceUnavailableAdvice {
+
+	// Not logged, this is load shedding working as intended and would only add to the load
+	@ExceptionHandler(PasswordHashingRejectedException.class)
+	public ResponseEntity<ErrorResponse> handlePasswordHashingRejected(final PasswordHashingRejectedException e) {
+		final long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+				.body(ErrorResponse.from(ErrorType.SERVICE_UNAVAILABLE, e.getMessage()));
+	}
+}
@@ -0,0 +1,277 @@
+package ba.unsa.etf.nwt.auth.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Many simultaneous registrations and logins against Postgres, with the transaction handling AuthService
+ * used to have and the one it has now:
+ * <ul>
+ *     <li>serializable: every call SERIALIZABLE, registration checks for the email and then inserts</li>
+ *     <li>read committed: login is a read-only transaction, registration inserts and lets the unique
+ *     constraint reject duplicates</li>
+ * </ul>
+ * Only the database work is measured, password hashing and token signing are left out.
+ * Not a unit test; run main against a scratch database, it creates and drops its own table.
+ *
+ * args: [jdbc url] [user] [password] [threads] [seconds per mode] [login share] [duplicate share]
+ */
+public class RegistrationConcurrencyBenchmark {
+    private static final String TABLE = "bench_user_account";
+    private static final int SEEDED_USERS = 10_000;
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/nwt_auth";
+        String user = args.length > 1 ? args[1] : "postgres";
+        String password = args.length > 2 ? args[2] : "postgres";
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+        double loginShare = args.length > 5 ? Double.parseDouble(args[5]) : 0.8;
+        double duplicateShare = args.length > 6 ? Double.parseDouble(args[6]) : 0.05;
+
+        System.out.printf("threads: %d, %d s per mode, %.0f%% logins, %.0f%% of registrations reuse an email%n",
+                threads, seconds, loginShare * 100, duplicateShare * 100);
+
+        for (Mode mode : Mode.values()) {
+            try (Connection connection = DriverManager.getConnection(url, user, password)) {
+                setUp(connection);
+            }
+            Result result = run(mode, url, user, password, threads, seconds, loginShare, duplicateShare);
+            System.out.printf("%-15s %,8.0f ops/s  registrations %,d (duplicates %,d)  logins %,d  aborted %,d (%.2f%%)  errors %,d%n",
+                    mode.label + ":",
+                    result.completed() / (double) seconds,
+                    result.registrations(),
+                    result.duplicates(),
+                    result.logins(),
+                    result.aborted(),
+                    100.0 * result.aborted() / Math.max(1, result.completed() + result.aborted()),
+                    result.errors());
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+    }
+
+    private static Result run(
+            Mode mode,
+            String url,
+            String user,
+            String password,
+            int threads,
+            int seconds,
+            double loginShare,
+            double duplicateShare
+    ) throws Exception {
+        LongAdder registrations = new LongAdder();
+        LongAdder duplicates = new LongAdder();
+        LongAdder logins = new LongAdder();
+        LongAdder aborted = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicInteger nextEmail = new AtomicInteger(SEEDED_USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(mode.isolation);
+            workers.add(Thread.ofPlatform().start(() -> {
+                try (connection) {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() - deadline < 0) {
+                        try {
+                            if (random.nextDouble() < loginShare) {
+                                mode.login(connection, email(random.nextInt(nextEmail.get())));
+                                logins.increment();
+                            } else {
+                                int index = random.nextDouble() < duplicateShare
+                                        ? random.nextInt(nextEmail.get())
+                                        : nextEmail.getAndIncrement();
+                                if (mode.register(connection, email(index))) {
+                                    registrations.increment();
+                                } else {
+                                    duplicates.increment();
+                                }
+                            }
+                        } catch (SQLException e) {
+                            connection.rollback();
+                            if (SERIALIZATION_FAILURE.equals(e.getSQLState())) {
+                                aborted.increment();
+                            } else if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                                // Two serializable registrations of the same email that both passed the check
+                                duplicates.increment();
+                            } else {
+                                errors.increment();
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        return new Result(
+                registrations.sum() + duplicates.sum() + logins.sum(),
+                registrations.sum(),
+                duplicates.sum(),
+                logins.sum(),
+                aborted.sum(),
+                errors.sum()
+        );
+    }
+
+    private static void setUp(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " ("
+                    + "id bigserial PRIMARY KEY, "
+                    + "handle uuid NOT NULL UNIQUE, "
+                    + "email varchar(255) NOT NULL UNIQUE, "
+                    + "password varchar(255) NOT NULL, "
+                    + "role smallint NOT NULL)");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + TABLE + " (handle, email, password, role) VALUES (?, ?, 'x', 0)")) {
+            for (int i = 0; i < SEEDED_USERS; i++) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setString(2, email(i));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE " + TABLE);
+        }
+    }
+
+    private static String email(int index) {
+        return "user" + index + "@example.com";
+    }
+
+    private enum Mode {
+        SERIALIZABLE("serializable", Connection.TRANSACTION_SERIALIZABLE) {
+            @Override
+            void login(Connection connection, String email) throws SQLException {
+                begin(connection, false);
+                findByEmail(connection, email);
+                connection.commit();
+            }
+
+            @Override
+            boolean register(Connection connection, String email) throws SQLException {
+                begin(connection, false);
+                try (PreparedStatement exists = connection.prepareStatement(
+                        "SELECT EXISTS (SELECT 1 FROM " + TABLE + " WHERE email = ?)")) {
+                    exists.setString(1, email);
+                    try (ResultSet resultSet = exists.executeQuery()) {
+                        resultSet.next();
+                        if (resultSet.getBoolean(1)) {
+                            connection.rollback();
+                            return false;
+                        }
+                    }
+                }
+                insert(connection, email);
+                connection.commit();
+                return true;
+            }
+        },
+        READ_COMMITTED("read committed", Connection.TRANSACTION_READ_COMMITTED) {
+            @Override
+            void login(Connection connection, String email) throws SQLException {
+                begin(connection, true);
+                findByEmail(connection, email);
+                connection.commit();
+            }
+
+            @Override
+            boolean register(Connection connection, String email) throws SQLException {
+                begin(connection, false);
+                try {
+                    insert(connection, email);
+                } catch (SQLException e) {
+                    if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                        connection.rollback();
+                        return false;
+                    }
+                    throw e;
+                }
+                connection.commit();
+                return true;
+            }
+        };
+
+        private final String label;
+        private final int isolation;
+
+        Mode(String label, int isolation) {
+            this.label = label;
+            this.isolation = isolation;
+        }
+
+        abstract void login(Connection connection, String email) throws SQLException;
+
+        /**
+         * @return false if the email was already taken
+         */
+        abstract boolean register(Connection connection, String email) throws SQLException;
+
+        // The isolation level is set once per connection, only read-only changes between calls
+        private static void begin(Connection connection, boolean readOnly) throws SQLException {
+            if (connection.isReadOnly() != readOnly) {
+                connection.setReadOnly(readOnly);
+            }
+        }
+
+        private static void findByEmail(Connection connection, String email) throws SQLException {
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id, handle, email, password, role FROM " + TABLE + " WHERE email = ?")) {
+                select.setString(1, email);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                }
+            }
+        }
+
+        private static void insert(Connection connection, String email) throws SQLException {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + TABLE + " (handle, email, password, role) VALUES (?, ?, 'x', 0)")) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setString(2, email);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private record Result(long completed, long registrations, long duplicates, long logins, long aborted, long errors) {
+    }
+}
@@ -0,0 +1,165 @@
+package ba.unsa.etf.nwt.auth.messaging.outbox;
+
+import ba.unsa.etf.nwt.auth.domain.OutboxMessage;
+import ba.unsa.etf.nwt.auth.repositories.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+    private static final int BATCH_SIZE = 10;
+    private static final long CONFIRM_TIMEOUT_MILLIS = 5_000;
+
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    private OutboxMessageRepository outboxMessageRepository;
+    private RabbitOperations operations;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        operations = mock(RabbitOperations.class);
+
+        // Runs the callback in place, remembering whether it's inside the transaction
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(new SimpleTransactionStatus());
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+
+        outboxRelay = new OutboxRelay(
+                outboxMessageRepository,
+                transactionTemplate,
+                rabbitTemplate,
+                BATCH_SIZE,
+                Duration.ofMillis(20),
+                Duration.ofMillis(CONFIRM_TIMEOUT_MILLIS),
+                Duration.ofDays(1),
+                Duration.ofMinutes(1)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelay.stop();
+    }
+
+    @Test
+    void relayBatch_ShouldClaimPendingRowsAndMarkThemSentInTheSameTransaction() {
+        OutboxMessage first = message(1L);
+        OutboxMessage second = message(2L);
+        when(outboxMessageRepository.lockPending(BATCH_SIZE)).thenAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return List.of(first, second);
+        });
+        when(outboxMessageRepository.markSent(anyCollection(), any())).thenAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return 2;
+        });
+
+        assertEquals(2, outboxRelay.relayBatch());
+
+        verify(operations).send(eq("user.exchange"), eq("user.created"), argThat((Message message) ->
+                "auth-outbox-1".equals(message.getMessageProperties().getMessageId())));
+        verify(operations).send(eq("user.exchange"), eq("user.created"), argThat((Message message) ->
+                "auth-outbox-2".equals(message.getMessageProperties().getMessageId())));
+        verify(operations).waitForConfirmsOrDie(CONFIRM_TIMEOUT_MILLIS);
+        verify(outboxMessageRepository).markSent(eq(List.of(1L, 2L)), any(Instant.class));
+        assertEquals(2, outboxRelay.lag().relayed());
+    }
+
+    @Test
+    void relayBatch_WhenNothingIsPending_ShouldNotTouchBroker() {
+        when(outboxMessageRepository.lockPending(BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+
+        verifyNoInteractions(operations);
+        verify(outboxMessageRepository, never()).markSent(anyCollection(), any());
+    }
+
+    @Test
+    void relayBatch_WhenBrokerDoesNotConfirm_ShouldLeaveRowsUnsent() {
+        when(outboxMessageRepository.lockPending(BATCH_SIZE)).thenReturn(List.of(message(1L)));
+        doThrow(new AmqpTimeoutException("no confirm")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        assertThrows(AmqpTimeoutException.class, () -> outboxRelay.relayBatch());
+
+        verify(outboxMessageRepository, never()).markSent(anyCollection(), any());
+        assertEquals(0, outboxRelay.lag().relayed());
+    }
+
+    @Test
+    void start_WhenPublishFails_ShouldRetryUntilBrokerConfirms() {
+        // The row stays pending until it's marked sent, so every claim returns it again
+        when(outboxMessageRepository.lockPending(BATCH_SIZE)).thenReturn(List.of(message(1L)));
+        doThrow(new AmqpTimeoutException("no confirm"))
+                .doNothing()
+                .when(operations).waitForConfirmsOrDie(anyLong());
+
+        outboxRelay.start();
+
+        verify(outboxMessageRepository, timeout(2_000).atLeastOnce()).markSent(eq(List.of(1L)), any(Instant.class));
+        verify(operations, atLeast(2)).send(eq("user.exchange"), eq("user.created"), any(Message.class));
+        assertEquals(1, outboxRelay.lag().failures());
+    }
+
+    @Test
+    void wakeUp_ShouldRelayWithoutWaitingForNextPoll() {
+        OutboxRelay slowPolling = new OutboxRelay(
+                outboxMessageRepository,
+                (TransactionTemplate) ReflectionTestUtils.getField(outboxRelay, "transactionTemplate"),
+                (RabbitTemplate) ReflectionTestUtils.getField(outboxRelay, "rabbitTemplate"),
+                BATCH_SIZE,
+                Duration.ofHours(1),
+                Duration.ofMillis(CONFIRM_TIMEOUT_MILLIS),
+                Duration.ofDays(1),
+                Duration.ofMinutes(1)
+        );
+        when(outboxMessageRepository.lockPending(BATCH_SIZE)).thenReturn(List.of());
+        slowPolling.start();
+        try {
+            verify(outboxMessageRepository, timeout(2_000)).lockPending(BATCH_SIZE);
+
+            when(outboxMessageRepository.lockPending(BATCH_SIZE)).thenReturn(List.of(message(3L)), List.of());
+            slowPolling.wakeUp();
+
+            verify(outboxMessageRepository, timeout(2_000)).markSent(eq(List.of(3L)), any(Instant.class));
+        } finally {
+            slowPolling.stop();
+        }
+    }
+
+    private static OutboxMessage message(long id) {
+        OutboxMessage message = new OutboxMessage("user.exchange", "user.created", "UserCreatedEvent", "{}",
+                Instant.now().minusSeconds(1));
+        ReflectionTestUtils.setField(message, "id", id);
+        return message;
+    }
+}
@@ -0,0 +1,169 @@
+package ba.unsa.etf.nwt.auth.services;
+
+import ba.unsa.etf.nwt.auth.domain.TokenRevocation;
+import ba.unsa.etf.nwt.auth.dto.RevocationSnapshot;
+import ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent;
+import ba.unsa.etf.nwt.auth.repositories.TokenRevocationRepository;
+import ba.unsa.etf.nwt.auth.spring_security.properties.JwtProperties;
+import ba.unsa.etf.nwt.auth.spring_security.properties.RevocationProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RevocationServiceTest {
+    private static final Instant EXPIRES_AT = Instant.now().plus(1, ChronoUnit.HOURS);
+
+    private TokenRevocationRepository tokenRevocationRepository;
+    private UserEventPublisher userEventPublisher;
+    private RevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationRepository = mock(TokenRevocationRepository.class);
+        userEventPublisher = mock(UserEventPublisher.class);
+        revocationService = new RevocationService(
+                tokenRevocationRepository,
+                userEventPublisher,
+                new JwtProperties("Authorization", "Bearer ", "secret", "authorities", Duration.ofHours(1)),
+                new RevocationProperties(0.01, 100)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isRevoked_WhenFilterHasNoMatch_ShouldNotQueryDatabase() {
+        assertFalse(revocationService.isRevoked(claims("token-id")));
+
+        verifyNoInteractions(tokenRevocationRepository);
+    }
+
+    @Test
+    void isRevoked_WhenFilterMightMatch_ShouldAskDatabase() {
+        revocationService.apply(new TokenRevokedEvent(1L, "TOKEN", "token-id", Instant.now(), EXPIRES_AT));
+        when(tokenRevocationRepository.existsByKindAndSubject(TokenRevocation.Kind.TOKEN, "token-id")).thenReturn(true);
+
+        assertTrue(revocationService.isRevoked(claims("token-id")));
+        verify(tokenRevocationRepository).existsByKindAndSubject(TokenRevocation.Kind.TOKEN, "token-id");
+    }
+
+    @Test
+    void isRevoked_WhenUserWasRevoked_ShouldCompareIssuedAt() {
+        Claims claims = claims(null);
+        String handle = claims.get(JwtService.HANDLE_CLAIM, String.class);
+        revocationService.apply(new TokenRevokedEvent(1L, "USER", handle, Instant.now(), EXPIRES_AT));
+        when(tokenRevocationRepository.existsByKindAndSubjectAndRevokedAtGreaterThanEqual(
+                eq(TokenRevocation.Kind.USER), eq(handle), any())).thenReturn(false);
+
+        assertFalse(revocationService.isRevoked(claims));
+        verify(tokenRevocationRepository).existsByKindAndSubjectAndRevokedAtGreaterThanEqual(
+                TokenRevocation.Kind.USER, handle, claims.getIssuedAt().toInstant());
+    }
+
+    @Test
+    void revoke_ShouldPublishEventAndApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(tokenRevocationRepository.save(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), 7L));
+        when(tokenRevocationRepository.existsByKindAndSubject(TokenRevocation.Kind.TOKEN, "token-id")).thenReturn(true);
+
+        revocationService.revoke(claims("token-id"));
+
+        verify(userEventPublisher).publishTokenRevokedEvent(argThat(event ->
+                event.getId() == 7L && "TOKEN".equals(event.getKind()) && "token-id".equals(event.getSubject())));
+        assertEquals(0, revocationService.snapshot().version());
+        assertFalse(revocationService.isRevoked(claims("token-id")));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(7, revocationService.snapshot().version());
+        assertTrue(revocationService.isRevoked(claims("token-id")));
+    }
+
+    @Test
+    void apply_ShouldNotLowerVersion_WhenEventsArriveOutOfOrder() {
+        revocationService.apply(new TokenRevokedEvent(5L, "TOKEN", "newer", Instant.now(), EXPIRES_AT));
+        revocationService.apply(new TokenRevokedEvent(3L, "TOKEN", "older", Instant.now(), EXPIRES_AT));
+
+        RevocationSnapshot snapshot = revocationService.snapshot();
+        assertEquals(5, snapshot.version());
+    }
+
+    @Test
+    void rebuild_ShouldKeepActiveRevocationsAndTakeHighestId() {
+        when(tokenRevocationRepository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                withId(new TokenRevocation(TokenRevocation.Kind.TOKEN, "token-id", Instant.now(), EXPIRES_AT), 4L),
+                withId(new TokenRevocation(TokenRevocation.Kind.TOKEN, "other", Instant.now(), EXPIRES_AT), 9L)
+        ));
+        when(tokenRevocationRepository.existsByKindAndSubject(TokenRevocation.Kind.TOKEN, "token-id")).thenReturn(true);
+
+        revocationService.rebuild();
+
+        verify(tokenRevocationRepository).deleteExpiredBefore(any());
+        assertEquals(9, revocationService.snapshot().version());
+        assertTrue(revocationService.isRevoked(claims("token-id")));
+    }
+
+    @Test
+    void rebuild_ShouldKeepRevocationsAppliedWhileReading() {
+        when(tokenRevocationRepository.findByExpiresAtAfter(any())).thenAnswer(invocation -> {
+            // Arrives after the rebuild has read the table
+            revocationService.apply(new TokenRevokedEvent(12L, "TOKEN", "token-id", Instant.now(), EXPIRES_AT));
+            return List.of();
+        });
+        when(tokenRevocationRepository.existsByKindAndSubject(TokenRevocation.Kind.TOKEN, "token-id")).thenReturn(true);
+
+        revocationService.rebuild();
+
+        assertEquals(12, revocationService.snapshot().version());
+        assertTrue(revocationService.isRevoked(claims("token-id")));
+    }
+
+    @Test
+    void rebuild_WhenDatabaseFails_ShouldKeepCurrentFilter() {
+        revocationService.apply(new TokenRevokedEvent(2L, "TOKEN", "token-id", Instant.now(), EXPIRES_AT));
+        when(tokenRevocationRepository.findByExpiresAtAfter(any())).thenThrow(new IllegalStateException("down"));
+        when(tokenRevocationRepository.existsByKindAndSubject(TokenRevocation.Kind.TOKEN, "token-id")).thenReturn(true);
+
+        revocationService.rebuild();
+
+        assertEquals(2, revocationService.snapshot().version());
+        assertTrue(revocationService.isRevoked(claims("token-id")));
+    }
+
+    private static Claims claims(String tokenId) {
+        return Jwts.claims()
+                .id(tokenId)
+                .subject("user@mail.com")
+                .add(JwtService.HANDLE_CLAIM, UUID.nameUUIDFromBytes("user@mail.com".getBytes()).toString())
+                .issuedAt(new Date())
+                .expiration(Date.from(EXPIRES_AT))
+                .build();
+    }
+
+    private static TokenRevocation withId(TokenRevocation revocation, long id) {
+        ReflectionTestUtils.setField(revocation, "id", id);
+        return revocation;
+    }
+}
@@ -0,0 +1,67 @@
+package ba.unsa.etf.nwt.auth.services;
+
+import ba.unsa.etf.nwt.auth.config.RabbitMQConfig;
+import ba.unsa.etf.nwt.auth.domain.OutboxMessage;
+import ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent;
+import ba.unsa.etf.nwt.auth.messaging.outbox.OutboxRelay;
+import ba.unsa.etf.nwt.auth.repositories.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserEventPublisherTest {
+    private OutboxMessageRepository outboxMessageRepository;
+    private OutboxRelay outboxRelay;
+    private UserEventPublisher userEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository = mock(OutboxMessageRepository.class);
+        outboxRelay = mock(OutboxRelay.class);
+        userEventPublisher = new UserEventPublisher(outboxMessageRepository, new Jackson2JsonMessageConverter(), outboxRelay);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void publishTokenRevokedEvent_ShouldWriteOutboxRowAndWakeRelayOnlyAfterCommit() {
+        userEventPublisher.publishTokenRevokedEvent(
+                new TokenRevokedEvent(7L, "TOKEN", "token-id", Instant.now(), Instant.now().plusSeconds(60)));
+
+        ArgumentCaptor<OutboxMessage> saved = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository).save(saved.capture());
+        assertEquals(RabbitMQConfig.REVOCATION_EXCHANGE, saved.getValue().getExchange());
+        assertEquals(TokenRevokedEvent.class.getName(), saved.getValue().getTypeId());
+        assertTrue(saved.getValue().getPayload().contains("\"subject\":\"token-id\""));
+        assertNull(saved.getValue().getSentAt());
+        verify(outboxRelay, never()).wakeUp();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(outboxRelay).wakeUp();
+    }
+
+    @Test
+    void publishTokenRevokedEvent_WhenTransactionRollsBack_ShouldNotWakeRelay() {
+        userEventPublisher.publishTokenRevokedEvent(
+                new TokenRevokedEvent(7L, "TOKEN", "token-id", Instant.now(), Instant.now().plusSeconds(60)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(outboxRelay, never()).wakeUp();
+    }
+}
@@ -0,0 +1,90 @@
+package ba.unsa.etf.nwt.auth.spring_security.hashing;
+
+import ba.unsa.etf.nwt.auth.exceptions.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        // Holds the hashing thread until released, so the queue fills up
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, RETRY_AFTER, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        passwordEncoder.close();
+    }
+
+    @Test
+    void encode_WhenQueueIsFull_ShouldRejectWithRetryAfter() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.matches("second", "hashed:second"));
+        awaitQueued(1);
+
+        PasswordHashingRejectedException exception = assertThrows(PasswordHashingRejectedException.class,
+                () -> passwordEncoder.matches("third", "hashed:third"));
+
+        assertEquals(RETRY_AFTER, exception.getRetryAfter());
+        assertEquals(1, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        // The calls already accepted still complete once the pool catches up
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_WhenPoolHasRoom_ShouldReturnDelegateResult() {
+        release.countDown();
+
+        assertEquals("hashed:password", passwordEncoder.encode("password"));
+        assertTrue(passwordEncoder.matches("password", "hashed:password"));
+        assertEquals(0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Hash was never queued");
+            Thread.sleep(5);
+        }
+    }
+}
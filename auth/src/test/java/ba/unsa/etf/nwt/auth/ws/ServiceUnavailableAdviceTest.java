@@ -0,0 +1,54 @@
+package ba.unsa.etf.nwt.auth.ws;
+
+import ba.unsa.etf.nwt.auth.exceptions.PasswordHashingRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class ServiceUnavailableAdviceTest {
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new RejectingController())
+                .setControllerAdvice(new ServiceUnavailableAdvice())
+                .build();
+    }
+
+    @Test
+    void handlePasswordHashingRejected_ShouldRespondWith503AndRetryAfter() throws Exception {
+        mockMvc.perform(post("/login").param("retryAfterMillis", "2000"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.message").value("Too many password checks in progress, try again later."));
+    }
+
+    @Test
+    void handlePasswordHashingRejected_ShouldRoundRetryAfterUpToWholeSeconds() throws Exception {
+        mockMvc.perform(post("/login").param("retryAfterMillis", "1500"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        mockMvc.perform(post("/login").param("retryAfterMillis", "0"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @RestController
+    static class RejectingController {
+        @PostMapping("/login")
+        public String login(@RequestParam long retryAfterMillis) {
+            throw new PasswordHashingRejectedException(Duration.ofMillis(retryAfterMillis));
+        }
+    }
+}
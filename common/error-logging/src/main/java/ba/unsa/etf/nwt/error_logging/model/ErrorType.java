@@ -5,7 +5,8 @@ public enum ErrorType {
 	VALIDATION_FAILED(400),
 	ENTITY_NOT_FOUND(400),
 	ALREADY_EXISTS(400),
-	INTERNAL_ERROR(500);
+	INTERNAL_ERROR(500),
+	SERVICE_UNAVAILABLE(503);
 	// add others as necessary
 
 	private final Integer statusCode;
@@ -0,0 +1,225 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import ba.unsa.etf.nwt.events.EventRequestV2;
+import ba.unsa.etf.nwt.events.EventResponse;
+import ba.unsa.etf.nwt.events.EventServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Ships events to system events off the request thread. {@link #publish} only enqueues into a bounded
+ * lock-free queue; a single background sender drains it in batches over one long-lived channel using the
+ * client-streaming {@code logEventsV2} rpc. When the queue is full events are dropped and counted, so request
+ * latency never depends on the events service.
+ */
+public class EventClient implements AutoCloseable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventClient.class);
+
+	private final ConcurrentLinkedQueue<EventRequestV2> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queueSize = new AtomicInteger();
+
+	private final AtomicLong acceptedCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong sentCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private final Supplier<ManagedChannel> channelFactory;
+	private final int queueCapacity;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final Duration sendTimeout;
+	private final Thread sender;
+
+	private volatile boolean running = true;
+	// Moving average of batch round trips, written by the sender thread only
+	private volatile long sendLatencyNanos;
+	// Only touched by the sender thread
+	private ManagedChannel channel;
+
+	public EventClient(
+			final Supplier<ManagedChannel> channelFactory,
+			final int queueCapacity,
+			final int batchSize,
+			final Duration flushInterval,
+			final Duration sendTimeout
+	) {
+		this.channelFactory = channelFactory;
+		this.queueCapacity = queueCapacity;
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = flushInterval.toNanos();
+		this.sendTimeout = sendTimeout;
+		this.sender = Thread.ofPlatform().daemon().name("event-client-sender").start(this::run);
+	}
+
+	public boolean publish(final EventRequestV2 event) {
+		if (!running) {
+			droppedCount.incrementAndGet();
+			return false;
+		}
+
+		if (queueSize.incrementAndGet() > queueCapacity) {
+			queueSize.decrementAndGet();
+			droppedCount.incrementAndGet();
+			return false;
+		}
+
+		queue.offer(event);
+		acceptedCount.incrementAndGet();
+
+		if (queueSize.get() >= batchSize) {
+			LockSupport.unpark(sender);
+		}
+		return true;
+	}
+
+	public long getAcceptedCount() {
+		return acceptedCount.get();
+	}
+
+	/**
+	 * Events rejected because the queue was full.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	public long getSentCount() {
+		return sentCount.get();
+	}
+
+	/**
+	 * Events lost because their batch could not be delivered.
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	public int getQueueSize() {
+		return queueSize.get();
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Exponentially weighted average time to deliver a batch, failed batches included.
+	 */
+	public Duration getSendLatency() {
+		return Duration.ofNanos(sendLatencyNanos);
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(sender);
+		sender.join(sendTimeout.multipliedBy(2).toMillis());
+	}
+
+	private void run() {
+		while (running || !queue.isEmpty()) {
+			if (running && queueSize.get() < batchSize) {
+				LockSupport.parkNanos(this, flushIntervalNanos);
+			}
+
+			final List<EventRequestV2> batch = drain();
+			if (!batch.isEmpty()) {
+				send(batch);
+			}
+		}
+
+		resetChannel();
+	}
+
+	private List<EventRequestV2> drain() {
+		final List<EventRequestV2> batch = new ArrayList<>(Math.min(batchSize, queueSize.get()));
+		EventRequestV2 event;
+		while (batch.size() < batchSize && (event = queue.poll()) != null) {
+			batch.add(event);
+		}
+		queueSize.addAndGet(-batch.size());
+		return batch;
+	}
+
+	private void send(final List<EventRequestV2> batch) {
+		final long start = System.nanoTime();
+		try {
+			if (channel == null) {
+				channel = channelFactory.get();
+			}
+
+			final CountDownLatch done = new CountDownLatch(1);
+			final AtomicReference<Throwable> error = new AtomicReference<>();
+
+			final StreamObserver<EventRequestV2> stream = EventServiceGrpc.newStub(channel)
+					.withDeadlineAfter(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+					.logEventsV2(new StreamObserver<>() {
+						@Override
+						public void onNext(final EventResponse response) {
+						}
+
+						@Override
+						public void onError(final Throwable t) {
+							error.set(t);
+							done.countDown();
+						}
+
+						@Override
+						public void onCompleted() {
+							done.countDown();
+						}
+					});
+
+			batch.forEach(stream::onNext);
+			stream.onCompleted();
+
+			if (!done.await(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				throw new TimeoutException("Timed out sending " + batch.size() + " events");
+			}
+			if (error.get() != null) {
+				throw Status.fromThrowable(error.get()).asRuntimeException();
+			}
+
+			sentCount.addAndGet(batch.size());
+		} catch (final InterruptedException e) {
+			// Nothing interrupts the sender but shutdown, what is still queued fails the same way
+			running = false;
+			Thread.currentThread().interrupt();
+			failed(batch, e);
+		} catch (final RuntimeException | TimeoutException e) {
+			failed(batch, e);
+		} finally {
+			sendLatencyNanos = (sendLatencyNanos * 4 + (System.nanoTime() - start)) / 5;
+		}
+	}
+
+	private void failed(final List<EventRequestV2> batch, final Exception e) {
+		failedCount.addAndGet(batch.size());
+		// Re-resolve the events service on the next batch, the instance may have moved
+		resetChannel();
+		LOGGER.warn("Failed sending {} events: {}", batch.size(), e.getMessage());
+	}
+
+	private void resetChannel() {
+		if (channel != null) {
+			channel.shutdownNow();
+			channel = null;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClient;
+import io.grpc.ManagedChannelBuilder;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@AutoConfiguration
+@ConditionalOnClass(EurekaClient.class)
+@EnableConfigurationProperties(EventClientProperties.class)
+public class EventClientAutoConfiguration {
+	private static final String GRPC_PORT_METADATA = "gRPC_port";
+
+	@Bean
+	@ConditionalOnMissingBean
+	public EventClient eventClient(final EurekaClient eurekaClient, final EventClientProperties properties) {
+		return new EventClient(
+				() -> {
+					final InstanceInfo instanceInfo = eurekaClient.getApplication(properties.applicationName())
+							.getInstances()
+							.getFirst();
+
+					// grpc-server-spring-boot-starter publishes its port as metadata, the instance port is the HTTP one
+					final String grpcPort = instanceInfo.getMetadata().get(GRPC_PORT_METADATA);
+
+					return ManagedChannelBuilder
+							.forAddress(
+									instanceInfo.getIPAddr(),
+									grpcPort != null ? Integer.parseInt(grpcPort) : instanceInfo.getPort()
+							)
+							.usePlaintext()
+							.build();
+				},
+				properties.queueCapacity(),
+				properties.batchSize(),
+				properties.flushInterval(),
+				properties.sendTimeout()
+		);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public EventSampler eventSampler(final EventClient eventClient, final EventClientProperties properties) {
+		final EventClientProperties.Sampling sampling = properties.sampling();
+		return new EventSampler(
+				eventClient,
+				sampling.rules(),
+				sampling.defaultRate(),
+				sampling.minFactor(),
+				sampling.targetLatency(),
+				sampling.queueHighWatermark(),
+				sampling.adjustInterval()
+		);
+	}
+
+	@Bean
+	public WebMvcConfigurer eventsConfigurer(
+			final EventClient eventClient,
+			final EventSampler eventSampler,
+			final EventClientProperties properties,
+			final Environment environment
+	) {
+		final String microserviceName = properties.serviceName() != null
+				? properties.serviceName()
+				: environment.getProperty("spring.application.name");
+
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(@NonNull final InterceptorRegistry registry) {
+				registry.addInterceptor(new EventInterceptor(eventClient, eventSampler, microserviceName));
+			}
+		};
+	}
+}
@@ -0,0 +1,51 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param applicationName Eureka application name of the system events service
+ * @param serviceName     name reported as the event's microservice, defaults to {@code spring.application.name}
+ * @param queueCapacity   events buffered before new ones are dropped
+ * @param batchSize       max events sent per {@code logEventsV2} stream
+ * @param flushInterval   max time an event waits in the queue when the batch isn't full
+ * @param sendTimeout     deadline for a single batch
+ * @param sampling        which requests are reported, see {@link EventSampler}
+ */
+@ConfigurationProperties("events.client")
+public record EventClientProperties(@DefaultValue("SYSTEM_EVENTS") String applicationName,
+									String serviceName,
+									@DefaultValue("10000") int queueCapacity,
+									@DefaultValue("500") int batchSize,
+									@DefaultValue("1s") Duration flushInterval,
+									@DefaultValue("5s") Duration sendTimeout,
+									@DefaultValue Sampling sampling) {
+
+	/**
+	 * @param rules              checked in order, the first match decides; errors are always reported unless configured otherwise
+	 * @param defaultRate        rate for requests no rule matches
+	 * @param minFactor          lowest the load factor goes for adaptive rules
+	 * @param targetLatency      average batch send time above which the load factor is lowered
+	 * @param queueHighWatermark queue fill ratio above which the load factor is lowered
+	 * @param adjustInterval     how often the load factor is re-evaluated
+	 */
+	public record Sampling(List<SamplingRule> rules,
+						   @DefaultValue("1") double defaultRate,
+						   @DefaultValue("0.01") double minFactor,
+						   @DefaultValue("200ms") Duration targetLatency,
+						   @DefaultValue("0.5") double queueHighWatermark,
+						   @DefaultValue("1s") Duration adjustInterval) {
+
+		private static final List<SamplingRule> ALWAYS_REPORT_ERRORS = List.of(
+				new SamplingRule("4xx", null, 1, false),
+				new SamplingRule("5xx", null, 1, false)
+		);
+
+		public Sampling {
+			rules = rules != null ? rules : ALWAYS_REPORT_ERRORS;
+		}
+	}
+}
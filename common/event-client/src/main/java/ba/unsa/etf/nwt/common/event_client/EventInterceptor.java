@@ -0,0 +1,96 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import ba.unsa.etf.nwt.events.EventRequestV2;
+import ba.unsa.etf.nwt.events.HttpMethod;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+public class EventInterceptor implements HandlerInterceptor {
+	private static final String START_ATTRIBUTE = EventInterceptor.class.getName() + ".start";
+	private static final String TRACEPARENT_HEADER = "traceparent";
+	// Set by the gateway once it has validated the token, absent on public endpoints
+	private static final String HANDLE_HEADER = "X-Handle";
+
+	private final EventClient eventClient;
+	private final EventSampler eventSampler;
+	private final String microserviceName;
+
+	public EventInterceptor(final EventClient eventClient, final EventSampler eventSampler, final String microserviceName) {
+		this.eventClient = eventClient;
+		this.eventSampler = eventSampler;
+		this.microserviceName = microserviceName;
+	}
+
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(
+			final HttpServletRequest request,
+			final HttpServletResponse response,
+			final Object handler,
+			final Exception ex
+	) {
+		final double sampleRate = eventSampler.rateFor(request.getMethod(), response.getStatus());
+		if (!eventSampler.sample(sampleRate)) {
+			return;
+		}
+
+		final EventRequestV2.Builder event = EventRequestV2.newBuilder()
+				.setOccurredAtMicros(ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()))
+				.setMicroserviceName(microserviceName)
+				.setMethod(resolveMethod(request))
+				.setResource(resolveResource(request))
+				.setStatus(response.getStatus())
+				.setSampleRate((float) sampleRate);
+
+		if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+			event.setDurationMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+		}
+
+		final String handle = request.getHeader(HANDLE_HEADER);
+		if (handle != null) {
+			event.setUser(handle);
+		}
+
+		final String traceId = resolveTraceId(request);
+		if (traceId != null) {
+			event.setTraceId(traceId);
+		}
+
+		eventClient.publish(event.build());
+	}
+
+	// Prefer the matched route template (/api/v1/workout/{id}) so resources stay low-cardinality
+	private static String resolveResource(final HttpServletRequest request) {
+		final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : request.getRequestURI();
+	}
+
+	private static HttpMethod resolveMethod(final HttpServletRequest request) {
+		try {
+			return HttpMethod.valueOf(request.getMethod());
+		} catch (final IllegalArgumentException e) {
+			return HttpMethod.HTTP_METHOD_UNSPECIFIED;
+		}
+	}
+
+	// W3C trace context: version-traceid-parentid-flags
+	private static String resolveTraceId(final HttpServletRequest request) {
+		final String traceparent = request.getHeader(TRACEPARENT_HEADER);
+		if (traceparent == null) {
+			return null;
+		}
+		final String[] parts = traceparent.split("-");
+		return parts.length == 4 && parts[1].length() == 32 ? parts[1] : null;
+	}
+}
@@ -0,0 +1,101 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides per request whether its event is reported. The first matching {@link SamplingRule} gives the
+ * base rate; adaptive rules are additionally scaled by a load factor that is halved whenever the
+ * {@link EventClient} queue backs up, drops events or batches take longer than {@code targetLatency},
+ * and recovers in small steps once it is healthy again. The rate used is carried on the event so system
+ * events can scale its counts back up.
+ */
+public class EventSampler {
+	private static final double RECOVERY_STEP = 0.05;
+
+	private final EventClient eventClient;
+	private final List<SamplingRule> rules;
+	private final double defaultRate;
+	private final double minFactor;
+	private final long targetLatencyNanos;
+	private final double queueHighWatermark;
+	private final long adjustIntervalNanos;
+
+	private final AtomicLong nextAdjustment;
+	private final AtomicLong skippedCount = new AtomicLong();
+	private volatile double loadFactor = 1;
+	private volatile long lastDroppedCount;
+
+	public EventSampler(
+			final EventClient eventClient,
+			final List<SamplingRule> rules,
+			final double defaultRate,
+			final double minFactor,
+			final Duration targetLatency,
+			final double queueHighWatermark,
+			final Duration adjustInterval
+	) {
+		this.eventClient = eventClient;
+		this.rules = List.copyOf(rules);
+		this.defaultRate = defaultRate;
+		this.minFactor = minFactor;
+		this.targetLatencyNanos = targetLatency.toNanos();
+		this.queueHighWatermark = queueHighWatermark;
+		this.adjustIntervalNanos = adjustInterval.toNanos();
+		this.nextAdjustment = new AtomicLong(System.nanoTime() + adjustIntervalNanos);
+	}
+
+	/**
+	 * Effective sample rate for a request, 1 means it is always reported.
+	 */
+	public double rateFor(final String method, final int status) {
+		adjustIfDue();
+
+		for (final SamplingRule rule : rules) {
+			if (rule.matches(method, status)) {
+				return rule.adaptive() ? rule.rate() * loadFactor : rule.rate();
+			}
+		}
+		return defaultRate * loadFactor;
+	}
+
+	public boolean sample(final double rate) {
+		if (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate) {
+			return true;
+		}
+		skippedCount.incrementAndGet();
+		return false;
+	}
+
+	public double getLoadFactor() {
+		return loadFactor;
+	}
+
+	/**
+	 * Events not reported because they were sampled out.
+	 */
+	public long getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	// Runs on whichever request thread notices the interval has passed, the CAS lets only one of them in
+	private void adjustIfDue() {
+		final long now = System.nanoTime();
+		final long due = nextAdjustment.get();
+		if (now - due < 0 || !nextAdjustment.compareAndSet(due, now + adjustIntervalNanos)) {
+			return;
+		}
+
+		final long droppedCount = eventClient.getDroppedCount();
+		final boolean underPressure = droppedCount > lastDroppedCount
+				|| eventClient.getQueueSize() > queueHighWatermark * eventClient.getQueueCapacity()
+				|| eventClient.getSendLatency().toNanos() > targetLatencyNanos;
+		lastDroppedCount = droppedCount;
+
+		loadFactor = underPressure
+				? Math.max(minFactor, loadFactor / 2)
+				: Math.min(1, loadFactor + RECOVERY_STEP);
+	}
+}
@@ -0,0 +1,29 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param status   exact status ({@code 404}), status class ({@code 2xx}) or empty for any status
+ * @param method   HTTP method or empty for any method
+ * @param rate     share of matching requests to report
+ * @param adaptive whether the rate is lowered further when the event pipeline is under pressure
+ */
+public record SamplingRule(String status,
+						   String method,
+						   @DefaultValue("1") double rate,
+						   @DefaultValue("true") boolean adaptive) {
+
+	public boolean matches(final String requestMethod, final int responseStatus) {
+		if (method != null && !method.isBlank() && !method.equalsIgnoreCase(requestMethod)) {
+			return false;
+		}
+		if (status == null || status.isBlank()) {
+			return true;
+		}
+
+		final String actual = Integer.toString(responseStatus);
+		return status.toLowerCase().endsWith("xx")
+				? actual.startsWith(status.substring(0, 1))
+				: status.equals(actual);
+	}
+}
@@ -0,0 +1,215 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import ba.unsa.etf.nwt.events.EventRequestV2;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventClientTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private final List<RecordingChannel> channels = new CopyOnWriteArrayList<>();
+    private volatile Status status = Status.OK;
+    private EventClient eventClient;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (eventClient != null) {
+            eventClient.close();
+        }
+    }
+
+    @Test
+    void publish_WhenBatchIsFull_ShouldSendItWithoutWaitingForFlushInterval() throws InterruptedException {
+        eventClient = client(10, 3, NEVER);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(eventClient.publish(event(i)));
+        }
+
+        await(() -> eventClient.getSentCount() == 3);
+        assertEquals(1, channels.size());
+        assertEquals(List.of(3), channels.get(0).batchSizes());
+        assertEquals(0, eventClient.getQueueSize());
+    }
+
+    @Test
+    void publish_WhenBatchIsNotFull_ShouldSendAfterFlushInterval() throws InterruptedException {
+        eventClient = client(10, 100, Duration.ofMillis(20));
+
+        eventClient.publish(event(1));
+        eventClient.publish(event(2));
+
+        await(() -> eventClient.getSentCount() == 2);
+        assertEquals(List.of(2), channels.get(0).batchSizes());
+    }
+
+    @Test
+    void publish_WhenQueueIsFull_ShouldDropAndCount() {
+        eventClient = client(2, 10, NEVER);
+
+        assertTrue(eventClient.publish(event(1)));
+        assertTrue(eventClient.publish(event(2)));
+        assertFalse(eventClient.publish(event(3)));
+
+        assertEquals(2, eventClient.getAcceptedCount());
+        assertEquals(1, eventClient.getDroppedCount());
+        assertEquals(2, eventClient.getQueueSize());
+    }
+
+    @Test
+    void close_ShouldDrainQueueAndShutDownChannel() throws InterruptedException {
+        eventClient = client(100, 2, NEVER);
+        // Waits for the first full batch so the rest are still queued when closing
+        eventClient.publish(event(1));
+        eventClient.publish(event(2));
+        await(() -> eventClient.getSentCount() == 2);
+        eventClient.publish(event(3));
+        eventClient.publish(event(4));
+        eventClient.publish(event(5));
+
+        eventClient.close();
+
+        assertEquals(5, eventClient.getSentCount());
+        assertEquals(0, eventClient.getQueueSize());
+        assertTrue(channels.stream().allMatch(RecordingChannel::isShutdown));
+        assertFalse(eventClient.publish(event(6)));
+        assertEquals(1, eventClient.getDroppedCount());
+    }
+
+    @Test
+    void send_WhenCallFails_ShouldCountFailedAndReconnect() throws InterruptedException {
+        eventClient = client(10, 2, NEVER);
+        status = Status.UNAVAILABLE;
+
+        eventClient.publish(event(1));
+        eventClient.publish(event(2));
+        await(() -> eventClient.getFailedCount() == 2);
+
+        status = Status.OK;
+        eventClient.publish(event(3));
+        eventClient.publish(event(4));
+        await(() -> eventClient.getSentCount() == 2);
+
+        // The failed channel was dropped and a new one resolved for the next batch
+        assertEquals(2, channels.size());
+        assertTrue(channels.get(0).isShutdown());
+        assertEquals(List.of(2), channels.get(1).batchSizes());
+    }
+
+    private EventClient client(int queueCapacity, int batchSize, Duration flushInterval) {
+        return new EventClient(() -> {
+            RecordingChannel channel = new RecordingChannel();
+            channels.add(channel);
+            return channel;
+        }, queueCapacity, batchSize, flushInterval, Duration.ofSeconds(5));
+    }
+
+    private static EventRequestV2 event(int status) {
+        return EventRequestV2.newBuilder()
+                .setMicroserviceName("workout")
+                .setResource("/api/v1/workout")
+                .setStatus(200 + status)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Completes every call as soon as the client half-closes it, with the status the test set.
+     */
+    private class RecordingChannel extends ManagedChannel {
+        private final List<List<Object>> batches = new CopyOnWriteArrayList<>();
+        private volatile boolean shutdown;
+
+        List<Integer> batchSizes() {
+            return batches.stream().map(List::size).toList();
+        }
+
+        @Override
+        public <Q, R> ClientCall<Q, R> newCall(MethodDescriptor<Q, R> method, CallOptions callOptions) {
+            return new ClientCall<>() {
+                private final List<Object> messages = new ArrayList<>();
+                private Listener<R> listener;
+
+                @Override
+                public void start(Listener<R> responseListener, Metadata headers) {
+                    listener = responseListener;
+                }
+
+                @Override
+                public void request(int numMessages) {
+                }
+
+                @Override
+                public void cancel(String message, Throwable cause) {
+                }
+
+                @Override
+                public void halfClose() {
+                    Status result = status;
+                    if (result.isOk()) {
+                        batches.add(List.copyOf(messages));
+                    }
+                    listener.onClose(result, new Metadata());
+                }
+
+                @Override
+                public void sendMessage(Q message) {
+                    messages.add(message);
+                }
+            };
+        }
+
+        @Override
+        public String authority() {
+            return "system-events";
+        }
+
+        @Override
+        public ManagedChannel shutdown() {
+            shutdown = true;
+            return this;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public ManagedChannel shutdownNow() {
+            return shutdown();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import ba.unsa.etf.nwt.events.EventRequestV2;
+import ba.unsa.etf.nwt.events.HttpMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EventInterceptorTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private EventClient eventClient;
+    private EventSampler eventSampler;
+    private EventInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        eventClient = mock(EventClient.class);
+        eventSampler = mock(EventSampler.class);
+        when(eventSampler.rateFor(anyString(), anyInt())).thenReturn(0.5);
+        when(eventSampler.sample(anyDouble())).thenReturn(true);
+        interceptor = new EventInterceptor(eventClient, eventSampler, "workout-service");
+    }
+
+    @Test
+    void afterCompletion_ShouldReportRequestAsV2Event() throws InterruptedException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/workout/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/workout/{id}");
+        request.addHeader("X-Handle", "4f1c9a0e-5b1d-4c57-9a7e-2f7a2a1b3c4d");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(201);
+
+        interceptor.preHandle(request, response, new Object());
+        Thread.sleep(2);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        EventRequestV2 event = published();
+        assertEquals("workout-service", event.getMicroserviceName());
+        assertEquals("4f1c9a0e-5b1d-4c57-9a7e-2f7a2a1b3c4d", event.getUser());
+        assertEquals(HttpMethod.POST, event.getMethod());
+        assertEquals("/api/v1/workout/{id}", event.getResource());
+        assertEquals(201, event.getStatus());
+        assertEquals(0.5f, event.getSampleRate());
+        assertTrue(event.getDurationMicros() >= 2_000);
+        assertEquals(TRACE_ID, event.getTraceId());
+        assertTrue(event.getOccurredAtMicros() > 0);
+    }
+
+    @Test
+    void afterCompletion_WithoutHandleOrTrace_ShouldLeaveThemUnset() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/exercise-details");
+        request.addHeader("traceparent", "not-a-trace");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        EventRequestV2 event = published();
+        assertEquals("", event.getUser());
+        assertFalse(event.hasTraceId());
+        assertEquals(0, event.getDurationMicros());
+        assertEquals("/api/v1/exercise-details", event.getResource());
+    }
+
+    @Test
+    void afterCompletion_WhenSampledOut_ShouldNotPublish() {
+        when(eventSampler.sample(anyDouble())).thenReturn(false);
+
+        interceptor.afterCompletion(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse(), new Object(), null);
+
+        verify(eventClient, never()).publish(any());
+    }
+
+    private EventRequestV2 published() {
+        ArgumentCaptor<EventRequestV2> event = ArgumentCaptor.forClass(EventRequestV2.class);
+        verify(eventClient).publish(event.capture());
+        return event.getValue();
+    }
+}
@@ -0,0 +1,123 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EventSamplerTest {
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(200);
+
+    private EventClient eventClient;
+
+    @BeforeEach
+    void setUp() {
+        eventClient = mock(EventClient.class);
+        when(eventClient.getQueueCapacity()).thenReturn(100);
+        when(eventClient.getSendLatency()).thenReturn(Duration.ofMillis(10));
+    }
+
+    @Test
+    void rateFor_ShouldUseFirstMatchingRule() {
+        EventSampler sampler = sampler(List.of(
+                new SamplingRule("404", null, 0.5, false),
+                new SamplingRule("4xx", null, 1, false),
+                new SamplingRule(null, "GET", 0.1, false)
+        ), Duration.ofHours(1));
+
+        assertEquals(0.5, sampler.rateFor("GET", 404));
+        assertEquals(1, sampler.rateFor("GET", 400));
+        assertEquals(0.1, sampler.rateFor("GET", 200));
+        // No rule matches, the default applies
+        assertEquals(0.25, sampler.rateFor("POST", 200));
+    }
+
+    @Test
+    void rateFor_WhenDroppingEvents_ShouldHalveAdaptiveRatesDownToMinimum() {
+        EventSampler sampler = sampler(List.of(new SamplingRule("2xx", null, 0.8, true)), Duration.ZERO);
+        long dropped = 0;
+
+        for (int i = 0; i < 10; i++) {
+            when(eventClient.getDroppedCount()).thenReturn(dropped += 5);
+            sampler.rateFor("GET", 200);
+        }
+
+        assertEquals(0.05, sampler.getLoadFactor());
+        when(eventClient.getDroppedCount()).thenReturn(dropped += 5);
+        assertEquals(0.8 * 0.05, sampler.rateFor("GET", 200), 1e-9);
+    }
+
+    @Test
+    void rateFor_WhenQueueBacksUpOrSendsAreSlow_ShouldLowerLoadFactor() {
+        EventSampler sampler = sampler(List.of(), Duration.ZERO);
+
+        when(eventClient.getQueueSize()).thenReturn(60);
+        sampler.rateFor("GET", 200);
+        assertEquals(0.5, sampler.getLoadFactor());
+
+        when(eventClient.getQueueSize()).thenReturn(0);
+        when(eventClient.getSendLatency()).thenReturn(TARGET_LATENCY.plusMillis(1));
+        sampler.rateFor("GET", 200);
+        assertEquals(0.25, sampler.getLoadFactor());
+    }
+
+    @Test
+    void rateFor_WhenHealthyAgain_ShouldRecoverInSmallSteps() {
+        EventSampler sampler = sampler(List.of(), Duration.ZERO);
+        when(eventClient.getQueueSize()).thenReturn(60);
+        sampler.rateFor("GET", 200);
+        when(eventClient.getQueueSize()).thenReturn(0);
+
+        sampler.rateFor("GET", 200);
+        assertEquals(0.55, sampler.getLoadFactor(), 1e-9);
+
+        for (int i = 0; i < 20; i++) {
+            sampler.rateFor("GET", 200);
+        }
+        assertEquals(1, sampler.getLoadFactor());
+    }
+
+    @Test
+    void rateFor_UnderPressure_ShouldKeepReportingErrorsByDefault() {
+        EventSampler sampler = sampler(new EventClientProperties.Sampling(null, 1, 0.05, TARGET_LATENCY, 0.5, Duration.ZERO).rules(),
+                Duration.ZERO);
+        when(eventClient.getQueueSize()).thenReturn(100);
+
+        for (int i = 0; i < 3; i++) {
+            sampler.rateFor("GET", 200);
+        }
+
+        assertEquals(1, sampler.rateFor("GET", 404));
+        assertEquals(1, sampler.rateFor("POST", 500));
+        assertTrue(sampler.rateFor("GET", 200) < 1);
+    }
+
+    @Test
+    void rateFor_BeforeAdjustInterval_ShouldNotLookAtClient() {
+        EventSampler sampler = sampler(List.of(), Duration.ofHours(1));
+
+        sampler.rateFor("GET", 200);
+
+        verify(eventClient, never()).getDroppedCount();
+        assertEquals(1, sampler.getLoadFactor());
+    }
+
+    @Test
+    void sample_ShouldAlwaysKeepFullRateAndCountSkipped() {
+        EventSampler sampler = sampler(List.of(), Duration.ofHours(1));
+
+        assertTrue(sampler.sample(1));
+        assertFalse(sampler.sample(0));
+        assertFalse(sampler.sample(0));
+
+        assertEquals(2, sampler.getSkippedCount());
+    }
+
+    private EventSampler sampler(List<SamplingRule> rules, Duration adjustInterval) {
+        return new EventSampler(eventClient, rules, 0.25, 0.05, TARGET_LATENCY, 0.5, adjustInterval);
+    }
+}
@@ -0,0 +1,45 @@
+package ba.unsa.etf.nwt.common.event_client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingRuleTest {
+
+    @Test
+    void matches_WithStatusClass_ShouldMatchWholeClass() {
+        SamplingRule rule = new SamplingRule("5xx", null, 1, false);
+
+        assertTrue(rule.matches("GET", 500));
+        assertTrue(rule.matches("GET", 503));
+        assertFalse(rule.matches("GET", 404));
+    }
+
+    @Test
+    void matches_WithStatusClass_ShouldIgnoreCase() {
+        assertTrue(new SamplingRule("4XX", null, 1, false).matches("GET", 429));
+    }
+
+    @Test
+    void matches_WithExactStatus_ShouldMatchOnlyThatStatus() {
+        SamplingRule rule = new SamplingRule("404", null, 1, false);
+
+        assertTrue(rule.matches("GET", 404));
+        assertFalse(rule.matches("GET", 400));
+    }
+
+    @Test
+    void matches_WithMethod_ShouldIgnoreCaseAndRejectOtherMethods() {
+        SamplingRule rule = new SamplingRule("2xx", "get", 0.1, true);
+
+        assertTrue(rule.matches("GET", 200));
+        assertFalse(rule.matches("POST", 200));
+        assertFalse(rule.matches("GET", 500));
+    }
+
+    @Test
+    void matches_WithoutStatusOrMethod_ShouldMatchEverything() {
+        assertTrue(new SamplingRule(null, null, 1, true).matches("DELETE", 204));
+        assertTrue(new SamplingRule("", " ", 1, true).matches("PUT", 500));
+    }
+}
@@ -133,138 +133,105 @@ export default function DashboardPage() {
   };
 
   useEffect(() => {
-    const fetchUserMeals = async () => {
-      setLoadingMeals(true);
-      setErrorMeals(null);
-      try {
-        const user = JSON.parse(localStorage.getItem("user") || "{}");
-        if (!user.handle) {
-          setErrorMeals("User handle not found. Please log in.");
-          setLoadingMeals(false);
-          return;
-        }
-
-        const response = await fetch(
-          `http://localhost:8000/nutrition-service/api/v1/meal?uuid=${user.handle}`,
-          { headers: authHeaders() },
+    const showMeals = (data: Meal[]) => {
+      data.sort(
+        (a, b) => new Date(b.date).getTime() - new Date(a.date).getTime(),
+      );
+      data = data.map((meal) => {
+        const totalCalories = meal.foods.reduce(
+          (sum, food) => sum + food.calories,
+          0,
         );
+        return {
+          ...meal,
+          totalCalories,
+        };
+      });
+      setMeals(data);
+
+      setTodayCalories(
+        data
+          .filter((meal) => isToday(meal.date.toString()))
+          .reduce((sum, meal: Meal) => sum + meal.totalCalories, 0),
+      );
+    };
 
-        if (!response.ok) {
-          const errorData = await response.json();
-          throw new Error(
-            errorData.message || `Failed to fetch meals: ${response.status}`,
-          );
-        }
-
-        let data: Meal[] = await response.json();
-        data.sort(
-          (a, b) => new Date(b.date).getTime() - new Date(a.date).getTime(),
-        );
-        data = data.map((meal) => {
-          const totalCalories = meal.foods.reduce(
-            (sum, food) => sum + food.calories,
-            0,
-          );
-          return {
-            ...meal,
-            totalCalories,
-          };
-        });
-        setMeals(data);
+    const showWorkouts = (data: Workout[]) => {
+      data.sort(
+        (a, b) => new Date(b.date).getTime() - new Date(a.date).getTime(),
+      );
+      setRecentWorkouts(data.slice(0, 3));
 
-        setTodayCalories(
-          data
-            .filter((meal) => isToday(meal.date.toString()))
-            .reduce((sum, meal: Meal) => sum + meal.totalCalories, 0),
-        );
-      } catch (err: any) {
-        console.error("Error fetching meals:", err);
-        setErrorMeals(err.message);
-      } finally {
-        setLoadingMeals(false);
-      }
+      // Calculate stats
+      setTodayWorkoutCount(data.filter((w) => isToday(w.date)).length);
+      setWeeklyWorkoutCount(data.filter((w) => isThisWeek(w.date)).length);
     };
 
-    const fetchUserWorkouts = async () => {
+    // Workouts, meals and goals come back from the gateway in one response,
+    // a part that failed is reported under errors while the rest still renders
+    const fetchDashboard = async () => {
       setLoadingWorkouts(true);
+      setLoadingMeals(true);
+      setLoadingGoals(true);
       setErrorWorkouts(null);
+      setErrorMeals(null);
+      setErrorGoals(null);
       try {
         const user = JSON.parse(localStorage.getItem("user") || "{}");
         if (!user.handle) {
-          setErrorWorkouts("User handle not found. Please log in.");
-          setLoadingWorkouts(false);
+          const message = "User handle not found. Please log in.";
+          setErrorWorkouts(message);
+          setErrorMeals(message);
+          setErrorGoals(message);
           return;
         }
 
         const response = await fetch(
-          `http://localhost:8000/workout-service/api/v1/workout/by-user-uuid/${user.handle}`,
+          "http://localhost:8000/api/v1/dashboard",
           {
-            headers: authHeaders(),
+            headers: {
+              ...authHeaders(),
+              Authorization: `Bearer ${localStorage.getItem("token") || ""}`,
+            },
           },
         );
 
-        if (!response.ok) {
-          const errorData = await response.json();
+        const data = await response.json();
+        if (!response.ok && response.status !== 502) {
           throw new Error(
-            errorData.message || `Failed to fetch workouts: ${response.status}`,
+            data.message || `Failed to fetch dashboard: ${response.status}`,
           );
         }
 
-        const data: Workout[] = await response.json();
-        data.sort(
-          (a, b) => new Date(b.date).getTime() - new Date(a.date).getTime(),
-        );
-        setRecentWorkouts(data.slice(0, 3));
-
-        // Calculate stats
-        setTodayWorkoutCount(data.filter((w) => isToday(w.date)).length);
-        setWeeklyWorkoutCount(data.filter((w) => isThisWeek(w.date)).length);
-      } catch (err: any) {
-        console.error("Error fetching workouts:", err);
-        setErrorWorkouts(err.message);
-      } finally {
-        setLoadingWorkouts(false);
-      }
-    };
-
-    const fetchUserGoals = async () => {
-      setLoadingGoals(true);
-      setErrorGoals(null);
-      try {
-        const user = JSON.parse(localStorage.getItem("user") || "{}");
-        if (!user.handle) {
-          setErrorGoals("User handle not found. Please log in.");
-          setLoadingGoals(false);
-          return;
+        const errors = data.errors || {};
+        if (errors.workouts) {
+          setErrorWorkouts(`Failed to fetch workouts: ${errors.workouts}`);
+        } else {
+          showWorkouts(data.workouts);
         }
-
-        const response = await fetch(
-          `http://localhost:8000/notification-service/api/v1/goal?user_handle=${user.handle}`,
-          {
-            headers: authHeaders(),
-          },
-        );
-
-        if (!response.ok) {
-          const errorData = await response.json();
-          throw new Error(
-            errorData.message || `Failed to fetch goals: ${response.status}`,
-          );
+        if (errors.meals) {
+          setErrorMeals(`Failed to fetch meals: ${errors.meals}`);
+        } else {
+          showMeals(data.meals);
+        }
+        if (errors.goals) {
+          setErrorGoals(`Failed to fetch goals: ${errors.goals}`);
+        } else {
+          setGoals(data.goals);
         }
-
-        const data = await response.json();
-        setGoals(data);
       } catch (err: any) {
-        console.error("Error fetching goals:", err);
+        console.error("Error fetching dashboard:", err);
         setErrorWorkouts(err.message);
+        setErrorMeals(err.message);
+        setErrorGoals(err.message);
       } finally {
         setLoadingWorkouts(false);
+        setLoadingMeals(false);
+        setLoadingGoals(false);
       }
     };
 
-    fetchUserWorkouts();
-    fetchUserMeals();
-    fetchUserGoals();
+    fetchDashboard();
   }, []);
 
   return (
@@ -0,0 +1,7 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+/**
+ * Sent by a service after a write, so every gateway drops the responses it cached for the region.
+ */
+public record CacheInvalidationEvent(String region) {
+}
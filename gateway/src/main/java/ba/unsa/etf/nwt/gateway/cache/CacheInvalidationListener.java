@@ -0,0 +1,30 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import ba.unsa.etf.nwt.gateway.config.RabbitMQConfig;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Each gateway instance binds its own anonymous queue to the fanout exchange, so an invalidation
+ * reaches all of them.
+ */
+@Component
+public class CacheInvalidationListener {
+	private final ResponseCache cache;
+
+	public CacheInvalidationListener(final ResponseCache cache) {
+		this.cache = cache;
+	}
+
+	@RabbitListener(bindings = @QueueBinding(
+			value = @Queue,
+			exchange = @Exchange(value = RabbitMQConfig.CACHE_EXCHANGE, type = ExchangeTypes.FANOUT)
+	))
+	public void handleInvalidation(final CacheInvalidationEvent event) {
+		cache.invalidate(event.region());
+	}
+}
@@ -0,0 +1,66 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * How long a response may be served from the cache, read from its {@code Cache-Control}.
+ * As a shared cache {@code s-maxage} wins over {@code max-age}; a response without either gets the defaults.
+ *
+ * @param ttl                  how long the response is served as is
+ * @param staleWhileRevalidate how long after that it is still served while a fresh copy is fetched
+ */
+public record CacheLifetime(Duration ttl, Duration staleWhileRevalidate) {
+
+	/**
+	 * @return the lifetime of the response, or {@code null} if it must not be stored
+	 */
+	public static CacheLifetime from(final HttpHeaders headers, final CacheLifetime defaults) {
+		final String cacheControl = headers.getCacheControl();
+		if (cacheControl == null) {
+			return defaults.isEmpty() ? null : defaults;
+		}
+
+		Duration maxAge = null;
+		Duration sharedMaxAge = null;
+		Duration stale = null;
+		for (final String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+			final String[] parts = directive.trim().split("=", 2);
+			switch (parts[0]) {
+				case "no-store", "no-cache", "private" -> {
+					return null;
+				}
+				case "max-age" -> maxAge = seconds(parts);
+				case "s-maxage" -> sharedMaxAge = seconds(parts);
+				case "stale-while-revalidate" -> stale = seconds(parts);
+				default -> {
+				}
+			}
+		}
+
+		final Duration ttl = sharedMaxAge != null ? sharedMaxAge : maxAge;
+		final CacheLifetime lifetime = new CacheLifetime(
+				ttl != null ? ttl : defaults.ttl(),
+				stale != null ? stale : defaults.staleWhileRevalidate()
+		);
+		return lifetime.isEmpty() ? null : lifetime;
+	}
+
+	public boolean isEmpty() {
+		return ttl.isZero() && staleWhileRevalidate.isZero();
+	}
+
+	// A malformed value is treated as zero, the response is then at most served stale
+	private static Duration seconds(final String[] directive) {
+		if (directive.length < 2) {
+			return Duration.ZERO;
+		}
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(directive[1].trim().replace("\"", ""))));
+		} catch (final NumberFormatException e) {
+			return Duration.ZERO;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared cache of GET responses, bounded by the total size of what it holds: the least recently used
+ * entries are evicted once {@code maxBytes} is exceeded. Entries are grouped in regions so a service can
+ * drop everything it owns when its data changes.
+ * <p>
+ * Keys are built from the request URI only, so every user shares an entry; only routes whose responses
+ * don't depend on who's asking should be cached.
+ */
+public class ResponseCache {
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private final Set<Key> revalidating = ConcurrentHashMap.newKeySet();
+	private final Map<String, Long> generations = new HashMap<>();
+	private final long maxBytes;
+	private final long maxEntryBytes;
+	private final LongSupplier nanoClock;
+	private long bytes;
+
+	public ResponseCache(final long maxBytes, final long maxEntryBytes) {
+		this(maxBytes, maxEntryBytes, System::nanoTime);
+	}
+
+	public ResponseCache(final long maxBytes, final long maxEntryBytes, final LongSupplier nanoClock) {
+		this.maxBytes = maxBytes;
+		this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Normalizes the URI into a key: dot segments, repeated and trailing slashes are dropped, escapes
+	 * are decoded and query parameters sorted by name, so equivalent URIs share an entry.
+	 */
+	public static String keyFor(final URI uri) {
+		String path = UriUtils.decode(uri.normalize().getRawPath(), StandardCharsets.UTF_8);
+		if (path.isEmpty()) {
+			path = "/";
+		} else if (path.length() > 1 && path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+
+		final MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(uri).build().getQueryParams();
+		if (params.isEmpty()) {
+			return path;
+		}
+
+		final StringBuilder key = new StringBuilder(path);
+		char separator = '?';
+		for (final Map.Entry<String, List<String>> param : new TreeMap<>(decode(params)).entrySet()) {
+			for (final String value : param.getValue()) {
+				key.append(separator).append(param.getKey()).append('=').append(value);
+				separator = '&';
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * @return the stored response, or {@code null} if there is none or it's past its stale window
+	 */
+	public synchronized Hit get(final String region, final String key) {
+		final Key entryKey = new Key(region, key);
+		final Entry entry = entries.get(entryKey);
+		if (entry == null) {
+			return null;
+		}
+
+		final long now = nanoClock.getAsLong();
+		if (now - entry.staleUntil() >= 0) {
+			remove(entryKey);
+			return null;
+		}
+		return new Hit(entry.headers(), entry.body(), now - entry.storedAt(), now - entry.freshUntil() >= 0);
+	}
+
+	/**
+	 * Counts the invalidations of the region. A response fetched before an invalidation may already be
+	 * outdated, so it's stored only if the generation taken before the fetch is still current.
+	 */
+	public synchronized long generation(final String region) {
+		return generations.getOrDefault(region, 0L);
+	}
+
+	/**
+	 * Stores the response, evicting the least recently used entries to make room.
+	 * Responses larger than the entry limit, or fetched before the region was invalidated, are not stored.
+	 */
+	public synchronized void put(
+			final String region,
+			final String key,
+			final HttpHeaders headers,
+			final byte[] body,
+			final CacheLifetime lifetime,
+			final long generation
+	) {
+		if (generation != generation(region)) {
+			return;
+		}
+
+		final Key entryKey = new Key(region, key);
+		final long weight = weigh(entryKey, headers, body);
+		if (weight > maxEntryBytes) {
+			return;
+		}
+
+		final long now = nanoClock.getAsLong();
+		final long freshUntil = now + lifetime.ttl().toNanos();
+		remove(entryKey);
+		entries.put(entryKey, new Entry(
+				HttpHeaders.readOnlyHttpHeaders(headers),
+				body,
+				weight,
+				now,
+				freshUntil,
+				freshUntil + lifetime.staleWhileRevalidate().toNanos()
+		));
+		bytes += weight;
+
+		final Iterator<Entry> eldest = entries.values().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			bytes -= eldest.next().weight();
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Drops every entry of the region.
+	 */
+	public synchronized void invalidate(final String region) {
+		generations.merge(region, 1L, Long::sum);
+
+		final Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Map.Entry<Key, Entry> entry = iterator.next();
+			if (entry.getKey().region().equals(region)) {
+				bytes -= entry.getValue().weight();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Claims the revalidation of a stale entry, so only one request refreshes it at a time.
+	 *
+	 * @return whether the caller should fetch a fresh copy
+	 */
+	public boolean startRevalidation(final String region, final String key) {
+		return revalidating.add(new Key(region, key));
+	}
+
+	public void finishRevalidation(final String region, final String key) {
+		revalidating.remove(new Key(region, key));
+	}
+
+	/**
+	 * @return the largest body that can be stored, responses above it can be passed through unread
+	 */
+	public long maxEntryBytes() {
+		return maxEntryBytes;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long bytes() {
+		return bytes;
+	}
+
+	private void remove(final Key key) {
+		final Entry removed = entries.remove(key);
+		if (removed != null) {
+			bytes -= removed.weight();
+		}
+	}
+
+	private static long weigh(final Key key, final HttpHeaders headers, final byte[] body) {
+		long weight = body.length + key.region().length() + key.uri().length();
+		for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+			weight += header.getKey().length();
+			for (final String value : header.getValue()) {
+				weight += value.length();
+			}
+		}
+		return weight;
+	}
+
+	private static MultiValueMap<String, String> decode(final MultiValueMap<String, String> params) {
+		final MultiValueMap<String, String> decoded = new LinkedMultiValueMap<>();
+		params.forEach((name, values) -> values.forEach(value -> decoded.add(
+				UriUtils.decode(name, StandardCharsets.UTF_8),
+				value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : ""
+		)));
+		return decoded;
+	}
+
+	/**
+	 * @param ageNanos how long ago the response was stored
+	 * @param stale    whether it's past its TTL and should be revalidated
+	 */
+	public record Hit(HttpHeaders headers, byte[] body, long ageNanos, boolean stale) {
+	}
+
+	private record Key(String region, String uri) {
+	}
+
+	private record Entry(HttpHeaders headers, byte[] body, long weight, long storedAt, long freshUntil, long staleUntil) {
+	}
+}
@@ -0,0 +1,42 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import ba.unsa.etf.nwt.gateway.cache.properties.ResponseCacheProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Filters share one cache, bounded as a whole, and keep their entries in the region they're created for.
+ */
+@Component
+public class ResponseCacheFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheFilterFactory.Config> {
+	private final ResponseCache cache;
+	private final WebClient webClient;
+	private final CacheLifetime defaults;
+
+	public ResponseCacheFilterFactory(
+			final ResponseCache cache,
+			final WebClient.Builder webClientBuilder,
+			final ResponseCacheProperties properties
+	) {
+		this.cache = cache;
+		this.webClient = webClientBuilder.build();
+		this.defaults = new CacheLifetime(properties.defaultTtl(), properties.defaultStaleWhileRevalidate());
+	}
+
+	@Override
+	public GatewayFilter apply(final Config config) {
+		return new ResponseCacheGatewayFilter(config.region(), cache, webClient, defaults);
+	}
+
+	public GatewayFilter forRegion(final String region) {
+		return apply(new Config(region));
+	}
+
+	/**
+	 * @param region name the owning service invalidates the entries by
+	 */
+	public record Config(String region) {
+	}
+}
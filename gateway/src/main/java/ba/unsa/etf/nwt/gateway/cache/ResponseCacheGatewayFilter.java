@@ -0,0 +1,212 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers GETs of a route from the shared {@link ResponseCache}. A miss goes downstream and a 200 is
+ * stored for as long as its {@code Cache-Control} allows. Once past its TTL an entry is still served
+ * during its stale-while-revalidate window, while a single background request fetches a fresh copy.
+ * Responses carry {@code X-Cache: HIT}, {@code STALE} or {@code MISS}. Bodies declared larger than the
+ * cache's entry limit are passed through without being read into memory.
+ * <p>
+ * The body is captured by wrapping the response before the routing filters write it, so this runs ahead
+ * of the route's position-ordered filters ({@link #ORDER}); filters that must come first, like rate
+ * limiting, need an explicit lower order. The request path is cached as this filter sees it.
+ */
+public class ResponseCacheGatewayFilter implements GatewayFilter, Ordered {
+	public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+	private static final Set<String> UNCACHED_HEADERS = Set.of(
+			HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+			"keep-alive",
+			HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+			HttpHeaders.UPGRADE.toLowerCase(Locale.ROOT),
+			HttpHeaders.SET_COOKIE.toLowerCase(Locale.ROOT),
+			HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+			HttpHeaders.AGE.toLowerCase(Locale.ROOT),
+			CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT)
+	);
+
+	private static final Set<String> UNFORWARDED_HEADERS = Set.of(
+			HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+			"keep-alive",
+			HttpHeaders.HOST.toLowerCase(Locale.ROOT),
+			HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+			HttpHeaders.IF_NONE_MATCH.toLowerCase(Locale.ROOT),
+			HttpHeaders.IF_MODIFIED_SINCE.toLowerCase(Locale.ROOT)
+	);
+
+	private final String region;
+	private final ResponseCache cache;
+	private final WebClient webClient;
+	private final CacheLifetime defaults;
+
+	public ResponseCacheGatewayFilter(
+			final String region,
+			final ResponseCache cache,
+			final WebClient webClient,
+			final CacheLifetime defaults
+	) {
+		this.region = region;
+		this.cache = cache;
+		this.webClient = webClient;
+		this.defaults = defaults;
+	}
+
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final ServerHttpRequest request = exchange.getRequest();
+		if (!HttpMethod.GET.equals(request.getMethod())) {
+			return chain.filter(exchange);
+		}
+
+		final String key = ResponseCache.keyFor(request.getURI());
+		final long generation = cache.generation(region);
+		final ResponseCache.Hit hit = cache.get(region, key);
+		if (hit == null) {
+			return chain.filter(exchange.mutate()
+					.response(new CapturingResponse(exchange.getResponse(), key, generation))
+					.build());
+		}
+
+		if (hit.stale()) {
+			revalidate(exchange, key, generation);
+		}
+		return write(exchange.getResponse(), hit);
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	private static Mono<Void> write(final ServerHttpResponse response, final ResponseCache.Hit hit) {
+		response.setStatusCode(HttpStatus.OK);
+		hit.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+		response.getHeaders().set(HttpHeaders.AGE, Long.toString(TimeUnit.NANOSECONDS.toSeconds(hit.ageNanos())));
+		response.getHeaders().set(CACHE_STATUS_HEADER, hit.stale() ? "STALE" : "HIT");
+
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(hit.body())));
+	}
+
+	// Serving continues from the stale entry regardless of the outcome, a failed refresh is retried by the next request
+	private void revalidate(final ServerWebExchange exchange, final String key, final long generation) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (route == null || !cache.startRevalidation(region, key)) {
+			return;
+		}
+
+		final ServerHttpRequest request = exchange.getRequest();
+		final URI target = UriComponentsBuilder.fromUri(route.getUri())
+				.replacePath(request.getURI().getRawPath())
+				.replaceQuery(request.getURI().getRawQuery())
+				.build(true)
+				.toUri();
+
+		webClient.get()
+				.uri(target)
+				.headers(headers -> request.getHeaders().forEach((name, values) -> {
+					if (!UNFORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+						headers.put(name, values);
+					}
+				}))
+				.exchangeToMono(response -> {
+					if (response.statusCode().value() != HttpStatus.OK.value()
+							|| response.headers().contentLength().orElse(0) > cache.maxEntryBytes()) {
+						return response.releaseBody();
+					}
+					// Read up to the entry limit rather than the codec's, a larger body couldn't be stored anyway
+					final int limit = (int) Math.min(cache.maxEntryBytes(), Integer.MAX_VALUE);
+					return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), limit)
+							.map(joined -> {
+								final byte[] body = new byte[joined.readableByteCount()];
+								joined.read(body);
+								DataBufferUtils.release(joined);
+								return body;
+							})
+							.defaultIfEmpty(new byte[0])
+							.doOnNext(body -> store(key, generation, response.headers().asHttpHeaders(), body))
+							.onErrorResume(DataBufferLimitException.class, tooLarge -> Mono.empty())
+							.then();
+				})
+				.doFinally(signal -> cache.finishRevalidation(region, key))
+				.subscribe(ignored -> {}, error -> {});
+	}
+
+	private void store(final String key, final long generation, final HttpHeaders responseHeaders, final byte[] body) {
+		final CacheLifetime lifetime = CacheLifetime.from(responseHeaders, defaults);
+		if (lifetime == null) {
+			return;
+		}
+
+		// CORS headers are added by the gateway itself on every response
+		final HttpHeaders headers = new HttpHeaders();
+		responseHeaders.forEach((name, values) -> {
+			final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+			if (!UNCACHED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+				headers.put(name, values);
+			}
+		});
+		cache.put(region, key, headers, body, lifetime, generation);
+	}
+
+	/**
+	 * Passes the downstream response through, keeping a copy of a cacheable body on the way.
+	 */
+	private class CapturingResponse extends ServerHttpResponseDecorator {
+		private final String key;
+		private final long generation;
+
+		CapturingResponse(final ServerHttpResponse delegate, final String key, final long generation) {
+			super(delegate);
+			this.key = key;
+			this.generation = generation;
+		}
+
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+			if (getStatusCode() == null
+					|| getStatusCode().value() != HttpStatus.OK.value()
+					|| getHeaders().getContentLength() > cache.maxEntryBytes()
+					|| CacheLifetime.from(getHeaders(), defaults) == null) {
+				return super.writeWith(body);
+			}
+
+			return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+				final byte[] bytes = new byte[joined.readableByteCount()];
+				joined.read(bytes);
+				DataBufferUtils.release(joined);
+
+				store(key, generation, getHeaders(), bytes);
+				return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+			});
+		}
+	}
+}
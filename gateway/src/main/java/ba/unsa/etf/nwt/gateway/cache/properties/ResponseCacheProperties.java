@@ -0,0 +1,20 @@
+package ba.unsa.etf.nwt.gateway.cache.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param maxSize                     total size of the cached responses, shared by all routes
+ * @param maxEntrySize                responses larger than this are passed through without being stored
+ * @param defaultTtl                  for responses without a {@code max-age}
+ * @param defaultStaleWhileRevalidate for responses without a {@code stale-while-revalidate}
+ */
+@ConfigurationProperties("response-cache")
+public record ResponseCacheProperties(@DefaultValue("16MB") DataSize maxSize,
+									  @DefaultValue("1MB") DataSize maxEntrySize,
+									  @DefaultValue("30s") Duration defaultTtl,
+									  @DefaultValue("30s") Duration defaultStaleWhileRevalidate) {
+}
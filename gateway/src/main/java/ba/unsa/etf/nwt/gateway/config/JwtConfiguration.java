@@ -0,0 +1,51 @@
+package ba.unsa.etf.nwt.gateway.config;
+
+import ba.unsa.etf.nwt.gateway.security.JwtTokenVerifier;
+import ba.unsa.etf.nwt.gateway.security.RevocationList;
+import ba.unsa.etf.nwt.gateway.security.RevocationSync;
+import ba.unsa.etf.nwt.gateway.security.TokenValidationCache;
+import ba.unsa.etf.nwt.gateway.security.properties.JwtProperties;
+import ba.unsa.etf.nwt.gateway.security.properties.RevocationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@EnableConfigurationProperties({JwtProperties.class, RevocationProperties.class})
+public class JwtConfiguration {
+
+	@Bean
+	public JwtTokenVerifier jwtTokenVerifier(final JwtProperties jwtProperties) {
+		return new JwtTokenVerifier(
+				jwtProperties.secretKey(),
+				jwtProperties.tokenPrefix(),
+				jwtProperties.authoritiesKey()
+		);
+	}
+
+	@Bean
+	public TokenValidationCache tokenValidationCache(final JwtProperties jwtProperties) {
+		return new TokenValidationCache(jwtProperties.validationCacheSize());
+	}
+
+	@Bean
+	public RevocationList revocationList() {
+		return new RevocationList();
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "close")
+	public RevocationSync revocationSync(
+			final WebClient.Builder webClientBuilder,
+			final RevocationList revocationList,
+			final RevocationProperties properties
+	) {
+		return new RevocationSync(
+				webClientBuilder.build(),
+				revocationList,
+				properties.refreshInterval(),
+				properties.retryInterval(),
+				properties.timeout()
+		);
+	}
+}
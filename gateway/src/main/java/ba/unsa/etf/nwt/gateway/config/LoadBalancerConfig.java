@@ -0,0 +1,21 @@
+package ba.unsa.etf.nwt.gateway.config;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.InstanceStats;
+import ba.unsa.etf.nwt.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.AffinityProperties;
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.HedgingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({HedgingProperties.class, AffinityProperties.class})
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+	@Bean
+	public InstanceStats instanceStats() {
+		return new InstanceStats();
+	}
+}
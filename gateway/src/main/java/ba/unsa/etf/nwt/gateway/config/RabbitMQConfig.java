@@ -0,0 +1,34 @@
+package ba.unsa.etf.nwt.gateway.config;
+
+import ba.unsa.etf.nwt.gateway.cache.CacheInvalidationEvent;
+import ba.unsa.etf.nwt.gateway.security.TokenRevokedEvent;
+import org.springframework.amqp.support.converter.ClassMapper;
+import org.springframework.amqp.support.converter.DefaultClassMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class RabbitMQConfig {
+	public static final String CACHE_EXCHANGE = "gateway.cache.exchange";
+	public static final String REVOCATION_EXCHANGE = "auth.revocation.exchange";
+
+	@Bean
+	public Jackson2JsonMessageConverter messageConverter() {
+		final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+		converter.setClassMapper(classMapper());
+		return converter;
+	}
+
+	@Bean
+	public ClassMapper classMapper() {
+		final DefaultClassMapper classMapper = new DefaultClassMapper();
+		classMapper.setIdClassMapping(Map.of(
+				"ba.unsa.etf.nwt.workout_service.dto.CacheInvalidationEvent", CacheInvalidationEvent.class,
+				"ba.unsa.etf.nwt.auth.dto.TokenRevokedEvent", TokenRevokedEvent.class
+		));
+		return classMapper;
+	}
+}
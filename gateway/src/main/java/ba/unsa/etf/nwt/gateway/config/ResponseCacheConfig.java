@@ -0,0 +1,17 @@
+package ba.unsa.etf.nwt.gateway.config;
+
+import ba.unsa.etf.nwt.gateway.cache.ResponseCache;
+import ba.unsa.etf.nwt.gateway.cache.properties.ResponseCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+	@Bean
+	public ResponseCache responseCache(final ResponseCacheProperties properties) {
+		return new ResponseCache(properties.maxSize().toBytes(), properties.maxEntrySize().toBytes());
+	}
+}
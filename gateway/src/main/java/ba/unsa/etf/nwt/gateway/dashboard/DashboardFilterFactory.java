@@ -0,0 +1,34 @@
+package ba.unsa.etf.nwt.gateway.dashboard;
+
+import ba.unsa.etf.nwt.gateway.dashboard.properties.DashboardProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Component
+@EnableConfigurationProperties(DashboardProperties.class)
+public class DashboardFilterFactory extends AbstractGatewayFilterFactory<DashboardFilterFactory.NullConfig> {
+	private final DashboardGatewayFilter filter;
+
+	public DashboardFilterFactory(
+			final WebClient.Builder webClientBuilder,
+			final ObjectMapper objectMapper,
+			final DashboardProperties properties
+	) {
+		this.filter = new DashboardGatewayFilter(webClientBuilder.build(), objectMapper, properties.legTimeout());
+	}
+
+	@Override
+	public GatewayFilter apply(final NullConfig config) {
+		return filter;
+	}
+
+	public GatewayFilter apply() {
+		return apply(new NullConfig());
+	}
+
+	public static class NullConfig {}
+}
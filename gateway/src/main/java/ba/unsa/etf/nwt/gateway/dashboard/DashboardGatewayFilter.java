@@ -0,0 +1,118 @@
+package ba.unsa.etf.nwt.gateway.dashboard;
+
+import ba.unsa.etf.nwt.gateway.security.AuthServiceGatewayFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves the dashboard in one round trip: once the auth filter has run, the workout, meal and goal
+ * lists of the user are fetched in parallel and merged into a single document, so the page waits for
+ * the slowest call instead of the sum of three. Each call has its own timeout; a call that fails or
+ * times out is reported under {@code errors} and the rest is still returned.
+ */
+public class DashboardGatewayFilter implements GatewayFilter {
+	private static final List<String> FORWARDED_HEADERS = List.of(
+			HttpHeaders.AUTHORIZATION,
+			"X-Username",
+			"X-Role",
+			"X-Handle"
+	);
+
+	private static final List<Leg> LEGS = List.of(
+			new Leg("workouts", "lb://workout-service/api/v1/workout/by-user-uuid/{handle}"),
+			new Leg("meals", "lb://nutrition-service/api/v1/meal?uuid={handle}"),
+			new Leg("goals", "lb://notification-service/api/v1/goal?user_handle={handle}")
+	);
+
+	private final WebClient webClient;
+	private final ObjectMapper objectMapper;
+	private final Duration legTimeout;
+
+	public DashboardGatewayFilter(final WebClient webClient, final ObjectMapper objectMapper, final Duration legTimeout) {
+		this.webClient = webClient;
+		this.objectMapper = objectMapper;
+		this.legTimeout = legTimeout;
+	}
+
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final Object handle = exchange.getAttribute(AuthServiceGatewayFilter.HANDLE_ATTRIBUTE);
+		if (handle == null) {
+			return write(exchange, HttpStatus.UNAUTHORIZED, objectMapper.createObjectNode());
+		}
+
+		return Flux.fromIterable(LEGS)
+				.flatMap(leg -> fetch(leg, handle.toString(), exchange.getRequest()))
+				.collectList()
+				.flatMap(results -> {
+					final ObjectNode document = objectMapper.createObjectNode();
+					final ObjectNode errors = objectMapper.createObjectNode();
+					results.forEach(result -> {
+						document.set(result.name(), result.body());
+						if (result.error() != null) {
+							errors.put(result.name(), result.error());
+						}
+					});
+					document.set("errors", errors);
+
+					// Partial results are still useful, only fail the request when nothing came back
+					final HttpStatus status = errors.size() == LEGS.size() ? HttpStatus.BAD_GATEWAY : HttpStatus.OK;
+					return write(exchange, status, document);
+				});
+	}
+
+	private Mono<LegResult> fetch(final Leg leg, final String handle, final ServerHttpRequest request) {
+		return webClient.get()
+				.uri(leg.uri(), handle)
+				.headers(headers -> FORWARDED_HEADERS.forEach(name -> {
+					final String value = request.getHeaders().getFirst(name);
+					if (value != null) {
+						headers.set(name, value);
+					}
+				}))
+				.retrieve()
+				.bodyToMono(JsonNode.class)
+				.timeout(legTimeout)
+				.map(body -> new LegResult(leg.name(), body, null))
+				.onErrorResume(error -> Mono.just(new LegResult(
+						leg.name(),
+						objectMapper.nullNode(),
+						error instanceof TimeoutException ? "Timed out" : "Unavailable"
+				)));
+	}
+
+	private Mono<Void> write(final ServerWebExchange exchange, final HttpStatus status, final JsonNode document) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(status);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+		try {
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(document))));
+		} catch (final JsonProcessingException e) {
+			return Mono.error(e);
+		}
+	}
+
+	private record Leg(String name, String uri) {
+	}
+
+	private record LegResult(String name, JsonNode body, String error) {
+	}
+}
@@ -0,0 +1,13 @@
+package ba.unsa.etf.nwt.gateway.dashboard.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param legTimeout how long a single downstream call may take before its part is left out
+ */
+@ConfigurationProperties("dashboard")
+public record DashboardProperties(@DefaultValue("2s") Duration legTimeout) {
+}
@@ -0,0 +1,41 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.AffinityProperties;
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.HedgingProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Component
+public class HedgingFilterFactory extends AbstractGatewayFilterFactory<HedgingFilterFactory.NullConfig> {
+	private final HedgingGatewayFilter filter;
+
+	public HedgingFilterFactory(
+			final LoadBalancerClientFactory loadBalancerClientFactory,
+			final InstanceStats instanceStats,
+			final HedgingProperties properties,
+			final AffinityProperties affinityProperties
+	) {
+		// Instances are picked here, so this client must not be the @LoadBalanced one
+		this.filter = new HedgingGatewayFilter(
+				WebClient.create(),
+				loadBalancerClientFactory,
+				instanceStats,
+				properties,
+				affinityProperties
+		);
+	}
+
+	@Override
+	public GatewayFilter apply(final NullConfig config) {
+		return filter;
+	}
+
+	public GatewayFilter apply() {
+		return apply(new NullConfig());
+	}
+
+	public static class NullConfig {}
+}
@@ -0,0 +1,163 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.AffinityProperties;
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.HedgingProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hedged GETs for a load-balanced route: the request goes to the best instance, and if it hasn't answered
+ * within the service's p95 latency the same request is sent to a second instance. Whichever sends its
+ * response headers first wins and its body is streamed through as it arrives, never buffered, while the
+ * other is cancelled. Only the slowest ~5% of requests are duplicated, which cuts the tail caused by a
+ * pausing or cold instance at little extra load.
+ * <p>
+ * Hedged requests are proxied here instead of by the routing filter, so this has to be the last filter
+ * of the route. Anything other than a GET, and services with a single instance, go through the chain.
+ * For services routed by handle, the backup is the user's next instance in hash order.
+ */
+public class HedgingGatewayFilter implements GatewayFilter {
+	private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+			HttpHeaders.CONNECTION,
+			"Keep-Alive",
+			HttpHeaders.PROXY_AUTHENTICATE,
+			HttpHeaders.PROXY_AUTHORIZATION,
+			HttpHeaders.TE,
+			HttpHeaders.TRAILER,
+			HttpHeaders.TRANSFER_ENCODING,
+			HttpHeaders.UPGRADE,
+			HttpHeaders.HOST
+	);
+
+	private final WebClient webClient;
+	private final LoadBalancerClientFactory loadBalancerClientFactory;
+	private final InstanceStats instanceStats;
+	private final HedgingProperties properties;
+	private final AffinityProperties affinityProperties;
+
+	public HedgingGatewayFilter(
+			final WebClient webClient,
+			final LoadBalancerClientFactory loadBalancerClientFactory,
+			final InstanceStats instanceStats,
+			final HedgingProperties properties,
+			final AffinityProperties affinityProperties
+	) {
+		this.webClient = webClient;
+		this.loadBalancerClientFactory = loadBalancerClientFactory;
+		this.instanceStats = instanceStats;
+		this.properties = properties;
+		this.affinityProperties = affinityProperties;
+	}
+
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!HttpMethod.GET.equals(exchange.getRequest().getMethod()) || route == null || !"lb".equals(route.getUri().getScheme())) {
+			return chain.filter(exchange);
+		}
+
+		final String serviceId = route.getUri().getHost();
+		final ServiceInstanceListSupplier supplier =
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class).getIfAvailable();
+		if (supplier == null) {
+			return chain.filter(exchange);
+		}
+
+		return supplier.get().next().defaultIfEmpty(List.of()).flatMap(instances -> {
+			if (instances.size() < 2) {
+				return chain.filter(exchange);
+			}
+
+			final String handle = affinityProperties.isEnabled(serviceId)
+					? exchange.getRequest().getHeaders().getFirst(affinityProperties.header())
+					: null;
+			final ServiceInstance primary = choose(instances, handle);
+			final ServiceInstance backup = choose(
+					instances.stream().filter(instance -> instance != primary).toList(),
+					handle
+			);
+
+			final Mono<ResponseEntity<Flux<DataBuffer>>> hedge = Mono.delay(hedgeDelay(serviceId))
+					.then(Mono.defer(() -> {
+						instanceStats.forInstance(backup).hedged();
+						return send(backup, exchange.getRequest());
+					}));
+
+			return Mono.firstWithValue(send(primary, exchange.getRequest()), hedge)
+					.flatMap(response -> write(exchange, response));
+		});
+	}
+
+	private ServiceInstance choose(final List<ServiceInstance> instances, final String handle) {
+		return handle == null || handle.isBlank()
+				? LatencyAwareLoadBalancer.choose(instances, instanceStats)
+				: LatencyAwareLoadBalancer.chooseByAffinity(instances, handle, instanceStats, affinityProperties.loadFactor());
+	}
+
+	private Duration hedgeDelay(final String serviceId) {
+		final Duration p95 = instanceStats.p95(serviceId).orElse(properties.defaultDelay());
+		return p95.compareTo(properties.minDelay()) < 0 ? properties.minDelay() : p95;
+	}
+
+	private Mono<ResponseEntity<Flux<DataBuffer>>> send(final ServiceInstance serviceInstance, final ServerHttpRequest request) {
+		final InstanceStats.Instance instance = instanceStats.forInstance(serviceInstance);
+
+		return Mono.defer(() -> {
+			instance.start();
+			final long start = System.nanoTime();
+
+			return webClient.get()
+					.uri(LoadBalancerUriTools.reconstructURI(serviceInstance, request.getURI()))
+					.headers(headers -> copyHeaders(request.getHeaders(), headers))
+					.retrieve()
+					// Error statuses are proxied like any other response instead of raised
+					.onStatus(HttpStatusCode::isError, response -> Mono.empty())
+					.toEntityFlux(DataBuffer.class)
+					// Measured to the response headers, the latency the race is decided on
+					.doOnNext(response -> instance.complete(
+							System.nanoTime() - start,
+							response.getStatusCode().is5xxServerError()
+					))
+					.doOnError(error -> instance.complete(System.nanoTime() - start, true))
+					.doOnCancel(instance::cancel);
+		});
+	}
+
+	private static Mono<Void> write(final ServerWebExchange exchange, final ResponseEntity<Flux<DataBuffer>> upstream) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(upstream.getStatusCode());
+		copyHeaders(upstream.getHeaders(), response.getHeaders());
+
+		final Flux<DataBuffer> body = upstream.getBody();
+		return body == null ? response.setComplete() : response.writeWith(body);
+	}
+
+	private static void copyHeaders(final HttpHeaders from, final HttpHeaders to) {
+		from.forEach((name, values) -> {
+			if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+				to.put(name, List.copyOf(values));
+			}
+		});
+	}
+}
@@ -0,0 +1,166 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live latency and load of every downstream instance the gateway talks to, fed by the load balancer
+ * lifecycle and by hedged requests. Latency is a peak-sensitive EWMA that decays towards zero while an
+ * instance isn't used, so an instance that was slow once gets probed again instead of being avoided forever.
+ * Per service, a window of recent latencies gives the p95 used as the hedging delay.
+ */
+public class InstanceStats {
+	private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+	// Failures count as at least this slow, so an instance failing fast doesn't look like the best one
+	private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final int WINDOW_SIZE = 512;
+	private static final int MIN_WINDOW_SAMPLES = 50;
+
+	private final ConcurrentHashMap<String, Instance> instances = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+	public Instance forInstance(final ServiceInstance serviceInstance) {
+		final String address = serviceInstance.getHost() + ":" + serviceInstance.getPort();
+		return instances.computeIfAbsent(
+				serviceInstance.getServiceId() + "/" + address,
+				ignored -> new Instance(serviceInstance.getServiceId(), address)
+		);
+	}
+
+	/**
+	 * 95th percentile of recent successful requests to the service, empty until there are enough samples.
+	 */
+	public Optional<Duration> p95(final String serviceId) {
+		final LatencyWindow window = windows.get(serviceId);
+		return window != null ? window.p95() : Optional.empty();
+	}
+
+	public List<Snapshot> snapshot() {
+		return instances.values().stream()
+				.map(Instance::snapshot)
+				.sorted(Comparator.comparing(Snapshot::serviceId).thenComparing(Snapshot::address))
+				.toList();
+	}
+
+	public final class Instance {
+		private final String serviceId;
+		private final String address;
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicLong ewmaNanos = new AtomicLong();
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder hedges = new LongAdder();
+		private volatile long lastUpdate = System.nanoTime();
+
+		private Instance(final String serviceId, final String address) {
+			this.serviceId = serviceId;
+			this.address = address;
+		}
+
+		public void start() {
+			inFlight.incrementAndGet();
+		}
+
+		public void complete(final long elapsedNanos, final boolean failed) {
+			inFlight.decrementAndGet();
+			requests.increment();
+			if (failed) {
+				failures.increment();
+			} else {
+				windows.computeIfAbsent(serviceId, ignored -> new LatencyWindow()).add(elapsedNanos);
+			}
+
+			final long sample = failed ? Math.max(elapsedNanos, FAILURE_PENALTY_NANOS) : elapsedNanos;
+			ewmaNanos.updateAndGet(current -> current == 0 || sample > current
+					// Peak EWMA: jump straight to a slower sample, recover gradually
+					? sample
+					: current + (sample - current) / 4);
+			lastUpdate = System.nanoTime();
+		}
+
+		/**
+		 * The request was abandoned, for example the other half of a hedge won.
+		 */
+		public void cancel() {
+			inFlight.decrementAndGet();
+		}
+
+		public void hedged() {
+			hedges.increment();
+		}
+
+		public int inFlight() {
+			return inFlight.get();
+		}
+
+		/**
+		 * Expected cost of sending one more request here, lower is better.
+		 */
+		public double score() {
+			final double age = System.nanoTime() - lastUpdate;
+			final double latency = ewmaNanos.get() * Math.exp(-age / DECAY_NANOS);
+			return latency * (inFlight.get() + 1);
+		}
+
+		private Snapshot snapshot() {
+			return new Snapshot(
+					serviceId,
+					address,
+					inFlight.get(),
+					ewmaNanos.get() / 1_000_000.0,
+					requests.sum(),
+					failures.sum(),
+					hedges.sum()
+			);
+		}
+	}
+
+	public record Snapshot(
+			String serviceId,
+			String address,
+			int inFlight,
+			double ewmaMillis,
+			long requests,
+			long failures,
+			long hedges
+	) {
+	}
+
+	private static final class LatencyWindow {
+		private final long[] samples = new long[WINDOW_SIZE];
+		private final AtomicLong written = new AtomicLong();
+		private volatile long cachedAt;
+		private volatile Duration cachedP95;
+
+		void add(final long nanos) {
+			samples[(int) (written.getAndIncrement() % WINDOW_SIZE)] = nanos;
+		}
+
+		// Sorting the window is cheap but not free, recompute at most once per second
+		Optional<Duration> p95() {
+			final long count = Math.min(written.get(), WINDOW_SIZE);
+			if (count < MIN_WINDOW_SAMPLES) {
+				return Optional.empty();
+			}
+
+			final long now = System.nanoTime();
+			if (cachedP95 == null || now - cachedAt > TimeUnit.SECONDS.toNanos(1)) {
+				final long[] sorted = Arrays.copyOf(samples, (int) count);
+				Arrays.sort(sorted);
+				cachedP95 = Duration.ofNanos(sorted[(int) (count * 95 / 100)]);
+				cachedAt = now;
+			}
+			return Optional.of(cachedP95);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+/**
+ * Feeds {@link InstanceStats} from every load-balanced call, both gateway routes and the
+ * {@code @LoadBalanced} web client.
+ */
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+	private final InstanceStats instanceStats;
+
+	public InstanceStatsLifecycle(final InstanceStats instanceStats) {
+		this.instanceStats = instanceStats;
+	}
+
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return RequestDataContext.class.isAssignableFrom(requestContextClass)
+				&& ResponseData.class.isAssignableFrom(responseClass)
+				&& ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+
+	@Override
+	public void onStart(final Request<RequestDataContext> request) {
+	}
+
+	@Override
+	public void onStartRequest(final Request<RequestDataContext> request, final Response<ServiceInstance> lbResponse) {
+		request.getContext().setRequestStartTime(System.nanoTime());
+		instanceStats.forInstance(lbResponse.getServer()).start();
+	}
+
+	@Override
+	public void onComplete(final CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+		// Discarded means no instance was chosen, so nothing was started
+		if (completionContext.status() == CompletionContext.Status.DISCARD) {
+			return;
+		}
+
+		final long elapsed = System.nanoTime() - completionContext.getLoadBalancerRequest().getContext().getRequestStartTime();
+		final ResponseData response = completionContext.getClientResponse();
+		final boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+				|| response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+
+		instanceStats.forInstance(completionContext.getLoadBalancerResponse().getServer()).complete(elapsed, failed);
+	}
+}
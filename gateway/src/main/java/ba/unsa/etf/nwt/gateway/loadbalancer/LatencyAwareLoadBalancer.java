@@ -0,0 +1,101 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.AffinityProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over {@link InstanceStats}: two random instances are compared by EWMA latency
+ * times in-flight requests and the cheaper one wins. Comparing only two keeps the choice O(1) and avoids
+ * the herding you get from always sending everything to the single best instance.
+ * <p>
+ * Services with affinity enabled are instead routed by {@link RendezvousHashing} of the user handle, so
+ * each user keeps hitting the same instance and its in-process caches. Instances are bounded by in-flight
+ * requests, so a busy user spills over to another instance instead of overloading theirs. Requests
+ * without a handle are balanced by latency.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final InstanceStats instanceStats;
+	private final AffinityProperties affinity;
+
+	/**
+	 * @param affinity routing by handle for this service, {@code null} to balance by latency only
+	 */
+	public LatencyAwareLoadBalancer(
+			final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			final InstanceStats instanceStats,
+			final AffinityProperties affinity
+	) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.instanceStats = instanceStats;
+		this.affinity = affinity;
+	}
+
+	@Override
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final ServiceInstanceListSupplier supplier =
+				serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+
+		final String handle = affinityKey(request);
+		return supplier.get(request).next().map(instances -> {
+			if (instances.isEmpty()) {
+				return new EmptyResponse();
+			}
+			return new DefaultResponse(handle != null
+					? chooseByAffinity(instances, handle, instanceStats, affinity.loadFactor())
+					: choose(instances, instanceStats));
+		});
+	}
+
+	public static ServiceInstance chooseByAffinity(
+			final List<ServiceInstance> instances,
+			final String handle,
+			final InstanceStats instanceStats,
+			final double loadFactor
+	) {
+		return RendezvousHashing.choose(
+				instances,
+				handle,
+				instance -> instance.getHost() + ":" + instance.getPort(),
+				instance -> instanceStats.forInstance(instance).inFlight(),
+				loadFactor
+		);
+	}
+
+	public static ServiceInstance choose(final List<ServiceInstance> instances, final InstanceStats instanceStats) {
+		if (instances.size() == 1) {
+			return instances.getFirst();
+		}
+
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		final int second = (first + 1 + random.nextInt(instances.size() - 1)) % instances.size();
+
+		final ServiceInstance a = instances.get(first);
+		final ServiceInstance b = instances.get(second);
+		return instanceStats.forInstance(a).score() <= instanceStats.forInstance(b).score() ? a : b;
+	}
+
+	private String affinityKey(final Request request) {
+		if (affinity == null
+				|| !(request.getContext() instanceof RequestDataContext context)
+				|| context.getClientRequest() == null) {
+			return null;
+		}
+		final String handle = context.getClientRequest().getHeaders().getFirst(affinity.header());
+		return handle == null || handle.isBlank() ? null : handle;
+	}
+}
@@ -0,0 +1,41 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.AffinityProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer configuration, registered through {@code @LoadBalancerClients} and
+ * deliberately not a {@code @Configuration} so component scanning doesn't pick it up globally.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+	@Bean
+	public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+			final Environment environment,
+			final LoadBalancerClientFactory loadBalancerClientFactory,
+			final InstanceStats instanceStats,
+			final AffinityProperties affinityProperties
+	) {
+		final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new LatencyAwareLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+				instanceStats,
+				affinityProperties.isEnabled(serviceId) ? affinityProperties : null
+		);
+	}
+
+	@Bean
+	public LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> instanceStatsLifecycle(
+			final InstanceStats instanceStats
+	) {
+		return new InstanceStatsLifecycle(instanceStats);
+	}
+}
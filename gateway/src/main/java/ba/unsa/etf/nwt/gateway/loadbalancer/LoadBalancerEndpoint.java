@@ -0,0 +1,25 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-instance load balancer stats at {@code /actuator/loadbalancer}.
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+public class LoadBalancerEndpoint {
+	private final InstanceStats instanceStats;
+
+	public LoadBalancerEndpoint(final InstanceStats instanceStats) {
+		this.instanceStats = instanceStats;
+	}
+
+	@ReadOperation
+	public List<InstanceStats.Snapshot> instances() {
+		return instanceStats.snapshot();
+	}
+}
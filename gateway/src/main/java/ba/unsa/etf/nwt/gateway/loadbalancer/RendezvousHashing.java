@@ -0,0 +1,103 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Rendezvous (highest random weight) hashing with bounded loads. Every candidate gets a pseudo-random
+ * weight for the key and the key goes to the heaviest one, so the same key keeps landing on the same
+ * candidate. When a candidate leaves only its own keys move, and a new one takes an even ~1/n share
+ * from the others, without a ring or virtual nodes to maintain.
+ * <p>
+ * To keep a hot key from overloading its candidate, no candidate may take more than
+ * {@code loadFactor} times the average load; a key whose first choice is full spills to its next one
+ * in weight order, which is again stable for the key.
+ */
+public final class RendezvousHashing {
+
+	private RendezvousHashing() {
+	}
+
+	/**
+	 * @param id         identity of a candidate, stable across restarts (e.g. its address)
+	 * @param load       current load of a candidate, e.g. requests in flight
+	 * @param loadFactor how far above the average load a candidate may go, at least 1
+	 */
+	public static <T> T choose(
+			final List<T> candidates,
+			final String key,
+			final Function<T, String> id,
+			final ToIntFunction<T> load,
+			final double loadFactor
+	) {
+		final int size = candidates.size();
+		if (size == 1) {
+			return candidates.getFirst();
+		}
+
+		final long keyHash = hash(key);
+		final long[] weights = new long[size];
+		final int[] loads = new int[size];
+		long totalLoad = 0;
+		for (int i = 0; i < size; i++) {
+			final T candidate = candidates.get(i);
+			weights[i] = weight(keyHash, id.apply(candidate));
+			loads[i] = load.applyAsInt(candidate);
+			totalLoad += loads[i];
+		}
+
+		// Counting the request being placed, the candidates can't all be at capacity
+		final long capacity = (long) Math.ceil(loadFactor * (totalLoad + 1) / size);
+
+		int fallback = -1;
+		for (int attempt = 0; attempt < size; attempt++) {
+			int best = -1;
+			for (int i = 0; i < size; i++) {
+				if (weights[i] != Long.MIN_VALUE && (best < 0 || Long.compareUnsigned(weights[i], weights[best]) > 0)) {
+					best = i;
+				}
+			}
+			if (loads[best] < capacity) {
+				return candidates.get(best);
+			}
+			if (fallback < 0) {
+				fallback = best;
+			}
+			weights[best] = Long.MIN_VALUE;
+		}
+
+		// Only reachable if loads changed between reads, stay with the first choice
+		return candidates.get(fallback);
+	}
+
+	/**
+	 * The candidate the key goes to when load isn't considered.
+	 */
+	public static <T> T choose(final List<T> candidates, final String key, final Function<T, String> id) {
+		return choose(candidates, key, id, candidate -> 0, Double.POSITIVE_INFINITY);
+	}
+
+	static long weight(final long keyHash, final String id) {
+		final long weight = mix(keyHash ^ hash(id));
+		// Long.MIN_VALUE marks candidates already tried
+		return weight == Long.MIN_VALUE ? 0 : weight;
+	}
+
+	// 64-bit FNV-1a over the chars, finished with a mix so similar strings get unrelated hashes
+	static long hash(final String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	// SplitMix64 finalizer
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+		return value ^ (value >>> 31);
+	}
+}
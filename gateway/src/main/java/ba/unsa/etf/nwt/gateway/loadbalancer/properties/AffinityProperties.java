@@ -0,0 +1,22 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * @param services   services whose requests are routed by the header, the others are balanced by latency
+ * @param header     request header the instance is picked by, set by the auth filter
+ * @param loadFactor how far above the service's average in-flight requests an instance may go before
+ *                   users that hash to it spill over to their next instance
+ */
+@ConfigurationProperties("affinity")
+public record AffinityProperties(@DefaultValue Set<String> services,
+								 @DefaultValue("X-Handle") String header,
+								 @DefaultValue("1.25") double loadFactor) {
+
+	public boolean isEnabled(final String serviceId) {
+		return services.contains(serviceId);
+	}
+}
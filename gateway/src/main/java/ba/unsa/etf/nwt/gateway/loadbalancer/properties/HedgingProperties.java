@@ -0,0 +1,15 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param defaultDelay hedging delay until the service has enough latency samples for a p95
+ * @param minDelay     lower bound on the delay, so a very fast service isn't hedged on every request
+ */
+@ConfigurationProperties("hedging")
+public record HedgingProperties(@DefaultValue("100ms") Duration defaultDelay,
+								@DefaultValue("10ms") Duration minDelay) {
+}
@@ -0,0 +1,33 @@
+package ba.unsa.etf.nwt.gateway.ratelimit;
+
+import ba.unsa.etf.nwt.gateway.ratelimit.properties.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every filter it creates has its own buckets, so limits apply per route and user.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilterFactory extends AbstractGatewayFilterFactory<RateLimitProperties.Limit> {
+	private final RateLimitProperties properties;
+
+	public RateLimitFilterFactory(final RateLimitProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public GatewayFilter apply(final RateLimitProperties.Limit limit) {
+		return new RateLimitGatewayFilter(new RateLimiter(
+				limit.capacity(),
+				limit.refillPerSecond(),
+				properties.sweepInterval()
+		));
+	}
+
+	public GatewayFilter forRoute(final String routeId) {
+		return apply(properties.forRoute(routeId));
+	}
+}
@@ -0,0 +1,79 @@
+package ba.unsa.etf.nwt.gateway.ratelimit;
+
+import ba.unsa.etf.nwt.gateway.security.AuthServiceGatewayFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits requests by the handle the auth filter resolved (the same one it forwards as X-Handle),
+ * so it has to come after it in the chain.
+ * Routes that don't require a login (login, register) are limited by client address instead.
+ * Rejected requests get a 429 with {@code Retry-After} and never reach the downstream service.
+ */
+public class RateLimitGatewayFilter implements GatewayFilter {
+	private static final byte[] TOO_MANY_REQUESTS_BODY = produceErrorResult();
+
+	private final RateLimiter rateLimiter;
+
+	public RateLimitGatewayFilter(final RateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final long retryAfterNanos = rateLimiter.tryAcquire(resolveKey(exchange));
+		if (retryAfterNanos == 0) {
+			return chain.filter(exchange);
+		}
+
+		return tooManyRequests(exchange, retryAfterNanos);
+	}
+
+	private static String resolveKey(final ServerWebExchange exchange) {
+		final Object handle = exchange.getAttribute(AuthServiceGatewayFilter.HANDLE_ATTRIBUTE);
+		if (handle != null) {
+			return handle.toString();
+		}
+
+		final InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+		return remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : "";
+	}
+
+	private static Mono<Void> tooManyRequests(final ServerWebExchange exchange, final long retryAfterNanos) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+		response.getHeaders().set(
+				HttpHeaders.RETRY_AFTER,
+				Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1)))
+		);
+
+		final DataBuffer buffer = response.bufferFactory().wrap(TOO_MANY_REQUESTS_BODY);
+		return response.writeWith(Flux.just(buffer));
+	}
+
+	private static byte[] produceErrorResult() {
+		try {
+			return new ObjectMapper().writer().withDefaultPrettyPrinter().writeValueAsString(Map.of(
+					"type", "TOO_MANY_REQUESTS",
+					"message", "Too many requests",
+					"statusCode", HttpStatus.TOO_MANY_REQUESTS.value()
+			)).getBytes(StandardCharsets.UTF_8);
+		} catch (final JsonProcessingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
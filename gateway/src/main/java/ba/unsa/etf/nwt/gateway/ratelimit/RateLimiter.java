@@ -0,0 +1,81 @@
+package ba.unsa.etf.nwt.gateway.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free per-key token buckets. Each bucket is a single {@link AtomicLong} holding the time at which
+ * it will be full again (the GCRA form of a token bucket): taking a token pushes that time forward by one
+ * refill interval, and the request is admitted as long as it stays within {@code capacity} intervals of
+ * now. One CAS per request, no locks and no background refill.
+ * <p>
+ * A bucket whose full-again time has passed is indistinguishable from a new one, so idle buckets are
+ * dropped on a periodic sweep without losing any state.
+ */
+public class RateLimiter {
+	private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+	private final long refillIntervalNanos;
+	private final long burstNanos;
+	private final long sweepIntervalNanos;
+	private final LongSupplier nanoClock;
+	private final AtomicLong nextSweep;
+
+	public RateLimiter(final int capacity, final double refillPerSecond, final Duration sweepInterval) {
+		this(capacity, refillPerSecond, sweepInterval, System::nanoTime);
+	}
+
+	public RateLimiter(
+			final int capacity,
+			final double refillPerSecond,
+			final Duration sweepInterval,
+			final LongSupplier nanoClock
+	) {
+		this.refillIntervalNanos = (long) (Duration.ofSeconds(1).toNanos() / refillPerSecond);
+		this.burstNanos = capacity * refillIntervalNanos;
+		this.sweepIntervalNanos = sweepInterval.toNanos();
+		this.nanoClock = nanoClock;
+		this.nextSweep = new AtomicLong(nanoClock.getAsLong() + sweepIntervalNanos);
+	}
+
+	/**
+	 * Takes a token for the key.
+	 *
+	 * @return zero if the request is admitted, otherwise how long until a token is available
+	 */
+	public long tryAcquire(final String key) {
+		final long now = nanoClock.getAsLong();
+		sweepIfDue(now);
+
+		AtomicLong bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+		}
+
+		while (true) {
+			final long fullAt = bucket.get();
+			final long next = (fullAt - now < 0 ? now : fullAt) + refillIntervalNanos;
+			final long excess = next - now - burstNanos;
+			if (excess > 0) {
+				return excess;
+			}
+			if (bucket.compareAndSet(fullAt, next)) {
+				return 0;
+			}
+		}
+	}
+
+	public int size() {
+		return buckets.size();
+	}
+
+	// A request racing with the sweep may update a bucket that is being removed, costing at most one extra token
+	private void sweepIfDue(final long now) {
+		final long due = nextSweep.get();
+		if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+			return;
+		}
+		buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+	}
+}
@@ -0,0 +1,30 @@
+package ba.unsa.etf.nwt.gateway.ratelimit.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param defaultLimit  used for routes without their own entry
+ * @param routes        limits by route id
+ * @param sweepInterval how often idle buckets are dropped
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(@DefaultValue Limit defaultLimit,
+								  Map<String, Limit> routes,
+								  @DefaultValue("1m") Duration sweepInterval) {
+
+	public Limit forRoute(final String routeId) {
+		return routes != null ? routes.getOrDefault(routeId, defaultLimit) : defaultLimit;
+	}
+
+	/**
+	 * @param capacity        requests a single user can burst
+	 * @param refillPerSecond sustained requests per second per user
+	 */
+	public record Limit(@DefaultValue("50") int capacity,
+						@DefaultValue("20") double refillPerSecond) {
+	}
+}
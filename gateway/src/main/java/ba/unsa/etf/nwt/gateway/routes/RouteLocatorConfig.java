@@ -1,35 +1,84 @@
 package ba.unsa.etf.nwt.gateway.routes;
 
+import ba.unsa.etf.nwt.gateway.cache.ResponseCacheFilterFactory;
+import ba.unsa.etf.nwt.gateway.cache.ResponseCacheGatewayFilter;
+import ba.unsa.etf.nwt.gateway.dashboard.DashboardFilterFactory;
+import ba.unsa.etf.nwt.gateway.loadbalancer.HedgingFilterFactory;
+import ba.unsa.etf.nwt.gateway.ratelimit.RateLimitFilterFactory;
 import ba.unsa.etf.nwt.gateway.security.AuthFilterFactory;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.gateway.filter.factory.StripPrefixGatewayFilterFactory;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 
 @Configuration
 public class RouteLocatorConfig {
 
 	@Bean
 	@LoadBalanced
-	public RouteLocator routeLocator(final RouteLocatorBuilder builder, final AuthFilterFactory authFilterFactory) {
+	public RouteLocator routeLocator(
+			final RouteLocatorBuilder builder,
+			final AuthFilterFactory authFilterFactory,
+			final RateLimitFilterFactory rateLimitFilterFactory,
+			final HedgingFilterFactory hedgingFilterFactory,
+			final DashboardFilterFactory dashboardFilterFactory,
+			final ResponseCacheFilterFactory responseCacheFilterFactory
+	) {
+		// Rate limiting is keyed by the handle, so it has to run after the auth filter.
+		// Hedging proxies GETs itself and has to be last, only routes whose GETs are idempotent opt in.
 		return builder.routes()
+				// The exercise catalog is the same for every user, so its GETs are served from the shared cache.
+				// Ordered ahead of the discovery locator's /workout-service/** route. The cache filter has to run
+				// before the position-ordered ones, so the filters ahead of it get explicit orders.
+				.route("workout-catalog", route -> route
+						.order(-1)
+						.path("/workout-service/api/v1/exercise-details/**")
+						.filters(f -> f
+								.filter(rateLimitFilterFactory.forRoute("workout-catalog"), ResponseCacheGatewayFilter.ORDER - 2)
+								.filter(new StripPrefixGatewayFilterFactory().apply(config -> config.setParts(1)), ResponseCacheGatewayFilter.ORDER - 1)
+								.filter(responseCacheFilterFactory.forRegion("exercise-details")))
+						.uri("lb://workout-service")
+				)
 				.route("workout-service", route -> route
 						.path("/api/v1/workout/**")
-						.filters(f -> f.filter(authFilterFactory.apply()))
+						.filters(f -> f
+								.filter(authFilterFactory.apply())
+								.filter(rateLimitFilterFactory.forRoute("workout-service"))
+								.filter(hedgingFilterFactory.apply()))
 						.uri("lb://workout-service")
 				).route("nutrition-service", route -> route
 						.path("/api/v1/nutrition/**")
-						.filters(f -> f.filter(authFilterFactory.apply()))
+						.filters(f -> f
+								.filter(authFilterFactory.apply())
+								.filter(rateLimitFilterFactory.forRoute("nutrition-service"))
+								.filter(hedgingFilterFactory.apply()))
 						.uri("lb://nutrition-service")
 				).route("notification-service", route -> route
 						.path("/api/v1/notification/**")
-						.filters(f -> f.filter(authFilterFactory.apply()))
+						.filters(f -> f
+								.filter(authFilterFactory.apply())
+								.filter(rateLimitFilterFactory.forRoute("notification-service")))
 						.uri("lb://notification-service")
 				)
+				// Answered by the dashboard filter itself, the uri is never called
+				.route("dashboard", route -> route
+						.path("/api/v1/dashboard")
+						.and()
+						.method(HttpMethod.GET)
+						.filters(f -> f
+								.filter(authFilterFactory.apply())
+								.filter(rateLimitFilterFactory.forRoute("dashboard"))
+								.filter(dashboardFilterFactory.apply()))
+						.uri("no://op")
+				)
 				.route("auth", route -> route
 						.path("/api/v1/auth/**")
-						.filters(f -> f.filter(authFilterFactory.apply()))
+						.filters(f -> f
+								.filter(authFilterFactory.apply())
+								.filter(rateLimitFilterFactory.forRoute("auth")))
 						.uri("lb://auth")
 				)
 				.build();
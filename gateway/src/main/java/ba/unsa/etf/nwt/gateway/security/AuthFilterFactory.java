@@ -7,15 +7,33 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 @Component
 public class AuthFilterFactory extends AbstractGatewayFilterFactory<AuthFilterFactory.NullConfig> {
-	private final WebClient.Builder webClientBuilder;
+	private final WebClient webClient;
+	private final JwtTokenVerifier tokenVerifier;
+	private final TokenValidationCache validationCache;
+	private final RevocationList revocationList;
+	private final InFlightValidations inFlightValidations = new InFlightValidations();
 
-	public AuthFilterFactory(final WebClient.Builder webClientBuilder) {
-		this.webClientBuilder = webClientBuilder;
+	public AuthFilterFactory(
+			final WebClient.Builder webClientBuilder,
+			final JwtTokenVerifier tokenVerifier,
+			final TokenValidationCache validationCache,
+			final RevocationList revocationList
+	) {
+		this.webClient = webClientBuilder.build();
+		this.tokenVerifier = tokenVerifier;
+		this.validationCache = validationCache;
+		this.revocationList = revocationList;
 	}
 
 	@Override
 	public GatewayFilter apply(final NullConfig config) {
-		return new AuthServiceGatewayFilter(webClientBuilder);
+		return new AuthServiceGatewayFilter(
+				webClient,
+				tokenVerifier,
+				validationCache,
+				inFlightValidations,
+				revocationList
+		);
 	}
 
 	public GatewayFilter apply() {
@@ -17,18 +17,36 @@ import reactor.core.publisher.Mono;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 
 public class AuthServiceGatewayFilter implements GatewayFilter {
+	/**
+	 * Exchange attribute with the validated handle, unlike the X-Handle header it can't be sent by the client.
+	 */
+	public static final String HANDLE_ATTRIBUTE = AuthServiceGatewayFilter.class.getName() + ".handle";
+
 	private static final Set<String> ALLOWED_PATHS = Set.of(
 			"/api/v1/auth/login",
 			"/api/v1/auth/register"
 	);
 
-	private final WebClient.Builder webClientBuilder;
+	private final WebClient webClient;
+	private final JwtTokenVerifier tokenVerifier;
+	private final TokenValidationCache validationCache;
+	private final InFlightValidations inFlightValidations;
+	private final RevocationList revocationList;
 
-	public AuthServiceGatewayFilter(final WebClient.Builder webClientBuilder) {
-		this.webClientBuilder = webClientBuilder;
+	public AuthServiceGatewayFilter(
+			final WebClient webClient,
+			final JwtTokenVerifier tokenVerifier,
+			final TokenValidationCache validationCache,
+			final InFlightValidations inFlightValidations,
+			final RevocationList revocationList
+	) {
+		this.webClient = webClient;
+		this.tokenVerifier = tokenVerifier;
+		this.validationCache = validationCache;
+		this.inFlightValidations = inFlightValidations;
+		this.revocationList = revocationList;
 	}
 
 	@Override
@@ -39,35 +57,60 @@ public class AuthServiceGatewayFilter implements GatewayFilter {
 			return chain.filter(exchange);
 		}
 
-		final String token = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		final String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorization == null) {
+			return unauthorized(exchange);
+		}
 
-		return webClientBuilder.build()
-				.get()
-				.uri("lb://auth/api/v1/auth/validate")
-				.header(HttpHeaders.AUTHORIZATION, token)
-				.retrieve()
-				.bodyToMono(ValidationResponse.class)
+		return validate(authorization)
 				.map(response -> {
+					exchange.getAttributes().put(HANDLE_ATTRIBUTE, response.handle());
+
 					final ServerHttpRequest withAuthHeaders =
 							exchange.getRequest().mutate()
-									.header("X-Username", response.username)
-									.header("X-Role", response.role)
+									.header("X-Username", response.username())
+									.header("X-Role", response.role())
 									.header("X-Handle", response.handle().toString())
 									.build();
 
 					return exchange.mutate().request(withAuthHeaders).build();
 				})
 				.flatMap(chain::filter)
-				.onErrorResume(error -> {
-					final ServerHttpResponse response = exchange.getResponse();
-					response.setStatusCode(HttpStatus.UNAUTHORIZED);
+				.onErrorResume(error -> unauthorized(exchange));
+	}
+
+	// Tokens that may be revoked are validated remotely, the auth service checks them exactly
+	private Mono<ValidationResponse> validate(final String authorization) {
+		final String token = tokenVerifier.resolveToken(authorization);
+
+		return Mono.justOrEmpty(validationCache.getVerified(token))
+				.switchIfEmpty(Mono.defer(() -> Mono.justOrEmpty(tokenVerifier.verify(token))
+						.doOnNext(verified -> validationCache.put(token, verified))
+				))
+				.filter(verified -> !revocationList.mightBeRevoked(verified.tokenId(), verified.response().handle()))
+				.map(JwtTokenVerifier.VerifiedToken::response)
+				.switchIfEmpty(Mono.defer(() -> validateRemotely(authorization)));
+	}
+
+	private Mono<ValidationResponse> validateRemotely(final String authorization) {
+		return inFlightValidations.join(authorization, () -> webClient
+				.get()
+				.uri("lb://auth/api/v1/auth/validate")
+				.header(HttpHeaders.AUTHORIZATION, authorization)
+				.retrieve()
+				.bodyToMono(ValidationResponse.class)
+		);
+	}
+
+	private static Mono<Void> unauthorized(final ServerWebExchange exchange) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
 
-					final DataBuffer buffer = exchange.getResponse()
-							.bufferFactory()
-							.wrap(produceErrorResult().getBytes(StandardCharsets.UTF_8));
+		final DataBuffer buffer = response
+				.bufferFactory()
+				.wrap(produceErrorResult().getBytes(StandardCharsets.UTF_8));
 
-					return response.writeWith(Flux.just(buffer));
-				});
+		return response.writeWith(Flux.just(buffer));
 	}
 
 	private static String produceErrorResult() {
@@ -81,7 +124,4 @@ public class AuthServiceGatewayFilter implements GatewayFilter {
 			throw new RuntimeException(e);
 		}
 	}
-
-	private record ValidationResponse(String username, String role, UUID handle) {
-	}
 }
@@ -0,0 +1,25 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent remote validations of the same token into a single call. Subscribers arriving
+ * while a validation is in flight attach to it, and the entry is dropped once it completes or fails.
+ */
+public class InFlightValidations {
+	private final ConcurrentHashMap<String, Mono<ValidationResponse>> inFlight = new ConcurrentHashMap<>();
+
+	public Mono<ValidationResponse> join(final String token, final Supplier<Mono<ValidationResponse>> validation) {
+		return Mono.defer(() -> inFlight.computeIfAbsent(token, key -> validation.get()
+				.doFinally(signal -> inFlight.remove(key))
+				.cache()
+		));
+	}
+
+	public int size() {
+		return inFlight.size();
+	}
+}
@@ -0,0 +1,73 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Verifies tokens issued by the auth service without calling it, using the same shared secret.
+ * An empty result means the token cannot be verified locally (no key configured, signed with a key
+ * we don't know or missing claims) and should be validated remotely instead.
+ */
+public class JwtTokenVerifier {
+	private static final String HANDLE_CLAIM = "handle";
+
+	private final JwtParser parser;
+	private final String tokenPrefix;
+	private final String authoritiesKey;
+
+	public JwtTokenVerifier(final String secretKey, final String tokenPrefix, final String authoritiesKey) {
+		this.parser = secretKey == null || secretKey.isBlank()
+				? null
+				: Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8))).build();
+		this.tokenPrefix = tokenPrefix == null ? "" : tokenPrefix;
+		this.authoritiesKey = authoritiesKey;
+	}
+
+	public String resolveToken(final String authorizationHeader) {
+		return authorizationHeader.startsWith(this.tokenPrefix)
+				? authorizationHeader.substring(this.tokenPrefix.length())
+				: authorizationHeader;
+	}
+
+	/**
+	 * @throws io.jsonwebtoken.JwtException if the token is expired or malformed
+	 */
+	public Optional<VerifiedToken> verify(final String token) {
+		if (this.parser == null) {
+			return Optional.empty();
+		}
+
+		final Claims claims;
+		try {
+			claims = this.parser.parseSignedClaims(token).getPayload();
+		} catch (final SignatureException e) {
+			return Optional.empty();
+		}
+
+		final Object role = this.authoritiesKey == null ? null : claims.get(this.authoritiesKey);
+		final String handle = claims.get(HANDLE_CLAIM, String.class);
+		if (claims.getSubject() == null || claims.getExpiration() == null || role == null || handle == null) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new VerifiedToken(
+				new ValidationResponse(claims.getSubject(), role.toString(), UUID.fromString(handle)),
+				claims.getExpiration().toInstant(),
+				claims.getId()
+		));
+	}
+
+	/**
+	 * @param tokenId null for tokens issued before the auth service added ids, and for tokens validated remotely
+	 */
+	public record VerifiedToken(ValidationResponse response, Instant expiresAt, String tokenId) {
+	}
+}
@@ -0,0 +1,97 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over revocation keys. It may report a key that was never added (at about the rate it was
+ * sized for) but never misses one that was, so a negative answer is final and only a positive one needs
+ * an exact check.
+ * <p>
+ * Adding is lock-free and safe while other threads read. The hashing and the byte layout of
+ * {@link #toBytes()} are shared with the auth service's copy of this class and must not change on one
+ * side only.
+ */
+public final class RevocationFilter {
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	private RevocationFilter(final AtomicLongArray words, final int hashCount) {
+		this.words = words;
+		this.bitCount = (long) words.length() * Long.SIZE;
+		this.hashCount = hashCount;
+	}
+
+	public static RevocationFilter create(final int expectedKeys, final double falsePositiveRate) {
+		final int keys = Math.max(1, expectedKeys);
+		final long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		final int wordCount = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+		final int hashCount = (int) Math.max(1, Math.round((double) wordCount * Long.SIZE / keys * Math.log(2)));
+		return new RevocationFilter(new AtomicLongArray(wordCount), hashCount);
+	}
+
+	public static RevocationFilter fromBytes(final byte[] bytes, final int hashCount) {
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		final AtomicLongArray words = new AtomicLongArray(bytes.length / Long.BYTES);
+		for (int i = 0; i < words.length(); i++) {
+			words.set(i, buffer.getLong());
+		}
+		return new RevocationFilter(words, hashCount);
+	}
+
+	public void add(final String key) {
+		final long hash = hash(key);
+		for (int i = 0; i < hashCount; i++) {
+			final long bit = bit(hash, i);
+			final int word = (int) (bit >>> 6);
+			final long mask = 1L << bit;
+			// Skip the write when the bit is already set, most adds of a hot key are repeats
+			if ((words.get(word) & mask) == 0) {
+				words.getAndUpdate(word, value -> value | mask);
+			}
+		}
+	}
+
+	public boolean mightContain(final String key) {
+		final long hash = hash(key);
+		for (int i = 0; i < hashCount; i++) {
+			final long bit = bit(hash, i);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int hashCount() {
+		return hashCount;
+	}
+
+	public byte[] toBytes() {
+		final ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES);
+		for (int i = 0; i < words.length(); i++) {
+			buffer.putLong(words.get(i));
+		}
+		return buffer.array();
+	}
+
+	// Double hashing (Kirsch-Mitzenmacher): the i-th index is h1 + i * h2, both halves of one 64-bit hash
+	private long bit(final long hash, final int i) {
+		final long h1 = hash & 0xffffffffL;
+		final long h2 = hash >>> 32;
+		return Math.floorMod(h1 + i * h2, bitCount);
+	}
+
+	// 64-bit FNV-1a over the chars, finished with SplitMix64 so that similar keys spread out
+	private static long hash(final String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+}
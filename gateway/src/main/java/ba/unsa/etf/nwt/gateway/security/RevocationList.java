@@ -0,0 +1,103 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The gateway's copy of the auth service's revocation filter: replaced by a fresh {@link RevocationSnapshot}
+ * on every sync, with {@link TokenRevokedEvent}s added in between. A positive answer only means the token
+ * may be revoked and has to be confirmed by the auth service; a negative one is final.
+ * <p>
+ * A snapshot comes from one auth instance's filter, which takes the same events asynchronously and may not
+ * have seen one this gateway already applied. So every applied revocation is kept until its token would have
+ * expired and added to each snapshot installed. Only re-adding those newer than the snapshot's version isn't
+ * enough: the outbox relays of several auth instances can publish out of id order, so a snapshot's version
+ * doesn't mean it has every revocation below it.
+ * <p>
+ * Until the first snapshot arrives nothing is known, so every token counts as possibly revoked.
+ */
+public class RevocationList {
+	private static final String TOKEN_KEY_PREFIX = "t:";
+	private static final String USER_KEY_PREFIX = "u:";
+
+	private final Clock clock;
+
+	private volatile RevocationFilter filter;
+	private volatile long version = -1;
+	private volatile Instant syncedAt;
+	// Applied revocations by key, re-added to every snapshot installed
+	private final Map<String, Applied> applied = new HashMap<>();
+
+	public RevocationList() {
+		this(Clock.systemUTC());
+	}
+
+	public RevocationList(final Clock clock) {
+		this.clock = clock;
+	}
+
+	public boolean mightBeRevoked(final String tokenId, final UUID handle) {
+		final RevocationFilter current = filter;
+		if (current == null) {
+			return true;
+		}
+		return (tokenId != null && current.mightContain(TOKEN_KEY_PREFIX + tokenId))
+				|| (handle != null && current.mightContain(USER_KEY_PREFIX + handle));
+	}
+
+	public synchronized void install(final RevocationSnapshot snapshot) {
+		final RevocationFilter installed = RevocationFilter.fromBytes(snapshot.bits(), snapshot.hashCount());
+		final Instant now = clock.instant();
+		applied.values().removeIf(revocation -> revocation.isOver(now, snapshot.version()));
+		applied.keySet().forEach(installed::add);
+
+		filter = installed;
+		version = Math.max(version, snapshot.version());
+		syncedAt = now;
+	}
+
+	public synchronized void apply(final TokenRevokedEvent event) {
+		final String key = ("TOKEN".equals(event.kind()) ? TOKEN_KEY_PREFIX : USER_KEY_PREFIX) + event.subject();
+		if (filter != null) {
+			filter.add(key);
+		}
+		applied.merge(key, new Applied(event.id() == null ? Long.MAX_VALUE : event.id(), event.expiresAt()), Applied::later);
+		if (event.id() != null) {
+			version = Math.max(version, event.id());
+		}
+	}
+
+	/**
+	 * -1 until the first snapshot is installed.
+	 */
+	public long version() {
+		return version;
+	}
+
+	public Instant syncedAt() {
+		return syncedAt;
+	}
+
+	synchronized int retained() {
+		return applied.size();
+	}
+
+	private record Applied(long id, Instant expiresAt) {
+		// Past the token's expiry the revocation no longer matters. Events without one are kept until a
+		// snapshot at least as new as them
+		private boolean isOver(final Instant now, final long snapshotVersion) {
+			return expiresAt != null ? !expiresAt.isAfter(now) : id <= snapshotVersion;
+		}
+
+		private static Applied later(final Applied a, final Applied b) {
+			return new Applied(
+					Math.max(a.id(), b.id()),
+					a.expiresAt() == null || b.expiresAt() == null ? null
+							: a.expiresAt().isAfter(b.expiresAt()) ? a.expiresAt() : b.expiresAt()
+			);
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import java.time.Instant;
+
+/**
+ * The auth service's revocation filter, {@code version} is the id of the newest revocation it includes.
+ */
+public record RevocationSnapshot(long version, Instant createdAt, int hashCount, byte[] bits) {
+}
@@ -0,0 +1,80 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Pulls the revocation snapshot from the auth service into a {@link RevocationList} on startup and then
+ * every {@code refreshInterval}, which also drops revocations that have expired since. A failed pull is
+ * retried after {@code retryInterval}; events keep the list current in the meantime.
+ */
+public class RevocationSync implements AutoCloseable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RevocationSync.class);
+
+	private final WebClient webClient;
+	private final RevocationList revocationList;
+	private final Duration refreshInterval;
+	private final Duration retryInterval;
+	private final Duration timeout;
+
+	private volatile Disposable next;
+	private volatile boolean running = true;
+
+	public RevocationSync(
+			final WebClient webClient,
+			final RevocationList revocationList,
+			final Duration refreshInterval,
+			final Duration retryInterval,
+			final Duration timeout
+	) {
+		this.webClient = webClient;
+		this.revocationList = revocationList;
+		this.refreshInterval = refreshInterval;
+		this.retryInterval = retryInterval;
+		this.timeout = timeout;
+	}
+
+	public void start() {
+		schedule(Duration.ZERO);
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		final Disposable current = next;
+		if (current != null) {
+			current.dispose();
+		}
+	}
+
+	private void schedule(final Duration delay) {
+		if (!running) {
+			return;
+		}
+		next = Mono.delay(delay)
+				.then(Mono.defer(this::sync))
+				.subscribe(
+						snapshot -> {},
+						error -> {
+							LOGGER.warn("Failed fetching revocations, retrying in {}: {}", retryInterval, error.getMessage());
+							schedule(retryInterval);
+						},
+						() -> schedule(refreshInterval)
+				);
+	}
+
+	private Mono<RevocationSnapshot> sync() {
+		return webClient
+				.get()
+				.uri("lb://auth/api/v1/auth/revocations")
+				.retrieve()
+				.bodyToMono(RevocationSnapshot.class)
+				.timeout(timeout)
+				.doOnNext(revocationList::install);
+	}
+}
@@ -0,0 +1,10 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import java.time.Instant;
+
+/**
+ * Announced by the auth service for every revocation, {@code kind} is TOKEN (subject is a token id) or
+ * USER (subject is a handle). After {@code expiresAt} no token it covers is valid anyway.
+ */
+public record TokenRevokedEvent(Long id, String kind, String subject, Instant expiresAt) {
+}
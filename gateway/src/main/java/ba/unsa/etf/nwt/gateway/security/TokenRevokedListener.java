@@ -0,0 +1,30 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import ba.unsa.etf.nwt.gateway.config.RabbitMQConfig;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Each gateway instance binds its own anonymous queue to the fanout exchange, so a revocation reaches
+ * all of them.
+ */
+@Component
+public class TokenRevokedListener {
+	private final RevocationList revocationList;
+
+	public TokenRevokedListener(final RevocationList revocationList) {
+		this.revocationList = revocationList;
+	}
+
+	@RabbitListener(bindings = @QueueBinding(
+			value = @Queue,
+			exchange = @Exchange(value = RabbitMQConfig.REVOCATION_EXCHANGE, type = ExchangeTypes.FANOUT)
+	))
+	public void handleTokenRevoked(final TokenRevokedEvent event) {
+		revocationList.apply(event);
+	}
+}
@@ -0,0 +1,77 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size-bounded token -> validation result cache. Entries live until the token's own expiry, so a cached
+ * result is never served for a token the auth service would already reject as expired.
+ */
+public class TokenValidationCache {
+	private final ConcurrentHashMap<String, JwtTokenVerifier.VerifiedToken> entries = new ConcurrentHashMap<>();
+	private final int maxSize;
+	private final Clock clock;
+
+	public TokenValidationCache(final int maxSize) {
+		this(maxSize, Clock.systemUTC());
+	}
+
+	public TokenValidationCache(final int maxSize, final Clock clock) {
+		this.maxSize = maxSize;
+		this.clock = clock;
+	}
+
+	public Optional<ValidationResponse> get(final String token) {
+		return getVerified(token).map(JwtTokenVerifier.VerifiedToken::response);
+	}
+
+	public Optional<JwtTokenVerifier.VerifiedToken> getVerified(final String token) {
+		final JwtTokenVerifier.VerifiedToken entry = entries.get(token);
+		if (entry == null) {
+			return Optional.empty();
+		}
+
+		if (!entry.expiresAt().isAfter(clock.instant())) {
+			entries.remove(token, entry);
+			return Optional.empty();
+		}
+
+		return Optional.of(entry);
+	}
+
+	public void put(final String token, final ValidationResponse response, final Instant expiresAt) {
+		put(token, new JwtTokenVerifier.VerifiedToken(response, expiresAt, null));
+	}
+
+	public void put(final String token, final JwtTokenVerifier.VerifiedToken verified) {
+		if (maxSize <= 0 || !verified.expiresAt().isAfter(clock.instant())) {
+			return;
+		}
+
+		if (entries.size() >= maxSize) {
+			evict();
+		}
+
+		entries.put(token, verified);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void evict() {
+		final Instant now = clock.instant();
+		entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+
+		// Trim to 90% so that a full cache doesn't rescan on every single insert
+		final int target = maxSize - Math.max(1, maxSize / 10);
+		final Iterator<String> iterator = entries.keySet().iterator();
+		while (entries.size() > target && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import java.util.UUID;
+
+public record ValidationResponse(String username, String role, UUID handle) {
+}
@@ -0,0 +1,10 @@
+package ba.unsa.etf.nwt.gateway.security.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("jwt")
+public record JwtProperties(String tokenPrefix,
+							String secretKey,
+							String authoritiesKey,
+							int validationCacheSize) {
+}
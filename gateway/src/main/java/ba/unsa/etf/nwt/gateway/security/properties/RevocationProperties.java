@@ -0,0 +1,12 @@
+package ba.unsa.etf.nwt.gateway.security.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("revocation")
+public record RevocationProperties(@DefaultValue("1m") Duration refreshInterval,
+								   @DefaultValue("5s") Duration retryInterval,
+								   @DefaultValue("5s") Duration timeout) {
+}
@@ -0,0 +1,67 @@
+import statistics
+import sys
+import time
+from concurrent.futures import ThreadPoolExecutor
+
+import requests
+
+# Compares gateway latency and auth-service load before/after local token verification.
+# Run once against a gateway without JWT_SECRET_KEY (every request goes to /validate)
+# and once with it set, then compare the output.
+#
+# usage: python auth_load_test.py <email> <password> [requests] [concurrency]
+
+GATEWAY = "http://localhost:8000"
+AUTH = "http://localhost:9000"
+URL = GATEWAY + "/api/v1/workout/exercise-details"
+VALIDATE_METRIC = AUTH + "/actuator/metrics/http.server.requests?tag=uri:/api/v1/auth/validate"
+
+email, password = sys.argv[1], sys.argv[2]
+total = int(sys.argv[3]) if len(sys.argv) > 3 else 2000
+concurrency = int(sys.argv[4]) if len(sys.argv) > 4 else 32
+
+
+def validate_count():
+    try:
+        response = requests.get(VALIDATE_METRIC, timeout=3)
+        measurements = response.json()["measurements"]
+        return next(m["value"] for m in measurements if m["statistic"] == "COUNT")
+    except Exception:
+        return None
+
+
+token = requests.post(GATEWAY + "/api/v1/auth/login", json={"email": email, "password": password}).json()["token"]
+headers = {"Authorization": "Bearer " + token}
+
+
+def call(_):
+    start = time.perf_counter()
+    try:
+        status = requests.get(URL, headers=headers, timeout=10).status_code
+    except Exception:
+        status = -1
+    return (time.perf_counter() - start) * 1000, status
+
+
+validate_before = validate_count()
+start = time.time()
+with ThreadPoolExecutor(max_workers=concurrency) as executor:
+    results = list(executor.map(call, range(total)))
+elapsed = time.time() - start
+validate_after = validate_count()
+
+latencies = sorted(latency for latency, _ in results)
+errors = sum(1 for _, status in results if status != 200)
+
+print("\nRezultati:")
+print(f"requests: {total}, concurrency: {concurrency}, errors: {errors}")
+print(f"gateway throughput: {total / elapsed:.1f} req/s")
+print(f"p50: {statistics.median(latencies):.2f} ms")
+print(f"p99: {latencies[int(len(latencies) * 0.99) - 1]:.2f} ms")
+
+if validate_before is not None and validate_after is not None:
+    print(f"auth /validate QPS: {(validate_after - validate_before) / elapsed:.1f}")
+else:
+    print("auth /validate QPS: n/a (actuator metrics not exposed)")
+
+print(f"\nUkupno vrijeme: {elapsed:.2f} sekundi")
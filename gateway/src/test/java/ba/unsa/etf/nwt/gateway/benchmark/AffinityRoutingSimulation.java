@@ -0,0 +1,146 @@
+package ba.unsa.etf.nwt.gateway.benchmark;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.RendezvousHashing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Simulates routing users to instances by handle: how many users are remapped when an instance leaves
+ * or joins, and how skewed the load gets when a few users send most of the requests, with and without
+ * the bounded-load spill over. Modulo hashing is shown for comparison.
+ * Not a unit test; run main.
+ *
+ * args: [instances] [users] [requests] [concurrency] [load factor]
+ */
+public class AffinityRoutingSimulation {
+
+    public static void main(String[] args) {
+        int instanceCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        double loadFactor = args.length > 4 ? Double.parseDouble(args[4]) : 1.25;
+
+        List<String> instances = new ArrayList<>();
+        for (int i = 0; i < instanceCount; i++) {
+            instances.add("10.0.0." + (i + 1) + ":8080");
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        String[] users = new String[userCount];
+        for (int i = 0; i < userCount; i++) {
+            users[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+
+        List<String> withoutLast = instances.subList(0, instanceCount - 1);
+        List<String> withExtra = new ArrayList<>(instances);
+        withExtra.add("10.0.0." + (instanceCount + 1) + ":8080");
+
+        System.out.printf("instances: %d, users: %,d%n", instanceCount, userCount);
+        System.out.printf("remapped when one leaves:  rendezvous %.2f%%, modulo %.2f%% (ideal %.2f%%)%n",
+                100 * remapped(users, instances, withoutLast, true),
+                100 * remapped(users, instances, withoutLast, false),
+                100.0 / instanceCount);
+        System.out.printf("remapped when one joins:   rendezvous %.2f%%, modulo %.2f%% (ideal %.2f%%)%n",
+                100 * remapped(users, instances, withExtra, true),
+                100 * remapped(users, instances, withExtra, false),
+                100.0 / (instanceCount + 1));
+
+        // Zipf-like traffic: user i sends requests in proportion to 1 / (i + 1)
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int i = 0; i < userCount; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+
+        System.out.printf("requests: %,d, in flight: %d, zipf traffic%n", requests, concurrency);
+        simulate("hash only", instances, users, cumulative, requests, concurrency, Double.POSITIVE_INFINITY);
+        simulate("bounded " + loadFactor, instances, users, cumulative, requests, concurrency, loadFactor);
+    }
+
+    private static double remapped(String[] users, List<String> before, List<String> after, boolean rendezvous) {
+        int moved = 0;
+        for (String user : users) {
+            String from = rendezvous
+                    ? RendezvousHashing.choose(before, user, Function.identity())
+                    : before.get(Math.floorMod(user.hashCode(), before.size()));
+            String to = rendezvous
+                    ? RendezvousHashing.choose(after, user, Function.identity())
+                    : after.get(Math.floorMod(user.hashCode(), after.size()));
+            if (!from.equals(to)) {
+                moved++;
+            }
+        }
+        return (double) moved / users.length;
+    }
+
+    /**
+     * Requests are placed in batches of {@code concurrency} that are in flight together, so the spill over
+     * sees the same kind of load it sees in the gateway.
+     */
+    private static void simulate(
+            String name,
+            List<String> instances,
+            String[] users,
+            double[] cumulative,
+            int requests,
+            int concurrency,
+            double loadFactor
+    ) {
+        SplittableRandom random = new SplittableRandom(7);
+        Map<String, Integer> inFlight = new HashMap<>();
+        Map<String, Long> served = new HashMap<>();
+        long onPreferred = 0;
+        long maxInFlight = 0;
+
+        long start = System.nanoTime();
+        for (int placed = 0; placed < requests; ) {
+            inFlight.clear();
+            for (int slot = 0; slot < concurrency && placed < requests; slot++, placed++) {
+                String user = users[pick(cumulative, random)];
+                String chosen = RendezvousHashing.choose(
+                        instances, user, Function.identity(), instance -> inFlight.getOrDefault(instance, 0), loadFactor);
+                int load = inFlight.merge(chosen, 1, Integer::sum);
+                maxInFlight = Math.max(maxInFlight, load);
+                served.merge(chosen, 1L, Long::sum);
+                if (chosen.equals(RendezvousHashing.choose(instances, user, Function.identity()))) {
+                    onPreferred++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double mean = (double) requests / instances.size();
+        long max = served.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        long min = instances.stream().mapToLong(instance -> served.getOrDefault(instance, 0L)).min().orElse(0);
+        System.out.printf("%-14s max/mean served %.3f, min/mean %.3f, peak in flight %d (mean %.1f), on preferred instance %.2f%%, %.0f ns/choice%n",
+                name + ":",
+                max / mean,
+                min / mean,
+                maxInFlight,
+                (double) concurrency / instances.size(),
+                100.0 * onPreferred / requests,
+                (double) elapsed / requests / 2);
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
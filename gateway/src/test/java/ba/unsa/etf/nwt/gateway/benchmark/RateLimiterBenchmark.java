@@ -0,0 +1,67 @@
+package ba.unsa.etf.nwt.gateway.benchmark;
+
+import ba.unsa.etf.nwt.gateway.ratelimit.RateLimiter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures the per-request cost of the gateway rate limiter under contention.
+ * Not a unit test; run main.
+ *
+ * args: [threads] [handles] [requests per thread]
+ */
+public class RateLimiterBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int handles = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+
+        String[] keys = new String[handles];
+        for (int i = 0; i < handles; i++) {
+            keys[i] = UUID.randomUUID().toString();
+        }
+
+        // Warm up, then measure
+        run(new RateLimiter(50, 20, Duration.ofMinutes(1)), keys, threads, requests / 4);
+        RateLimiter rateLimiter = new RateLimiter(50, 20, Duration.ofMinutes(1));
+        long[] result = run(rateLimiter, keys, threads, requests);
+
+        long total = (long) threads * requests;
+        System.out.printf("threads: %d, handles: %d, requests: %,d%n", threads, handles, total);
+        System.out.printf("elapsed: %d ms, throughput: %,.0f req/s%n", result[0] / 1_000_000, total / (result[0] / 1e9));
+        System.out.printf("avg per request per thread: %.1f ns%n", (double) result[0] * threads / total);
+        System.out.printf("rejected: %,d, buckets: %d%n", result[1], rateLimiter.size());
+    }
+
+    private static long[] run(RateLimiter rateLimiter, String[] keys, int threads, int requests) throws InterruptedException {
+        long[] rejected = new long[threads];
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < requests; i++) {
+                    if (rateLimiter.tryAcquire(keys[random.nextInt(keys.length)]) > 0) {
+                        rejected[index]++;
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long totalRejected = 0;
+        for (long count : rejected) {
+            totalRejected += count;
+        }
+        return new long[]{elapsed, totalRejected};
+    }
+}
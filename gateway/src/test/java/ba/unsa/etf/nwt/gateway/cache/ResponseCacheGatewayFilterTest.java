@@ -0,0 +1,106 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheGatewayFilterTest {
+    private static final int MAX_ENTRY_BYTES = 512 * 1024;
+    private static final CacheLifetime LIFETIME = new CacheLifetime(Duration.ofSeconds(10), Duration.ofSeconds(60));
+
+    private final AtomicLong now = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(4L * MAX_ENTRY_BYTES, MAX_ENTRY_BYTES, now::get);
+    private final AtomicReference<Mono<ClientResponse>> revalidation = new AtomicReference<>();
+
+    private ResponseCacheGatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> revalidation.get())
+                .build();
+        filter = new ResponseCacheGatewayFilter("catalog", cache, webClient, LIFETIME);
+
+        cache.put("catalog", "/api/v1/catalog", new HttpHeaders(), "stale".getBytes(), LIFETIME, cache.generation("catalog"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(20));
+    }
+
+    @Test
+    void revalidate_ShouldStoreBody_LargerThanTheDefaultCodecLimit() {
+        int length = 300 * 1024;
+        revalidation.set(Mono.just(ClientResponse.create(HttpStatus.OK).body(chunks(length)).build()));
+
+        MockServerWebExchange exchange = serveStale();
+
+        assertEquals("STALE", exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER));
+        ResponseCache.Hit hit = cache.get("catalog", "/api/v1/catalog");
+        assertFalse(hit.stale());
+        assertEquals(length, hit.body().length);
+        assertRevalidationFinished();
+    }
+
+    @Test
+    void revalidate_ShouldSkipBody_LargerThanTheEntryLimit() {
+        revalidation.set(Mono.just(ClientResponse.create(HttpStatus.OK).body(chunks(MAX_ENTRY_BYTES + 1)).build()));
+
+        serveStale();
+
+        assertTrue(cache.get("catalog", "/api/v1/catalog").stale());
+        assertRevalidationFinished();
+    }
+
+    @Test
+    void revalidate_ShouldSkipBody_DeclaredLargerThanTheEntryLimit() {
+        revalidation.set(Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_LENGTH, Integer.toString(MAX_ENTRY_BYTES + 1))
+                .body(chunks(MAX_ENTRY_BYTES + 1))
+                .build()));
+
+        serveStale();
+
+        assertTrue(cache.get("catalog", "/api/v1/catalog").stale());
+        assertRevalidationFinished();
+    }
+
+    private MockServerWebExchange serveStale() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/catalog").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("catalog")
+                .uri("http://catalog")
+                .predicate(e -> true)
+                .build());
+
+        filter.filter(exchange, e -> Mono.error(new AssertionError("Stale hit went downstream"))).block(Duration.ofSeconds(5));
+        assertEquals("stale", exchange.getResponse().getBodyAsString().block());
+        return exchange;
+    }
+
+    private void assertRevalidationFinished() {
+        assertTrue(cache.startRevalidation("catalog", "/api/v1/catalog"));
+    }
+
+    // In 16KB chunks, as the body would arrive from the network
+    private static Flux<DataBuffer> chunks(int length) {
+        int chunk = 16 * 1024;
+        return Flux.range(0, (length + chunk - 1) / chunk)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[Math.min(chunk, length - i * chunk)]));
+    }
+}
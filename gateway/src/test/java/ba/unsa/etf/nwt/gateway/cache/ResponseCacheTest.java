@@ -0,0 +1,134 @@
+package ba.unsa.etf.nwt.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheTest {
+    private static final CacheLifetime LIFETIME = new CacheLifetime(Duration.ofSeconds(10), Duration.ofSeconds(5));
+    private static final CacheLifetime NO_DEFAULTS = new CacheLifetime(Duration.ZERO, Duration.ZERO);
+
+    private final AtomicLong now = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(1000, 500, now::get);
+
+    @Test
+    void get_ShouldReturnFreshHit_WithinTtl() {
+        cache.put("catalog", "/a", new HttpHeaders(), new byte[10], LIFETIME, cache.generation("catalog"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+
+        ResponseCache.Hit hit = cache.get("catalog", "/a");
+
+        assertNotNull(hit);
+        assertFalse(hit.stale());
+        assertEquals(TimeUnit.SECONDS.toNanos(9), hit.ageNanos());
+    }
+
+    @Test
+    void get_ShouldReturnStaleHit_WithinStaleWindow_ThenNothing() {
+        cache.put("catalog", "/a", new HttpHeaders(), new byte[10], LIFETIME, cache.generation("catalog"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(12));
+        assertTrue(cache.get("catalog", "/a").stale());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertNull(cache.get("catalog", "/a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsed_WhenOverMaxBytes() {
+        long generation = cache.generation("catalog");
+        cache.put("catalog", "/a", new HttpHeaders(), new byte[400], LIFETIME, generation);
+        cache.put("catalog", "/b", new HttpHeaders(), new byte[400], LIFETIME, generation);
+        cache.get("catalog", "/a");
+
+        cache.put("catalog", "/c", new HttpHeaders(), new byte[400], LIFETIME, generation);
+
+        assertNotNull(cache.get("catalog", "/a"));
+        assertNull(cache.get("catalog", "/b"));
+        assertNotNull(cache.get("catalog", "/c"));
+        assertTrue(cache.bytes() <= 1000);
+    }
+
+    @Test
+    void put_ShouldSkipResponse_LargerThanEntryLimit() {
+        cache.put("catalog", "/a", new HttpHeaders(), new byte[600], LIFETIME, cache.generation("catalog"));
+
+        assertNull(cache.get("catalog", "/a"));
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void invalidate_ShouldDropOnlyThatRegion() {
+        cache.put("catalog", "/a", new HttpHeaders(), new byte[10], LIFETIME, cache.generation("catalog"));
+        cache.put("other", "/a", new HttpHeaders(), new byte[10], LIFETIME, cache.generation("other"));
+
+        cache.invalidate("catalog");
+
+        assertNull(cache.get("catalog", "/a"));
+        assertNotNull(cache.get("other", "/a"));
+    }
+
+    @Test
+    void put_ShouldSkipResponse_FetchedBeforeInvalidation() {
+        long generation = cache.generation("catalog");
+
+        cache.invalidate("catalog");
+        cache.put("catalog", "/a", new HttpHeaders(), new byte[10], LIFETIME, generation);
+
+        assertNull(cache.get("catalog", "/a"));
+    }
+
+    @Test
+    void startRevalidation_ShouldOnlyBeClaimedOnce_UntilFinished() {
+        assertTrue(cache.startRevalidation("catalog", "/a"));
+        assertFalse(cache.startRevalidation("catalog", "/a"));
+
+        cache.finishRevalidation("catalog", "/a");
+
+        assertTrue(cache.startRevalidation("catalog", "/a"));
+    }
+
+    @Test
+    void keyFor_ShouldNormalizePath_AndSortQueryParameters() {
+        String expected = ResponseCache.keyFor(URI.create("/api/v1/exercise-details/muscle-group?muscleGroup=Legs&b=1"));
+
+        assertEquals(expected, ResponseCache.keyFor(URI.create("/api/v1//exercise-details/./muscle-group/?b=1&muscleGroup=Legs")));
+        assertEquals(expected, ResponseCache.keyFor(URI.create("/api/v1/exercise-details/muscle-group?muscleGroup=%4Cegs&b=1")));
+        assertNotEquals(expected, ResponseCache.keyFor(URI.create("/api/v1/exercise-details/muscle-group?muscleGroup=Chest&b=1")));
+    }
+
+    @Test
+    void lifetime_ShouldPreferSharedMaxAge_AndReadStaleWhileRevalidate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=0, s-maxage=300, stale-while-revalidate=30");
+
+        CacheLifetime lifetime = CacheLifetime.from(headers, NO_DEFAULTS);
+
+        assertEquals(new CacheLifetime(Duration.ofSeconds(300), Duration.ofSeconds(30)), lifetime);
+    }
+
+    @Test
+    void lifetime_ShouldBeNull_ForUncacheableResponses() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-cache, no-store, max-age=0, must-revalidate");
+        assertNull(CacheLifetime.from(headers, LIFETIME));
+
+        headers.setCacheControl("private, max-age=60");
+        assertNull(CacheLifetime.from(headers, LIFETIME));
+
+        assertNull(CacheLifetime.from(new HttpHeaders(), NO_DEFAULTS));
+    }
+
+    @Test
+    void lifetime_ShouldUseDefaults_WithoutCacheControl() {
+        assertEquals(LIFETIME, CacheLifetime.from(new HttpHeaders(), LIFETIME));
+    }
+}
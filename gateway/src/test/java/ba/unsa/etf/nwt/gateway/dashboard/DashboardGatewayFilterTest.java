@@ -0,0 +1,155 @@
+package ba.unsa.etf.nwt.gateway.dashboard;
+
+import ba.unsa.etf.nwt.gateway.security.AuthServiceGatewayFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DashboardGatewayFilterTest {
+    private static final Duration LEG_TIMEOUT = Duration.ofMillis(200);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID handle = UUID.randomUUID();
+    private final Map<String, Mono<ClientResponse>> responses = new ConcurrentHashMap<>();
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+
+    private DashboardGatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        responses.put("workout-service", ok("[{\"name\": \"Leg day\"}]"));
+        responses.put("nutrition-service", ok("[{\"name\": \"Oats\"}]"));
+        responses.put("notification-service", ok("[{\"name\": \"Run 5k\"}]"));
+
+        // Answers each leg by the service it is addressed to
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return responses.get(request.url().getHost());
+                })
+                .build();
+
+        filter = new DashboardGatewayFilter(webClient, objectMapper, LEG_TIMEOUT);
+    }
+
+    @Test
+    void filter_WhenAllLegsSucceed_ShouldMergeThem() throws Exception {
+        MockServerWebExchange exchange = authenticatedExchange();
+
+        filter.filter(exchange, chain -> Mono.empty()).block();
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        JsonNode document = body(exchange);
+        assertEquals("Leg day", document.get("workouts").get(0).get("name").asText());
+        assertEquals("Oats", document.get("meals").get(0).get("name").asText());
+        assertEquals("Run 5k", document.get("goals").get(0).get("name").asText());
+        assertTrue(document.get("errors").isEmpty());
+
+        assertEquals(3, requests.size());
+        requests.forEach(request -> {
+            assertEquals("Bearer token", request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+            assertEquals(handle.toString(), request.headers().getFirst("X-Handle"));
+            assertTrue(request.url().toString().contains(handle.toString()));
+        });
+    }
+
+    @Test
+    void filter_WhenOneLegTimesOut_ShouldReturnTheOthers() throws Exception {
+        responses.put("nutrition-service", Mono.never());
+        MockServerWebExchange exchange = authenticatedExchange();
+
+        long started = System.nanoTime();
+        filter.filter(exchange, chain -> Mono.empty()).block(Duration.ofSeconds(5));
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        JsonNode document = body(exchange);
+        assertTrue(document.get("meals").isNull());
+        assertEquals("Timed out", document.get("errors").get("meals").asText());
+        assertEquals("Leg day", document.get("workouts").get(0).get("name").asText());
+        assertEquals("Run 5k", document.get("goals").get(0).get("name").asText());
+        assertFalse(document.get("errors").has("workouts"));
+        assertTrue(took.compareTo(LEG_TIMEOUT.multipliedBy(5)) < 0, "Waited " + took + " for a timed out leg");
+    }
+
+    @Test
+    void filter_WhenOneLegErrors_ShouldReturnTheOthers() throws Exception {
+        responses.put("workout-service", Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+        MockServerWebExchange exchange = authenticatedExchange();
+
+        filter.filter(exchange, chain -> Mono.empty()).block();
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        JsonNode document = body(exchange);
+        assertTrue(document.get("workouts").isNull());
+        assertEquals("Unavailable", document.get("errors").get("workouts").asText());
+        assertEquals("Oats", document.get("meals").get(0).get("name").asText());
+        assertEquals("Run 5k", document.get("goals").get(0).get("name").asText());
+        assertEquals(1, document.get("errors").size());
+    }
+
+    @Test
+    void filter_WhenAllLegsFail_ShouldRespondWithBadGateway() throws Exception {
+        responses.put("workout-service", Mono.error(new IllegalStateException("Connection refused")));
+        responses.put("nutrition-service", Mono.never());
+        responses.put("notification-service", Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        MockServerWebExchange exchange = authenticatedExchange();
+
+        filter.filter(exchange, chain -> Mono.empty()).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange.getResponse().getStatusCode());
+        JsonNode errors = body(exchange).get("errors");
+        assertEquals("Unavailable", errors.get("workouts").asText());
+        assertEquals("Timed out", errors.get("meals").asText());
+        assertEquals("Unavailable", errors.get("goals").asText());
+    }
+
+    @Test
+    void filter_WithoutValidatedHandle_ShouldRejectWithoutCallingServices() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/dashboard").build());
+
+        filter.filter(exchange, chain -> Mono.empty()).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertTrue(requests.isEmpty());
+    }
+
+    private MockServerWebExchange authenticatedExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/dashboard")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header("X-Handle", handle.toString())
+                .build());
+        exchange.getAttributes().put(AuthServiceGatewayFilter.HANDLE_ATTRIBUTE, handle);
+        return exchange;
+    }
+
+    private JsonNode body(MockServerWebExchange exchange) throws Exception {
+        return objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+    }
+
+    private static Mono<ClientResponse> ok(String json) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+}
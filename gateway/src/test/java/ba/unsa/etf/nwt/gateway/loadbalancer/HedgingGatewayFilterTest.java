@@ -0,0 +1,209 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.AffinityProperties;
+import ba.unsa.etf.nwt.gateway.loadbalancer.properties.HedgingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HedgingGatewayFilterTest {
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+    private final InstanceStats instanceStats = new InstanceStats();
+    private final ServiceInstance primary = instance("primary", 8081);
+    private final ServiceInstance backup = instance("backup", 8082);
+    private final Map<String, Mono<ClientResponse>> responses = new ConcurrentHashMap<>();
+    private final Map<String, Long> requestedAt = new ConcurrentHashMap<>();
+    private final AtomicBoolean primaryCancelled = new AtomicBoolean();
+    private final ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+
+    private HedgingGatewayFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // The primary is the instance with the better score
+        record(primary, 5);
+        record(backup, 50);
+        when(supplier.get()).thenReturn(Flux.just(List.of(primary, backup)));
+
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(supplier);
+        LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+        when(loadBalancerClientFactory.getLazyProvider("workout-service", ServiceInstanceListSupplier.class))
+                .thenReturn(provider);
+
+        // Answers each request by the instance it is addressed to
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String host = request.url().getHost();
+                    requestedAt.put(host, System.nanoTime());
+                    return responses.get(host);
+                })
+                .build();
+
+        filter = new HedgingGatewayFilter(
+                webClient,
+                loadBalancerClientFactory,
+                instanceStats,
+                new HedgingProperties(HEDGE_DELAY, Duration.ofMillis(10)),
+                new AffinityProperties(Set.of(), "X-Handle", 1.25)
+        );
+    }
+
+    @Test
+    void filter_WhenPrimaryAnswersInTime_ShouldNotHedge() throws Exception {
+        responses.put("primary", ok("primary"));
+        responses.put("backup", ok("backup"));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain -> Mono.error(new AssertionError("Hedged request reached the chain")))
+                .block(Duration.ofSeconds(5));
+        Thread.sleep(HEDGE_DELAY.multipliedBy(3).toMillis());
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("primary", exchange.getResponse().getBodyAsString().block());
+        assertFalse(requestedAt.containsKey("backup"));
+    }
+
+    @Test
+    void filter_WhenPrimaryIsSlow_ShouldHedgeAfterDelayAndCancelPrimary() {
+        responses.put("primary", Mono.<ClientResponse>never().doOnCancel(() -> primaryCancelled.set(true)));
+        responses.put("backup", ok("backup"));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain -> Mono.error(new AssertionError("Hedged request reached the chain")))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("backup", exchange.getResponse().getBodyAsString().block());
+        long hedgedAfter = requestedAt.get("backup") - requestedAt.get("primary");
+        assertTrue(hedgedAfter >= HEDGE_DELAY.toNanos(), "Hedged after " + Duration.ofNanos(hedgedAfter));
+        assertTrue(primaryCancelled.get());
+    }
+
+    @Test
+    void filter_WhenBackupIsSlowToo_ShouldReturnWhicheverAnswersFirst() {
+        responses.put("primary", ok("primary").delayElement(HEDGE_DELAY.multipliedBy(2)));
+        responses.put("backup", Mono.never());
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain -> Mono.error(new AssertionError("Hedged request reached the chain")))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("primary", exchange.getResponse().getBodyAsString().block());
+        assertTrue(requestedAt.containsKey("backup"));
+    }
+
+    @Test
+    void filter_ShouldStreamBodiesBeyondTheCodecLimit() {
+        int chunks = 64;
+        byte[] chunk = new byte[16 * 1024];
+        AtomicInteger emitted = new AtomicInteger();
+        Flux<DataBuffer> body = Flux.range(0, chunks)
+                .doOnNext(i -> emitted.incrementAndGet())
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        responses.put("primary", Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build()));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain -> Mono.error(new AssertionError("Hedged request reached the chain")))
+                .block(Duration.ofSeconds(5));
+
+        int length = exchange.getResponse().getBody()
+                .map(DataBuffer::readableByteCount)
+                .reduce(0, Integer::sum)
+                .block();
+        assertEquals(chunks * chunk.length, length);
+        assertEquals(chunks, emitted.get());
+    }
+
+    @Test
+    void filter_ShouldPassUpstreamErrorsThrough() {
+        responses.put("primary", Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).body("missing").build()));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain -> Mono.error(new AssertionError("Hedged request reached the chain")))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals("missing", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_ShouldPassNonGetRequestsToChain() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/workout").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        AtomicBoolean chained = new AtomicBoolean();
+
+        filter.filter(exchange, chain -> Mono.fromRunnable(() -> chained.set(true))).block(Duration.ofSeconds(5));
+
+        assertTrue(chained.get());
+        assertTrue(requestedAt.isEmpty());
+    }
+
+    @Test
+    void filter_WithSingleInstance_ShouldPassToChain() {
+        when(supplier.get()).thenReturn(Flux.just(List.of(primary)));
+        MockServerWebExchange exchange = exchange();
+        AtomicBoolean chained = new AtomicBoolean();
+
+        filter.filter(exchange, chain -> Mono.fromRunnable(() -> chained.set(true))).block(Duration.ofSeconds(5));
+
+        assertTrue(chained.get());
+        assertTrue(requestedAt.isEmpty());
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/workout").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        return exchange;
+    }
+
+    private static Route route() {
+        return Route.async()
+                .id("workout-service")
+                .uri("lb://workout-service")
+                .predicate(exchange -> true)
+                .build();
+    }
+
+    private void record(ServiceInstance serviceInstance, long millis) {
+        InstanceStats.Instance instance = instanceStats.forInstance(serviceInstance);
+        instance.start();
+        instance.complete(TimeUnit.MILLISECONDS.toNanos(millis), false);
+    }
+
+    private static Mono<ClientResponse> ok(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build());
+    }
+
+    private static ServiceInstance instance(String host, int port) {
+        return new DefaultServiceInstance(host + "-" + port, "workout-service", host, port, false);
+    }
+}
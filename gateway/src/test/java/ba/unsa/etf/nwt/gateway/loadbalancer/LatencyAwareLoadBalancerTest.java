@@ -0,0 +1,92 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyAwareLoadBalancerTest {
+    private final InstanceStats instanceStats = new InstanceStats();
+    private final ServiceInstance fast = instance("fast", 8081);
+    private final ServiceInstance slow = instance("slow", 8082);
+
+    @Test
+    void choose_ShouldPreferFasterInstance_WhenComparingTwo() {
+        record(fast, 5, false);
+        record(slow, 500, false);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(fast, LatencyAwareLoadBalancer.choose(List.of(fast, slow), instanceStats));
+        }
+    }
+
+    @Test
+    void choose_ShouldAvoidInstance_WithManyRequestsInFlight() {
+        record(fast, 10, false);
+        record(slow, 20, false);
+        for (int i = 0; i < 5; i++) {
+            instanceStats.forInstance(fast).start();
+        }
+
+        assertSame(slow, LatencyAwareLoadBalancer.choose(List.of(fast, slow), instanceStats));
+    }
+
+    @Test
+    void choose_ShouldPenalizeInstance_ThatFailsFast() {
+        record(fast, 1, true);
+        record(slow, 50, false);
+
+        assertSame(slow, LatencyAwareLoadBalancer.choose(List.of(fast, slow), instanceStats));
+    }
+
+    @Test
+    void p95_ShouldBeEmpty_UntilEnoughSamples() {
+        record(fast, 10, false);
+
+        assertTrue(instanceStats.p95("service").isEmpty());
+    }
+
+    @Test
+    void p95_ShouldReflectSlowestRequests() {
+        for (int i = 1; i <= 100; i++) {
+            record(fast, i, false);
+        }
+
+        Duration p95 = instanceStats.p95("service").orElseThrow();
+
+        assertEquals(96, p95.toMillis());
+    }
+
+    @Test
+    void snapshot_ShouldTrackRequestsAndFailuresPerInstance() {
+        record(fast, 10, false);
+        record(fast, 10, true);
+        instanceStats.forInstance(slow).start();
+
+        List<InstanceStats.Snapshot> snapshot = instanceStats.snapshot();
+
+        InstanceStats.Snapshot fastSnapshot = snapshot.stream()
+                .filter(s -> s.address().equals("fast:8081")).findFirst().orElseThrow();
+        InstanceStats.Snapshot slowSnapshot = snapshot.stream()
+                .filter(s -> s.address().equals("slow:8082")).findFirst().orElseThrow();
+        assertEquals(2, fastSnapshot.requests());
+        assertEquals(1, fastSnapshot.failures());
+        assertEquals(0, fastSnapshot.inFlight());
+        assertEquals(1, slowSnapshot.inFlight());
+    }
+
+    private void record(ServiceInstance serviceInstance, long millis, boolean failed) {
+        InstanceStats.Instance instance = instanceStats.forInstance(serviceInstance);
+        instance.start();
+        instance.complete(TimeUnit.MILLISECONDS.toNanos(millis), failed);
+    }
+
+    private static ServiceInstance instance(String host, int port) {
+        return new DefaultServiceInstance(host + "-" + port, "service", host, port, false);
+    }
+}
@@ -0,0 +1,81 @@
+package ba.unsa.etf.nwt.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RendezvousHashingTest {
+    private static final List<String> INSTANCES = List.of("10.0.0.1:8080", "10.0.0.2:8080", "10.0.0.3:8080", "10.0.0.4:8080");
+
+    private final List<String> handles = new ArrayList<>();
+
+    {
+        for (int i = 0; i < 10_000; i++) {
+            handles.add(UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()).toString());
+        }
+    }
+
+    @Test
+    void choose_ShouldBeStable_ForTheSameKey() {
+        String first = RendezvousHashing.choose(INSTANCES, handles.getFirst(), Function.identity());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, RendezvousHashing.choose(INSTANCES, handles.getFirst(), Function.identity()));
+            assertEquals(first, RendezvousHashing.choose(INSTANCES.reversed(), handles.getFirst(), Function.identity()));
+        }
+    }
+
+    @Test
+    void choose_ShouldSpreadKeysEvenly() {
+        Map<String, Integer> counts = new HashMap<>();
+        handles.forEach(handle -> counts.merge(RendezvousHashing.choose(INSTANCES, handle, Function.identity()), 1, Integer::sum));
+
+        counts.values().forEach(count -> assertEquals(2500, count, 250));
+    }
+
+    @Test
+    void choose_ShouldOnlyMoveKeysOfRemovedInstance() {
+        List<String> remaining = INSTANCES.subList(0, 3);
+
+        for (String handle : handles) {
+            String before = RendezvousHashing.choose(INSTANCES, handle, Function.identity());
+            String after = RendezvousHashing.choose(remaining, handle, Function.identity());
+            if (remaining.contains(before)) {
+                assertEquals(before, after);
+            }
+        }
+    }
+
+    @Test
+    void choose_ShouldSpillToNextChoice_WhenFirstChoiceIsOverloaded() {
+        String handle = handles.getFirst();
+        String preferred = RendezvousHashing.choose(INSTANCES, handle, Function.identity());
+        Map<String, Integer> inFlight = new HashMap<>(Map.of(preferred, 10));
+
+        String chosen = RendezvousHashing.choose(
+                INSTANCES, handle, Function.identity(), instance -> inFlight.getOrDefault(instance, 0), 1.25);
+
+        assertNotEquals(preferred, chosen);
+        List<String> withoutPreferred = INSTANCES.stream().filter(instance -> !instance.equals(preferred)).toList();
+        assertEquals(RendezvousHashing.choose(withoutPreferred, handle, Function.identity()), chosen);
+    }
+
+    @Test
+    void choose_ShouldKeepFirstChoice_WithinLoadFactor() {
+        String handle = handles.getFirst();
+        String preferred = RendezvousHashing.choose(INSTANCES, handle, Function.identity());
+        Map<String, Integer> inFlight = new HashMap<>();
+        INSTANCES.forEach(instance -> inFlight.put(instance, 3));
+        inFlight.put(preferred, 4);
+
+        assertEquals(preferred, RendezvousHashing.choose(
+                INSTANCES, handle, Function.identity(), inFlight::get, 1.25));
+    }
+}
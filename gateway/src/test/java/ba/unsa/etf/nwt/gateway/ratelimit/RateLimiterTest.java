@@ -0,0 +1,61 @@
+package ba.unsa.etf.nwt.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimiter rateLimiter = new RateLimiter(5, 10, Duration.ofMinutes(1), now::get);
+
+    @Test
+    void tryAcquire_ShouldAdmitBurstUpToCapacity_ThenReject() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("handle"));
+        }
+
+        long retryAfter = rateLimiter.tryAcquire("handle");
+
+        assertTrue(retryAfter > 0);
+        assertTrue(retryAfter <= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void tryAcquire_ShouldAdmitAgain_AfterRefill() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("handle");
+        }
+        assertTrue(rateLimiter.tryAcquire("handle") > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, rateLimiter.tryAcquire("handle"));
+        assertTrue(rateLimiter.tryAcquire("handle") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBuckets_PerKey() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("first");
+        }
+
+        assertTrue(rateLimiter.tryAcquire("first") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("second"));
+    }
+
+    @Test
+    void tryAcquire_ShouldEvictIdleBuckets_OnSweep() {
+        rateLimiter.tryAcquire("first");
+        rateLimiter.tryAcquire("second");
+        assertEquals(2, rateLimiter.size());
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        rateLimiter.tryAcquire("third");
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
@@ -0,0 +1,175 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthServiceGatewayFilterTest {
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hmac-sha-256";
+
+    private final UUID handle = UUID.randomUUID();
+    private final UUID remoteHandle = UUID.randomUUID();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private final List<ServerWebExchange> forwarded = new ArrayList<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.add(exchange);
+        return Mono.empty();
+    };
+
+    private TokenValidationCache validationCache;
+    private RevocationList revocationList;
+    private HttpStatus remoteStatus;
+    private AuthServiceGatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        validationCache = new TokenValidationCache(100);
+        revocationList = new RevocationList();
+        remoteStatus = HttpStatus.OK;
+
+        // Stands in for the auth service's /validate, answering with remoteHandle
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    remoteCalls.incrementAndGet();
+                    if (remoteStatus != HttpStatus.OK) {
+                        return Mono.just(ClientResponse.create(remoteStatus).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"username\": \"user@mail.com\", \"role\": \"USER\", \"handle\": \"" + remoteHandle + "\"}")
+                            .build());
+                })
+                .build();
+
+        filter = new AuthServiceGatewayFilter(
+                webClient,
+                new JwtTokenVerifier(SECRET, "Bearer ", "authorities"),
+                validationCache,
+                new InFlightValidations(),
+                revocationList
+        );
+    }
+
+    @Test
+    void filter_WhenTokenIsNotRevoked_ShouldValidateLocallyAndCache() {
+        revocationList.install(snapshot(RevocationFilter.create(100, 0.01)));
+        String token = token("token-id");
+
+        filter.filter(exchange(token), chain).block();
+
+        assertForwardedAs(handle);
+        assertEquals(0, remoteCalls.get());
+        assertTrue(validationCache.getVerified(token).isPresent());
+    }
+
+    @Test
+    void filter_WhenTokenIsCached_ShouldStillCheckRevocations() {
+        revocationList.install(snapshot(RevocationFilter.create(100, 0.01)));
+        String token = token("token-id");
+        filter.filter(exchange(token), chain).block();
+
+        revocationList.apply(new TokenRevokedEvent(1L, "TOKEN", "token-id", Instant.now().plus(1, ChronoUnit.HOURS)));
+        filter.filter(exchange(token), chain).block();
+
+        // The second request found the token cached, but possibly revoked, so asked the auth service
+        assertEquals(1, remoteCalls.get());
+        assertEquals(2, forwarded.size());
+        assertEquals(remoteHandle.toString(), forwarded.get(1).getRequest().getHeaders().getFirst("X-Handle"));
+    }
+
+    @Test
+    void filter_WhenUserMightBeRevoked_ShouldValidateRemotely() {
+        RevocationFilter revoked = RevocationFilter.create(100, 0.01);
+        revoked.add("u:" + handle);
+        revocationList.install(snapshot(revoked));
+
+        filter.filter(exchange(token("token-id")), chain).block();
+
+        assertEquals(1, remoteCalls.get());
+        assertForwardedAs(remoteHandle);
+    }
+
+    @Test
+    void filter_WhenRevocationIsConfirmedRemotely_ShouldReject() {
+        RevocationFilter revoked = RevocationFilter.create(100, 0.01);
+        revoked.add("t:token-id");
+        revocationList.install(snapshot(revoked));
+        remoteStatus = HttpStatus.UNAUTHORIZED;
+        MockServerWebExchange exchange = exchange(token("token-id"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(1, remoteCalls.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertTrue(forwarded.isEmpty());
+    }
+
+    @Test
+    void filter_BeforeFirstSnapshot_ShouldValidateRemotely() {
+        filter.filter(exchange(token("token-id")), chain).block();
+
+        assertEquals(1, remoteCalls.get());
+        assertForwardedAs(remoteHandle);
+    }
+
+    @Test
+    void filter_WithoutAuthorization_ShouldRejectWithoutAskingAuthService() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/workout").build());
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals(0, remoteCalls.get());
+        assertTrue(forwarded.isEmpty());
+    }
+
+    private void assertForwardedAs(UUID expected) {
+        assertEquals(1, forwarded.size());
+        assertEquals(expected.toString(), forwarded.get(0).getRequest().getHeaders().getFirst("X-Handle"));
+        assertEquals(expected, forwarded.get(0).getAttribute(AuthServiceGatewayFilter.HANDLE_ATTRIBUTE));
+    }
+
+    private static MockServerWebExchange exchange(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/workout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build());
+    }
+
+    private String token(String tokenId) {
+        return Jwts.builder()
+                .id(tokenId)
+                .subject("user@mail.com")
+                .claim("authorities", "USER")
+                .claim("handle", handle.toString())
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static RevocationSnapshot snapshot(RevocationFilter filter) {
+        return new RevocationSnapshot(1, Instant.now(), filter.hashCount(), filter.toBytes());
+    }
+}
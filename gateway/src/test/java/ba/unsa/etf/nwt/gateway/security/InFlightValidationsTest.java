@@ -0,0 +1,60 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InFlightValidationsTest {
+    private final InFlightValidations inFlightValidations = new InFlightValidations();
+    private final ValidationResponse response = new ValidationResponse("user@mail.com", "USER", UUID.randomUUID());
+
+    @Test
+    void join_ShouldShareSingleCall_ForConcurrentValidationsOfSameToken() {
+        Sinks.One<ValidationResponse> sink = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<ValidationResponse> first = new AtomicReference<>();
+        AtomicReference<ValidationResponse> second = new AtomicReference<>();
+
+        inFlightValidations.join("token", () -> remote(sink, calls)).subscribe(first::set);
+        inFlightValidations.join("token", () -> remote(sink, calls)).subscribe(second::set);
+
+        assertEquals(1, calls.get());
+        assertEquals(1, inFlightValidations.size());
+
+        sink.tryEmitValue(response);
+
+        assertEquals(response, first.get());
+        assertEquals(response, second.get());
+        assertEquals(0, inFlightValidations.size());
+    }
+
+    @Test
+    void join_ShouldDropEntry_WhenValidationFails() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> inFlightValidations.join("token", () -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException());
+        }).block());
+        assertEquals(0, inFlightValidations.size());
+
+        assertEquals(response, inFlightValidations.join("token", () -> {
+            calls.incrementAndGet();
+            return Mono.just(response);
+        }).block());
+        assertEquals(2, calls.get());
+    }
+
+    private static Mono<ValidationResponse> remote(Sinks.One<ValidationResponse> sink, AtomicInteger calls) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return sink.asMono();
+        });
+    }
+}
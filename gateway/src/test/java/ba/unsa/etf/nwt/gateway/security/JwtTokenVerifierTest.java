@@ -0,0 +1,85 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenVerifierTest {
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hmac-sha-256";
+    private static final String OTHER_SECRET = "another-test-secret-that-is-long-enough-for-hmac-256";
+
+    private final JwtTokenVerifier verifier = new JwtTokenVerifier(SECRET, "Bearer ", "authorities");
+
+    @Test
+    void verify_ShouldResolveValidationResponseFromClaims() {
+        UUID handle = UUID.randomUUID();
+        Instant expiration = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        String token = token(SECRET, handle.toString(), expiration);
+
+        Optional<JwtTokenVerifier.VerifiedToken> result = verifier.verify(token);
+
+        assertTrue(result.isPresent());
+        assertEquals(new ValidationResponse("user@mail.com", "USER", handle), result.get().response());
+        assertEquals(expiration, result.get().expiresAt());
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenSignedWithUnknownKey() {
+        String token = token(OTHER_SECRET, UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenHandleClaimMissing() {
+        String token = token(SECRET, null, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenNoSecretConfigured() {
+        JwtTokenVerifier withoutKey = new JwtTokenVerifier("", "Bearer ", "authorities");
+        String token = token(SECRET, UUID.randomUUID().toString(), Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertTrue(withoutKey.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldThrow_WhenTokenExpired() {
+        String token = token(SECRET, UUID.randomUUID().toString(), Instant.now().minus(1, ChronoUnit.HOURS));
+
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void resolveToken_ShouldStripPrefix() {
+        assertEquals("abc", verifier.resolveToken("Bearer abc"));
+        assertEquals("abc", verifier.resolveToken("abc"));
+    }
+
+    private static String token(String secret, String handle, Instant expiration) {
+        var builder = Jwts.builder()
+                .subject("user@mail.com")
+                .claim("authorities", "USER")
+                .issuedAt(new Date())
+                .expiration(Date.from(expiration))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+
+        if (handle != null) {
+            builder.claim("handle", handle);
+        }
+
+        return builder.compact();
+    }
+}
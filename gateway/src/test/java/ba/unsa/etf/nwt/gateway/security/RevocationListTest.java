@@ -0,0 +1,141 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevocationListTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant LATER = NOW.plus(Duration.ofHours(1));
+
+    private final RevocationList revocationList = new RevocationList(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void mightBeRevoked_ShouldBeTrue_BeforeFirstSnapshot() {
+        assertTrue(revocationList.mightBeRevoked("token", UUID.randomUUID()));
+        assertEquals(-1, revocationList.version());
+    }
+
+    @Test
+    void mightBeRevoked_ShouldMatchSnapshotKeys_ByTokenIdAndHandle() {
+        UUID revokedUser = UUID.randomUUID();
+        RevocationFilter filter = RevocationFilter.create(100, 0.01);
+        filter.add("t:revoked-token");
+        filter.add("u:" + revokedUser);
+
+        revocationList.install(snapshot(7, filter));
+
+        assertTrue(revocationList.mightBeRevoked("revoked-token", UUID.randomUUID()));
+        assertTrue(revocationList.mightBeRevoked("other-token", revokedUser));
+        assertTrue(revocationList.mightBeRevoked(null, revokedUser));
+        assertFalse(revocationList.mightBeRevoked("other-token", UUID.randomUUID()));
+        assertEquals(7, revocationList.version());
+    }
+
+    @Test
+    void apply_ShouldAddRevocation_BetweenSnapshots() {
+        revocationList.install(snapshot(1, RevocationFilter.create(100, 0.01)));
+
+        revocationList.apply(new TokenRevokedEvent(2L, "TOKEN", "new-token", LATER));
+
+        assertTrue(revocationList.mightBeRevoked("new-token", UUID.randomUUID()));
+        assertEquals(2, revocationList.version());
+    }
+
+    @Test
+    void install_ShouldKeepEvents_ReceivedWhileFetching() {
+        revocationList.install(snapshot(1, RevocationFilter.create(100, 0.01)));
+
+        revocationList.apply(new TokenRevokedEvent(3L, "TOKEN", "during-sync", LATER));
+        // Built before the event above was committed
+        revocationList.install(snapshot(2, RevocationFilter.create(100, 0.01)));
+
+        assertTrue(revocationList.mightBeRevoked("during-sync", UUID.randomUUID()));
+        assertEquals(3, revocationList.version());
+    }
+
+    @Test
+    void install_WhenSnapshotIsOlderThanAppliedEvent_ShouldKeepRevocation() {
+        revocationList.install(snapshot(5, RevocationFilter.create(100, 0.01)));
+        revocationList.apply(new TokenRevokedEvent(6L, "TOKEN", "revoked", LATER));
+
+        // From an auth instance that hasn't taken event 6 yet
+        revocationList.install(snapshot(5, RevocationFilter.create(100, 0.01)));
+
+        assertTrue(revocationList.mightBeRevoked("revoked", UUID.randomUUID()));
+        assertEquals(6, revocationList.version());
+    }
+
+    @Test
+    void install_WhenSnapshotSkippedAnOlderEvent_ShouldKeepRevocation() {
+        UUID user = UUID.randomUUID();
+        revocationList.install(snapshot(5, RevocationFilter.create(100, 0.01)));
+        revocationList.apply(new TokenRevokedEvent(6L, "USER", user.toString(), LATER));
+
+        // Event 7 reached this instance before event 6 did
+        RevocationFilter withoutSix = RevocationFilter.create(100, 0.01);
+        withoutSix.add("t:seven");
+        revocationList.install(snapshot(7, withoutSix));
+
+        assertTrue(revocationList.mightBeRevoked("other-token", user));
+        assertTrue(revocationList.mightBeRevoked("seven", UUID.randomUUID()));
+    }
+
+    @Test
+    void install_ShouldForgetRevocations_OnceTheirTokensExpired() {
+        revocationList.install(snapshot(1, RevocationFilter.create(100, 0.01)));
+        revocationList.apply(new TokenRevokedEvent(2L, "TOKEN", "expired", NOW));
+        revocationList.apply(new TokenRevokedEvent(3L, "TOKEN", "active", LATER));
+        revocationList.apply(new TokenRevokedEvent(4L, "TOKEN", "no-expiry", null));
+
+        revocationList.install(snapshot(3, RevocationFilter.create(100, 0.01)));
+
+        assertFalse(revocationList.mightBeRevoked("expired", UUID.randomUUID()));
+        assertTrue(revocationList.mightBeRevoked("active", UUID.randomUUID()));
+        assertTrue(revocationList.mightBeRevoked("no-expiry", UUID.randomUUID()));
+        assertEquals(2, revocationList.retained());
+
+        // Without an expiry it's kept until a snapshot includes it
+        revocationList.install(snapshot(4, RevocationFilter.create(100, 0.01)));
+        assertEquals(1, revocationList.retained());
+    }
+
+    @Test
+    void filter_ShouldStayNearFalsePositiveRate() {
+        RevocationFilter filter = RevocationFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("t:" + UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("t:" + UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    // Pins the hashing and byte layout shared with the auth service's RevocationFilter
+    @Test
+    void filter_ShouldMatchAuthServiceEncoding() {
+        RevocationFilter filter = RevocationFilter.create(4, 0.1);
+        filter.add("t:0b6f1c1e-5d5a-4c47-9a3e-8f0b2d7c6a11");
+
+        assertEquals(11, filter.hashCount());
+        assertEquals("4000550001500015", HexFormat.of().formatHex(filter.toBytes()));
+        assertTrue(RevocationFilter.fromBytes(filter.toBytes(), 11).mightContain("t:0b6f1c1e-5d5a-4c47-9a3e-8f0b2d7c6a11"));
+    }
+
+    private static RevocationSnapshot snapshot(long version, RevocationFilter filter) {
+        return new RevocationSnapshot(version, Instant.now(), filter.hashCount(), filter.toBytes());
+    }
+}
@@ -0,0 +1,47 @@
+package ba.unsa.etf.nwt.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenValidationCacheTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final ValidationResponse response = new ValidationResponse("user@mail.com", "USER", UUID.randomUUID());
+
+    @Test
+    void get_ShouldReturnCachedResponse_BeforeExpiry() {
+        TokenValidationCache cache = new TokenValidationCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.put("token", response, NOW.plusSeconds(60));
+
+        assertEquals(response, cache.get("token").orElseThrow());
+    }
+
+    @Test
+    void get_ShouldReturnEmpty_AfterTokenExpiry() {
+        TokenValidationCache cache = new TokenValidationCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.put("token", response, NOW.minusSeconds(1));
+
+        assertTrue(cache.get("token").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_ShouldStayWithinMaxSize() {
+        TokenValidationCache cache = new TokenValidationCache(100, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, response, NOW.plusSeconds(60));
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.get("token-999").isPresent());
+    }
+}
@@ -0,0 +1,10 @@
+package ba.unsa.etf.nwt.system_events.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("events.retention")
+public record EventRetentionProperties(@DefaultValue("7") int rawDays,
+									   @DefaultValue("90") int rollupDays,
+									   @DefaultValue("3") int premakeDays) {
+}
@@ -0,0 +1,16 @@
+package ba.unsa.etf.nwt.system_events.config;
+
+import ba.unsa.etf.nwt.system_events.tail.EventBroadcaster;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EventTailProperties.class)
+public class EventTailConfiguration {
+
+	@Bean
+	public EventBroadcaster eventBroadcaster(final EventTailProperties properties) {
+		return new EventBroadcaster(properties.bufferSize(), properties.maxSubscribers());
+	}
+}
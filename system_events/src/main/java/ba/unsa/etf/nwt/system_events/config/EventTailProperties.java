@@ -0,0 +1,9 @@
+package ba.unsa.etf.nwt.system_events.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("events.tail")
+public record EventTailProperties(@DefaultValue("1000") int bufferSize,
+								  @DefaultValue("32") int maxSubscribers) {
+}
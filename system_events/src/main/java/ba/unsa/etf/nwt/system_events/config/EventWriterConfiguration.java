@@ -0,0 +1,66 @@
+package ba.unsa.etf.nwt.system_events.config;
+
+import ba.unsa.etf.nwt.system_events.persistence.EventDictionary;
+import ba.unsa.etf.nwt.system_events.persistence.EventPartitions;
+import ba.unsa.etf.nwt.system_events.persistence.EventWriter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({EventWriterProperties.class, EventRetentionProperties.class})
+public class EventWriterConfiguration {
+
+	@Bean
+	@DependsOn("entityManagerFactory")
+	public EventPartitions eventPartitions(
+			final JdbcTemplate jdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			final EventRetentionProperties properties
+	) {
+		final EventPartitions partitions = new EventPartitions(
+				jdbcTemplate,
+				new TransactionTemplate(transactionManager),
+				Clock.systemUTC(),
+				properties.rawDays(),
+				properties.rollupDays(),
+				properties.premakeDays()
+		);
+		partitions.prepare();
+		return partitions;
+	}
+
+	@Bean
+	@DependsOn("entityManagerFactory")
+	public EventDictionary eventDictionary(final JdbcTemplate jdbcTemplate) {
+		final EventDictionary dictionary = new EventDictionary(jdbcTemplate);
+		dictionary.load();
+		return dictionary;
+	}
+
+	@Bean
+	@DependsOn("eventPartitions")
+	public EventWriter eventWriter(
+			final JdbcTemplate jdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			final EventDictionary eventDictionary,
+			final EventWriterProperties properties
+	) {
+		return new EventWriter(
+				jdbcTemplate,
+				new TransactionTemplate(transactionManager),
+				eventDictionary,
+				properties.bufferCapacity(),
+				properties.batchSize(),
+				properties.flushInterval()
+		);
+	}
+}
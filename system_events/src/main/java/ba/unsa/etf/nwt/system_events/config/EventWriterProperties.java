@@ -0,0 +1,12 @@
+package ba.unsa.etf.nwt.system_events.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("events.writer")
+public record EventWriterProperties(@DefaultValue("50000") int bufferCapacity,
+									@DefaultValue("1000") int batchSize,
+									@DefaultValue("50ms") Duration flushInterval) {
+}
@@ -6,39 +6,36 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
+import java.time.Instant;
+
+/**
+ * Stored form of an event. Service, action, resource and response type are ids into
+ * {@link EventDictionaryEntry}, see {@code EventDictionary} for encoding and decoding.
+ */
 @Entity
 public class Event {
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
-	private String timestamp;
-	private String microserviceName;
+
+	private Instant occurredAt;
+
+	private Integer microserviceCode;
 
 	@Column(name = "triggered_by")
 	private String user;
 
-	private String action;
-	private String resource;
-	private String responseType;
+	private Integer actionCode;
+	private Integer resourceCode;
+	private Integer responseTypeCode;
 
-	public Event() {
-	}
+	private float sampleRate = 1;
 
-	public Event(
-			final String timestamp,
-			final String microserviceName,
-			final String user,
-			final String action,
-			final String resource,
-			final String responseType
-	) {
-		this.timestamp = timestamp;
-		this.microserviceName = microserviceName;
-		this.user = user;
-		this.action = action;
-		this.resource = resource;
-		this.responseType = responseType;
+	private Long durationMicros;
+	private String traceId;
+
+	public Event() {
 	}
 
 	public void setId(Long id) {
@@ -49,20 +46,20 @@ public class Event {
 		return id;
 	}
 
-	public String getTimestamp() {
-		return timestamp;
+	public Instant getOccurredAt() {
+		return occurredAt;
 	}
 
-	public void setTimestamp(String timestamp) {
-		this.timestamp = timestamp;
+	public void setOccurredAt(Instant occurredAt) {
+		this.occurredAt = occurredAt;
 	}
 
-	public String getMicroserviceName() {
-		return microserviceName;
+	public Integer getMicroserviceCode() {
+		return microserviceCode;
 	}
 
-	public void setMicroserviceName(String microserviceName) {
-		this.microserviceName = microserviceName;
+	public void setMicroserviceCode(Integer microserviceCode) {
+		this.microserviceCode = microserviceCode;
 	}
 
 	public String getUser() {
@@ -73,27 +70,51 @@ public class Event {
 		this.user = user;
 	}
 
-	public String getAction() {
-		return action;
+	public Integer getActionCode() {
+		return actionCode;
+	}
+
+	public void setActionCode(Integer actionCode) {
+		this.actionCode = actionCode;
+	}
+
+	public Integer getResourceCode() {
+		return resourceCode;
+	}
+
+	public void setResourceCode(Integer resourceCode) {
+		this.resourceCode = resourceCode;
+	}
+
+	public Integer getResponseTypeCode() {
+		return responseTypeCode;
+	}
+
+	public void setResponseTypeCode(Integer responseTypeCode) {
+		this.responseTypeCode = responseTypeCode;
+	}
+
+	public float getSampleRate() {
+		return sampleRate;
 	}
 
-	public void setAction(String action) {
-		this.action = action;
+	public void setSampleRate(float sampleRate) {
+		this.sampleRate = sampleRate;
 	}
 
-	public String getResource() {
-		return resource;
+	public Long getDurationMicros() {
+		return durationMicros;
 	}
 
-	public void setResource(String resource) {
-		this.resource = resource;
+	public void setDurationMicros(Long durationMicros) {
+		this.durationMicros = durationMicros;
 	}
 
-	public String getResponseType() {
-		return responseType;
+	public String getTraceId() {
+		return traceId;
 	}
 
-	public void setResponseType(String responseType) {
-		this.responseType = responseType;
+	public void setTraceId(String traceId) {
+		this.traceId = traceId;
 	}
 }
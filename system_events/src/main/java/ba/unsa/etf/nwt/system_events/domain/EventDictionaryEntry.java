@@ -0,0 +1,67 @@
+package ba.unsa.etf.nwt.system_events.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Interned value of a low-cardinality event field, events reference it by id instead of repeating the string.
+ */
+@Entity
+@Table(
+		name = "event_dictionary",
+		uniqueConstraints = @UniqueConstraint(columnNames = {"kind", "value"})
+)
+public class EventDictionaryEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 32)
+	private Kind kind;
+
+	@Column(nullable = false, length = 2048)
+	private String value;
+
+	public EventDictionaryEntry() {
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public void setKind(Kind kind) {
+		this.kind = kind;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public void setValue(String value) {
+		this.value = value;
+	}
+
+	public enum Kind {
+		SERVICE,
+		ACTION,
+		RESOURCE,
+		RESPONSE_TYPE
+	}
+}
@@ -0,0 +1,108 @@
+package ba.unsa.etf.nwt.system_events.domain;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Per-minute request count for one service and response type, maintained by the event writer.
+ */
+@Entity
+public class EventRollup {
+
+	@EmbeddedId
+	private Key id;
+
+	private long requestCount;
+
+	public EventRollup() {
+	}
+
+	public EventRollup(final Key id, final long requestCount) {
+		this.id = id;
+		this.requestCount = requestCount;
+	}
+
+	public Key getId() {
+		return id;
+	}
+
+	public void setId(Key id) {
+		this.id = id;
+	}
+
+	public long getRequestCount() {
+		return requestCount;
+	}
+
+	public void setRequestCount(long requestCount) {
+		this.requestCount = requestCount;
+	}
+
+	@Embeddable
+	public static class Key implements Serializable {
+
+		@Serial
+		private static final long serialVersionUID = 6383095245069721034L;
+
+		private Instant minute;
+		private String microserviceName;
+		private String responseType;
+
+		public Key() {
+		}
+
+		public Key(final Instant minute, final String microserviceName, final String responseType) {
+			this.minute = minute;
+			this.microserviceName = microserviceName;
+			this.responseType = responseType;
+		}
+
+		public Instant getMinute() {
+			return minute;
+		}
+
+		public void setMinute(Instant minute) {
+			this.minute = minute;
+		}
+
+		public String getMicroserviceName() {
+			return microserviceName;
+		}
+
+		public void setMicroserviceName(String microserviceName) {
+			this.microserviceName = microserviceName;
+		}
+
+		public String getResponseType() {
+			return responseType;
+		}
+
+		public void setResponseType(String responseType) {
+			this.responseType = responseType;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key key)) {
+				return false;
+			}
+			return Objects.equals(minute, key.minute)
+					&& Objects.equals(microserviceName, key.microserviceName)
+					&& Objects.equals(responseType, key.responseType);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(minute, microserviceName, responseType);
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package ba.unsa.etf.nwt.system_events.dto;
+
+import java.time.Instant;
+
+public record EventDTO(
+		Instant occurredAt,
+		String microserviceName,
+		String user,
+		String action,
+		String resource,
+		String responseType,
+		double sampleRate,
+		Long durationMicros,
+		String traceId
+) {
+
+	/**
+	 * How many requests this event stands for, clients only send a {@code sampleRate} share of them.
+	 */
+	public double weight() {
+		return 1 / sampleRate;
+	}
+}
@@ -0,0 +1,13 @@
+package ba.unsa.etf.nwt.system_events.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+public record EventErrorRatio(Instant minute, String microserviceName, Long requestCount, Long errorCount) {
+
+	@JsonProperty
+	public double errorRatio() {
+		return requestCount == null || requestCount == 0 ? 0 : (double) errorCount / requestCount;
+	}
+}
@@ -0,0 +1,20 @@
+package ba.unsa.etf.nwt.system_events.dto;
+
+/**
+ * Latency percentiles of one endpoint, weighted by sample rate so sampled and fully reported
+ * requests count the same.
+ */
+public interface EventLatency {
+
+	String getMicroserviceName();
+
+	String getResource();
+
+	long getRequestCount();
+
+	long getP50Micros();
+
+	long getP95Micros();
+
+	long getP99Micros();
+}
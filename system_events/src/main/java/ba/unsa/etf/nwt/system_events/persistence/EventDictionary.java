@@ -0,0 +1,105 @@
+package ba.unsa.etf.nwt.system_events.persistence;
+
+import ba.unsa.etf.nwt.system_events.domain.EventDictionaryEntry.Kind;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of the event dictionary. The whole table is loaded on startup; values first seen
+ * by this instance are interned with an upsert, so concurrent instances always agree on the id.
+ * Interning runs in its own (auto-commit) statement so a rolled back event batch never leaves the
+ * cache pointing at an id that doesn't exist.
+ */
+public class EventDictionary {
+	private static final String INTERN = """
+			INSERT INTO event_dictionary (kind, value) VALUES (?, ?)
+			ON CONFLICT (kind, value) DO UPDATE SET value = EXCLUDED.value
+			RETURNING id
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Map<Entry, Integer> codes = new ConcurrentHashMap<>();
+	private final Map<Integer, String> values = new ConcurrentHashMap<>();
+
+	public EventDictionary(final JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public void load() {
+		jdbcTemplate.query("SELECT id, kind, value FROM event_dictionary", resultSet -> {
+			cache(resultSet.getInt("id"), Kind.valueOf(resultSet.getString("kind")), resultSet.getString("value"));
+		});
+	}
+
+	public int encode(final Kind kind, final String value) {
+		final Integer cached = codes.get(new Entry(kind, value));
+		if (cached != null) {
+			return cached;
+		}
+
+		final Integer id = jdbcTemplate.queryForObject(INTERN, Integer.class, kind.name(), value);
+		cache(id, kind, value);
+		return id;
+	}
+
+	/**
+	 * Looks up the code without interning, empty if the value has never been stored.
+	 */
+	public Optional<Integer> find(final Kind kind, final String value) {
+		final Integer cached = codes.get(new Entry(kind, value));
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+
+		try {
+			final Integer id = jdbcTemplate.queryForObject(
+					"SELECT id FROM event_dictionary WHERE kind = ? AND value = ?",
+					Integer.class,
+					kind.name(),
+					value
+			);
+			cache(id, kind, value);
+			return Optional.of(id);
+		} catch (final EmptyResultDataAccessException e) {
+			return Optional.empty();
+		}
+	}
+
+	public List<Integer> findByPrefix(final Kind kind, final String prefix) {
+		return jdbcTemplate.queryForList(
+				"SELECT id FROM event_dictionary WHERE kind = ? AND value LIKE ?",
+				Integer.class,
+				kind.name(),
+				prefix + "%"
+		);
+	}
+
+	public String decode(final Integer code) {
+		if (code == null) {
+			return null;
+		}
+
+		return values.computeIfAbsent(code, id -> jdbcTemplate.queryForObject(
+				"SELECT value FROM event_dictionary WHERE id = ?",
+				String.class,
+				id
+		));
+	}
+
+	public int size() {
+		return values.size();
+	}
+
+	private void cache(final int id, final Kind kind, final String value) {
+		codes.put(new Entry(kind, value), id);
+		values.put(id, value);
+	}
+
+	private record Entry(Kind kind, String value) {
+	}
+}
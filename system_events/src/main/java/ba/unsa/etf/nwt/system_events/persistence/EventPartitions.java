@@ -0,0 +1,364 @@
+package ba.unsa.etf.nwt.system_events.persistence;
+
+import ba.unsa.etf.nwt.system_events.domain.EventDictionaryEntry.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Owns the time-partitioned layout of {@code event} and {@code event_rollup}. Both tables are range
+ * partitioned by UTC day with a default partition catching anything outside the prepared range, so
+ * inserts never fail. Expiring data is a {@code DROP TABLE} of a whole day instead of a {@code DELETE},
+ * which costs the same no matter how many rows the day holds and leaves nothing behind to vacuum.
+ * <p>
+ * Raw events are kept for {@code rawRetentionDays}; before a raw day is dropped its per-minute counts are
+ * reconciled into {@code event_rollup}, which is kept for {@code rollupRetentionDays}.
+ * <p>
+ * Plain {@code event} tables from before dictionary codes store service, action, resource and response
+ * type as strings, the oldest ones the time as a string too. Those values are interned into {@code event_dictionary} and the codes filled in before
+ * the rows are copied, so events written before the upgrade are still found by the query API.
+ */
+public class EventPartitions {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventPartitions.class);
+
+	private static final String EVENT = "event";
+	private static final String ROLLUP = "event_rollup";
+	private static final String LEGACY_SUFFIX = "_legacy";
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyyMMdd");
+
+	private static final String CREATE_EVENT = """
+			CREATE TABLE event (
+				id bigserial,
+				occurred_at timestamptz NOT NULL,
+				microservice_code integer,
+				triggered_by varchar(255),
+				action_code integer,
+				resource_code integer,
+				response_type_code integer,
+				sample_rate real NOT NULL DEFAULT 1,
+				duration_micros bigint,
+				trace_id varchar(64),
+				PRIMARY KEY (id, occurred_at)
+			) PARTITION BY RANGE (occurred_at)
+			""";
+
+	private static final String CREATE_ROLLUP = """
+			CREATE TABLE event_rollup (
+				minute timestamptz NOT NULL,
+				microservice_name varchar(255) NOT NULL,
+				response_type varchar(255) NOT NULL,
+				request_count bigint NOT NULL,
+				PRIMARY KEY (minute, microservice_name, response_type)
+			) PARTITION BY RANGE (minute)
+			""";
+
+	private static final String LEGACY_TIMESTAMP = "timestamp";
+	// What LocalDateTime.toString() produces, anything else can't be cast to a timestamp
+	private static final String LOCAL_DATE_TIME = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}(:\\d{2}(\\.\\d{1,9})?)?$";
+
+	// Legacy string column, the code column replacing it and the dictionary kind of its values
+	private static final List<LegacyColumn> LEGACY_STRING_COLUMNS = List.of(
+			new LegacyColumn("microservice_name", "microservice_code", Kind.SERVICE),
+			new LegacyColumn("action", "action_code", Kind.ACTION),
+			new LegacyColumn("resource", "resource_code", Kind.RESOURCE),
+			new LegacyColumn("response_type", "response_type_code", Kind.RESPONSE_TYPE)
+	);
+
+	private static final String EVENT_COLUMNS =
+			"occurred_at, microservice_code, triggered_by, action_code, resource_code, response_type_code";
+	private static final String ROLLUP_COLUMNS = "minute, microservice_name, response_type, request_count";
+
+	// Counts are only ever raised, rows the writer already rolled up stay as they are
+	private static final String COMPACT = """
+			INSERT INTO event_rollup (minute, microservice_name, response_type, request_count)
+			SELECT date_trunc('minute', e.occurred_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', s.value, r.value, round(sum(1.0 / e.sample_rate::float8))::bigint
+			FROM %s e
+			JOIN event_dictionary s ON s.id = e.microservice_code
+			JOIN event_dictionary r ON r.id = e.response_type_code
+			GROUP BY 1, 2, 3
+			ON CONFLICT (minute, microservice_name, response_type)
+			DO UPDATE SET request_count = GREATEST(event_rollup.request_count, EXCLUDED.request_count)
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Clock clock;
+	private final int rawRetentionDays;
+	private final int rollupRetentionDays;
+	private final int premakeDays;
+
+	public EventPartitions(
+			final JdbcTemplate jdbcTemplate,
+			final TransactionTemplate transactionTemplate,
+			final Clock clock,
+			final int rawRetentionDays,
+			final int rollupRetentionDays,
+			final int premakeDays
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.clock = clock;
+		this.rawRetentionDays = rawRetentionDays;
+		this.rollupRetentionDays = rollupRetentionDays;
+		this.premakeDays = premakeDays;
+	}
+
+	/**
+	 * Creates the partitioned tables, moving plain tables left by earlier versions out of the way
+	 * and copying over what is still within retention, then runs one maintenance pass.
+	 */
+	public void prepare() {
+		prepareTable(EVENT, CREATE_EVENT, "occurred_at");
+		prepareTable(ROLLUP, CREATE_ROLLUP, "minute");
+		jdbcTemplate.execute("""
+				ALTER TABLE event
+					ADD COLUMN IF NOT EXISTS sample_rate real NOT NULL DEFAULT 1,
+					ADD COLUMN IF NOT EXISTS duration_micros bigint,
+					ADD COLUMN IF NOT EXISTS trace_id varchar(64)
+				""");
+
+		maintain();
+
+		migrateLegacy(EVENT, "occurred_at", EVENT_COLUMNS, rawCutoff());
+		migrateLegacy(ROLLUP, "minute", ROLLUP_COLUMNS, rollupCutoff());
+	}
+
+	/**
+	 * Creates the upcoming daily partitions, compacts and drops raw days past retention and drops
+	 * rollup days past retention.
+	 */
+	public void maintain() {
+		final LocalDate today = LocalDate.now(clock);
+		final LocalDate rawCutoff = rawCutoff();
+		final LocalDate rollupCutoff = rollupCutoff();
+
+		for (int day = 0; day <= premakeDays; day++) {
+			ensurePartition(EVENT, "occurred_at", today.plusDays(day));
+			ensurePartition(ROLLUP, "minute", today.plusDays(day));
+		}
+
+		int compacted = 0;
+		for (final LocalDate day : partitionDays(EVENT)) {
+			if (day.isBefore(rawCutoff)) {
+				compactAndDrop(day);
+				compacted++;
+			}
+		}
+
+		int dropped = 0;
+		for (final LocalDate day : partitionDays(ROLLUP)) {
+			if (day.isBefore(rollupCutoff)) {
+				jdbcTemplate.execute("DROP TABLE " + partitionName(ROLLUP, day));
+				dropped++;
+			}
+		}
+
+		// Only stray rows outside the prepared range end up here, so a DELETE stays cheap
+		final int strayEvents = jdbcTemplate.update(
+				"DELETE FROM event_default WHERE occurred_at < ?", startOf(rawCutoff));
+		final int strayRollups = jdbcTemplate.update(
+				"DELETE FROM event_rollup_default WHERE minute < ?", startOf(rollupCutoff));
+
+		if (compacted > 0 || dropped > 0 || strayEvents > 0 || strayRollups > 0) {
+			LOGGER.info("Compacted {} raw event days, dropped {} rollup days, removed {} stray events and {} stray rollups",
+					compacted, dropped, strayEvents, strayRollups);
+		}
+	}
+
+	private void compactAndDrop(final LocalDate day) {
+		final String partition = partitionName(EVENT, day);
+		ensurePartition(ROLLUP, "minute", day);
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update(COMPACT.formatted(partition));
+			jdbcTemplate.execute("DROP TABLE " + partition);
+		});
+	}
+
+	private void prepareTable(final String table, final String create, final String partitionColumn) {
+		final String kind = relationKind(table);
+		if ("p".equals(kind)) {
+			return;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			if ("r".equals(kind)) {
+				LOGGER.info("Moving unpartitioned table {} to {}", table, table + LEGACY_SUFFIX);
+				jdbcTemplate.execute("ALTER TABLE %s RENAME TO %s".formatted(table, table + LEGACY_SUFFIX));
+				jdbcTemplate.execute("ALTER TABLE %s DROP CONSTRAINT IF EXISTS %s_pkey".formatted(table + LEGACY_SUFFIX, table));
+				jdbcTemplate.execute("DROP INDEX IF EXISTS %s_%s_brin".formatted(table, partitionColumn));
+			}
+			jdbcTemplate.execute(create);
+			jdbcTemplate.execute("CREATE TABLE %s_default PARTITION OF %s DEFAULT".formatted(table, table));
+			// Rows arrive in time order, a BRIN index keeps time-window scans cheap at a fraction of a b-tree's size
+			jdbcTemplate.execute("CREATE INDEX %s_%s_brin ON %s USING BRIN (%s)".formatted(table, partitionColumn, table, partitionColumn));
+		});
+	}
+
+	private void migrateLegacy(final String table, final String partitionColumn, final String columns, final LocalDate cutoff) {
+		final String legacy = table + LEGACY_SUFFIX;
+		if (relationKind(legacy) == null) {
+			return;
+		}
+
+		if (EVENT.equals(table)) {
+			fillOccurredAt(legacy);
+			encodeLegacyStrings(legacy, partitionColumn, cutoff);
+		}
+
+		final Range range = jdbcTemplate.queryForObject(
+				"SELECT min(%1$s) AS first, max(%1$s) AS last FROM %2$s WHERE %1$s >= ?".formatted(partitionColumn, legacy),
+				(resultSet, row) -> new Range(
+						resultSet.getObject("first", OffsetDateTime.class),
+						resultSet.getObject("last", OffsetDateTime.class)
+				),
+				startOf(cutoff)
+		);
+		if (range != null && range.first() != null) {
+			final LocalDate last = range.last().atZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+			for (LocalDate day = range.first().atZoneSameInstant(ZoneOffset.UTC).toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+				ensurePartition(table, partitionColumn, day);
+			}
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			final int copied = jdbcTemplate.update("INSERT INTO %1$s (%2$s) SELECT %2$s FROM %3$s WHERE %4$s >= ?"
+					.formatted(table, columns, legacy, partitionColumn), startOf(cutoff));
+			jdbcTemplate.execute("DROP TABLE " + legacy);
+			LOGGER.info("Copied {} rows from {} into {}", copied, legacy, table);
+		});
+	}
+
+	/**
+	 * The first event tables kept the time as the {@code LocalDateTime} string clients sent, in their own
+	 * zone. {@code occurred_at} is filled from it the way {@code EventsService} parses incoming timestamps,
+	 * rows whose string doesn't parse are left without a time and so aren't copied.
+	 */
+	private void fillOccurredAt(final String legacy) {
+		if (!hasColumn(legacy, LEGACY_TIMESTAMP)) {
+			return;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.execute("ALTER TABLE %s ADD COLUMN IF NOT EXISTS occurred_at timestamptz".formatted(legacy));
+			final int filled = jdbcTemplate.update("""
+					UPDATE %1$s SET occurred_at = "%2$s"::timestamp AT TIME ZONE ?
+					WHERE occurred_at IS NULL AND "%2$s" ~ ?
+					""".formatted(legacy, LEGACY_TIMESTAMP), ZoneId.systemDefault().getId(), LOCAL_DATE_TIME);
+			LOGGER.info("Filled occurred_at of {} rows of {} from their {} column", filled, legacy, LEGACY_TIMESTAMP);
+		});
+	}
+
+	/**
+	 * Fills the code columns of a legacy event table from its string columns, interning values the
+	 * dictionary doesn't have yet. Rows that already have a code are left alone, so this is safe to
+	 * repeat if a previous start was interrupted.
+	 */
+	private void encodeLegacyStrings(final String legacy, final String partitionColumn, final LocalDate cutoff) {
+		for (final LegacyColumn column : LEGACY_STRING_COLUMNS) {
+			if (!hasColumn(legacy, column.name())) {
+				continue;
+			}
+
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.execute("ALTER TABLE %s ADD COLUMN IF NOT EXISTS %s integer".formatted(legacy, column.codeName()));
+				jdbcTemplate.update("""
+						INSERT INTO event_dictionary (kind, value)
+						SELECT DISTINCT ?, %2$s FROM %1$s
+						WHERE %2$s IS NOT NULL AND %3$s IS NULL AND %4$s >= ?
+						ON CONFLICT (kind, value) DO NOTHING
+						""".formatted(legacy, column.name(), column.codeName(), partitionColumn),
+						column.kind().name(), startOf(cutoff));
+				final int encoded = jdbcTemplate.update("""
+						UPDATE %1$s l SET %3$s = d.id
+						FROM event_dictionary d
+						WHERE d.kind = ? AND d.value = l.%2$s AND l.%3$s IS NULL AND l.%4$s >= ?
+						""".formatted(legacy, column.name(), column.codeName(), partitionColumn),
+						column.kind().name(), startOf(cutoff));
+				LOGGER.info("Encoded {} legacy {} values of {} as dictionary codes", encoded, column.name(), legacy);
+			});
+		}
+	}
+
+	private boolean hasColumn(final String table, final String column) {
+		return !jdbcTemplate.queryForList("""
+						SELECT 1 FROM information_schema.columns
+						WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?
+						""", Integer.class, table, column)
+				.isEmpty();
+	}
+
+	/**
+	 * Attaches the partition for the given day, first moving any of its rows that already landed in the
+	 * default partition, otherwise the attach would fail.
+	 */
+	private void ensurePartition(final String table, final String partitionColumn, final LocalDate day) {
+		final String partition = partitionName(table, day);
+		if (relationKind(partition) != null) {
+			return;
+		}
+
+		final OffsetDateTime from = startOf(day);
+		final OffsetDateTime to = startOf(day.plusDays(1));
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.execute("CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS)".formatted(partition, table));
+			jdbcTemplate.update("""
+					WITH moved AS (DELETE FROM %2$s_default WHERE %3$s >= ? AND %3$s < ? RETURNING *)
+					INSERT INTO %1$s SELECT * FROM moved
+					""".formatted(partition, table, partitionColumn), from, to);
+			jdbcTemplate.execute("ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+					.formatted(table, partition, from, to));
+		});
+	}
+
+	private List<LocalDate> partitionDays(final String table) {
+		final String prefix = table + "_p";
+		return jdbcTemplate.queryForList("""
+						SELECT c.relname FROM pg_inherits i
+						JOIN pg_class c ON c.oid = i.inhrelid
+						WHERE i.inhparent = to_regclass(?)
+						ORDER BY c.relname
+						""", String.class, table)
+				.stream()
+				.filter(name -> name.startsWith(prefix) && name.length() == prefix.length() + 8)
+				.map(name -> LocalDate.parse(name.substring(table.length()), PARTITION_SUFFIX))
+				.toList();
+	}
+
+	private String relationKind(final String table) {
+		return jdbcTemplate.queryForList("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, table)
+				.stream()
+				.findFirst()
+				.orElse(null);
+	}
+
+	private LocalDate rawCutoff() {
+		return LocalDate.now(clock).minusDays(rawRetentionDays);
+	}
+
+	private LocalDate rollupCutoff() {
+		return LocalDate.now(clock).minusDays(rollupRetentionDays);
+	}
+
+	private static String partitionName(final String table, final LocalDate day) {
+		return table + PARTITION_SUFFIX.format(day);
+	}
+
+	private static OffsetDateTime startOf(final LocalDate day) {
+		return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+	}
+
+	private record Range(OffsetDateTime first, OffsetDateTime last) {
+	}
+
+	private record LegacyColumn(String name, String codeName, Kind kind) {
+	}
+}
@@ -0,0 +1,253 @@
+package ba.unsa.etf.nwt.system_events.persistence;
+
+import ba.unsa.etf.nwt.system_events.domain.EventDictionaryEntry.Kind;
+import ba.unsa.etf.nwt.system_events.domain.EventRollup;
+import ba.unsa.etf.nwt.system_events.dto.EventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Group-commit writer for events. Callers hand events to a bounded ring buffer and get a future back;
+ * a single writer thread flushes the buffer with one JDBC batch insert per transaction whenever
+ * {@code batchSize} events are waiting or {@code flushInterval} has passed since the first one arrived.
+ * Futures complete only after the batch containing the event has been committed. The per-minute rollups
+ * are updated in the same transaction, so they never disagree with the raw events.
+ * <p>
+ * Buffer space is reserved before anything is enqueued, so a batch of events is either taken whole or
+ * rejected whole, and a client retrying a rejected batch doesn't write part of it twice.
+ */
+public class EventWriter implements AutoCloseable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventWriter.class);
+
+	private static final String INSERT_EVENT = """
+			INSERT INTO event (
+				occurred_at, microservice_code, triggered_by, action_code, resource_code, response_type_code,
+				sample_rate, duration_micros, trace_id
+			)
+			VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+			""";
+
+	private static final String UPSERT_ROLLUP = """
+			INSERT INTO event_rollup (minute, microservice_name, response_type, request_count)
+			VALUES (?, ?, ?, ?)
+			ON CONFLICT (minute, microservice_name, response_type)
+			DO UPDATE SET request_count = event_rollup.request_count + EXCLUDED.request_count
+			""";
+
+	private static final Comparator<EventRollup.Key> ROLLUP_ORDER = Comparator
+			.comparing(EventRollup.Key::getMinute)
+			.thenComparing(EventRollup.Key::getMicroserviceName)
+			.thenComparing(EventRollup.Key::getResponseType);
+
+	private final BlockingQueue<PendingEvent> buffer;
+	// Free slots of the buffer, given back once the writer has taken events out of it
+	private final Semaphore capacity;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final EventDictionary dictionary;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final Thread writer;
+
+	private volatile boolean running = true;
+
+	public EventWriter(
+			final JdbcTemplate jdbcTemplate,
+			final TransactionTemplate transactionTemplate,
+			final EventDictionary dictionary,
+			final int bufferCapacity,
+			final int batchSize,
+			final Duration flushInterval
+	) {
+		this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+		this.capacity = new Semaphore(bufferCapacity);
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.dictionary = dictionary;
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = flushInterval.toNanos();
+		this.writer = Thread.ofPlatform().daemon().name("event-writer").start(this::run);
+	}
+
+	public CompletableFuture<Void> submit(final EventDTO event) {
+		return submitAll(List.of(event));
+	}
+
+	/**
+	 * Enqueues all of the events or, when the buffer can't take them all, none of them.
+	 */
+	public CompletableFuture<Void> submitAll(final List<EventDTO> events) {
+		if (events.isEmpty()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		if (!running || !capacity.tryAcquire(events.size())) {
+			return CompletableFuture.failedFuture(new RejectedExecutionException("Event buffer is full"));
+		}
+
+		// The reserved slots guarantee room in the buffer
+		final CompletableFuture<?>[] acks = new CompletableFuture<?>[events.size()];
+		for (int i = 0; i < events.size(); i++) {
+			final PendingEvent pending = new PendingEvent(events.get(i), new CompletableFuture<>());
+			buffer.add(pending);
+			acks[i] = pending.ack();
+		}
+		return CompletableFuture.allOf(acks);
+	}
+
+	public int getBufferedCount() {
+		return buffer.size();
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		running = false;
+		writer.join();
+	}
+
+	private void run() {
+		final List<PendingEvent> batch = new ArrayList<>(batchSize);
+
+		while (running || !buffer.isEmpty()) {
+			try {
+				final PendingEvent first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+				if (first == null) {
+					continue;
+				}
+
+				batch.add(first);
+				collect(batch, System.nanoTime() + flushIntervalNanos);
+				capacity.release(batch.size());
+				flush(batch);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				flush(batch);
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void collect(final List<PendingEvent> batch, final long deadline) throws InterruptedException {
+		while (batch.size() < batchSize) {
+			buffer.drainTo(batch, batchSize - batch.size());
+			if (batch.size() >= batchSize) {
+				return;
+			}
+
+			final long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return;
+			}
+
+			final PendingEvent next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	private void flush(final List<PendingEvent> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		try {
+			// Intern outside of the batch transaction, see EventDictionary
+			final List<int[]> codes = batch.stream().map(pending -> encode(pending.event())).toList();
+
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.batchUpdate(
+						INSERT_EVENT,
+						IntStream.range(0, batch.size()).boxed().toList(),
+						batch.size(),
+						(statement, index) -> {
+							final EventDTO event = batch.get(index).event();
+							final int[] eventCodes = codes.get(index);
+							statement.setObject(1, OffsetDateTime.ofInstant(event.occurredAt(), ZoneOffset.UTC));
+							statement.setInt(2, eventCodes[0]);
+							statement.setString(3, event.user());
+							statement.setInt(4, eventCodes[1]);
+							statement.setInt(5, eventCodes[2]);
+							statement.setInt(6, eventCodes[3]);
+							statement.setFloat(7, (float) event.sampleRate());
+							statement.setObject(8, event.durationMicros(), Types.BIGINT);
+							statement.setString(9, event.traceId());
+						}
+				);
+
+				final List<Map.Entry<EventRollup.Key, Long>> rollups = List.copyOf(rollUp(batch).entrySet());
+				jdbcTemplate.batchUpdate(
+						UPSERT_ROLLUP,
+						rollups,
+						rollups.size(),
+						(statement, rollup) -> {
+							statement.setObject(1, OffsetDateTime.ofInstant(rollup.getKey().getMinute(), ZoneOffset.UTC));
+							statement.setString(2, rollup.getKey().getMicroserviceName());
+							statement.setString(3, rollup.getKey().getResponseType());
+							statement.setLong(4, rollup.getValue());
+						}
+				);
+			});
+			batch.forEach(pending -> pending.ack().complete(null));
+		} catch (final RuntimeException e) {
+			LOGGER.error("Failed persisting batch of {} events: {}", batch.size(), e.getMessage());
+			batch.forEach(pending -> pending.ack().completeExceptionally(e));
+		}
+	}
+
+	private int[] encode(final EventDTO event) {
+		return new int[]{
+				dictionary.encode(Kind.SERVICE, event.microserviceName()),
+				dictionary.encode(Kind.ACTION, event.action()),
+				dictionary.encode(Kind.RESOURCE, event.resource()),
+				dictionary.encode(Kind.RESPONSE_TYPE, event.responseType())
+		};
+	}
+
+	// Rollup rows are sorted so that writers on different instances always lock them in the same order.
+	// Sampled events are scaled back up by their weight, so rollups estimate the real request count.
+	private static Map<EventRollup.Key, Long> rollUp(final List<PendingEvent> batch) {
+		final Map<EventRollup.Key, Double> counts = new TreeMap<>(ROLLUP_ORDER);
+		for (final PendingEvent pending : batch) {
+			final EventDTO event = pending.event();
+			counts.merge(
+					new EventRollup.Key(
+							event.occurredAt().truncatedTo(ChronoUnit.MINUTES),
+							event.microserviceName(),
+							event.responseType()
+					),
+					event.weight(),
+					Double::sum
+			);
+		}
+
+		final Map<EventRollup.Key, Long> rounded = new TreeMap<>(ROLLUP_ORDER);
+		counts.forEach((key, count) -> rounded.put(key, Math.round(count)));
+		return rounded;
+	}
+
+	private record PendingEvent(EventDTO event, CompletableFuture<Void> ack) {
+	}
+}
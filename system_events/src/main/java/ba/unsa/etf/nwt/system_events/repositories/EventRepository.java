@@ -1,7 +1,51 @@
 package ba.unsa.etf.nwt.system_events.repositories;
 
 import ba.unsa.etf.nwt.system_events.domain.Event;
+import ba.unsa.etf.nwt.system_events.dto.EventLatency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+import java.time.Instant;
+import java.util.List;
+
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+
+	// Each event stands for 1 / sample_rate requests, a percentile is the first duration where the
+	// running weight of the endpoint reaches that share of its total. A null service code means all services
+	@Query(value = """
+			WITH weighted AS (
+				SELECT
+					e.microservice_code,
+					e.resource_code,
+					e.duration_micros,
+					sum(1.0 / e.sample_rate) OVER endpoint_by_duration AS running_weight,
+					sum(1.0 / e.sample_rate) OVER endpoint AS total_weight
+				FROM event e
+				WHERE e.occurred_at >= :from AND e.occurred_at < :to AND e.duration_micros IS NOT NULL
+					AND (CAST(:serviceCode AS integer) IS NULL OR e.microservice_code = :serviceCode)
+				WINDOW endpoint AS (PARTITION BY e.microservice_code, e.resource_code),
+					endpoint_by_duration AS (endpoint ORDER BY e.duration_micros ROWS UNBOUNDED PRECEDING)
+			)
+			SELECT
+				s.value AS "microserviceName",
+				r.value AS "resource",
+				round(max(w.total_weight)) AS "requestCount",
+				min(w.duration_micros) FILTER (WHERE w.running_weight >= 0.50 * w.total_weight) AS "p50Micros",
+				min(w.duration_micros) FILTER (WHERE w.running_weight >= 0.95 * w.total_weight) AS "p95Micros",
+				min(w.duration_micros) FILTER (WHERE w.running_weight >= 0.99 * w.total_weight) AS "p99Micros"
+			FROM weighted w
+			JOIN event_dictionary s ON s.id = w.microservice_code
+			JOIN event_dictionary r ON r.id = w.resource_code
+			GROUP BY s.value, r.value
+			ORDER BY "p99Micros" DESC
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<EventLatency> findLatencies(
+			@Param("serviceCode") Integer serviceCode,
+			@Param("from") Instant from,
+			@Param("to") Instant to,
+			@Param("limit") int limit
+	);
 }
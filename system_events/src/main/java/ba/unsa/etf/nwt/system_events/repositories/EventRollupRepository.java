@@ -0,0 +1,51 @@
+package ba.unsa.etf.nwt.system_events.repositories;
+
+import ba.unsa.etf.nwt.system_events.domain.EventRollup;
+import ba.unsa.etf.nwt.system_events.dto.EventErrorRatio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EventRollupRepository extends JpaRepository<EventRollup, EventRollup.Key> {
+
+	@Query("""
+			SELECT r FROM EventRollup r
+			WHERE r.id.minute >= :from AND r.id.minute < :to
+			ORDER BY r.id.minute
+			""")
+	List<EventRollup> findInWindow(@Param("from") Instant from, @Param("to") Instant to);
+
+	@Query("""
+			SELECT r FROM EventRollup r
+			WHERE r.id.microserviceName = :service AND r.id.minute >= :from AND r.id.minute < :to
+			ORDER BY r.id.minute
+			""")
+	List<EventRollup> findInWindowForService(
+			@Param("service") String service,
+			@Param("from") Instant from,
+			@Param("to") Instant to
+	);
+
+	// A null service means all services
+	@Query("""
+			SELECT new ba.unsa.etf.nwt.system_events.dto.EventErrorRatio(
+				r.id.minute,
+				r.id.microserviceName,
+				SUM(r.requestCount),
+				SUM(CASE WHEN r.id.responseType LIKE '4%' OR r.id.responseType LIKE '5%' THEN r.requestCount ELSE 0L END)
+			)
+			FROM EventRollup r
+			WHERE (:service IS NULL OR r.id.microserviceName = :service)
+				AND r.id.minute >= :from AND r.id.minute < :to
+			GROUP BY r.id.minute, r.id.microserviceName
+			ORDER BY r.id.minute
+			""")
+	List<EventErrorRatio> findErrorRatios(
+			@Param("service") String service,
+			@Param("from") Instant from,
+			@Param("to") Instant to
+	);
+}
@@ -0,0 +1,28 @@
+package ba.unsa.etf.nwt.system_events.repositories;
+
+import ba.unsa.etf.nwt.system_events.domain.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public final class EventSpecifications {
+
+	private EventSpecifications() {
+	}
+
+	public static Specification<Event> occurredBetween(final Instant from, final Instant to) {
+		return (root, query, builder) -> builder.and(
+				builder.greaterThanOrEqualTo(root.get("occurredAt"), from),
+				builder.lessThan(root.get("occurredAt"), to)
+		);
+	}
+
+	public static Specification<Event> fromService(final Integer microserviceCode) {
+		return (root, query, builder) -> builder.equal(root.get("microserviceCode"), microserviceCode);
+	}
+
+	public static Specification<Event> withResponseType(final Collection<Integer> responseTypeCodes) {
+		return (root, query, builder) -> root.get("responseTypeCode").in(responseTypeCodes);
+	}
+}
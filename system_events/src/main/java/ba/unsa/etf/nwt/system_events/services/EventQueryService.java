@@ -0,0 +1,142 @@
+package ba.unsa.etf.nwt.system_events.services;
+
+import ba.unsa.etf.nwt.system_events.domain.Event;
+import ba.unsa.etf.nwt.system_events.domain.EventDictionaryEntry.Kind;
+import ba.unsa.etf.nwt.system_events.domain.EventRollup;
+import ba.unsa.etf.nwt.system_events.dto.EventDTO;
+import ba.unsa.etf.nwt.system_events.dto.EventErrorRatio;
+import ba.unsa.etf.nwt.system_events.dto.EventLatency;
+import ba.unsa.etf.nwt.system_events.persistence.EventDictionary;
+import ba.unsa.etf.nwt.system_events.repositories.EventRepository;
+import ba.unsa.etf.nwt.system_events.repositories.EventRollupRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static ba.unsa.etf.nwt.system_events.repositories.EventSpecifications.fromService;
+import static ba.unsa.etf.nwt.system_events.repositories.EventSpecifications.occurredBetween;
+import static ba.unsa.etf.nwt.system_events.repositories.EventSpecifications.withResponseType;
+
+@Service
+@Transactional(readOnly = true)
+public class EventQueryService {
+	public static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+	public static final int MAX_LIMIT = 1000;
+
+	private final EventRepository eventRepository;
+	private final EventRollupRepository eventRollupRepository;
+	private final EventDictionary dictionary;
+
+	public EventQueryService(
+			final EventRepository eventRepository,
+			final EventRollupRepository eventRollupRepository,
+			final EventDictionary dictionary
+	) {
+		this.eventRepository = eventRepository;
+		this.eventRollupRepository = eventRollupRepository;
+		this.dictionary = dictionary;
+	}
+
+	public List<EventDTO> findEvents(
+			final String microserviceName,
+			final String status,
+			final Instant from,
+			final Instant to,
+			final int limit
+	) {
+		final Window window = Window.of(from, to);
+		Specification<Event> specification = Specification.where(occurredBetween(window.from(), window.to()));
+
+		if (microserviceName != null && !microserviceName.isBlank()) {
+			final Optional<Integer> code = dictionary.find(Kind.SERVICE, microserviceName);
+			if (code.isEmpty()) {
+				return List.of();
+			}
+			specification = specification.and(fromService(code.get()));
+		}
+
+		if (status != null && !status.isBlank()) {
+			final List<Integer> codes = status.toLowerCase().endsWith("xx")
+					? dictionary.findByPrefix(Kind.RESPONSE_TYPE, status.substring(0, 1))
+					: dictionary.find(Kind.RESPONSE_TYPE, status).map(List::of).orElse(List.of());
+			if (codes.isEmpty()) {
+				return List.of();
+			}
+			specification = specification.and(withResponseType(codes));
+		}
+
+		final PageRequest page = PageRequest.of(
+				0,
+				Math.clamp(limit, 1, MAX_LIMIT),
+				Sort.by(Sort.Direction.DESC, "occurredAt")
+		);
+
+		return eventRepository.findAll(specification, page).stream()
+				.map(this::decode)
+				.toList();
+	}
+
+	public List<EventRollup> findRollups(final String microserviceName, final Instant from, final Instant to) {
+		final Window window = Window.of(from, to);
+		if (microserviceName == null || microserviceName.isBlank()) {
+			return eventRollupRepository.findInWindow(window.from(), window.to());
+		}
+		return eventRollupRepository.findInWindowForService(microserviceName, window.from(), window.to());
+	}
+
+	public List<EventErrorRatio> findErrorRatios(final String microserviceName, final Instant from, final Instant to) {
+		final Window window = Window.of(from, to);
+		final String service = microserviceName == null || microserviceName.isBlank() ? null : microserviceName;
+		return eventRollupRepository.findErrorRatios(service, window.from(), window.to());
+	}
+
+	/**
+	 * Slowest endpoints first, by p99. Only events reported with a duration are considered.
+	 */
+	public List<EventLatency> findLatencies(
+			final String microserviceName,
+			final Instant from,
+			final Instant to,
+			final int limit
+	) {
+		final Window window = Window.of(from, to);
+		Integer serviceCode = null;
+		if (microserviceName != null && !microserviceName.isBlank()) {
+			final Optional<Integer> code = dictionary.find(Kind.SERVICE, microserviceName);
+			if (code.isEmpty()) {
+				return List.of();
+			}
+			serviceCode = code.get();
+		}
+		return eventRepository.findLatencies(serviceCode, window.from(), window.to(), Math.clamp(limit, 1, MAX_LIMIT));
+	}
+
+	private EventDTO decode(final Event event) {
+		return new EventDTO(
+				event.getOccurredAt(),
+				dictionary.decode(event.getMicroserviceCode()),
+				event.getUser(),
+				dictionary.decode(event.getActionCode()),
+				dictionary.decode(event.getResourceCode()),
+				dictionary.decode(event.getResponseTypeCode()),
+				event.getSampleRate(),
+				event.getDurationMicros(),
+				event.getTraceId()
+		);
+	}
+
+	private record Window(Instant from, Instant to) {
+		static Window of(final Instant from, final Instant to) {
+			final Instant end = to != null ? to : Instant.now();
+			final Instant start = from != null ? from : end.minus(DEFAULT_WINDOW);
+			return new Window(start, end);
+		}
+	}
+}
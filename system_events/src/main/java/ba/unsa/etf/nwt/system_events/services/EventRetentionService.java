@@ -0,0 +1,33 @@
+package ba.unsa.etf.nwt.system_events.services;
+
+import ba.unsa.etf.nwt.system_events.persistence.EventPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically rolls the event partitions forward and expires old days, see {@link EventPartitions}.
+ */
+@Service
+public class EventRetentionService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventRetentionService.class);
+
+	private final EventPartitions eventPartitions;
+
+	public EventRetentionService(final EventPartitions eventPartitions) {
+		this.eventPartitions = eventPartitions;
+	}
+
+	@Scheduled(
+			initialDelayString = "${events.retention.check-interval:1h}",
+			fixedDelayString = "${events.retention.check-interval:1h}"
+	)
+	public void maintain() {
+		try {
+			eventPartitions.maintain();
+		} catch (final RuntimeException e) {
+			LOGGER.error("Event partition maintenance failed, retrying on the next run", e);
+		}
+	}
+}
@@ -1,46 +1,267 @@
 package ba.unsa.etf.nwt.system_events.services;
 
+import ba.unsa.etf.nwt.events.EventFilter;
+import ba.unsa.etf.nwt.events.EventQuery;
+import ba.unsa.etf.nwt.events.EventQueryResponse;
 import ba.unsa.etf.nwt.events.EventRequest;
+import ba.unsa.etf.nwt.events.EventRequestV2;
 import ba.unsa.etf.nwt.events.EventResponse;
 import ba.unsa.etf.nwt.events.EventServiceGrpc;
-import ba.unsa.etf.nwt.system_events.domain.Event;
-import ba.unsa.etf.nwt.system_events.repositories.EventRepository;
+import ba.unsa.etf.nwt.events.HttpMethod;
+import ba.unsa.etf.nwt.events.RollupEntry;
+import ba.unsa.etf.nwt.events.RollupQuery;
+import ba.unsa.etf.nwt.events.RollupQueryResponse;
+import ba.unsa.etf.nwt.system_events.dto.EventDTO;
+import ba.unsa.etf.nwt.system_events.persistence.EventWriter;
+import ba.unsa.etf.nwt.system_events.tail.EventBroadcaster;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 @GrpcService
 public class EventsService extends EventServiceGrpc.EventServiceImplBase {
 	private static final Logger LOGGER = LoggerFactory.getLogger(EventsService.class);
 
-	private final EventRepository eventRepository;
+	private final EventWriter eventWriter;
+	private final EventQueryService eventQueryService;
+	private final EventBroadcaster eventBroadcaster;
 
-	public EventsService(final EventRepository eventRepository) {
-		this.eventRepository = eventRepository;
+	public EventsService(
+			final EventWriter eventWriter,
+			final EventQueryService eventQueryService,
+			final EventBroadcaster eventBroadcaster
+	) {
+		this.eventWriter = eventWriter;
+		this.eventQueryService = eventQueryService;
+		this.eventBroadcaster = eventBroadcaster;
 	}
 
 	@Override
 	public void logEvent(final EventRequest request, final StreamObserver<EventResponse> responseObserver) {
-		final String timestamp = request.getTimestamp();
-		final String microserviceName = request.getMicroserviceName();
-		final String user = request.getUser();
-		final String action = request.getAction();
-		final String resource = request.getResource();
-		final String responseType = request.getResponseType();
-
-		LOGGER.info(
+		LOGGER.debug(
 				"Received event: Action={}, Resource={}, Service={}, User={}, Timestamp={}, ResponseType={}",
-				action, resource, microserviceName, user, timestamp, responseType
+				request.getAction(),
+				request.getResource(),
+				request.getMicroserviceName(),
+				request.getUser(),
+				request.getTimestamp(),
+				request.getResponseType()
 		);
 
-		eventRepository.save(new Event(timestamp, microserviceName, user, action, resource, responseType));
+		acknowledge(persist(List.of(toEvent(request))), request.getResponseType(), responseObserver);
+	}
 
-		final EventResponse response = EventResponse.newBuilder()
-				.setResponse(responseType)
-				.build();
+	@Override
+	public StreamObserver<EventRequest> logEvents(final StreamObserver<EventResponse> responseObserver) {
+		return collect(EventsService::toEvent, responseObserver);
+	}
+
+	@Override
+	public void logEventV2(final EventRequestV2 request, final StreamObserver<EventResponse> responseObserver) {
+		acknowledge(persist(List.of(toEvent(request))), Integer.toString(request.getStatus()), responseObserver);
+	}
+
+	@Override
+	public StreamObserver<EventRequestV2> logEventsV2(final StreamObserver<EventResponse> responseObserver) {
+		return collect(EventsService::toEvent, responseObserver);
+	}
+
+	// Both event versions are accepted while clients are rolled over, they end up as the same EventDTO
+	private <T> StreamObserver<T> collect(
+			final Function<T, EventDTO> converter,
+			final StreamObserver<EventResponse> responseObserver
+	) {
+		return new StreamObserver<>() {
+			private final List<EventDTO> events = new ArrayList<>();
+
+			@Override
+			public void onNext(final T request) {
+				events.add(converter.apply(request));
+			}
+
+			@Override
+			public void onError(final Throwable t) {
+				LOGGER.warn("Event stream aborted by client after {} events: {}", events.size(), t.getMessage());
+			}
 
-		responseObserver.onNext(response);
+			@Override
+			public void onCompleted() {
+				LOGGER.debug("Received batch of {} events", events.size());
+				acknowledge(persist(events), Integer.toString(events.size()), responseObserver);
+			}
+		};
+	}
+
+	@Override
+	public void queryEvents(final EventQuery query, final StreamObserver<EventQueryResponse> responseObserver) {
+		final List<EventDTO> events = eventQueryService.findEvents(
+				query.getMicroserviceName(),
+				query.getResponseType(),
+				toInstant(query.getFromEpochMillis()),
+				toInstant(query.getToEpochMillis()),
+				query.getLimit() > 0 ? query.getLimit() : EventQueryService.MAX_LIMIT
+		);
+
+		final EventQueryResponse.Builder response = EventQueryResponse.newBuilder();
+		events.forEach(event -> response.addEvents(toRequest(event)));
+
+		responseObserver.onNext(response.build());
 		responseObserver.onCompleted();
 	}
+
+	@Override
+	public void queryRollups(final RollupQuery query, final StreamObserver<RollupQueryResponse> responseObserver) {
+		final RollupQueryResponse.Builder response = RollupQueryResponse.newBuilder();
+		eventQueryService.findRollups(
+				query.getMicroserviceName(),
+				toInstant(query.getFromEpochMillis()),
+				toInstant(query.getToEpochMillis())
+		).forEach(rollup -> response.addRollups(RollupEntry.newBuilder()
+				.setMinuteEpochMillis(rollup.getId().getMinute().toEpochMilli())
+				.setMicroserviceName(rollup.getId().getMicroserviceName())
+				.setResponseType(rollup.getId().getResponseType())
+				.setRequestCount(rollup.getRequestCount())
+		));
+
+		responseObserver.onNext(response.build());
+		responseObserver.onCompleted();
+	}
+
+	@Override
+	public void tailEvents(final EventFilter filter, final StreamObserver<EventRequest> responseObserver) {
+		eventBroadcaster.subscribe(
+				toPredicate(filter),
+				EventsService::toRequest,
+				(ServerCallStreamObserver<EventRequest>) responseObserver
+		);
+	}
+
+	// Tail subscribers only see events once they are committed
+	private CompletableFuture<Void> persist(final List<EventDTO> events) {
+		final CompletableFuture<Void> persisted = eventWriter.submitAll(events);
+		persisted.thenRun(() -> eventBroadcaster.publish(events));
+		return persisted;
+	}
+
+	// Acks are only sent once the events are committed, so a successful response means they are durable
+	private static void acknowledge(
+			final CompletableFuture<Void> persisted,
+			final String response,
+			final StreamObserver<EventResponse> responseObserver
+	) {
+		persisted.whenComplete((ignored, error) -> {
+			if (error != null) {
+				responseObserver.onError(toStatus(error).asRuntimeException());
+				return;
+			}
+
+			responseObserver.onNext(EventResponse.newBuilder()
+					.setResponse(response)
+					.build());
+			responseObserver.onCompleted();
+		});
+	}
+
+	private static Status toStatus(final Throwable error) {
+		final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+		if (cause instanceof RejectedExecutionException) {
+			return Status.RESOURCE_EXHAUSTED.withDescription(cause.getMessage());
+		}
+		return Status.UNAVAILABLE.withDescription("Failed persisting events");
+	}
+
+	private static Instant toInstant(final long epochMillis) {
+		return epochMillis > 0 ? Instant.ofEpochMilli(epochMillis) : null;
+	}
+
+	// Clients send LocalDateTime.toString() in their own zone, fall back to receive time if it's unusable
+	private static Instant parseTimestamp(final String timestamp) {
+		try {
+			return LocalDateTime.parse(timestamp).atZone(ZoneId.systemDefault()).toInstant();
+		} catch (final DateTimeParseException e) {
+			return Instant.now();
+		}
+	}
+
+	private static Predicate<EventDTO> toPredicate(final EventFilter filter) {
+		Predicate<EventDTO> predicate = event -> true;
+		if (!filter.getMicroserviceName().isBlank()) {
+			predicate = predicate.and(event -> filter.getMicroserviceName().equals(event.microserviceName()));
+		}
+		if (!filter.getUser().isBlank()) {
+			predicate = predicate.and(event -> filter.getUser().equals(event.user()));
+		}
+		final String status = filter.getResponseType();
+		if (!status.isBlank()) {
+			predicate = predicate.and(status.toLowerCase().endsWith("xx")
+					? event -> event.responseType() != null && event.responseType().startsWith(status.substring(0, 1))
+					: event -> status.equals(event.responseType()));
+		}
+		return predicate;
+	}
+
+	private static EventRequest toRequest(final EventDTO event) {
+		return EventRequest.newBuilder()
+				.setTimestamp(event.occurredAt().toString())
+				.setMicroserviceName(event.microserviceName())
+				.setUser(event.user())
+				.setAction(event.action())
+				.setResource(event.resource())
+				.setResponseType(event.responseType())
+				.setSampleRate((float) event.sampleRate())
+				.build();
+	}
+
+	private static EventDTO toEvent(final EventRequest request) {
+		return new EventDTO(
+				parseTimestamp(request.getTimestamp()),
+				request.getMicroserviceName(),
+				request.getUser(),
+				request.getAction(),
+				request.getResource(),
+				request.getResponseType(),
+				sampleRate(request.getSampleRate()),
+				null,
+				null
+		);
+	}
+
+	private static EventDTO toEvent(final EventRequestV2 request) {
+		return new EventDTO(
+				request.getOccurredAtMicros() > 0
+						? Instant.EPOCH.plus(request.getOccurredAtMicros(), ChronoUnit.MICROS)
+						: Instant.now(),
+				request.getMicroserviceName(),
+				request.getUser(),
+				request.getMethod() == HttpMethod.HTTP_METHOD_UNSPECIFIED || request.getMethod() == HttpMethod.UNRECOGNIZED
+						? ""
+						: request.getMethod().name(),
+				request.getResource(),
+				Integer.toString(request.getStatus()),
+				sampleRate(request.getSampleRate()),
+				request.getDurationMicros(),
+				request.hasTraceId() ? request.getTraceId() : null
+		);
+	}
+
+	// Clients that don't sample leave the field unset
+	private static double sampleRate(final float sampleRate) {
+		return sampleRate > 0 && sampleRate <= 1 ? sampleRate : 1;
+	}
 }
@@ -0,0 +1,162 @@
+package ba.unsa.etf.nwt.system_events.tail;
+
+import ba.unsa.etf.nwt.system_events.dto.EventDTO;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory fan-out of committed events to live tail subscribers. Publishing only filters and offers
+ * to each subscriber's bounded buffer, it never waits on a subscriber. A subscriber whose buffer fills
+ * up is cut off with {@code RESOURCE_EXHAUSTED} instead of slowing ingestion down. Buffers are drained
+ * on a shared executor while the transport is ready, following gRPC flow control.
+ */
+public class EventBroadcaster implements AutoCloseable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventBroadcaster.class);
+
+	private final List<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final int bufferSize;
+	private final int maxSubscribers;
+
+	public EventBroadcaster(final int bufferSize, final int maxSubscribers) {
+		this.bufferSize = bufferSize;
+		this.maxSubscribers = maxSubscribers;
+	}
+
+	public <T> void subscribe(
+			final Predicate<EventDTO> filter,
+			final Function<EventDTO, T> mapper,
+			final ServerCallStreamObserver<T> observer
+	) {
+		if (subscribers.size() >= maxSubscribers) {
+			observer.onError(Status.RESOURCE_EXHAUSTED
+					.withDescription("Too many tail subscribers")
+					.asRuntimeException());
+			return;
+		}
+
+		final Subscriber<T> subscriber = new Subscriber<>(filter, mapper, observer, new ArrayBlockingQueue<>(bufferSize));
+		observer.setOnCancelHandler(() -> subscribers.remove(subscriber));
+		observer.setOnReadyHandler(subscriber::schedule);
+		subscribers.add(subscriber);
+	}
+
+	public void publish(final List<EventDTO> events) {
+		for (final Subscriber<?> subscriber : subscribers) {
+			subscriber.offer(events);
+		}
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void close() {
+		subscribers.forEach(Subscriber::complete);
+		executor.shutdown();
+	}
+
+	private final class Subscriber<T> {
+		private final Predicate<EventDTO> filter;
+		private final Function<EventDTO, T> mapper;
+		private final ServerCallStreamObserver<T> observer;
+		private final Queue<EventDTO> buffer;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private volatile boolean overflowed;
+		private volatile boolean completed;
+		private boolean terminated;
+
+		private Subscriber(
+				final Predicate<EventDTO> filter,
+				final Function<EventDTO, T> mapper,
+				final ServerCallStreamObserver<T> observer,
+				final Queue<EventDTO> buffer
+		) {
+			this.filter = filter;
+			this.mapper = mapper;
+			this.observer = observer;
+			this.buffer = buffer;
+		}
+
+		void offer(final List<EventDTO> events) {
+			boolean matched = false;
+			for (final EventDTO event : events) {
+				if (!filter.test(event)) {
+					continue;
+				}
+				if (!buffer.offer(event)) {
+					overflowed = true;
+					subscribers.remove(this);
+					break;
+				}
+				matched = true;
+			}
+			if (matched || overflowed) {
+				schedule();
+			}
+		}
+
+		void complete() {
+			completed = true;
+			schedule();
+		}
+
+		void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(this::drain);
+			}
+		}
+
+		// Runs with the scheduled flag held, so calls into the observer are never concurrent
+		private void drain() {
+			try {
+				if (terminated || observer.isCancelled()) {
+					return;
+				}
+				if (overflowed) {
+					terminated = true;
+					LOGGER.info("Dropping tail subscriber, it fell {} events behind", buffer.size());
+					buffer.clear();
+					observer.onError(Status.RESOURCE_EXHAUSTED
+							.withDescription("Subscriber too slow, reconnect to resume the tail")
+							.asRuntimeException());
+					return;
+				}
+
+				EventDTO event;
+				while (observer.isReady() && (event = buffer.poll()) != null) {
+					observer.onNext(mapper.apply(event));
+				}
+
+				if (completed) {
+					terminated = true;
+					observer.onCompleted();
+				}
+			} catch (final RuntimeException e) {
+				LOGGER.debug("Tail subscriber went away: {}", e.getMessage());
+				subscribers.remove(this);
+			} finally {
+				scheduled.set(false);
+			}
+
+			// Events may have arrived after the last poll but before the flag was released
+			if (!overflowed && !completed && observer.isReady() && !buffer.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package ba.unsa.etf.nwt.system_events.ws;
+
+import ba.unsa.etf.nwt.system_events.services.EventQueryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("api/v1/events")
+public class EventController {
+	private final EventQueryService eventQueryService;
+
+	public EventController(final EventQueryService eventQueryService) {
+		this.eventQueryService = eventQueryService;
+	}
+
+	@GetMapping
+	public ResponseEntity<?> getEvents(
+			@RequestParam(required = false) final String service,
+			@RequestParam(required = false) final String status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+			@RequestParam(defaultValue = "100") final int limit
+	) {
+		return ResponseEntity.ok(eventQueryService.findEvents(service, status, from, to, limit));
+	}
+
+	@GetMapping("rollups")
+	public ResponseEntity<?> getRollups(
+			@RequestParam(required = false) final String service,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to
+	) {
+		return ResponseEntity.ok(eventQueryService.findRollups(service, from, to));
+	}
+
+	@GetMapping("error-ratios")
+	public ResponseEntity<?> getErrorRatios(
+			@RequestParam(required = false) final String service,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to
+	) {
+		return ResponseEntity.ok(eventQueryService.findErrorRatios(service, from, to));
+	}
+
+	@GetMapping("latency")
+	public ResponseEntity<?> getLatencies(
+			@RequestParam(required = false) final String service,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+			@RequestParam(defaultValue = "50") final int limit
+	) {
+		return ResponseEntity.ok(eventQueryService.findLatencies(service, from, to, limit));
+	}
+}
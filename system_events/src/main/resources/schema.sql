@@ -0,0 +1,10 @@
+-- Runs after the JPA context is up (spring.jpa.defer-datasource-initialization).
+-- event and event_rollup are partitioned by day and managed by EventPartitions, Hibernate doesn't
+-- understand partitioned tables so the schema is maintained here instead of by ddl-auto.
+
+CREATE TABLE IF NOT EXISTS event_dictionary (
+	id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	kind varchar(32) NOT NULL,
+	value varchar(2048) NOT NULL,
+	UNIQUE (kind, value)
+);
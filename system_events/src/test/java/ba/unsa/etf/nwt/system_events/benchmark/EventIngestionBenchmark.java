@@ -0,0 +1,110 @@
+package ba.unsa.etf.nwt.system_events.benchmark;
+
+import ba.unsa.etf.nwt.events.EventRequest;
+import ba.unsa.etf.nwt.events.EventResponse;
+import ba.unsa.etf.nwt.events.EventServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures sustained ingestion throughput of a locally running system events service.
+ * Not a unit test; start system_events against a local database and run main.
+ *
+ * args: [host] [port] [total events] [clients] [batch size, 1 = unary logEvent]
+ */
+public class EventIngestionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 9060;
+        int total = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+
+        ManagedChannel channel = ManagedChannelBuilder.forAddress(host, port).usePlaintext().build();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        AtomicLong failed = new AtomicLong();
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int perClient = total / clients;
+            futures.add(executor.submit(() -> {
+                for (int sent = 0; sent < perClient; sent += batchSize) {
+                    int size = Math.min(batchSize, perClient - sent);
+                    if (!send(channel, size)) {
+                        failed.addAndGet(size);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        executor.shutdown();
+        channel.shutdown();
+
+        System.out.printf("events: %d, clients: %d, batch size: %d, failed: %d%n", total, clients, batchSize, failed.get());
+        System.out.printf("elapsed: %.2f s, throughput: %.0f events/s%n", seconds, (total - failed.get()) / seconds);
+    }
+
+    private static boolean send(ManagedChannel channel, int size) throws InterruptedException {
+        if (size == 1) {
+            try {
+                EventServiceGrpc.newBlockingStub(channel).logEvent(event());
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        CountDownLatch done = new CountDownLatch(1);
+        boolean[] ok = {false};
+        StreamObserver<EventRequest> stream = EventServiceGrpc.newStub(channel).logEvents(new StreamObserver<>() {
+            @Override
+            public void onNext(EventResponse response) {
+                ok[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        });
+        for (int i = 0; i < size; i++) {
+            stream.onNext(event());
+        }
+        stream.onCompleted();
+        done.await();
+        return ok[0];
+    }
+
+    private static EventRequest event() {
+        return EventRequest.newBuilder()
+                .setTimestamp(LocalDateTime.now().toString())
+                .setMicroserviceName("benchmark")
+                .setUser("temp")
+                .setAction("GET")
+                .setResource("/api/v1/workout/exercise-details")
+                .setResponseType("200")
+                .build();
+    }
+}
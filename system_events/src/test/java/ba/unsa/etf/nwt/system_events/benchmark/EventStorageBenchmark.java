@@ -0,0 +1,196 @@
+package ba.unsa.etf.nwt.system_events.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the plain (string columns) and dictionary-encoded event layouts on a generated dataset.
+ * Uses scratch tables so it can run against the real nwt_events database without touching events.
+ * Not a unit test; run main against a local Postgres.
+ *
+ * args: [jdbc url] [events]
+ */
+public class EventStorageBenchmark {
+    private static final List<String> SERVICES = List.of("auth-service", "workout-service", "nutrition-service");
+    private static final List<String> ACTIONS = List.of("GET", "GET", "GET", "POST", "PUT", "DELETE");
+    private static final List<String> RESOURCES = List.of(
+            "/api/v1/workout", "/api/v1/workout/{id}", "/api/v1/workout/by-user-uuid/{uuid}",
+            "/api/v1/workout/exercise-details", "/api/v1/meal", "/api/v1/meal/{id}", "/api/v1/meal/suggest",
+            "/api/v1/food", "/api/v1/auth/login", "/api/v1/auth/validate", "/api/v1/user/{handle}"
+    );
+    private static final List<String> STATUSES = List.of("200", "200", "200", "200", "201", "204", "400", "401", "404", "500");
+
+    public static void main(String[] args) throws SQLException {
+        String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/nwt_events?user=postgres&reWriteBatchedInserts=true";
+        int total = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            connection.setAutoCommit(false);
+            createTables(connection);
+
+            long plainInsert = insertPlain(connection, total);
+            long compactInsert = insertCompact(connection, total);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE bench_event_plain");
+                statement.execute("ANALYZE bench_event_compact");
+            }
+            connection.commit();
+
+            long plainSize = size(connection, "bench_event_plain");
+            long compactSize = size(connection, "bench_event_compact") + size(connection, "bench_event_dictionary");
+
+            long plainQuery = time(connection, """
+                    SELECT resource, count(*) FROM bench_event_plain
+                    WHERE microservice_name = 'workout-service' AND response_type LIKE '5%'
+                    GROUP BY resource
+                    """);
+            long compactQuery = time(connection, """
+                    SELECT d.value, count(*) FROM bench_event_compact e
+                    JOIN bench_event_dictionary d ON d.id = e.resource_code
+                    WHERE e.microservice_code = (SELECT id FROM bench_event_dictionary WHERE kind = 'SERVICE' AND value = 'workout-service')
+                      AND e.response_type_code IN (SELECT id FROM bench_event_dictionary WHERE kind = 'RESPONSE_TYPE' AND value LIKE '5%')
+                    GROUP BY d.value
+                    """);
+
+            System.out.printf("events: %d%n", total);
+            System.out.printf("plain:   size %,d bytes, insert %d ms, query %d ms%n", plainSize, plainInsert, plainQuery);
+            System.out.printf("compact: size %,d bytes, insert %d ms, query %d ms%n", compactSize, compactInsert, compactQuery);
+            System.out.printf("size reduction: %.1f%%%n", 100.0 * (plainSize - compactSize) / plainSize);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE bench_event_plain, bench_event_compact, bench_event_dictionary");
+            }
+            connection.commit();
+        }
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_event_plain, bench_event_compact, bench_event_dictionary");
+            statement.execute("""
+                    CREATE TABLE bench_event_plain (
+                        id bigserial PRIMARY KEY, occurred_at timestamptz, microservice_name varchar(255),
+                        triggered_by varchar(255), action varchar(255), resource varchar(255), response_type varchar(255))
+                    """);
+            statement.execute("""
+                    CREATE TABLE bench_event_compact (
+                        id bigserial PRIMARY KEY, occurred_at timestamptz, microservice_code int,
+                        triggered_by varchar(255), action_code int, resource_code int, response_type_code int)
+                    """);
+            statement.execute("""
+                    CREATE TABLE bench_event_dictionary (
+                        id serial PRIMARY KEY, kind varchar(32), value varchar(2048), UNIQUE (kind, value))
+                    """);
+            statement.execute("CREATE INDEX ON bench_event_plain (microservice_name, response_type)");
+            statement.execute("CREATE INDEX ON bench_event_compact (microservice_code, response_type_code)");
+        }
+        connection.commit();
+    }
+
+    private static long insertPlain(Connection connection, int total) throws SQLException {
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_event_plain (occurred_at, microservice_name, triggered_by, action, resource, response_type) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < total; i++) {
+                insert.setTimestamp(1, timestamp(i));
+                insert.setString(2, pick(random, SERVICES));
+                insert.setString(3, "temp");
+                insert.setString(4, pick(random, ACTIONS));
+                insert.setString(5, pick(random, RESOURCES));
+                insert.setString(6, pick(random, STATUSES));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long insertCompact(Connection connection, int total) throws SQLException {
+        Random random = new Random(42);
+        Map<String, Integer> dictionary = new HashMap<>();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_event_compact (occurred_at, microservice_code, triggered_by, action_code, resource_code, response_type_code) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < total; i++) {
+                insert.setTimestamp(1, timestamp(i));
+                insert.setInt(2, encode(connection, dictionary, "SERVICE", pick(random, SERVICES)));
+                insert.setString(3, "temp");
+                insert.setInt(4, encode(connection, dictionary, "ACTION", pick(random, ACTIONS)));
+                insert.setInt(5, encode(connection, dictionary, "RESOURCE", pick(random, RESOURCES)));
+                insert.setInt(6, encode(connection, dictionary, "RESPONSE_TYPE", pick(random, STATUSES)));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static int encode(Connection connection, Map<String, Integer> dictionary, String kind, String value) throws SQLException {
+        Integer cached = dictionary.get(kind + ":" + value);
+        if (cached != null) {
+            return cached;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO bench_event_dictionary (kind, value) VALUES (?, ?) RETURNING id")) {
+            statement.setString(1, kind);
+            statement.setString(2, value);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                dictionary.put(kind + ":" + value, resultSet.getInt(1));
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private static long size(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_total_relation_size('" + table + "')")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long time(Connection connection, String sql) throws SQLException {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(sql)) {
+                while (resultSet.next()) {
+                    resultSet.getLong(2);
+                }
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+
+    private static Timestamp timestamp(int i) {
+        return Timestamp.from(Instant.parse("2025-01-01T00:00:00Z").plus(i * 100L, ChronoUnit.MILLIS));
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
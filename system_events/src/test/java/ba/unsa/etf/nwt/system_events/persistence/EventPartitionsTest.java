@@ -0,0 +1,148 @@
+package ba.unsa.etf.nwt.system_events.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class EventPartitionsTest {
+    private static final Set<String> BASELINE_COLUMNS = Set.of(
+            "id", "timestamp", "microservice_name", "triggered_by", "action", "resource", "response_type");
+    private static final Set<String> OCCURRED_AT_COLUMNS = Set.of(
+            "id", "occurred_at", "microservice_name", "triggered_by", "action", "resource", "response_type");
+
+    @Test
+    void prepare_WithBaselineEventTable_ShouldFillOccurredAtBeforeCopying() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate(BASELINE_COLUMNS);
+
+        partitions(jdbcTemplate).prepare();
+
+        int rename = jdbcTemplate.indexOf("ALTER TABLE event RENAME TO event_legacy");
+        int addColumn = jdbcTemplate.indexOf("ALTER TABLE event_legacy ADD COLUMN IF NOT EXISTS occurred_at timestamptz");
+        int fill = jdbcTemplate.indexOf("UPDATE event_legacy SET occurred_at = \"timestamp\"::timestamp AT TIME ZONE ?");
+        int encode = jdbcTemplate.indexOf("UPDATE event_legacy l SET microservice_code = d.id");
+        int range = jdbcTemplate.indexOf("SELECT min(occurred_at) AS first, max(occurred_at) AS last FROM event_legacy");
+        int copy = jdbcTemplate.indexOf("INSERT INTO event (occurred_at, microservice_code, triggered_by, action_code, resource_code, response_type_code)");
+        int drop = jdbcTemplate.indexOf("DROP TABLE event_legacy");
+
+        assertTrue(rename < addColumn && addColumn < fill && fill < range && encode < range && range < copy && copy < drop,
+                "Unexpected order: " + jdbcTemplate.statements);
+        assertTrue(jdbcTemplate.indexOf("ALTER TABLE event_legacy ADD COLUMN IF NOT EXISTS response_type_code integer") < copy);
+    }
+
+    @Test
+    void prepare_ShouldOnlyFillTimestampsLocalDateTimeCanHaveWritten() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate(BASELINE_COLUMNS);
+
+        partitions(jdbcTemplate).prepare();
+
+        Object[] args = jdbcTemplate.argsOf("UPDATE event_legacy SET occurred_at");
+        Pattern pattern = Pattern.compile((String) args[1]);
+        assertTrue(pattern.matcher(LocalDateTime.of(2024, 5, 1, 10, 15).toString()).matches());
+        assertTrue(pattern.matcher(LocalDateTime.of(2024, 5, 1, 10, 15, 30).toString()).matches());
+        assertTrue(pattern.matcher(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789).toString()).matches());
+        assertFalse(pattern.matcher("yesterday").matches());
+        assertFalse(pattern.matcher("2024-05-01 10:15:30; DROP TABLE event").matches());
+    }
+
+    @Test
+    void prepare_WhenLegacyTableAlreadyHasOccurredAt_ShouldNotTouchIt() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate(OCCURRED_AT_COLUMNS);
+
+        partitions(jdbcTemplate).prepare();
+
+        assertEquals(-1, jdbcTemplate.indexOf("UPDATE event_legacy SET occurred_at"));
+        assertTrue(jdbcTemplate.indexOf("UPDATE event_legacy l SET microservice_code = d.id")
+                < jdbcTemplate.indexOf("INSERT INTO event (occurred_at"));
+    }
+
+    private static EventPartitions partitions(JdbcTemplate jdbcTemplate) {
+        return new EventPartitions(
+                jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                Clock.fixed(Instant.parse("2024-05-08T12:00:00Z"), ZoneOffset.UTC),
+                7,
+                90,
+                1
+        );
+    }
+
+    /**
+     * Stands in for a database holding only a plain {@code event} table with the given columns, as left by
+     * an earlier version, and records every statement run against it.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private final Set<String> legacyColumns;
+        private final List<String> statements = new ArrayList<>();
+        private final List<Object[]> arguments = new ArrayList<>();
+
+        private RecordingJdbcTemplate(Set<String> legacyColumns) {
+            this.legacyColumns = legacyColumns;
+        }
+
+        int indexOf(String prefix) {
+            for (int i = 0; i < statements.size(); i++) {
+                if (statements.get(i).startsWith(prefix)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Object[] argsOf(String prefix) {
+            int index = indexOf(prefix);
+            assertTrue(index >= 0, "No statement starting with " + prefix);
+            return arguments.get(index);
+        }
+
+        @Override
+        public void execute(String sql) {
+            record(sql);
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            record(sql, args);
+            return 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            record(sql, args);
+            if (sql.contains("FROM pg_class")) {
+                // Only the table left by the earlier version exists, it's checked once before the rename
+                return "event".equals(args[0]) || "event_legacy".equals(args[0]) ? (List<T>) List.of("r") : List.of();
+            }
+            if (sql.contains("information_schema.columns")) {
+                return "event_legacy".equals(args[0]) && legacyColumns.contains((String) args[1]) ? (List<T>) List.of(1) : List.of();
+            }
+            return List.of();
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, RowMapper<T> rowMapper, Object... args) {
+            record(sql, args);
+            return null;
+        }
+
+        private void record(String sql, Object... args) {
+            statements.add(sql.strip().replaceAll("\\s+", " "));
+            arguments.add(Arrays.copyOf(args, args.length));
+        }
+    }
+}
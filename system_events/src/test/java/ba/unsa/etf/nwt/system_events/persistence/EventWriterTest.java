@@ -0,0 +1,99 @@
+package ba.unsa.etf.nwt.system_events.persistence;
+
+import ba.unsa.etf.nwt.system_events.dto.EventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EventWriterTest {
+    private static final int CAPACITY = 4;
+
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final CountDownLatch flushing = new CountDownLatch(1);
+    private final CountDownLatch commit = new CountDownLatch(1);
+
+    private EventWriter eventWriter;
+
+    @BeforeEach
+    void setUp() {
+        // The first flush holds the writer until the test lets it commit, so the buffer fills up
+        doAnswer(invocation -> {
+            flushing.countDown();
+            commit.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        eventWriter = new EventWriter(mock(JdbcTemplate.class), transactionTemplate, mock(EventDictionary.class),
+                CAPACITY, 1, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        commit.countDown();
+        eventWriter.close();
+    }
+
+    @Test
+    void submitAll_WhenBatchDoesNotFit_ShouldEnqueueNoneOfIt() throws Exception {
+        CompletableFuture<Void> first = eventWriter.submit(event());
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        eventWriter.submitAll(events(CAPACITY - 1));
+
+        CompletableFuture<Void> rejected = eventWriter.submitAll(events(2));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(CAPACITY - 1, eventWriter.getBufferedCount());
+
+        CompletableFuture<Void> accepted = eventWriter.submitAll(events(1));
+        assertFalse(accepted.isCompletedExceptionally());
+        assertEquals(CAPACITY, eventWriter.getBufferedCount());
+
+        commit.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        accepted.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submitAll_WhenBatchIsLargerThanTheBuffer_ShouldRejectIt() {
+        CompletableFuture<Void> rejected = eventWriter.submitAll(events(CAPACITY + 1));
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(0, eventWriter.getBufferedCount());
+    }
+
+    @Test
+    void submitAll_ShouldFreeBufferSpace_OnceTheWriterTakesEvents() throws Exception {
+        commit.countDown();
+
+        for (int i = 0; i < 3; i++) {
+            eventWriter.submitAll(events(CAPACITY)).get(5, TimeUnit.SECONDS);
+        }
+
+        verify(transactionTemplate, times(3 * CAPACITY)).executeWithoutResult(any());
+    }
+
+    private static List<EventDTO> events(int count) {
+        return Collections.nCopies(count, event());
+    }
+
+    private static EventDTO event() {
+        return new EventDTO(Instant.parse("2024-05-01T10:00:00Z"), "workout-service", "user", "GET", "/api/v1/workout",
+                "200", 1.0, 1200L, null);
+    }
+}
@@ -0,0 +1,60 @@
+package ba.unsa.etf.nwt.system_events.services;
+
+import ba.unsa.etf.nwt.system_events.domain.EventDictionaryEntry.Kind;
+import ba.unsa.etf.nwt.system_events.persistence.EventDictionary;
+import ba.unsa.etf.nwt.system_events.repositories.EventRepository;
+import ba.unsa.etf.nwt.system_events.repositories.EventRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class EventQueryServiceTest {
+    private static final Instant FROM = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant TO = Instant.parse("2024-05-01T11:00:00Z");
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventRollupRepository eventRollupRepository = mock(EventRollupRepository.class);
+    private final EventDictionary dictionary = mock(EventDictionary.class);
+    private final EventQueryService eventQueryService = new EventQueryService(eventRepository, eventRollupRepository, dictionary);
+
+    @Test
+    void findLatencies_ShouldFilterByServiceCode_InTheQuery() {
+        when(dictionary.find(Kind.SERVICE, "workout-service")).thenReturn(Optional.of(3));
+
+        eventQueryService.findLatencies("workout-service", FROM, TO, 5000);
+
+        verify(eventRepository).findLatencies(3, FROM, TO, EventQueryService.MAX_LIMIT);
+    }
+
+    @Test
+    void findLatencies_WhenServiceIsUnknown_ShouldNotQuery() {
+        when(dictionary.find(Kind.SERVICE, "unknown")).thenReturn(Optional.empty());
+
+        assertTrue(eventQueryService.findLatencies("unknown", FROM, TO, 10).isEmpty());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void findLatencies_WithoutService_ShouldQueryAllServices() {
+        eventQueryService.findLatencies(" ", FROM, TO, 10);
+
+        verify(eventRepository).findLatencies(isNull(), eq(FROM), eq(TO), anyInt());
+        verifyNoInteractions(dictionary);
+    }
+
+    @Test
+    void findErrorRatios_ShouldFilterByService_InTheQuery() {
+        eventQueryService.findErrorRatios("workout-service", FROM, TO);
+        eventQueryService.findErrorRatios("", FROM, TO);
+
+        verify(eventRollupRepository).findErrorRatios("workout-service", FROM, TO);
+        verify(eventRollupRepository).findErrorRatios(null, FROM, TO);
+    }
+}
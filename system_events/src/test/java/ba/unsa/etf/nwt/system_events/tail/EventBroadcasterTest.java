@@ -0,0 +1,197 @@
+package ba.unsa.etf.nwt.system_events.tail;
+
+import ba.unsa.etf.nwt.system_events.dto.EventDTO;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBroadcasterTest {
+    private EventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new EventBroadcaster(2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void publish_ShouldDeliverOnlyMatchingEvents() throws InterruptedException {
+        TestObserver observer = new TestObserver(true);
+        broadcaster.subscribe(event -> "workout".equals(event.microserviceName()), EventDTO::resource, observer);
+
+        broadcaster.publish(List.of(event("workout", "/a"), event("auth", "/b"), event("workout", "/c")));
+
+        await(() -> observer.received.size() == 2);
+        assertEquals(List.of("/a", "/c"), observer.received);
+        assertNull(observer.error);
+    }
+
+    @Test
+    void publish_WhenSubscriberFallsBehind_ShouldDropItWithResourceExhausted() throws InterruptedException {
+        TestObserver slow = new TestObserver(false);
+        TestObserver fast = new TestObserver(true);
+        broadcaster.subscribe(event -> true, EventDTO::resource, slow);
+        broadcaster.subscribe(event -> true, EventDTO::resource, fast);
+
+        // The slow subscriber isn't ready, so its buffer of two overflows on the third event
+        for (String resource : List.of("/a", "/b", "/c")) {
+            broadcaster.publish(List.of(event("workout", resource)));
+            await(() -> fast.received.contains(resource));
+        }
+
+        await(() -> slow.error != null);
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(slow.error).getCode());
+        assertTrue(slow.received.isEmpty());
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        // Dropped subscribers get nothing more, the others keep receiving
+        slow.ready = true;
+        broadcaster.publish(List.of(event("workout", "/d")));
+        await(() -> fast.received.contains("/d"));
+        assertTrue(slow.received.isEmpty());
+    }
+
+    @Test
+    void publish_WhenSubscriberIsNotReady_ShouldHoldEventsUntilItIs() throws InterruptedException {
+        TestObserver observer = new TestObserver(false);
+        broadcaster.subscribe(event -> true, EventDTO::resource, observer);
+
+        broadcaster.publish(List.of(event("workout", "/a")));
+        Thread.sleep(50);
+        assertTrue(observer.received.isEmpty());
+
+        observer.ready = true;
+        observer.onReadyHandler.run();
+
+        await(() -> observer.received.size() == 1);
+        assertNull(observer.error);
+    }
+
+    @Test
+    void subscribe_WhenAtSubscriberCap_ShouldRejectWithResourceExhausted() {
+        broadcaster.subscribe(event -> true, EventDTO::resource, new TestObserver(true));
+        broadcaster.subscribe(event -> true, EventDTO::resource, new TestObserver(true));
+        TestObserver rejected = new TestObserver(true);
+
+        broadcaster.subscribe(event -> true, EventDTO::resource, rejected);
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(rejected.error).getCode());
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_WhenSubscriberCancels_ShouldFreeItsSlot() {
+        TestObserver cancelled = new TestObserver(true);
+        broadcaster.subscribe(event -> true, EventDTO::resource, cancelled);
+        broadcaster.subscribe(event -> true, EventDTO::resource, new TestObserver(true));
+
+        cancelled.onCancelHandler.run();
+        TestObserver next = new TestObserver(true);
+        broadcaster.subscribe(event -> true, EventDTO::resource, next);
+
+        assertNull(next.error);
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void close_ShouldCompleteSubscribers() throws InterruptedException {
+        EventBroadcaster closing = new EventBroadcaster(2, 2);
+        TestObserver observer = new TestObserver(true);
+        closing.subscribe(event -> true, EventDTO::resource, observer);
+
+        closing.close();
+
+        await(() -> observer.completed);
+        assertNull(observer.error);
+    }
+
+    private static EventDTO event(String microserviceName, String resource) {
+        return new EventDTO(Instant.now(), microserviceName, "user", "GET", resource, "200", 1, null, null);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class TestObserver extends ServerCallStreamObserver<Object> {
+        private final List<Object> received = new CopyOnWriteArrayList<>();
+        private volatile boolean ready;
+        private volatile Throwable error;
+        private volatile boolean completed;
+        private Runnable onReadyHandler;
+        private Runnable onCancelHandler;
+
+        private TestObserver(boolean ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+            this.onCancelHandler = onCancelHandler;
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReadyHandler = onReadyHandler;
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void onNext(Object value) {
+            received.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+    }
+}
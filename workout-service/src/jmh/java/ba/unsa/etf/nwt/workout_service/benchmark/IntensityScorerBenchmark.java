@@ -0,0 +1,164 @@
+package ba.unsa.etf.nwt.workout_service.benchmark;
+
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.ExerciseDetails;
+import ba.unsa.etf.nwt.workout_service.domain.User;
+import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.ExerciseDTO;
+import ba.unsa.etf.nwt.workout_service.intensity.ExerciseColumns;
+import ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer;
+import ba.unsa.etf.nwt.workout_service.intensity.properties.IntensityProperties;
+import ba.unsa.etf.nwt.workout_service.mappers.ModelMapperConfig;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring {@code days} days of already loaded workouts, the database left out. {@code perEntity} is how
+ * {@code getWorkoutIntensityLevel} scored, straight off the entities, and {@code perEntityThroughModelMapper}
+ * how {@code hadIntenseWorkout} did, mapping every exercise to a DTO first. Both are kept as reference
+ * points. {@code columns} is {@link IntensityScorer#scoreGroups} on columns filled beforehand, as a
+ * rebuild does once per user, and {@code columnsFromEntities} counts copying out of the entities too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntensityScorerBenchmark {
+    private static final int WORKOUTS_PER_DAY = 2;
+    private static final int EXERCISES_PER_WORKOUT = 3;
+
+    @Param({"30", "1000"})
+    private int days;
+
+    private List<List<Workout>> workoutsByDay;
+    private ModelMapper modelMapper;
+    private IntensityScorer scorer;
+    private ExerciseColumns columns;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        User user = new User();
+        user.setId(1L);
+        ExerciseDetails details = new ExerciseDetails("Squat", "Barbell back squat", "Legs", "Barbell", "Intermediate");
+        details.setId(1L);
+
+        workoutsByDay = new ArrayList<>(days);
+        long workoutId = 0;
+        for (int day = 0; day < days; day++) {
+            List<Workout> workouts = new ArrayList<>(WORKOUTS_PER_DAY);
+            for (int w = 0; w < WORKOUTS_PER_DAY; w++) {
+                Workout workout = new Workout("Workout", Instant.EPOCH, user, new ArrayList<>());
+                workout.setId(++workoutId);
+                for (int e = 0; e < EXERCISES_PER_WORKOUT; e++) {
+                    workout.getExercises().add(new Exercise(
+                            random.nextInt(160), 1 + random.nextInt(15), 1 + random.nextInt(6), workout, details));
+                }
+                workouts.add(workout);
+            }
+            workoutsByDay.add(workouts);
+        }
+
+        modelMapper = new ModelMapperConfig().modelMapper();
+        scorer = new IntensityScorer(IntensityProperties.defaults());
+        columns = new ExerciseColumns(days * WORKOUTS_PER_DAY * EXERCISES_PER_WORKOUT);
+        fill(columns);
+    }
+
+    @Benchmark
+    public void perEntity(Blackhole blackhole) {
+        for (List<Workout> workouts : workoutsByDay) {
+            int score = 0;
+            for (Workout w : workouts) {
+                for (Exercise ex : w.getExercises()) {
+                    if (ex.getWeight() > 100) score += 3;
+                    if (ex.getReps() > 10) score += 1;
+                    if (ex.getSets() > 3) score += 1;
+                }
+            }
+            blackhole.consume(switch (score) {
+                case 0, 1, 2 -> "LIGHT";
+                case 3, 4, 5, 6, 7 -> "MODERATE";
+                default -> "INTENSE";
+            });
+        }
+    }
+
+    @Benchmark
+    public void perEntityThroughModelMapper(Blackhole blackhole) {
+        for (List<Workout> workouts : workoutsByDay) {
+            blackhole.consume(workouts.stream()
+                    .anyMatch(workout -> isWorkoutIntense(workout.getExercises().stream()
+                            .map(ex -> modelMapper.map(ex, ExerciseDTO.class))
+                            .toList())));
+        }
+    }
+
+    @Benchmark
+    public void columns(Blackhole blackhole) {
+        IntensityScorer.GroupScores scores = scorer.scoreGroups(columns);
+        for (int day = 0; day < scores.groups(); day++) {
+            blackhole.consume(scorer.levelOf(scores.score(day)));
+            blackhole.consume(scores.intenseWorkouts(day) > 0);
+        }
+    }
+
+    @Benchmark
+    public void columnsFromEntities(Blackhole blackhole) {
+        ExerciseColumns filled = new ExerciseColumns(columns.exercises());
+        fill(filled);
+        IntensityScorer.GroupScores scores = scorer.scoreGroups(filled);
+        for (int day = 0; day < scores.groups(); day++) {
+            blackhole.consume(scorer.levelOf(scores.score(day)));
+            blackhole.consume(scores.intenseWorkouts(day) > 0);
+        }
+    }
+
+    private void fill(ExerciseColumns target) {
+        for (List<Workout> workouts : workoutsByDay) {
+            for (Workout workout : workouts) {
+                for (Exercise exercise : workout.getExercises()) {
+                    target.add(exercise.getWeight(), exercise.getReps(), exercise.getSets());
+                }
+                target.endWorkout();
+            }
+            target.endGroup();
+        }
+    }
+
+    // WorkoutService's rule on DTOs before the scorer
+    private static boolean isWorkoutIntense(List<ExerciseDTO> exercises) {
+        if (exercises.size() > 3) return true;
+
+        for (ExerciseDTO e : exercises) {
+            Double weight = e.getWeight();
+            Integer reps = e.getReps();
+            Integer sets = e.getSets();
+
+            if (weight != null && weight > 100) return true;
+            if (reps != null && reps > 10 &&
+                    sets != null && sets > 3) return true;
+        }
+
+        return false;
+    }
+}
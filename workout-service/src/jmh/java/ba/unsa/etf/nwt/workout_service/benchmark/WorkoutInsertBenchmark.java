@@ -0,0 +1,177 @@
+package ba.unsa.etf.nwt.workout_service.benchmark;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting one workout with {@value #EXERCISES} exercises, the way {@code createWorkoutWithExercises} does.
+ * {@code identity} is the old mapping, identity columns and no batching, so every row is its own round trip.
+ * {@code sequence} is the current one, pooled sequences with the batching settings from application.yml.
+ * <p>
+ * The tables mirror workout and exercise and are created in and dropped from the database at
+ * {@code BENCHMARK_JDBC_URL} (default {@code jdbc:postgresql://localhost:5432/nwt_workout_benchmark}),
+ * as {@code BENCHMARK_JDBC_USER} (default {@code postgres}) with {@code BENCHMARK_JDBC_PASSWORD}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkoutInsertBenchmark {
+    private static final int EXERCISES = 30;
+
+    private SessionFactory identity;
+    private SessionFactory sequence;
+
+    @Setup
+    public void setup() {
+        identity = sessionFactory(new Configuration()
+                .addAnnotatedClass(IdentityWorkout.class)
+                .addAnnotatedClass(IdentityExercise.class));
+        sequence = sessionFactory(new Configuration()
+                .addAnnotatedClass(SequenceWorkout.class)
+                .addAnnotatedClass(SequenceExercise.class)
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.connection.reWriteBatchedInserts", "true"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        identity.close();
+        sequence.close();
+    }
+
+    @Benchmark
+    public IdentityWorkout identity() {
+        IdentityWorkout workout = new IdentityWorkout();
+        for (int i = 0; i < EXERCISES; i++) {
+            workout.exercises.add(new IdentityExercise(60 + i, 8, 3, workout));
+        }
+        identity.inTransaction(session -> session.persist(workout));
+        return workout;
+    }
+
+    @Benchmark
+    public SequenceWorkout sequence() {
+        SequenceWorkout workout = new SequenceWorkout();
+        for (int i = 0; i < EXERCISES; i++) {
+            workout.exercises.add(new SequenceExercise(60 + i, 8, 3, workout));
+        }
+        sequence.inTransaction(session -> session.persist(workout));
+        return workout;
+    }
+
+    private static SessionFactory sessionFactory(Configuration configuration) {
+        return configuration
+                .setProperty("hibernate.connection.url", env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/nwt_workout_benchmark"))
+                .setProperty("hibernate.connection.username", env("BENCHMARK_JDBC_USER", "postgres"))
+                .setProperty("hibernate.connection.password", env("BENCHMARK_JDBC_PASSWORD", ""))
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .buildSessionFactory();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    @Entity
+    @Table(name = "benchmark_identity_workout")
+    public static class IdentityWorkout {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @OneToMany(mappedBy = "workout", cascade = CascadeType.ALL)
+        private List<IdentityExercise> exercises = new ArrayList<>();
+    }
+
+    @Entity
+    @Table(name = "benchmark_identity_exercise")
+    public static class IdentityExercise {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private double weight;
+        private int reps;
+        private int sets;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        private IdentityWorkout workout;
+
+        protected IdentityExercise() {}
+
+        IdentityExercise(double weight, int reps, int sets, IdentityWorkout workout) {
+            this.weight = weight;
+            this.reps = reps;
+            this.sets = sets;
+            this.workout = workout;
+        }
+    }
+
+    @Entity
+    @Table(name = "benchmark_sequence_workout")
+    public static class SequenceWorkout {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_workout_seq")
+        @SequenceGenerator(name = "benchmark_workout_seq", sequenceName = "benchmark_workout_seq", allocationSize = 50)
+        private Long id;
+
+        @OneToMany(mappedBy = "workout", cascade = CascadeType.ALL)
+        private List<SequenceExercise> exercises = new ArrayList<>();
+    }
+
+    @Entity
+    @Table(name = "benchmark_sequence_exercise")
+    public static class SequenceExercise {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_exercise_seq")
+        @SequenceGenerator(name = "benchmark_exercise_seq", sequenceName = "benchmark_exercise_seq", allocationSize = 50)
+        private Long id;
+
+        private double weight;
+        private int reps;
+        private int sets;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        private SequenceWorkout workout;
+
+        protected SequenceExercise() {}
+
+        SequenceExercise(double weight, int reps, int sets, SequenceWorkout workout) {
+            this.weight = weight;
+            this.reps = reps;
+            this.sets = sets;
+            this.workout = workout;
+        }
+    }
+}
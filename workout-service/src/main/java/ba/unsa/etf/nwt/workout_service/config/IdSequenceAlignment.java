@@ -0,0 +1,50 @@
+package ba.unsa.etf.nwt.workout_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the id sequences past ids already in their tables. Those tables used identity columns before
+ * and the schema update creates the sequences starting at 1, so without this the first inserts into an
+ * existing database would reuse ids. Runs once the schema is in place and before the seeder, and only
+ * ever moves a sequence forward.
+ */
+@Component
+public class IdSequenceAlignment implements SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequenceAlignment.class);
+
+    // Sequence to table, as mapped by the entities' @SequenceGenerator
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "workout_seq", "workout",
+            "exercise_seq", "exercise",
+            "workout_template_seq", "workout_template",
+            "exercise_template_seq", "exercise_template"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAlignment(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // The pooled optimizer hands out the ids up to the value it reads, so the next block starts after MAX(id).
+        // Equal counts too, a fresh sequence's first value is 1 and the optimizer would start a block there
+        SEQUENCES.forEach((sequence, table) -> {
+            List<Long> moved = jdbcTemplate.queryForList(
+                    "SELECT setval('" + sequence + "', max_id) FROM (SELECT MAX(id) AS max_id FROM " + table + ") AS ids"
+                            + " WHERE max_id >= (SELECT last_value FROM " + sequence + ")",
+                    Long.class);
+            if (!moved.isEmpty()) {
+                LOGGER.info("Moved {} to {}, past the ids already in {}", sequence, moved.get(0), table);
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package ba.unsa.etf.nwt.workout_service.config;
+
+import ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer;
+import ba.unsa.etf.nwt.workout_service.intensity.properties.IntensityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IntensityProperties.class)
+public class IntensityConfig {
+
+    @Bean
+    public IntensityScorer intensityScorer(final IntensityProperties properties) {
+        return new IntensityScorer(properties);
+    }
+}
@@ -20,6 +20,8 @@ public class RabbitMQConfig {
     public static final String USER_CREATION_FAILED_QUEUE = "auth.user.creation.failed.queue";
     public static final String USER_CREATION_FAILED_ROUTING_KEY = "user.creation.failed";
 
+    public static final String CACHE_EXCHANGE = "gateway.cache.exchange";
+
     @Bean
     public TopicExchange userExchange() {
         return new TopicExchange(USER_EXCHANGE);
@@ -51,6 +53,11 @@ public class RabbitMQConfig {
                 .with(USER_CREATION_FAILED_ROUTING_KEY);
     }
 
+    @Bean
+    public FanoutExchange cacheExchange() {
+        return new FanoutExchange(CACHE_EXCHANGE);
+    }
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
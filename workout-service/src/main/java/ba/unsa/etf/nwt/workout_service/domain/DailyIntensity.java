@@ -0,0 +1,86 @@
+package ba.unsa.etf.nwt.workout_service.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Intensity of a user's workouts on one UTC day, kept up to date as workouts and exercises are written
+ * so reading it is a primary key lookup. Maintained by {@code DailyIntensityService}.
+ */
+@Entity
+@Table(name = "daily_intensity")
+public class DailyIntensity {
+    @EmbeddedId
+    private Key key;
+
+    // Sum of the exercise scores of the day
+    private int score;
+
+    // Workouts of the day that are intense on their own
+    @Column(name = "intense_workouts")
+    private int intenseWorkouts;
+
+    private int workouts;
+
+    public DailyIntensity() {}
+
+    public DailyIntensity(Key key, int score, int intenseWorkouts, int workouts) {
+        this.key = key;
+        this.score = score;
+        this.intenseWorkouts = intenseWorkouts;
+        this.workouts = workouts;
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getIntenseWorkouts() {
+        return intenseWorkouts;
+    }
+
+    public int getWorkouts() {
+        return workouts;
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "workout_day", nullable = false)
+        private LocalDate day;
+
+        public Key() {}
+
+        public Key(Long userId, LocalDate day) {
+            this.userId = userId;
+            this.day = day;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(userId, other.userId) && Objects.equals(day, other.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, day);
+        }
+    }
+}
@@ -11,7 +11,8 @@ import java.util.UUID;
 @EntityListeners(UUIDGenerator.class)
 public class Exercise {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_seq")
+    @SequenceGenerator(name = "exercise_seq", sequenceName = "exercise_seq", allocationSize = 50)
     private long id;
 
     @AutoGenerateUUID
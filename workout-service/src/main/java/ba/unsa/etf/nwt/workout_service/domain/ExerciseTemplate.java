@@ -11,7 +11,8 @@ import java.util.UUID;
 @EntityListeners(UUIDGenerator.class)
 public class ExerciseTemplate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_template_seq")
+    @SequenceGenerator(name = "exercise_template_seq", sequenceName = "exercise_template_seq", allocationSize = 50)
     private long id;
 
     @AutoGenerateUUID
@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,7 +16,8 @@ import java.util.UUID;
 public class Workout {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_seq")
+	@SequenceGenerator(name = "workout_seq", sequenceName = "workout_seq", allocationSize = 50)
 	private Long id;
 
 	@AutoGenerateUUID
@@ -32,7 +34,7 @@ public class Workout {
 	private User user;
 
 	@OneToMany(mappedBy = "workout", cascade = CascadeType.ALL)
-	private List<Exercise> exercises;
+	private List<Exercise> exercises = new ArrayList<>();
 
 	public Workout() {}
 
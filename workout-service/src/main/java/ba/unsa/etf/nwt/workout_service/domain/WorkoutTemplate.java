@@ -13,7 +13,8 @@ import java.util.UUID;
 public class WorkoutTemplate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_template_seq")
+    @SequenceGenerator(name = "workout_template_seq", sequenceName = "workout_template_seq", allocationSize = 50)
     private Long id;
 
     @AutoGenerateUUID
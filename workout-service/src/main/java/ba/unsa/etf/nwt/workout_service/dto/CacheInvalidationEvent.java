@@ -0,0 +1,19 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+public class CacheInvalidationEvent {
+    private String region;
+
+    public CacheInvalidationEvent() {}
+
+    public CacheInvalidationEvent(String region) {
+        this.region = region;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+}
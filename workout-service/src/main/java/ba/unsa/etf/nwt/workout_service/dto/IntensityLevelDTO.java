@@ -0,0 +1,17 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Answer to one {@link IntensityLevelQueryDTO}: the level {@code /intensity-level} returns for it, and
+ * whether any of the day's workouts was intense.
+ */
+public record IntensityLevelDTO(
+        Long userId,
+        Instant date,
+        LocalDate day,
+        String level,
+        boolean hadIntenseWorkout
+) {
+}
@@ -0,0 +1,13 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+import java.time.Instant;
+
+/**
+ * One entry of a batch intensity lookup, the same pair {@code /intensity-level} takes. Any instant of
+ * the day will do, days are UTC.
+ */
+public record IntensityLevelQueryDTO(
+        Long userId,
+        Instant date
+) {
+}
@@ -0,0 +1,29 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the workout list read path: a workout joined with one of its exercises and that
+ * exercise's details. Workouts without exercises come back as a single row with the exercise
+ * columns null.
+ */
+public record WorkoutExerciseRow(
+        Long workoutId,
+        UUID workoutUuid,
+        String workoutName,
+        Instant workoutDate,
+        Long exerciseId,
+        UUID exerciseUuid,
+        Double weight,
+        Integer reps,
+        Integer sets,
+        Long detailsId,
+        UUID detailsUuid,
+        String detailsName,
+        String detailsDescription,
+        String muscleGroup,
+        String equipment,
+        String difficultyLevel
+) {
+}
@@ -0,0 +1,10 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+/**
+ * A record of a bulk import that was skipped, with the input line it starts on.
+ */
+public record WorkoutImportErrorDTO(
+        long line,
+        String message
+) {
+}
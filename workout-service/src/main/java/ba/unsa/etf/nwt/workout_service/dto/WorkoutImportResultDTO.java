@@ -0,0 +1,13 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} holds the first failures only, {@code failed} counts them all.
+ */
+public record WorkoutImportResultDTO(
+        int imported,
+        int failed,
+        List<WorkoutImportErrorDTO> errors
+) {
+}
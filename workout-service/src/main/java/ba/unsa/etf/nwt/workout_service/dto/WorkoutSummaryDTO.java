@@ -0,0 +1,71 @@
+package ba.unsa.etf.nwt.workout_service.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A workout as returned by the list endpoints. Serializes the same way the {@code Workout} entity
+ * did, but is built from {@link WorkoutExerciseRow}s so nothing is loaded lazily while writing it.
+ */
+public record WorkoutSummaryDTO(
+        Long id,
+        UUID uuid,
+        String name,
+        Instant date,
+        List<Exercise> exercises
+) {
+    public record Exercise(
+            Long id,
+            UUID uuid,
+            double weight,
+            int reps,
+            int sets,
+            Details exerciseDetails
+    ) {
+    }
+
+    public record Details(
+            Long id,
+            UUID uuid,
+            String name,
+            String description,
+            String muscleGroup,
+            String equipment,
+            String difficultyLevel
+    ) {
+    }
+
+    /**
+     * Groups rows by workout, keeping the order they were selected in.
+     */
+    public static List<WorkoutSummaryDTO> fromRows(List<WorkoutExerciseRow> rows) {
+        Map<Long, WorkoutSummaryDTO> workouts = new LinkedHashMap<>();
+        for (WorkoutExerciseRow row : rows) {
+            WorkoutSummaryDTO workout = workouts.computeIfAbsent(row.workoutId(), id -> new WorkoutSummaryDTO(
+                    id, row.workoutUuid(), row.workoutName(), row.workoutDate(), new ArrayList<>()));
+            if (row.exerciseId() != null) {
+                workout.exercises().add(new Exercise(
+                        row.exerciseId(),
+                        row.exerciseUuid(),
+                        row.weight(),
+                        row.reps(),
+                        row.sets(),
+                        new Details(
+                                row.detailsId(),
+                                row.detailsUuid(),
+                                row.detailsName(),
+                                row.detailsDescription(),
+                                row.muscleGroup(),
+                                row.equipment(),
+                                row.difficultyLevel()
+                        )
+                ));
+            }
+        }
+        return List.copyOf(workouts.values());
+    }
+}
@@ -0,0 +1,117 @@
+package ba.unsa.etf.nwt.workout_service.intensity;
+
+import java.util.Arrays;
+
+/**
+ * Exercises as parallel primitive arrays, one per field, in the order they were added. Consecutive
+ * exercises form a workout, closed by {@link #endWorkout()}, and consecutive workouts form a group (a
+ * user's day), closed by {@link #endGroup()}. Ends are exclusive indexes, so workout {@code i} spans
+ * exercises {@code [workoutEnd(i - 1), workoutEnd(i))} with {@code workoutEnd(-1) == 0}, and the same
+ * for groups over workouts.
+ * <p>
+ * Filled once and scored by {@link IntensityScorer}, not thread safe.
+ */
+public final class ExerciseColumns {
+    private double[] weights;
+    private int[] reps;
+    private int[] sets;
+    private int exercises;
+
+    private int[] workoutEnds;
+    private int workouts;
+
+    private int[] groupEnds;
+    private int groups;
+
+    public ExerciseColumns() {
+        this(16);
+    }
+
+    public ExerciseColumns(int expectedExercises) {
+        int capacity = Math.max(expectedExercises, 1);
+        weights = new double[capacity];
+        reps = new int[capacity];
+        sets = new int[capacity];
+        workoutEnds = new int[capacity];
+        groupEnds = new int[capacity];
+    }
+
+    public void add(double weight, int reps, int sets) {
+        if (exercises == weights.length) {
+            int capacity = exercises * 2;
+            this.weights = Arrays.copyOf(this.weights, capacity);
+            this.reps = Arrays.copyOf(this.reps, capacity);
+            this.sets = Arrays.copyOf(this.sets, capacity);
+        }
+        this.weights[exercises] = weight;
+        this.reps[exercises] = reps;
+        this.sets[exercises] = sets;
+        exercises++;
+    }
+
+    /**
+     * Closes the workout of the exercises added since the previous one, which may be none.
+     *
+     * @return the index of the workout
+     */
+    public int endWorkout() {
+        if (workouts == workoutEnds.length) {
+            workoutEnds = Arrays.copyOf(workoutEnds, workouts * 2);
+        }
+        workoutEnds[workouts] = exercises;
+        return workouts++;
+    }
+
+    /**
+     * Closes the group of the workouts ended since the previous one, which may be none.
+     *
+     * @return the index of the group
+     */
+    public int endGroup() {
+        if (groups == groupEnds.length) {
+            groupEnds = Arrays.copyOf(groupEnds, groups * 2);
+        }
+        groupEnds[groups] = workouts;
+        return groups++;
+    }
+
+    public void clear() {
+        exercises = 0;
+        workouts = 0;
+        groups = 0;
+    }
+
+    public int exercises() {
+        return exercises;
+    }
+
+    public int workouts() {
+        return workouts;
+    }
+
+    public int groups() {
+        return groups;
+    }
+
+    public int workoutEnd(int workout) {
+        return workout < 0 ? 0 : workoutEnds[workout];
+    }
+
+    public int groupEnd(int group) {
+        return group < 0 ? 0 : groupEnds[group];
+    }
+
+    // The arrays themselves, not copies, only the first exercises() entries are valid
+
+    public double[] weights() {
+        return weights;
+    }
+
+    public int[] reps() {
+        return reps;
+    }
+
+    public int[] sets() {
+        return sets;
+    }
+}
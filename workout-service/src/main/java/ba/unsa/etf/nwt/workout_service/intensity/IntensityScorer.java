@@ -0,0 +1,152 @@
+package ba.unsa.etf.nwt.workout_service.intensity;
+
+import ba.unsa.etf.nwt.workout_service.intensity.properties.IntensityProperties;
+
+/**
+ * The one place workouts are scored. Works on {@link ExerciseColumns} so callers with entities, DTOs or
+ * query rows all copy the three numbers it needs into the same arrays, and a whole user's history or a
+ * batch of days is scored in one pass over them.
+ * <p>
+ * Stateless apart from the thresholds, safe to share. To score differently, override it and declare
+ * the subclass as a {@code @Primary} bean.
+ */
+public class IntensityScorer {
+    public static final String LIGHT = "LIGHT";
+    public static final String MODERATE = "MODERATE";
+    public static final String INTENSE = "INTENSE";
+
+    // Copied out of the properties so the loops read plain final fields
+    private final double heavyWeight;
+    private final int heavyWeightPoints;
+    private final int highReps;
+    private final int highRepsPoints;
+    private final int highSets;
+    private final int highSetsPoints;
+    private final int maxExercises;
+    private final int moderateFrom;
+    private final int intenseFrom;
+
+    public IntensityScorer(final IntensityProperties properties) {
+        this.heavyWeight = properties.heavyWeight();
+        this.heavyWeightPoints = properties.heavyWeightPoints();
+        this.highReps = properties.highReps();
+        this.highRepsPoints = properties.highRepsPoints();
+        this.highSets = properties.highSets();
+        this.highSetsPoints = properties.highSetsPoints();
+        this.maxExercises = properties.maxExercises();
+        this.moderateFrom = properties.moderateFrom();
+        this.intenseFrom = properties.intenseFrom();
+    }
+
+    /**
+     * Sum of the points of exercises {@code [from, to)}.
+     */
+    public int score(ExerciseColumns columns, int from, int to) {
+        double[] weights = columns.weights();
+        int[] reps = columns.reps();
+        int[] sets = columns.sets();
+
+        int score = 0;
+        for (int i = from; i < to; i++) {
+            score += (weights[i] > heavyWeight ? heavyWeightPoints : 0)
+                    + (reps[i] > highReps ? highRepsPoints : 0)
+                    + (sets[i] > highSets ? highSetsPoints : 0);
+        }
+        return score;
+    }
+
+    /**
+     * Whether exercises {@code [from, to)}, taken as one workout, make it intense.
+     */
+    public boolean isIntense(ExerciseColumns columns, int from, int to) {
+        if (to - from > maxExercises) {
+            return true;
+        }
+        double[] weights = columns.weights();
+        int[] reps = columns.reps();
+        int[] sets = columns.sets();
+
+        for (int i = from; i < to; i++) {
+            if (weights[i] > heavyWeight || (reps[i] > highReps && sets[i] > highSets)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scores every closed group in one pass: the sum of its exercises' points, how many of its workouts
+     * are intense, and how many workouts it has.
+     */
+    public GroupScores scoreGroups(ExerciseColumns columns) {
+        double[] weights = columns.weights();
+        int[] reps = columns.reps();
+        int[] sets = columns.sets();
+
+        GroupScores scores = new GroupScores(columns.groups());
+        int exercise = 0;
+        int workout = 0;
+        for (int group = 0; group < columns.groups(); group++) {
+            int groupEnd = columns.groupEnd(group);
+            int score = 0;
+            int intenseWorkouts = 0;
+            scores.workouts[group] = groupEnd - workout;
+
+            for (; workout < groupEnd; workout++) {
+                int workoutEnd = columns.workoutEnd(workout);
+                boolean intense = workoutEnd - exercise > maxExercises;
+
+                for (; exercise < workoutEnd; exercise++) {
+                    boolean heavy = weights[exercise] > heavyWeight;
+                    boolean manyReps = reps[exercise] > highReps;
+                    boolean manySets = sets[exercise] > highSets;
+                    score += (heavy ? heavyWeightPoints : 0)
+                            + (manyReps ? highRepsPoints : 0)
+                            + (manySets ? highSetsPoints : 0);
+                    intense |= heavy | (manyReps & manySets);
+                }
+                intenseWorkouts += intense ? 1 : 0;
+            }
+            scores.scores[group] = score;
+            scores.intenseWorkouts[group] = intenseWorkouts;
+        }
+        return scores;
+    }
+
+    public String levelOf(int score) {
+        if (score >= intenseFrom) return INTENSE;
+        if (score >= moderateFrom) return MODERATE;
+        return LIGHT;
+    }
+
+    /**
+     * Totals of {@link #scoreGroups}, indexed by group.
+     */
+    public static final class GroupScores {
+        private final int[] scores;
+        private final int[] intenseWorkouts;
+        private final int[] workouts;
+
+        private GroupScores(int groups) {
+            this.scores = new int[groups];
+            this.intenseWorkouts = new int[groups];
+            this.workouts = new int[groups];
+        }
+
+        public int groups() {
+            return scores.length;
+        }
+
+        public int score(int group) {
+            return scores[group];
+        }
+
+        public int intenseWorkouts(int group) {
+            return intenseWorkouts[group];
+        }
+
+        public int workouts(int group) {
+            return workouts[group];
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ba.unsa.etf.nwt.workout_service.intensity.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Thresholds of {@link ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer}. An exercise earns the
+ * points of every threshold it is above, a workout is intense when it has more than {@code maxExercises}
+ * exercises, or an exercise above {@code heavyWeight}, or one above both {@code highReps} and {@code highSets}.
+ * <p>
+ * The stored daily scores are computed with the points and thresholds of the time they were written, after
+ * changing those start once with {@code intensity.rebuild-on-startup}. The level bands apply immediately.
+ *
+ * @param moderateFrom lowest daily score that is MODERATE
+ * @param intenseFrom  lowest daily score that is INTENSE
+ */
+@ConfigurationProperties("intensity.scoring")
+public record IntensityProperties(@DefaultValue("100") double heavyWeight,
+                                  @DefaultValue("3") int heavyWeightPoints,
+                                  @DefaultValue("10") int highReps,
+                                  @DefaultValue("1") int highRepsPoints,
+                                  @DefaultValue("3") int highSets,
+                                  @DefaultValue("1") int highSetsPoints,
+                                  @DefaultValue("3") int maxExercises,
+                                  @DefaultValue("3") int moderateFrom,
+                                  @DefaultValue("8") int intenseFrom) {
+
+    public IntensityProperties {
+        if (moderateFrom > intenseFrom) {
+            throw new IllegalArgumentException("intensity.scoring.moderate-from can't be above intense-from");
+        }
+    }
+
+    /**
+     * The thresholds used when nothing is configured, for code that builds a scorer outside Spring.
+     */
+    public static IntensityProperties defaults() {
+        return new IntensityProperties(100, 3, 10, 1, 3, 1, 3, 3, 8);
+    }
+}
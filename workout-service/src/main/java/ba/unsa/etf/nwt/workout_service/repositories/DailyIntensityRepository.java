@@ -0,0 +1,50 @@
+package ba.unsa.etf.nwt.workout_service.repositories;
+
+import ba.unsa.etf.nwt.workout_service.domain.DailyIntensity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyIntensityRepository extends JpaRepository<DailyIntensity, DailyIntensity.Key> {
+    List<DailyIntensity> findAllByKeyUserId(Long userId);
+
+    /**
+     * Adds to the day in one statement, so concurrent writes to the same day can't lose each other's
+     * changes. Takes the user's lock shared, a rebuild of the user takes it exclusively.
+     * Has to run in the transaction that wrote the workout.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            INSERT INTO daily_intensity (user_id, workout_day, score, intense_workouts, workouts)
+            SELECT :userId, :day, :score, :intenseWorkouts, :workouts
+            FROM (SELECT pg_advisory_xact_lock_shared(:userId)) AS user_lock
+            ON CONFLICT (user_id, workout_day) DO UPDATE SET
+                score = daily_intensity.score + EXCLUDED.score,
+                intense_workouts = daily_intensity.intense_workouts + EXCLUDED.intense_workouts,
+                workouts = daily_intensity.workouts + EXCLUDED.workouts
+            """, nativeQuery = true)
+    void add(
+            @Param("userId") Long userId,
+            @Param("day") LocalDate day,
+            @Param("score") int score,
+            @Param("intenseWorkouts") int intenseWorkouts,
+            @Param("workouts") int workouts
+    );
+
+    // Held until the transaction ends, writes to the user's days wait for it
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:userId)) AS user_lock", nativeQuery = true)
+    int lockUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailyIntensity d WHERE d.key.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
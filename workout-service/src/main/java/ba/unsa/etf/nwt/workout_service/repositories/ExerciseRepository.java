@@ -2,7 +2,23 @@ package ba.unsa.etf.nwt.workout_service.repositories;
 
 import ba.unsa.etf.nwt.workout_service.domain.Exercise;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 
 public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
+
+    // One statement instead of loading and removing each exercise, ahead of deleting the workout the same way
+    @Modifying(flushAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM Exercise e WHERE e.workout.id = :workoutId")
+    void deleteByWorkoutId(@Param("workoutId") Long workoutId);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM Exercise e WHERE e.workout.id IN (SELECT w.id FROM Workout w WHERE w.user.id = :userId)")
+    void deleteByUserId(@Param("userId") Long userId);
 }
@@ -2,6 +2,22 @@ package ba.unsa.etf.nwt.workout_service.repositories;
 
 import ba.unsa.etf.nwt.workout_service.domain.ExerciseTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ExerciseTemplateRepository extends JpaRepository<ExerciseTemplate, Long> {
+
+    // One statement instead of loading and removing each template exercise, ahead of deleting the template the same way
+    @Modifying(flushAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM ExerciseTemplate e WHERE e.workoutTemplate.id = :workoutTemplateId")
+    void deleteByWorkoutTemplateId(@Param("workoutTemplateId") Long workoutTemplateId);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM ExerciseTemplate e WHERE e.workoutTemplate.id IN (SELECT t.id FROM WorkoutTemplate t WHERE t.user.id = :userId)")
+    void deleteByUserId(@Param("userId") Long userId);
 }
@@ -2,11 +2,26 @@ package ba.unsa.etf.nwt.workout_service.repositories;
 
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUuid(UUID uuid);
     void deleteByUuid(UUID uuid);
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    // Set-based, everything of the user has to be deleted first
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    void deleteUser(@Param("id") Long id);
 }
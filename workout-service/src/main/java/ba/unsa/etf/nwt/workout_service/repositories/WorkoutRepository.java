@@ -1,15 +1,32 @@
 package ba.unsa.etf.nwt.workout_service.repositories;
 
 import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutExerciseRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface WorkoutRepository extends JpaRepository<Workout, Long> {
+    String SUMMARY_ROW = """
+            SELECT new ba.unsa.etf.nwt.workout_service.dto.WorkoutExerciseRow(
+                w.id, w.uuid, w.name, w.date,
+                e.id, e.uuid, e.weight, e.reps, e.sets,
+                d.id, d.uuid, d.name, d.description, d.muscleGroup, d.equipment, d.difficultyLevel
+            )
+            FROM Workout w
+            LEFT JOIN w.exercises e
+            LEFT JOIN e.exerciseDetails d
+            """;
+
     @Query("SELECT w FROM Workout w WHERE w.user.id = :userId AND w.date BETWEEN :from AND :to")
     List<Workout> findWorkoutsByUserIdAndDateBetween(
             @Param("userId") Long userId,
@@ -17,4 +34,36 @@ public interface WorkoutRepository extends JpaRepository<Workout, Long> {
             @Param("to") Instant to
     );
     List<Workout> findWorkoutsByUserId(Long userId);
+
+    // List read path: workouts with their exercises and details as flat rows, newest workout first
+
+    @Query(SUMMARY_ROW + "ORDER BY w.date DESC, w.id DESC, e.id")
+    List<WorkoutExerciseRow> findSummaryRows();
+
+    @Query(SUMMARY_ROW + "WHERE w.user.id = :userId ORDER BY w.date DESC, w.id DESC, e.id")
+    List<WorkoutExerciseRow> findSummaryRowsByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY_ROW + "WHERE w.id IN :ids ORDER BY w.date DESC, w.id DESC, e.id")
+    List<WorkoutExerciseRow> findSummaryRowsByWorkoutIdIn(@Param("ids") Collection<Long> ids);
+
+    // A page has to be cut on workouts, not on joined rows, so its ids are selected first
+
+    @Query("SELECT w.id FROM Workout w ORDER BY w.date DESC, w.id DESC")
+    List<Long> findPageOfIds(Pageable pageable);
+
+    @Query("SELECT w.id FROM Workout w WHERE w.user.id = :userId ORDER BY w.date DESC, w.id DESC")
+    List<Long> findPageOfIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Set-based, the exercises have to be deleted first. Clears the persistence context, which still
+    // holds what was deleted
+
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM Workout w WHERE w.id = :id")
+    void deleteWorkout(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM Workout w WHERE w.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
 }
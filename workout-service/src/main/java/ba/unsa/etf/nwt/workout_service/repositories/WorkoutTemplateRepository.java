@@ -3,10 +3,27 @@ package ba.unsa.etf.nwt.workout_service.repositories;
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.domain.WorkoutTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface WorkoutTemplateRepository extends JpaRepository<WorkoutTemplate, Long> {
     List<WorkoutTemplate> findByUser(User user);
+
+    // Set-based, the exercise templates have to be deleted first. Clears the persistence context,
+    // which still holds what was deleted
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM WorkoutTemplate t WHERE t.id = :id")
+    void deleteWorkoutTemplate(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("DELETE FROM WorkoutTemplate t WHERE t.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,32 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.workout_service.config.RabbitMQConfig;
+import ba.unsa.etf.nwt.workout_service.dto.CacheInvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tells the gateways to drop the responses they cached for a region after its data changed.
+ */
+@Service
+public class CacheInvalidationPublisher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public CacheInvalidationPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    public void publishInvalidation(String region) {
+        // The write is already committed; if the broker is down the cached responses expire with their TTL
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.CACHE_EXCHANGE, "", new CacheInvalidationEvent(region));
+        } catch (AmqpException e) {
+            LOGGER.warn("Could not invalidate gateway cache region {}", region, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.workout_service.repositories.DailyIntensityRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.UserRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the daily intensity table from the workouts, one user per transaction. Runs once the
+ * application is ready when the table is empty while there are workouts (first start with it, or data
+ * written by the seeder), or on every start with {@code intensity.rebuild-on-startup}.
+ */
+@Component
+public class DailyIntensityRebuildJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DailyIntensityRebuildJob.class);
+
+    private final DailyIntensityService dailyIntensityService;
+    private final DailyIntensityRepository dailyIntensityRepository;
+    private final WorkoutRepository workoutRepository;
+    private final UserRepository userRepository;
+    private final boolean rebuildOnStartup;
+
+    public DailyIntensityRebuildJob(
+            final DailyIntensityService dailyIntensityService,
+            final DailyIntensityRepository dailyIntensityRepository,
+            final WorkoutRepository workoutRepository,
+            final UserRepository userRepository,
+            @Value("${intensity.rebuild-on-startup:false}") final boolean rebuildOnStartup
+    ) {
+        this.dailyIntensityService = dailyIntensityService;
+        this.dailyIntensityRepository = dailyIntensityRepository;
+        this.workoutRepository = workoutRepository;
+        this.userRepository = userRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (rebuildOnStartup || (dailyIntensityRepository.count() == 0 && workoutRepository.count() > 0)) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * @return the number of users whose days failed to rebuild
+     */
+    public int rebuildAll() {
+        long start = System.nanoTime();
+        int users = 0;
+        int failed = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            try {
+                dailyIntensityService.rebuild(userId);
+                users++;
+            } catch (RuntimeException e) {
+                failed++;
+                LOGGER.error("Could not rebuild daily intensity of user {}", userId, e);
+            }
+        }
+        LOGGER.info("Rebuilt daily intensity of {} users in {} ms, {} failed",
+                users, (System.nanoTime() - start) / 1_000_000, failed);
+        return failed;
+    }
+}
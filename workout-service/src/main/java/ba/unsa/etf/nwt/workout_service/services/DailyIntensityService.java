@@ -0,0 +1,284 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.workout_service.domain.DailyIntensity;
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutExerciseRow;
+import ba.unsa.etf.nwt.workout_service.intensity.ExerciseColumns;
+import ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer;
+import ba.unsa.etf.nwt.workout_service.repositories.DailyIntensityRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the per user, per day intensity in {@link DailyIntensity} in step with the workouts.
+ * <p>
+ * Every write that changes a workout or its exercises takes the workout's {@link Contribution} before
+ * and after the change and passes both to {@link #replace}, in the same transaction, which adds the
+ * difference to the day (or moves it between days when the date changed). The one before comes from
+ * {@link #lockedContributionOf}, so concurrent writes to a workout are applied one after the other. The scores come from
+ * {@link IntensityScorer}, the levels are derived from them on read.
+ */
+@Service
+public class DailyIntensityService {
+    private final DailyIntensityRepository dailyIntensityRepository;
+    private final WorkoutRepository workoutRepository;
+    private final IntensityScorer intensityScorer;
+    private final EntityManager entityManager;
+
+    public DailyIntensityService(final DailyIntensityRepository dailyIntensityRepository, final WorkoutRepository workoutRepository, final IntensityScorer intensityScorer, final EntityManager entityManager) {
+        this.dailyIntensityRepository = dailyIntensityRepository;
+        this.workoutRepository = workoutRepository;
+        this.intensityScorer = intensityScorer;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * What one workout adds to its day.
+     */
+    public record Contribution(Long userId, LocalDate day, int score, boolean intense) {
+    }
+
+    /**
+     * @return null for a workout that isn't counted yet, i.e. has no user or date
+     */
+    public Contribution contributionOf(Workout workout) {
+        if (workout.getUser() == null || workout.getUser().getId() == null || workout.getDate() == null) {
+            return null;
+        }
+        List<Exercise> exercises = workout.getExercises() == null ? List.of() : workout.getExercises();
+
+        ExerciseColumns columns = new ExerciseColumns(exercises.size());
+        for (Exercise exercise : exercises) {
+            columns.add(exercise.getWeight(), exercise.getReps(), exercise.getSets());
+        }
+        return new Contribution(
+                workout.getUser().getId(),
+                dayOf(workout.getDate()),
+                intensityScorer.score(columns, 0, columns.exercises()),
+                intensityScorer.isIntense(columns, 0, columns.exercises())
+        );
+    }
+
+    /**
+     * The contribution of a workout that is about to change, for the before side of {@link #replace}.
+     * Locks the workout's row until the transaction ends and reloads it with its exercises, so a write
+     * that committed meanwhile is counted, and one that comes later waits for this one. Has to be
+     * called before the workout is changed, the reload drops unflushed changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Contribution lockedContributionOf(Workout workout) {
+        entityManager.refresh(workout, LockModeType.PESSIMISTIC_WRITE);
+        return contributionOf(workout);
+    }
+
+    /**
+     * Swaps a workout's old contribution for its new one. Either side may be null, for a workout that
+     * is being created or deleted. Has to run in the transaction that wrote the workout.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null && after != null
+                && before.userId().equals(after.userId()) && before.day().equals(after.day())) {
+            dailyIntensityRepository.add(
+                    after.userId(),
+                    after.day(),
+                    after.score() - before.score(),
+                    Boolean.compare(after.intense(), before.intense()),
+                    0
+            );
+            return;
+        }
+        if (before != null) {
+            dailyIntensityRepository.add(before.userId(), before.day(), -before.score(), before.intense() ? -1 : 0, -1);
+        }
+        if (after != null) {
+            dailyIntensityRepository.add(after.userId(), after.day(), after.score(), after.intense() ? 1 : 0, 1);
+        }
+    }
+
+    /**
+     * Adds many new workouts' contributions, one statement per day rather than per workout. Has to run
+     * in the transaction that wrote the workouts.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<Contribution> contributions) {
+        Map<DailyIntensity.Key, Total> days = new HashMap<>();
+        for (Contribution contribution : contributions) {
+            if (contribution == null) {
+                continue;
+            }
+            Total total = days.computeIfAbsent(new DailyIntensity.Key(contribution.userId(), contribution.day()), key -> new Total());
+            total.score += contribution.score();
+            total.intenseWorkouts += contribution.intense() ? 1 : 0;
+            total.workouts++;
+        }
+        days.forEach((key, total) ->
+                dailyIntensityRepository.add(key.getUserId(), key.getDay(), total.score, total.intenseWorkouts, total.workouts));
+    }
+
+    public String getIntensityLevel(Long userId, Instant date) {
+        return dailyIntensityRepository.findById(new DailyIntensity.Key(userId, dayOf(date)))
+                .map(day -> intensityScorer.levelOf(day.getScore()))
+                .orElse(IntensityScorer.LIGHT);
+    }
+
+    public boolean hadIntenseWorkout(Long userId, Instant date) {
+        return dailyIntensityRepository.findById(new DailyIntensity.Key(userId, dayOf(date)))
+                .map(day -> day.getIntenseWorkouts() > 0)
+                .orElse(false);
+    }
+
+    /**
+     * {@link #getIntensityLevel} and {@link #hadIntenseWorkout} for many days at once, read in one
+     * statement. Answers come back in the order of the queries, repeated queries included.
+     */
+    @Transactional(readOnly = true)
+    public List<IntensityLevelDTO> getIntensityLevels(List<IntensityLevelQueryDTO> queries) {
+        Set<DailyIntensity.Key> keys = new LinkedHashSet<>();
+        for (IntensityLevelQueryDTO query : queries) {
+            keys.add(new DailyIntensity.Key(query.userId(), dayOf(query.date())));
+        }
+        Map<DailyIntensity.Key, DailyIntensity> days = new HashMap<>();
+        for (DailyIntensity day : dailyIntensityRepository.findAllById(keys)) {
+            days.put(day.getKey(), day);
+        }
+
+        List<IntensityLevelDTO> levels = new ArrayList<>(queries.size());
+        for (IntensityLevelQueryDTO query : queries) {
+            LocalDate day = dayOf(query.date());
+            DailyIntensity stored = days.get(new DailyIntensity.Key(query.userId(), day));
+            levels.add(new IntensityLevelDTO(
+                    query.userId(),
+                    query.date(),
+                    day,
+                    stored == null ? IntensityScorer.LIGHT : intensityScorer.levelOf(stored.getScore()),
+                    stored != null && stored.getIntenseWorkouts() > 0
+            ));
+        }
+        return levels;
+    }
+
+    /**
+     * Recomputes a user's days from their workouts, for backfill and repair. Writes to the user's
+     * workouts wait until it commits.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        dailyIntensityRepository.lockUser(userId);
+        dailyIntensityRepository.deleteByUserId(userId);
+        computeDays(userId).forEach((day, total) ->
+                dailyIntensityRepository.add(userId, day, total.score, total.intenseWorkouts, total.workouts));
+    }
+
+    /**
+     * Compares a user's stored days with the ones computed from their workouts.
+     *
+     * @return the days that differ, with what was expected
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, String> check(Long userId) {
+        Map<LocalDate, Total> expected = computeDays(userId);
+        Map<LocalDate, String> mismatches = new TreeMap<>();
+
+        for (DailyIntensity stored : dailyIntensityRepository.findAllByKeyUserId(userId)) {
+            Total total = expected.remove(stored.getKey().getDay());
+            if (total == null) {
+                total = new Total();
+            }
+            if (total.score != stored.getScore()
+                    || total.intenseWorkouts != stored.getIntenseWorkouts()
+                    || total.workouts != stored.getWorkouts()) {
+                mismatches.put(stored.getKey().getDay(), "expected " + total + ", stored score=" + stored.getScore()
+                        + " intenseWorkouts=" + stored.getIntenseWorkouts() + " workouts=" + stored.getWorkouts());
+            }
+        }
+        expected.forEach((day, total) -> mismatches.put(day, "expected " + total + ", nothing stored"));
+        return mismatches;
+    }
+
+    // One pass over the user's rows into columns, one group per day, scored together
+    private Map<LocalDate, Total> computeDays(Long userId) {
+        List<WorkoutExerciseRow> rows = workoutRepository.findSummaryRowsByUserId(userId);
+        ExerciseColumns columns = new ExerciseColumns(rows.size());
+        List<LocalDate> groupDays = new ArrayList<>();
+
+        Long workoutId = null;
+        LocalDate day = null;
+        // Rows come newest first and a workout's exercises together, so each day's rows are contiguous
+        for (WorkoutExerciseRow row : rows) {
+            if (row.workoutDate() == null) {
+                continue;
+            }
+            if (!row.workoutId().equals(workoutId)) {
+                if (workoutId != null) {
+                    columns.endWorkout();
+                }
+                LocalDate rowDay = dayOf(row.workoutDate());
+                if (!rowDay.equals(day)) {
+                    if (day != null) {
+                        columns.endGroup();
+                        groupDays.add(day);
+                    }
+                    day = rowDay;
+                }
+                workoutId = row.workoutId();
+            }
+            if (row.exerciseId() != null) {
+                columns.add(row.weight(), row.reps(), row.sets());
+            }
+        }
+        if (workoutId != null) {
+            columns.endWorkout();
+            columns.endGroup();
+            groupDays.add(day);
+        }
+
+        IntensityScorer.GroupScores scores = intensityScorer.scoreGroups(columns);
+        Map<LocalDate, Total> days = new TreeMap<>();
+        for (int group = 0; group < scores.groups(); group++) {
+            Total total = new Total();
+            total.score = scores.score(group);
+            total.intenseWorkouts = scores.intenseWorkouts(group);
+            total.workouts = scores.workouts(group);
+            days.put(groupDays.get(group), total);
+        }
+        return days;
+    }
+
+    static LocalDate dayOf(Instant date) {
+        return LocalDate.ofInstant(date, ZoneOffset.UTC);
+    }
+
+    private static final class Total {
+        private int score;
+        private int intenseWorkouts;
+        private int workouts;
+
+        @Override
+        public String toString() {
+            return "score=" + score + " intenseWorkouts=" + intenseWorkouts + " workouts=" + workouts;
+        }
+    }
+}
@@ -16,10 +16,18 @@ import java.util.List;
 
 @Service
 public class ExerciseDetailsService {
+    /**
+     * Gateway cache region of the exercise catalog, dropped after every write.
+     */
+    public static final String CACHE_REGION = "exercise-details";
+
     private final ExerciseDetailsRepository exerciseDetailsRepository;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
-    public ExerciseDetailsService(final ExerciseDetailsRepository exerciseDetailsRepository) {
+    public ExerciseDetailsService(final ExerciseDetailsRepository exerciseDetailsRepository,
+                                  final CacheInvalidationPublisher cacheInvalidationPublisher) {
         this.exerciseDetailsRepository = exerciseDetailsRepository;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
     }
 
     public List<ExerciseDetails> getAllExerciseDetails() {
@@ -44,11 +52,14 @@ public class ExerciseDetailsService {
     }
 
     public ExerciseDetails createExerciseDetails(ExerciseDetails exerciseDetails) throws ExerciseDetailsServiceException {
+        ExerciseDetails created;
         try {
-            return exerciseDetailsRepository.save(exerciseDetails);
+            created = exerciseDetailsRepository.save(exerciseDetails);
         } catch (Exception e) {
             throw new ExerciseDetailsServiceException("Failed to create exercise details: " + e.getMessage(), ErrorType.VALIDATION_FAILED);
         }
+        cacheInvalidationPublisher.publishInvalidation(CACHE_REGION);
+        return created;
     }
 
     public ExerciseDetails updateExerciseDetails(Long id, ExerciseDetails updatedDetails) throws ExerciseDetailsServiceException {
@@ -71,11 +82,14 @@ public class ExerciseDetailsService {
             existingDetails.setDifficultyLevel(updatedDetails.getDifficultyLevel());
         }
 
+        ExerciseDetails updated;
         try {
-            return exerciseDetailsRepository.save(existingDetails);
+            updated = exerciseDetailsRepository.save(existingDetails);
         } catch (Exception e) {
             throw new ExerciseDetailsServiceException("Failed to update exercise details: " + e.getMessage(), ErrorType.VALIDATION_FAILED);
         }
+        cacheInvalidationPublisher.publishInvalidation(CACHE_REGION);
+        return updated;
     }
 
     public void deleteExerciseDetails(Long id) throws ExerciseDetailsServiceException {
@@ -83,6 +97,7 @@ public class ExerciseDetailsService {
                 .orElseThrow(() -> new ExerciseDetailsServiceException("Could not find exercise details with id: " + id, ErrorType.ENTITY_NOT_FOUND));
 
         exerciseDetailsRepository.delete(exerciseDetails);
+        cacheInvalidationPublisher.publishInvalidation(CACHE_REGION);
     }
 
     public ExerciseDetails patchExerciseDetails(Long id, JsonPatch patch) throws ExerciseDetailsServiceException {
@@ -104,7 +119,9 @@ public class ExerciseDetailsService {
             if (patched.getEquipment() != null) existing.setEquipment(patched.getEquipment());
             if (patched.getDifficultyLevel() != null) existing.setDifficultyLevel(patched.getDifficultyLevel());
 
-            return exerciseDetailsRepository.save(existing);
+            ExerciseDetails saved = exerciseDetailsRepository.save(existing);
+            cacheInvalidationPublisher.publishInvalidation(CACHE_REGION);
+            return saved;
 
         } catch (JsonPatchException | JsonProcessingException e) {
             throw new ExerciseDetailsServiceException("Failed to apply patch: " + e.getMessage(), ErrorType.VALIDATION_FAILED);
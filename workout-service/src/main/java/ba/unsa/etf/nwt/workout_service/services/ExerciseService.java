@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
+import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
@@ -23,16 +24,19 @@ public class ExerciseService {
     private final ExerciseDetailsService exerciseDetailsService;
     private final WorkoutService workoutService;
     private final ModelMapper modelMapper;
+    private final DailyIntensityService dailyIntensityService;
 
     public ExerciseService(
             final ExerciseRepository exerciseRepository,
             final ExerciseDetailsService exerciseDetailsService,
             final WorkoutService workoutService,
-            final ModelMapper modelMapper) {
+            final ModelMapper modelMapper,
+            final DailyIntensityService dailyIntensityService) {
         this.exerciseRepository = exerciseRepository;
         this.exerciseDetailsService = exerciseDetailsService;
         this.workoutService = workoutService;
         this.modelMapper = modelMapper;
+        this.dailyIntensityService = dailyIntensityService;
     }
 
     public List<Exercise> getAllExercises() {
@@ -45,16 +49,21 @@ public class ExerciseService {
     }
 
 
+    @Transactional(rollbackOn = Exception.class)
     public ExerciseDTO createExercise(ExerciseDTO exerciseDTO) throws ExerciseServiceException {
         try {
             ExerciseDetails exerciseDetails = exerciseDetailsService.getExerciseDetailsById(exerciseDTO.getExerciseDetailsId());
             Workout workout = workoutService.getWorkoutById(exerciseDTO.getWorkoutId());
+            DailyIntensityService.Contribution before = dailyIntensityService.lockedContributionOf(workout);
 
             Exercise exercise = modelMapper.map(exerciseDTO, Exercise.class);
             exercise.setExerciseDetails(exerciseDetails);
             exercise.setWorkout(workout);
 
             Exercise savedExercise = exerciseRepository.save(exercise);
+            workout.getExercises().add(savedExercise);
+            dailyIntensityService.replace(before, dailyIntensityService.contributionOf(workout));
+
             ExerciseDTO result = modelMapper.map(savedExercise, ExerciseDTO.class);
             result.setExerciseDetailsId(exerciseDetails.getId());
             result.setWorkoutId(workout.getId());
@@ -65,6 +74,7 @@ public class ExerciseService {
         }
     }
 
+    @Transactional(rollbackOn = Exception.class)
     public ExerciseDTO updateExercise(Long exerciseId, ExerciseDTO exerciseDTO) throws ExerciseServiceException {
         Exercise existingExercise = exerciseRepository.findById(exerciseId)
                 .orElseThrow(() -> new ExerciseServiceException("Could not find exercise with id: " + exerciseId, ErrorType.ENTITY_NOT_FOUND));
@@ -76,6 +86,7 @@ public class ExerciseService {
             if (!existingExercise.getWorkout().getId().equals(workout.getId())) {
                 throw new ExerciseServiceException("Workout ID cannot be changed once assigned", ErrorType.VALIDATION_FAILED);
             }
+            DailyIntensityService.Contribution before = dailyIntensityService.lockedContributionOf(workout);
 
             modelMapper.map(exerciseDTO, existingExercise);
             existingExercise.setId(exerciseId);
@@ -83,6 +94,8 @@ public class ExerciseService {
             existingExercise.setWorkout(workout);
 
             Exercise updatedExercise = exerciseRepository.save(existingExercise);
+            dailyIntensityService.replace(before, dailyIntensityService.contributionOf(workout));
+
             ExerciseDTO result = modelMapper.map(updatedExercise, ExerciseDTO.class);
             result.setExerciseDetailsId(exerciseDetails.getId());
             result.setWorkoutId(workout.getId());
@@ -93,16 +106,23 @@ public class ExerciseService {
         }
     }
 
+    @Transactional(rollbackOn = Exception.class)
     public void deleteExercise(Long id) throws ExerciseServiceException {
         Exercise exercise = exerciseRepository.findById(id)
                 .orElseThrow(() -> new ExerciseServiceException("Could not find exercise with id: " + id, ErrorType.ENTITY_NOT_FOUND));
+        Workout workout = exercise.getWorkout();
+        DailyIntensityService.Contribution before = dailyIntensityService.lockedContributionOf(workout);
 
         exerciseRepository.delete(exercise);
+        workout.getExercises().remove(exercise);
+        dailyIntensityService.replace(before, dailyIntensityService.contributionOf(workout));
     }
 
+    @Transactional(rollbackOn = Exception.class)
     public ExerciseDTO patchExercise(Long id, JsonPatch patch) throws ExerciseServiceException {
         Exercise existing = exerciseRepository.findById(id)
                 .orElseThrow(() -> new ExerciseServiceException("Could not find exercise with id: " + id, ErrorType.ENTITY_NOT_FOUND));
+        DailyIntensityService.Contribution before = dailyIntensityService.lockedContributionOf(existing.getWorkout());
 
         ObjectMapper objectMapper = new ObjectMapper();
 
@@ -116,6 +136,8 @@ public class ExerciseService {
             if (patchedDTO.getReps() != null) existing.setReps(patchedDTO.getReps());
 
             Exercise saved = exerciseRepository.save(existing);
+            dailyIntensityService.replace(before, dailyIntensityService.contributionOf(existing.getWorkout()));
+
             ExerciseDTO result = modelMapper.map(saved, ExerciseDTO.class);
             result.setWorkoutId(existing.getWorkout().getId());
             result.setExerciseDetailsId(existing.getExerciseDetails().getId());
@@ -3,7 +3,13 @@ package ba.unsa.etf.nwt.workout_service.services;
 import ba.unsa.etf.nwt.error_logging.model.ErrorType;
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
+import ba.unsa.etf.nwt.workout_service.repositories.DailyIntensityRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseTemplateRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.UserRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutTemplateRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,9 +18,24 @@ import java.util.UUID;
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final DailyIntensityRepository dailyIntensityRepository;
+    private final WorkoutRepository workoutRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final WorkoutTemplateRepository workoutTemplateRepository;
+    private final ExerciseTemplateRepository exerciseTemplateRepository;
 
-    public UserService(final UserRepository userRepository) {
+    public UserService(final UserRepository userRepository,
+                       final DailyIntensityRepository dailyIntensityRepository,
+                       final WorkoutRepository workoutRepository,
+                       final ExerciseRepository exerciseRepository,
+                       final WorkoutTemplateRepository workoutTemplateRepository,
+                       final ExerciseTemplateRepository exerciseTemplateRepository) {
         this.userRepository = userRepository;
+        this.dailyIntensityRepository = dailyIntensityRepository;
+        this.workoutRepository = workoutRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.workoutTemplateRepository = workoutTemplateRepository;
+        this.exerciseTemplateRepository = exerciseTemplateRepository;
     }
 
     public List<User> getAllUsers() throws UserServiceException {
@@ -43,9 +64,17 @@ public class UserService {
         }
     }
 
+    // Children before parents, one statement per table whatever the user has
+    @Transactional(rollbackOn = Exception.class)
     public void deleteUser(Long id) throws UserServiceException {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserServiceException("Could not find user with id: " + id, ErrorType.ENTITY_NOT_FOUND));
-        userRepository.delete(user);
+        if (!userRepository.existsById(id)) {
+            throw new UserServiceException("Could not find user with id: " + id, ErrorType.ENTITY_NOT_FOUND);
+        }
+        exerciseRepository.deleteByUserId(id);
+        workoutRepository.deleteByUserId(id);
+        exerciseTemplateRepository.deleteByUserId(id);
+        workoutTemplateRepository.deleteByUserId(id);
+        dailyIntensityRepository.deleteByUserId(id);
+        userRepository.deleteUser(id);
     }
 }
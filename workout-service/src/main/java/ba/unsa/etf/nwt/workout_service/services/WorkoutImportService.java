@@ -0,0 +1,302 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.error_logging.model.ErrorType;
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.ExerciseDetails;
+import ba.unsa.etf.nwt.workout_service.domain.User;
+import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.ExerciseDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutImportErrorDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutImportResultDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutWithExercisesDTO;
+import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
+import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutServiceException;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseDetailsRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of one user's workout history, as NDJSON or a JSON array of {@link WorkoutWithExercisesDTO}.
+ * <p>
+ * The input is read one record at a time and written in chunks of {@value #CHUNK_SIZE} workouts, each in
+ * its own transaction and inserted in JDBC batches, so memory doesn't grow with the input. A record that
+ * can't be read, doesn't validate or can't be saved is reported with its line and skipped, the rest are
+ * imported. Chunks already written stay written if the import stops early.
+ * <p>
+ * Unlike {@code createWorkoutWithExercises} this doesn't ask the nutrition service about meals, imported
+ * workouts are history and the meals they followed were never logged here.
+ */
+@Service
+public class WorkoutImportService {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final WorkoutRepository workoutRepository;
+    private final ExerciseDetailsRepository exerciseDetailsRepository;
+    private final UserService userService;
+    private final DailyIntensityService dailyIntensityService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public WorkoutImportService(final WorkoutRepository workoutRepository, final ExerciseDetailsRepository exerciseDetailsRepository,
+                                final UserService userService, final DailyIntensityService dailyIntensityService,
+                                final TransactionTemplate transactionTemplate, final EntityManager entityManager,
+                                final ObjectMapper objectMapper, final Validator validator) {
+        this.workoutRepository = workoutRepository;
+        this.exerciseDetailsRepository = exerciseDetailsRepository;
+        this.userService = userService;
+        this.dailyIntensityService = dailyIntensityService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Imports every readable record of {@code input} for the user. Records without a user handle are
+     * taken to be the user's, records with another one are rejected.
+     */
+    public WorkoutImportResultDTO importWorkouts(UUID userHandle, InputStream input) throws WorkoutServiceException, UserServiceException {
+        User user = userService.getUserByUuid(userHandle);
+        // The catalog is small and every record refers to it, so it's read once up front
+        Map<Long, ExerciseDetails> exerciseDetails = exerciseDetailsRepository.findAll().stream()
+                .collect(Collectors.toMap(ExerciseDetails::getId, Function.identity()));
+        Import run = new Import(user, userHandle, exerciseDetails);
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            long skippedLines = skipWhitespace(reader);
+            reader.mark(1);
+            int first = reader.read();
+            reader.reset();
+            if (first == '[') {
+                readArray(reader, skippedLines, run);
+            } else {
+                readLines(reader, skippedLines, run);
+            }
+        } catch (IOException e) {
+            throw new WorkoutServiceException("Failed to read workout import after " + run.imported
+                    + " imported workouts: " + e.getMessage(), ErrorType.VALIDATION_FAILED);
+        }
+        run.writeChunk();
+        return new WorkoutImportResultDTO(run.imported, run.failed, run.errors);
+    }
+
+    // NDJSON, a record per line. A malformed line only loses that line
+    private void readLines(BufferedReader reader, long skippedLines, Import run) throws IOException {
+        long line = skippedLines;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                run.fail(line, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(line, node);
+        }
+    }
+
+    // A JSON array, read an element at a time. Past malformed JSON there's no telling where the next element starts
+    private void readArray(BufferedReader reader, long skippedLines, Import run) throws IOException {
+        long line = skippedLines + 1;
+        try (JsonParser parser = objectMapper.createParser(reader)) {
+            parser.nextToken();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                line = skippedLines + parser.currentTokenLocation().getLineNr();
+                if (token == null) {
+                    run.fail(line, "Unexpected end of input, the array isn't closed");
+                    return;
+                }
+                run.accept(line, parser.readValueAsTree());
+            }
+        } catch (JsonProcessingException e) {
+            long errorLine = e.getLocation() == null ? line : skippedLines + e.getLocation().getLineNr();
+            run.fail(errorLine, "Malformed JSON, the rest of the input was skipped: " + e.getOriginalMessage());
+        }
+    }
+
+    // Leaves the reader on the first character that isn't whitespace, returns the line breaks passed
+    private static long skipWhitespace(BufferedReader reader) throws IOException {
+        long lines = 0;
+        while (true) {
+            reader.mark(1);
+            int c = reader.read();
+            if (c == -1 || !Character.isWhitespace(c)) {
+                reader.reset();
+                return lines;
+            }
+            if (c == '\n') {
+                lines++;
+            }
+        }
+    }
+
+    private record Pending(long line, WorkoutWithExercisesDTO request) {
+    }
+
+    private final class Import {
+        private final User user;
+        private final UUID userHandle;
+        private final Map<Long, ExerciseDetails> exerciseDetails;
+        private final List<Pending> pending = new ArrayList<>(CHUNK_SIZE);
+        private final List<WorkoutImportErrorDTO> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private Import(User user, UUID userHandle, Map<Long, ExerciseDetails> exerciseDetails) {
+            this.user = user;
+            this.userHandle = userHandle;
+            this.exerciseDetails = exerciseDetails;
+        }
+
+        private void accept(long line, JsonNode node) {
+            WorkoutWithExercisesDTO request;
+            try {
+                request = read(line, node);
+            } catch (RuntimeException e) {
+                // A record the checks don't foresee costs that record, not the import
+                fail(line, "Invalid workout: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            if (request == null) {
+                return;
+            }
+            pending.add(new Pending(line, request));
+            if (pending.size() >= CHUNK_SIZE) {
+                writeChunk();
+            }
+        }
+
+        // Null when the record was reported as failed
+        private WorkoutWithExercisesDTO read(long line, JsonNode node) {
+            WorkoutWithExercisesDTO request;
+            try {
+                request = objectMapper.treeToValue(node, WorkoutWithExercisesDTO.class);
+            } catch (JsonProcessingException e) {
+                fail(line, "Unreadable workout: " + e.getOriginalMessage());
+                return null;
+            }
+            if (request == null) {
+                fail(line, "Empty record");
+                return null;
+            }
+            if (request.getWorkout() != null && request.getWorkout().getUserHandle() == null) {
+                request.getWorkout().setUserHandle(userHandle);
+            }
+
+            String invalid = validate(request);
+            if (invalid != null) {
+                fail(line, invalid);
+                return null;
+            }
+            return request;
+        }
+
+        private String validate(WorkoutWithExercisesDTO request) {
+            String violations = validator.validate(request).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            if (!violations.isEmpty()) {
+                return violations;
+            }
+            if (!userHandle.equals(request.getWorkout().getUserHandle())) {
+                return "Workout belongs to another user: " + request.getWorkout().getUserHandle();
+            }
+            for (int i = 0; i < request.getExercises().size(); i++) {
+                ExerciseDTO exercise = request.getExercises().get(i);
+                if (exercise == null) {
+                    return "exercises[" + i + "]: Exercise is empty";
+                }
+                if (!exerciseDetails.containsKey(exercise.getExerciseDetailsId())) {
+                    return "Could not find exercise details with id: " + exercise.getExerciseDetailsId();
+                }
+            }
+            return null;
+        }
+
+        private void writeChunk() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(pending));
+                imported += pending.size();
+            } catch (RuntimeException e) {
+                // One bad row rolls the whole chunk back, so the chunk is retried a workout at a time
+                for (Pending one : pending) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> write(List.of(one)));
+                        imported++;
+                    } catch (RuntimeException single) {
+                        fail(one.line(), "Failed to save workout: " + NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private void write(List<Pending> chunk) {
+            List<Workout> workouts = new ArrayList<>(chunk.size());
+            List<DailyIntensityService.Contribution> contributions = new ArrayList<>(chunk.size());
+            for (Pending one : chunk) {
+                Workout workout = toWorkout(one.request());
+                workouts.add(workout);
+                contributions.add(dailyIntensityService.contributionOf(workout));
+            }
+            workoutRepository.saveAll(workouts);
+            dailyIntensityService.addAll(contributions);
+
+            // The request's persistence context outlives the transaction (open in view), so the chunk is dropped from it
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        private Workout toWorkout(WorkoutWithExercisesDTO request) {
+            Workout workout = new Workout(request.getWorkout().getName(), request.getWorkout().getDate(), user,
+                    new ArrayList<>(request.getExercises().size()));
+            for (ExerciseDTO exercise : request.getExercises()) {
+                workout.getExercises().add(new Exercise(exercise.getWeight(), exercise.getReps(), exercise.getSets(),
+                        workout, exerciseDetails.get(exercise.getExerciseDetailsId())));
+            }
+            return workout;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new WorkoutImportErrorDTO(line, message));
+            }
+        }
+    }
+}
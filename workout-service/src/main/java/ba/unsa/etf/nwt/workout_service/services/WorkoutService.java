@@ -6,44 +6,62 @@ import ba.unsa.etf.nwt.workout_service.domain.Exercise;
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.domain.Workout;
 import ba.unsa.etf.nwt.workout_service.dto.ExerciseDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutSummaryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutWithExercisesDTO;
 import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
 import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutServiceException;
+import ba.unsa.etf.nwt.workout_service.intensity.ExerciseColumns;
+import ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer;
 import ba.unsa.etf.nwt.workout_service.repositories.ExerciseRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class WorkoutService {
+	private static final int MAX_INTENSITY_QUERIES = 1000;
+
 	private final WorkoutRepository workoutRepository;
 	private final UserService userService;
 	private final ModelMapper modelMapper;
 
 	private final ExerciseRepository exerciseRepository;
 	private final NutritionClient nutritionClient;
+	private final DailyIntensityService dailyIntensityService;
+	private final IntensityScorer intensityScorer;
 
-	public WorkoutService(final WorkoutRepository workoutRepository, final UserService userService, final ModelMapper modelMapper, final ExerciseRepository exerciseRepository, final NutritionClient nutritionClient) {
+	public WorkoutService(final WorkoutRepository workoutRepository, final UserService userService, final ModelMapper modelMapper, final ExerciseRepository exerciseRepository, final NutritionClient nutritionClient, final DailyIntensityService dailyIntensityService, final IntensityScorer intensityScorer) {
 		this.workoutRepository = workoutRepository;
 		this.userService = userService;
 		this.modelMapper = modelMapper;
 		this.exerciseRepository = exerciseRepository;
 		this.nutritionClient = nutritionClient;
+		this.dailyIntensityService = dailyIntensityService;
+		this.intensityScorer = intensityScorer;
 	}
 
-	public List<Workout> getAllWorkouts() {
-		return workoutRepository.findAll();
+	/**
+	 * Workouts with their exercises, in at most two statements whatever their number: one for the ids of
+	 * the page and one for the rows. Unpaged returns every workout in one statement.
+	 */
+	public List<WorkoutSummaryDTO> getAllWorkouts(Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return WorkoutSummaryDTO.fromRows(workoutRepository.findSummaryRows());
+		}
+		return summariesOf(workoutRepository.findPageOfIds(pageable));
 	}
 
 	public Workout getWorkoutById(Long id) throws WorkoutServiceException {
@@ -51,6 +69,7 @@ public class WorkoutService {
 				.orElseThrow(() -> new WorkoutServiceException("Could not find workout with id: " + id, ErrorType.ENTITY_NOT_FOUND));
 	}
 
+	@Transactional(rollbackOn = Exception.class)
 	public WorkoutDTO createWorkout(WorkoutDTO workoutDTO) throws WorkoutServiceException {
 		try {
 			User user = userService.getUserByUuid(workoutDTO.getUserHandle());
@@ -59,6 +78,8 @@ public class WorkoutService {
 			workout.setUser(user);
 
 			Workout savedWorkout = workoutRepository.save(workout);
+			dailyIntensityService.replace(null, dailyIntensityService.contributionOf(savedWorkout));
+
 			WorkoutDTO result = modelMapper.map(savedWorkout, WorkoutDTO.class);
 			result.setUserHandle(user.getUuid());
 
@@ -68,9 +89,12 @@ public class WorkoutService {
 		}
 	}
 
+	@Transactional(rollbackOn = Exception.class)
 	public WorkoutDTO updateWorkout(Long workoutId, WorkoutDTO workoutDTO) throws WorkoutServiceException {
 		Workout existingWorkout = workoutRepository.findById(workoutId)
 				.orElseThrow(() -> new WorkoutServiceException("Could not find workout with id: " + workoutId, ErrorType.ENTITY_NOT_FOUND));
+		// The date or user may change, which moves the workout to another day
+		DailyIntensityService.Contribution before = dailyIntensityService.lockedContributionOf(existingWorkout);
 
 		try {
 			User user = userService.getUserByUuid(workoutDTO.getUserHandle());
@@ -80,6 +104,8 @@ public class WorkoutService {
 			existingWorkout.setUser(user);
 
 			Workout updatedWorkout = workoutRepository.save(existingWorkout);
+			dailyIntensityService.replace(before, dailyIntensityService.contributionOf(updatedWorkout));
+
 			WorkoutDTO result = modelMapper.map(updatedWorkout, WorkoutDTO.class);
 			result.setUserHandle(user.getUuid());
 
@@ -89,13 +115,17 @@ public class WorkoutService {
 		}
 	}
 
+	@Transactional(rollbackOn = Exception.class)
 	public void deleteWorkout(Long id) throws WorkoutServiceException {
 		Workout workout = workoutRepository.findById(id)
 				.orElseThrow(() -> new WorkoutServiceException("Could not find workout with id: " + id, ErrorType.ENTITY_NOT_FOUND));
-		workoutRepository.delete(workout);
+		DailyIntensityService.Contribution before = dailyIntensityService.lockedContributionOf(workout);
+		exerciseRepository.deleteByWorkoutId(id);
+		workoutRepository.deleteWorkout(id);
+		dailyIntensityService.replace(before, null);
 	}
 
-	@Transactional
+	@Transactional(rollbackOn = Exception.class)
 	public WorkoutDTO createWorkoutWithExercises(WorkoutWithExercisesDTO request) throws WorkoutServiceException {
 		try {
 			User user = userService.getUserByUuid(request.getWorkout().getUserHandle());
@@ -113,13 +143,18 @@ public class WorkoutService {
 			}
 
 			workout.setUser(user);
-			Workout savedWorkout = workoutRepository.save(workout);
 
+			// Persisted with the workout through the cascade, inserted as one batch on flush
+			List<Exercise> exercises = new ArrayList<>();
 			for (ExerciseDTO dto : request.getExercises()) {
 				Exercise exercise = modelMapper.map(dto, Exercise.class);
-				exercise.setWorkout(savedWorkout);
-				exerciseRepository.save(exercise);
+				exercise.setWorkout(workout);
+				exercises.add(exercise);
 			}
+			workout.setExercises(exercises);
+
+			Workout savedWorkout = workoutRepository.save(workout);
+			dailyIntensityService.replace(null, dailyIntensityService.contributionOf(savedWorkout));
 
 			return modelMapper.map(savedWorkout, WorkoutDTO.class);
 
@@ -136,66 +171,51 @@ public class WorkoutService {
 	}
 
 	public Boolean hadIntenseWorkout(@RequestParam Long userId, @RequestParam Instant date) {
-		Instant startOfDay = date.atZone(ZoneOffset.UTC).toLocalDate().atStartOfDay(ZoneOffset.UTC).toInstant();
-		Instant endOfDay = startOfDay.plus(1, ChronoUnit.DAYS);
-
-		List<Workout> workouts = workoutRepository.findWorkoutsByUserIdAndDateBetween(userId, startOfDay, endOfDay);
-
-		return workouts.stream()
-				.anyMatch(workout -> {
-					List<ExerciseDTO> exerciseDTOs = workout.getExercises().stream()
-							.map(ex -> modelMapper.map(ex, ExerciseDTO.class))
-							.toList();
-					return isWorkoutIntense(exerciseDTOs);
-				});
+		return dailyIntensityService.hadIntenseWorkout(userId, date);
 	}
 
 	private boolean isWorkoutIntense(List<ExerciseDTO> exercises) {
-		if (exercises.size() > 3) return true;
-
+		ExerciseColumns columns = new ExerciseColumns(exercises.size());
 		for (ExerciseDTO e : exercises) {
-			Double weight = e.getWeight();
-			Integer reps = e.getReps();
-			Integer sets = e.getSets();
-
-			if (weight != null && weight > 100) return true;
-			if (reps != null && reps > 10 &&
-					sets != null && sets > 3) return true;
+			columns.add(
+					e.getWeight() != null ? e.getWeight() : 0,
+					e.getReps() != null ? e.getReps() : 0,
+					e.getSets() != null ? e.getSets() : 0
+			);
 		}
-
-		return false;
+		return intensityScorer.isIntense(columns, 0, columns.exercises());
 	}
 
 	public String getWorkoutIntensityLevel(Long userId, Instant date) {
-		Instant startOfDay = date.truncatedTo(ChronoUnit.DAYS);
-		Instant endOfDay = startOfDay.plus(1, ChronoUnit.DAYS);
-
-		List<Workout> workouts = workoutRepository.findWorkoutsByUserIdAndDateBetween(userId, startOfDay, endOfDay);
-
-		if (workouts.isEmpty()) return "LIGHT";
+		return dailyIntensityService.getIntensityLevel(userId, date);
+	}
 
-		int score = 0;
-		for (Workout w : workouts) {
-			for (Exercise ex : w.getExercises()) {
-				if (ex.getWeight() > 100) score += 3;
-				if (ex.getReps() > 10) score += 1;
-				if (ex.getSets() > 3) score += 1;
+	public List<IntensityLevelDTO> getWorkoutIntensityLevels(List<IntensityLevelQueryDTO> queries) throws WorkoutServiceException {
+		if (queries.size() > MAX_INTENSITY_QUERIES) {
+			throw new WorkoutServiceException("At most " + MAX_INTENSITY_QUERIES + " days can be looked up at once", ErrorType.VALIDATION_FAILED);
+		}
+		for (IntensityLevelQueryDTO query : queries) {
+			if (query == null || query.userId() == null || query.date() == null) {
+				throw new WorkoutServiceException("Every day needs a userId and a date", ErrorType.VALIDATION_FAILED);
 			}
 		}
-
-		return switch (score) {
-			case 0, 1, 2 -> "LIGHT";
-			case 3, 4, 5, 6, 7 -> "MODERATE";
-			default -> "INTENSE";
-		};
+		return dailyIntensityService.getIntensityLevels(queries);
 	}
 
-	public List<Workout> getWorkoutsByUserUuid(String uuid) throws WorkoutServiceException, UserServiceException {
+	public List<WorkoutSummaryDTO> getWorkoutsByUserUuid(String uuid, Pageable pageable) throws WorkoutServiceException, UserServiceException {
 		User user = userService.getUserByUuid(UUID.fromString(uuid));
 
-		List<Workout> workouts = workoutRepository.findWorkoutsByUserId(user.getId());
+		if (pageable.isUnpaged()) {
+			return WorkoutSummaryDTO.fromRows(workoutRepository.findSummaryRowsByUserId(user.getId()));
+		}
+		return summariesOf(workoutRepository.findPageOfIdsByUserId(user.getId(), pageable));
+	}
 
-		return workouts;
+	private List<WorkoutSummaryDTO> summariesOf(List<Long> workoutIds) {
+		if (workoutIds.isEmpty()) {
+			return List.of();
+		}
+		return WorkoutSummaryDTO.fromRows(workoutRepository.findSummaryRowsByWorkoutIdIn(workoutIds));
 	}
 
 }
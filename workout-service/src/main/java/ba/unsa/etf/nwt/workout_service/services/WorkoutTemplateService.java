@@ -8,9 +8,11 @@ import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutTemplateServiceExceptio
 import ba.unsa.etf.nwt.workout_service.repositories.ExerciseRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.ExerciseTemplateRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.WorkoutTemplateRepository;
+import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -89,11 +91,14 @@ public class WorkoutTemplateService {
         }
     }
 
+    @Transactional(rollbackOn = Exception.class)
     public void deleteWorkoutTemplate(Long id) throws WorkoutTemplateServiceException {
-        WorkoutTemplate workoutTemplate = workoutTemplateRepository.findById(id)
-                .orElseThrow(() -> new WorkoutTemplateServiceException("Could not find workout template with id: " + id, ErrorType.ENTITY_NOT_FOUND));
+        if (!workoutTemplateRepository.existsById(id)) {
+            throw new WorkoutTemplateServiceException("Could not find workout template with id: " + id, ErrorType.ENTITY_NOT_FOUND);
+        }
 
-        workoutTemplateRepository.delete(workoutTemplate);
+        exerciseTemplateRepository.deleteByWorkoutTemplateId(id);
+        workoutTemplateRepository.deleteWorkoutTemplate(id);
     }
 
     public List<WorkoutTemplate> getWorkoutTemplatesByUserUuid(String uuid) throws WorkoutTemplateServiceException {
@@ -105,19 +110,24 @@ public class WorkoutTemplateService {
         }
     }
 
+    @Transactional(rollbackOn = Exception.class)
     public WorkoutTemplateWithUserUuidDTO createWorkoutTemplateWithExerciseTemplates(WorkoutTemplateWithExerciseTemplatesDTO request) throws WorkoutTemplateServiceException {
         try {
             User user = userService.getUserByUuid(request.getWorkoutTemplate().getUserHandle());
             WorkoutTemplate workoutTemplate = modelMapper.map(request.getWorkoutTemplate(), WorkoutTemplate.class);
 
             workoutTemplate.setUser(user);
-            WorkoutTemplate savedWorkoutTemplate = workoutTemplateRepository.save(workoutTemplate);
 
+            // Persisted with the template through the cascade, inserted as one batch on flush
+            List<ExerciseTemplate> exerciseTemplates = new ArrayList<>();
             for (ExerciseTemplateDTO dto : request.getExerciseTemplates()) {
                 ExerciseTemplate exerciseTemplate = modelMapper.map(dto, ExerciseTemplate.class);
-                exerciseTemplate.setWorkoutTemplate(savedWorkoutTemplate);
-                exerciseTemplateRepository.save(exerciseTemplate);
+                exerciseTemplate.setWorkoutTemplate(workoutTemplate);
+                exerciseTemplates.add(exerciseTemplate);
             }
+            workoutTemplate.setExerciseTemplates(exerciseTemplates);
+
+            WorkoutTemplate savedWorkoutTemplate = workoutTemplateRepository.save(workoutTemplate);
 
             return modelMapper.map(savedWorkoutTemplate, WorkoutTemplateWithUserUuidDTO.class);
 
@@ -5,14 +5,22 @@ import ba.unsa.etf.nwt.workout_service.domain.ExerciseDetails;
 import ba.unsa.etf.nwt.workout_service.exceptions.ExerciseDetailsServiceException;
 import ba.unsa.etf.nwt.workout_service.services.ExerciseDetailsService;
 import com.github.fge.jsonpatch.JsonPatch;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 
 @RestController
 @RequestMapping("api/v1/exercise-details")
 public class ExerciseDetailsController {
+    // Cached by the gateway, which is told to drop it on every write; browsers always refetch
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofMinutes(5))
+            .staleWhileRevalidate(Duration.ofSeconds(30));
+
     private final ExerciseDetailsService exerciseDetailsService;
 
     public ExerciseDetailsController(final ExerciseDetailsService exerciseDetailsService) {
@@ -21,13 +29,14 @@ public class ExerciseDetailsController {
 
     @GetMapping("")
     public ResponseEntity<?> getAllExerciseDetails() {
-        return ResponseEntity.ok(exerciseDetailsService.getAllExerciseDetails());
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE_CONTROL).body(exerciseDetailsService.getAllExerciseDetails());
     }
 
     @GetMapping("{id}")
     public ResponseEntity<?> getExerciseDetails(@PathVariable final String id) {
         try {
-            return ResponseEntity.ok(exerciseDetailsService.getExerciseDetailsById(Long.parseLong(id)));
+            return ResponseEntity.ok().cacheControl(CATALOG_CACHE_CONTROL)
+                    .body(exerciseDetailsService.getExerciseDetailsById(Long.parseLong(id)));
         } catch (ExerciseDetailsServiceException e) {
             return ResponseEntity.badRequest().body(
                     ErrorResponse.from(e.getErrorType(), e.getMessage())
@@ -37,18 +46,21 @@ public class ExerciseDetailsController {
 
     @GetMapping("/muscle-group")
     public ResponseEntity<?> getExerciseDetailsByMuscleGroup(@RequestParam("muscleGroup") final String muscleGroup) {
-        return ResponseEntity.ok(exerciseDetailsService.getExerciseDetailsByMuscleGroup(muscleGroup));
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE_CONTROL)
+                .body(exerciseDetailsService.getExerciseDetailsByMuscleGroup(muscleGroup));
     }
 
     @GetMapping("/difficulty-level")
     public ResponseEntity<?> getExerciseDetailsByDifficultyLevel(@RequestParam("difficultyLevel") final String level) {
-        return ResponseEntity.ok(exerciseDetailsService.getExerciseDetailsByDifficultyLevel(level));
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE_CONTROL)
+                .body(exerciseDetailsService.getExerciseDetailsByDifficultyLevel(level));
     }
 
 
     @GetMapping("search")
     public ResponseEntity<?> searchExerciseDetails(@RequestParam("name") final String name) {
-        return ResponseEntity.ok(exerciseDetailsService.searchExerciseDetailsByName(name));
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE_CONTROL)
+                .body(exerciseDetailsService.searchExerciseDetailsByName(name));
     }
 
     @PostMapping("")
@@ -1,31 +1,44 @@
 package ba.unsa.etf.nwt.workout_service.ws;
 
 import ba.unsa.etf.nwt.error_logging.model.ErrorResponse;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutWithExercisesDTO;
 import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
 import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutServiceException;
+import ba.unsa.etf.nwt.workout_service.services.WorkoutImportService;
 import ba.unsa.etf.nwt.workout_service.services.WorkoutService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("api/v1/workout")
 public class WorkoutController {
+	private static final int MAX_PAGE_SIZE = 200;
+
 	private final WorkoutService workoutService;
+	private final WorkoutImportService workoutImportService;
 
-	public WorkoutController(final WorkoutService workoutService) {
+	public WorkoutController(final WorkoutService workoutService, final WorkoutImportService workoutImportService) {
 		this.workoutService = workoutService;
+		this.workoutImportService = workoutImportService;
 	}
 
 	@GetMapping("")
-	public ResponseEntity<?> getAllWorkouts(){
-		return ResponseEntity.ok(workoutService.getAllWorkouts());
+	public ResponseEntity<?> getAllWorkouts(@RequestParam(required = false) final Integer page,
+											@RequestParam(defaultValue = "50") final int size) {
+		return ResponseEntity.ok(workoutService.getAllWorkouts(pageOf(page, size)));
 	}
 
 	@GetMapping("{id}")
@@ -95,6 +108,18 @@ public class WorkoutController {
 		}
 	}
 
+	// A user's history in one request, NDJSON or a JSON array of the /with-exercises body, read as it streams in
+	@PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<?> importWorkouts(@RequestParam final UUID userHandle, final InputStream body) {
+		try {
+			return ResponseEntity.ok(workoutImportService.importWorkouts(userHandle, body));
+		} catch (WorkoutServiceException | UserServiceException e) {
+			return ResponseEntity.badRequest().body(
+					ErrorResponse.from(e.getErrorType(), e.getMessage())
+			);
+		}
+	}
+
 	@GetMapping("/by-user-and-date")
 	public ResponseEntity<?> getWorkoutsByUserIdAndDateRange(
 			@RequestParam("userId") Long userId,
@@ -120,10 +145,24 @@ public class WorkoutController {
 		return ResponseEntity.ok(level);
 	}
 
+	// Many (userId, date) pairs in one call, for callers that would otherwise loop over /intensity-level
+	@PostMapping("/intensity-levels")
+	public ResponseEntity<?> getWorkoutIntensityLevels(@RequestBody final List<IntensityLevelQueryDTO> queries) {
+		try {
+			return ResponseEntity.ok(workoutService.getWorkoutIntensityLevels(queries));
+		} catch (WorkoutServiceException e) {
+			return ResponseEntity.badRequest().body(
+					ErrorResponse.from(e.getErrorType(), e.getMessage())
+			);
+		}
+	}
+
 	@GetMapping("/by-user-uuid/{uuid}")
-	public ResponseEntity<?> getWorkoutsByUserUuid(@PathVariable final String uuid) {
+	public ResponseEntity<?> getWorkoutsByUserUuid(@PathVariable final String uuid,
+												   @RequestParam(required = false) final Integer page,
+												   @RequestParam(defaultValue = "50") final int size) {
 		try {
-			return ResponseEntity.ok(workoutService.getWorkoutsByUserUuid(uuid));
+			return ResponseEntity.ok(workoutService.getWorkoutsByUserUuid(uuid, pageOf(page, size)));
 		} catch (WorkoutServiceException | UserServiceException e) {
 			return ResponseEntity.badRequest().body(
 					ErrorResponse.from(e.getErrorType(), e.getMessage())
@@ -131,4 +170,11 @@ public class WorkoutController {
 		}
     }
 
+	// Lists stay unpaged unless a page is asked for, existing clients expect every workout
+	private static Pageable pageOf(final Integer page, final int size) {
+		if (page == null) {
+			return Pageable.unpaged();
+		}
+		return PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
+	}
 }
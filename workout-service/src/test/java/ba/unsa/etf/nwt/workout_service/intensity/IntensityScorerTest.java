@@ -0,0 +1,154 @@
+package ba.unsa.etf.nwt.workout_service.intensity;
+
+import ba.unsa.etf.nwt.workout_service.intensity.properties.IntensityProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntensityScorerTest {
+
+    private final IntensityScorer scorer = new IntensityScorer(IntensityProperties.defaults());
+
+    @Test
+    void score_ShouldAddThePointsOfEveryThresholdPassed() {
+        ExerciseColumns columns = columns(
+                120, 5, 3,
+                40, 12, 4,
+                100, 10, 3
+        );
+
+        assertEquals(3, scorer.score(columns, 0, 1));
+        assertEquals(2, scorer.score(columns, 1, 2));
+        assertEquals(0, scorer.score(columns, 2, 3));
+        assertEquals(5, scorer.score(columns, 0, 3));
+    }
+
+    @Test
+    void isIntense_ShouldNeedHeavyWeightOrBothManyRepsAndSets() {
+        ExerciseColumns columns = columns(
+                101, 1, 1,
+                20, 11, 4,
+                20, 11, 3,
+                20, 8, 5
+        );
+
+        assertTrue(scorer.isIntense(columns, 0, 1));
+        assertTrue(scorer.isIntense(columns, 1, 2));
+        assertFalse(scorer.isIntense(columns, 2, 4));
+    }
+
+    @Test
+    void isIntense_WhenMoreThanMaxExercises_ShouldBeIntense() {
+        ExerciseColumns columns = columns(
+                20, 8, 3,
+                20, 8, 3,
+                20, 8, 3,
+                20, 8, 3
+        );
+
+        assertFalse(scorer.isIntense(columns, 0, 3));
+        assertTrue(scorer.isIntense(columns, 0, 4));
+    }
+
+    @Test
+    void levelOf_ShouldMatchScoreBands() {
+        assertEquals("LIGHT", scorer.levelOf(0));
+        assertEquals("LIGHT", scorer.levelOf(2));
+        assertEquals("MODERATE", scorer.levelOf(3));
+        assertEquals("MODERATE", scorer.levelOf(7));
+        assertEquals("INTENSE", scorer.levelOf(8));
+    }
+
+    @Test
+    void scorer_ShouldUseConfiguredThresholds() {
+        IntensityScorer strict = new IntensityScorer(new IntensityProperties(60, 5, 8, 2, 2, 2, 1, 4, 6));
+        ExerciseColumns columns = columns(
+                70, 9, 3,
+                20, 5, 1
+        );
+
+        assertEquals(9, strict.score(columns, 0, 1));
+        assertTrue(strict.isIntense(columns, 0, 1));
+        assertFalse(strict.isIntense(columns, 1, 2));
+        assertTrue(strict.isIntense(columns, 0, 2));
+        assertEquals("LIGHT", strict.levelOf(3));
+        assertEquals("MODERATE", strict.levelOf(5));
+        assertEquals("INTENSE", strict.levelOf(6));
+    }
+
+    @Test
+    void properties_WhenModerateAboveIntense_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new IntensityProperties(100, 3, 10, 1, 3, 1, 3, 9, 8));
+    }
+
+    @Test
+    void scoreGroups_ShouldTotalEveryGroup() {
+        ExerciseColumns columns = new ExerciseColumns(2);
+        // Day one: an intense workout and one without exercises
+        columns.add(120, 5, 3);
+        columns.add(40, 12, 4);
+        columns.endWorkout();
+        columns.endWorkout();
+        columns.endGroup();
+        // Day two: nothing
+        columns.endGroup();
+        // Day three: a light workout
+        columns.add(40, 8, 3);
+        columns.endWorkout();
+        columns.endGroup();
+
+        IntensityScorer.GroupScores scores = scorer.scoreGroups(columns);
+
+        assertEquals(3, scores.groups());
+        assertEquals(5, scores.score(0));
+        assertEquals(1, scores.intenseWorkouts(0));
+        assertEquals(2, scores.workouts(0));
+        assertEquals(0, scores.score(1));
+        assertEquals(0, scores.workouts(1));
+        assertEquals(0, scores.score(2));
+        assertEquals(0, scores.intenseWorkouts(2));
+        assertEquals(1, scores.workouts(2));
+    }
+
+    @Test
+    void scoreGroups_ShouldAgreeWithScoringEachWorkout() {
+        Random random = new Random(42);
+        ExerciseColumns columns = new ExerciseColumns();
+        int[] expectedScores = new int[200];
+        int[] expectedIntense = new int[200];
+
+        for (int group = 0; group < expectedScores.length; group++) {
+            int workouts = random.nextInt(4);
+            for (int workout = 0; workout < workouts; workout++) {
+                int from = columns.exercises();
+                int exercises = random.nextInt(6);
+                for (int i = 0; i < exercises; i++) {
+                    columns.add(random.nextInt(160), 1 + random.nextInt(15), 1 + random.nextInt(6));
+                }
+                columns.endWorkout();
+                expectedScores[group] += scorer.score(columns, from, columns.exercises());
+                expectedIntense[group] += scorer.isIntense(columns, from, columns.exercises()) ? 1 : 0;
+            }
+            columns.endGroup();
+        }
+
+        IntensityScorer.GroupScores scores = scorer.scoreGroups(columns);
+
+        for (int group = 0; group < expectedScores.length; group++) {
+            assertEquals(expectedScores[group], scores.score(group), "score of group " + group);
+            assertEquals(expectedIntense[group], scores.intenseWorkouts(group), "intense workouts of group " + group);
+        }
+    }
+
+    // weight, reps, sets triples
+    private static ExerciseColumns columns(double... values) {
+        ExerciseColumns columns = new ExerciseColumns(1);
+        for (int i = 0; i < values.length; i += 3) {
+            columns.add(values[i], (int) values[i + 1], (int) values[i + 2]);
+        }
+        return columns;
+    }
+}
@@ -1,8 +1,15 @@
 package ba.unsa.etf.nwt.workout_service.n_plus_one;
 
 import ba.unsa.etf.nwt.workout_service.HibernateStatisticsLogger;
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.ExerciseDetails;
+import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutSummaryDTO;
+import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
+import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutServiceException;
 import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import ba.unsa.etf.nwt.workout_service.services.WorkoutService;
 import jakarta.persistence.EntityManager;
 import org.hibernate.Session;
 import org.hibernate.stat.Statistics;
@@ -10,8 +17,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +34,9 @@ public class WorkoutNPlusOneTest {
     @Autowired
     private WorkoutRepository workoutRepository;
 
+    @Autowired
+    private WorkoutService workoutService;
+
     @Autowired
     private HibernateStatisticsLogger statisticsLogger;
 
@@ -32,6 +47,7 @@ public class WorkoutNPlusOneTest {
     public void setup() {
         // Clear previous statistics
         Session session = entityManager.unwrap(Session.class);
+        session.getSessionFactory().getStatistics().setStatisticsEnabled(true);
         session.getSessionFactory().getStatistics().clear();
 
         // Flush and clear to ensure all entities are persisted
@@ -60,4 +76,139 @@ public class WorkoutNPlusOneTest {
 
         System.out.println("Total queries executed: " + stats.getQueryExecutionCount());
     }
-}
\ No newline at end of file
+
+    // The list endpoints read through projections, so the statement count doesn't grow with the data
+
+    @Test
+    public void whenListAllWorkouts_thenRunsOneStatement() {
+        persistWorkouts(5, 3);
+
+        List<WorkoutSummaryDTO> workouts = workoutService.getAllWorkouts(Pageable.unpaged());
+        touch(workouts);
+
+        assertThat(workouts).hasSizeGreaterThanOrEqualTo(5);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void whenListPageOfWorkouts_thenRunsTwoStatements() {
+        persistWorkouts(5, 3);
+
+        List<WorkoutSummaryDTO> workouts = workoutService.getAllWorkouts(PageRequest.of(0, 4));
+        touch(workouts);
+
+        assertThat(workouts).hasSize(4);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void whenListWorkoutsByUserUuid_thenRunsTwoStatements() throws WorkoutServiceException, UserServiceException {
+        User user = persistWorkouts(5, 3);
+
+        List<WorkoutSummaryDTO> workouts = workoutService.getWorkoutsByUserUuid(user.getUuid().toString(), Pageable.unpaged());
+        touch(workouts);
+
+        // The user lookup and the rows
+        assertThat(workouts).hasSize(5);
+        assertThat(workouts).allSatisfy(workout -> assertThat(workout.exercises()).hasSize(3));
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenListPageOfWorkoutsByUserUuid_thenRunsThreeStatements() throws WorkoutServiceException, UserServiceException {
+        User user = persistWorkouts(5, 3);
+
+        List<WorkoutSummaryDTO> workouts = workoutService.getWorkoutsByUserUuid(user.getUuid().toString(), PageRequest.of(1, 2));
+        touch(workouts);
+
+        // The user lookup, the ids of the page and their rows
+        assertThat(workouts).hasSize(2);
+        assertThat(workouts).allSatisfy(workout -> assertThat(workout.exercises()).hasSize(3));
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    // Writes go out in JDBC batches, so the statement count doesn't grow with the exercises either
+
+    @Test
+    public void whenSaveWorkoutWithThirtyExercises_thenInsertsInBatches() {
+        ExerciseDetails details = new ExerciseDetails("Squat", "Barbell back squat", "Legs", "Barbell", "Intermediate");
+        entityManager.persist(details);
+        User user = new User();
+        entityManager.persist(user);
+        entityManager.flush();
+        statistics().clear();
+
+        Workout workout = new Workout("Workout", Instant.now().truncatedTo(ChronoUnit.SECONDS), user, new ArrayList<>());
+        for (int i = 0; i < 30; i++) {
+            workout.getExercises().add(new Exercise(60 + i, 8, 3, workout, details));
+        }
+        workoutRepository.save(workout);
+        entityManager.flush();
+
+        // The sequence calls, the workout and one batch of exercises
+        assertThat(statistics().getEntityInsertCount()).isEqualTo(31);
+        assertThat(statistics().getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    public void whenDeleteWorkout_thenStatementCountDoesNotDependOnExercises() throws WorkoutServiceException {
+        Long small = persistWorkouts(1, 1).getId();
+        long smallStatements = deleteWorkoutsOf(small);
+        Long large = persistWorkouts(1, 30).getId();
+        long largeStatements = deleteWorkoutsOf(large);
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(statistics().getEntityDeleteCount()).isZero();
+    }
+
+    private long deleteWorkoutsOf(Long userId) throws WorkoutServiceException {
+        List<Long> ids = entityManager.createQuery("SELECT w.id FROM Workout w WHERE w.user.id = :userId", Long.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        statistics().clear();
+        for (Long id : ids) {
+            workoutService.deleteWorkout(id);
+        }
+        entityManager.flush();
+        return statistics().getPrepareStatementCount();
+    }
+
+    private User persistWorkouts(int workoutCount, int exercisesPerWorkout) {
+        ExerciseDetails details = new ExerciseDetails("Squat", "Barbell back squat", "Legs", "Barbell", "Intermediate");
+        entityManager.persist(details);
+
+        User user = new User();
+        entityManager.persist(user);
+
+        Instant date = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < workoutCount; i++) {
+            Workout workout = new Workout("Workout " + i, date.minus(i, ChronoUnit.DAYS), user, new ArrayList<>());
+            for (int j = 0; j < exercisesPerWorkout; j++) {
+                workout.getExercises().add(new Exercise(60 + j, 8, 3, workout, details));
+            }
+            entityManager.persist(workout);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+        return user;
+    }
+
+    // Reads every field the JSON response would, which is where lazy loading used to happen
+    private static void touch(List<WorkoutSummaryDTO> workouts) {
+        for (WorkoutSummaryDTO workout : workouts) {
+            for (WorkoutSummaryDTO.Exercise exercise : workout.exercises()) {
+                exercise.exerciseDetails().name();
+            }
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManager.unwrap(Session.class)
+                .getSessionFactory()
+                .getStatistics();
+    }
+}
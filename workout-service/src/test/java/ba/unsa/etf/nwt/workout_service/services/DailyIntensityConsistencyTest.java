@@ -0,0 +1,201 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.ExerciseDetails;
+import ba.unsa.etf.nwt.workout_service.domain.User;
+import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.ExerciseDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutDTO;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a generated sequence of workout and exercise writes through the services, then compares the
+ * materialized daily intensity with scoring the day's workouts on the fly, the way the endpoints used to.
+ */
+@SpringBootTest
+@Transactional
+public class DailyIntensityConsistencyTest {
+    private static final int OPERATIONS = 400;
+    private static final int DAYS = 6;
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    private ExerciseService exerciseService;
+
+    @Autowired
+    private DailyIntensityService dailyIntensityService;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final Random random = new Random(42);
+    private final LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(DAYS + 1);
+
+    @Test
+    public void materializedDays_ShouldMatchOnTheFlyScoring_AfterGeneratedWrites() throws Exception {
+        List<User> users = List.of(persistUser(), persistUser());
+        ExerciseDetails details = new ExerciseDetails("Deadlift", "Conventional deadlift", "Back", "Barbell", "Advanced");
+        entityManager.persist(details);
+
+        List<Long> workoutIds = new ArrayList<>();
+        List<Long> exerciseIds = new ArrayList<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int operation = workoutIds.isEmpty() ? 0 : random.nextInt(10);
+            switch (operation) {
+                case 0, 1 -> workoutIds.add(workoutService.createWorkout(workoutDTO(pick(users))).getId());
+                case 2, 3, 4 -> exerciseIds.add(exerciseService.createExercise(exerciseDTO(pick(workoutIds), details)).getId());
+                case 5, 6 -> {
+                    if (!exerciseIds.isEmpty()) {
+                        Long exerciseId = pick(exerciseIds);
+                        Long workoutId = entityManager.find(Exercise.class, exerciseId).getWorkout().getId();
+                        exerciseService.updateExercise(exerciseId, exerciseDTO(workoutId, details));
+                    }
+                }
+                case 7 -> {
+                    if (!exerciseIds.isEmpty()) {
+                        exerciseService.deleteExercise(exerciseIds.remove(random.nextInt(exerciseIds.size())));
+                    }
+                }
+                // Moves the workout to another day, and sometimes to the other user
+                case 8 -> workoutService.updateWorkout(pick(workoutIds), workoutDTO(pick(users)));
+                default -> {
+                    Long workoutId = workoutIds.remove(random.nextInt(workoutIds.size()));
+                    exerciseIds.removeAll(entityManager.find(Workout.class, workoutId).getExercises().stream()
+                            .map(Exercise::getId)
+                            .toList());
+                    workoutService.deleteWorkout(workoutId);
+                }
+            }
+
+            // Every write is its own request
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        assertMatchesOnTheFly(users);
+        for (User user : users) {
+            assertThat(dailyIntensityService.check(user.getId())).isEmpty();
+        }
+
+        for (User user : users) {
+            dailyIntensityService.rebuild(user.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertMatchesOnTheFly(users);
+    }
+
+    private void assertMatchesOnTheFly(List<User> users) throws Exception {
+        List<IntensityLevelQueryDTO> queries = new ArrayList<>();
+        List<IntensityLevelDTO> expected = new ArrayList<>();
+
+        for (User user : users) {
+            for (int i = 0; i <= DAYS; i++) {
+                LocalDate day = firstDay.plusDays(i);
+                Instant noon = day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+                List<Workout> workouts = workoutsOf(user, day);
+
+                queries.add(new IntensityLevelQueryDTO(user.getId(), noon));
+                expected.add(new IntensityLevelDTO(user.getId(), noon, day, levelOnTheFly(workouts),
+                        workouts.stream().anyMatch(DailyIntensityConsistencyTest::intenseOnTheFly)));
+
+                assertThat(workoutService.getWorkoutIntensityLevel(user.getId(), noon))
+                        .as("level of user %d on %s", user.getId(), day)
+                        .isEqualTo(levelOnTheFly(workouts));
+                assertThat(workoutService.hadIntenseWorkout(user.getId(), noon))
+                        .as("intense workout of user %d on %s", user.getId(), day)
+                        .isEqualTo(workouts.stream().anyMatch(DailyIntensityConsistencyTest::intenseOnTheFly));
+            }
+        }
+        assertThat(workoutService.getWorkoutIntensityLevels(queries)).isEqualTo(expected);
+    }
+
+    private List<Workout> workoutsOf(User user, LocalDate day) {
+        Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        // BETWEEN is inclusive, stop short of the next midnight
+        return workoutRepository.findWorkoutsByUserIdAndDateBetween(
+                user.getId(), start, start.plus(1, ChronoUnit.DAYS).minus(1, ChronoUnit.MICROS));
+    }
+
+    // The scoring the endpoints did per call before the days were materialized
+
+    private static String levelOnTheFly(List<Workout> workouts) {
+        int score = 0;
+        for (Workout workout : workouts) {
+            for (Exercise exercise : workout.getExercises()) {
+                if (exercise.getWeight() > 100) score += 3;
+                if (exercise.getReps() > 10) score += 1;
+                if (exercise.getSets() > 3) score += 1;
+            }
+        }
+        return switch (score) {
+            case 0, 1, 2 -> "LIGHT";
+            case 3, 4, 5, 6, 7 -> "MODERATE";
+            default -> "INTENSE";
+        };
+    }
+
+    private static boolean intenseOnTheFly(Workout workout) {
+        if (workout.getExercises().size() > 3) return true;
+        for (Exercise exercise : workout.getExercises()) {
+            if (exercise.getWeight() > 100) return true;
+            if (exercise.getReps() > 10 && exercise.getSets() > 3) return true;
+        }
+        return false;
+    }
+
+    private User persistUser() {
+        User user = new User();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private WorkoutDTO workoutDTO(User user) {
+        WorkoutDTO workoutDTO = new WorkoutDTO();
+        workoutDTO.setName("Generated");
+        workoutDTO.setUserHandle(user.getUuid());
+        workoutDTO.setDate(firstDay.plusDays(random.nextInt(DAYS + 1))
+                .atStartOfDay(ZoneOffset.UTC)
+                .plusSeconds(random.nextInt(24 * 60 * 60))
+                .toInstant());
+        return workoutDTO;
+    }
+
+    private ExerciseDTO exerciseDTO(Long workoutId, ExerciseDetails details) {
+        ExerciseDTO exerciseDTO = new ExerciseDTO();
+        exerciseDTO.setWeight((double) random.nextInt(160));
+        exerciseDTO.setReps(1 + random.nextInt(15));
+        exerciseDTO.setSets(1 + random.nextInt(6));
+        exerciseDTO.setExerciseDetailsId(details.getId());
+        exerciseDTO.setWorkoutId(workoutId);
+        return exerciseDTO;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
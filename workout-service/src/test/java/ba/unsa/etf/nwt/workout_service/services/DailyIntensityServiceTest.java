@@ -0,0 +1,227 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.workout_service.domain.DailyIntensity;
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.User;
+import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutExerciseRow;
+import ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer;
+import ba.unsa.etf.nwt.workout_service.intensity.properties.IntensityProperties;
+import ba.unsa.etf.nwt.workout_service.repositories.DailyIntensityRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyIntensityServiceTest {
+
+    @Mock
+    private DailyIntensityRepository dailyIntensityRepository;
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private IntensityScorer intensityScorer = new IntensityScorer(IntensityProperties.defaults());
+
+    @InjectMocks
+    private DailyIntensityService dailyIntensityService;
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(7L);
+    }
+
+    @Test
+    void contributionOf_ShouldScoreExercisesAndFlagIntenseWorkout() {
+        Workout workout = workout(Instant.parse("2024-05-01T23:30:00Z"),
+                exercise(120, 5, 3),
+                exercise(40, 12, 4));
+
+        DailyIntensityService.Contribution contribution = dailyIntensityService.contributionOf(workout);
+
+        assertEquals(new DailyIntensityService.Contribution(7L, DAY, 3 + 2, true), contribution);
+    }
+
+    @Test
+    void contributionOf_WhenMoreThanThreeExercises_ShouldBeIntense() {
+        Workout workout = workout(Instant.parse("2024-05-01T08:00:00Z"),
+                exercise(20, 8, 3), exercise(20, 8, 3), exercise(20, 8, 3), exercise(20, 8, 3));
+
+        DailyIntensityService.Contribution contribution = dailyIntensityService.contributionOf(workout);
+
+        assertEquals(0, contribution.score());
+        assertTrue(contribution.intense());
+    }
+
+    @Test
+    void contributionOf_WhenWorkoutHasNoDate_ShouldBeNull() {
+        assertNull(dailyIntensityService.contributionOf(workout(null)));
+    }
+
+    @Test
+    void lockedContributionOf_ShouldScoreTheWorkoutAsReloadedUnderLock() {
+        Workout workout = workout(Instant.parse("2024-05-01T08:00:00Z"), exercise(120, 5, 3));
+        // Another transaction added an exercise before the lock was granted
+        doAnswer(invocation -> workout.getExercises().add(exercise(40, 12, 4)))
+                .when(entityManager).refresh(workout, LockModeType.PESSIMISTIC_WRITE);
+
+        DailyIntensityService.Contribution contribution = dailyIntensityService.lockedContributionOf(workout);
+
+        verify(entityManager).refresh(workout, LockModeType.PESSIMISTIC_WRITE);
+        assertEquals(new DailyIntensityService.Contribution(7L, DAY, 3 + 2, true), contribution);
+    }
+
+    @Test
+    void replace_WhenCreated_ShouldAddWorkoutToTheDay() {
+        dailyIntensityService.replace(null, new DailyIntensityService.Contribution(7L, DAY, 4, true));
+
+        verify(dailyIntensityRepository).add(7L, DAY, 4, 1, 1);
+    }
+
+    @Test
+    void replace_WhenChangedOnTheSameDay_ShouldAddTheDifferenceOnly() {
+        dailyIntensityService.replace(
+                new DailyIntensityService.Contribution(7L, DAY, 4, true),
+                new DailyIntensityService.Contribution(7L, DAY, 1, false)
+        );
+
+        verify(dailyIntensityRepository).add(7L, DAY, -3, -1, 0);
+        verifyNoMoreInteractions(dailyIntensityRepository);
+    }
+
+    @Test
+    void replace_WhenMovedToAnotherDay_ShouldMoveTheWorkout() {
+        dailyIntensityService.replace(
+                new DailyIntensityService.Contribution(7L, DAY, 4, true),
+                new DailyIntensityService.Contribution(7L, NEXT_DAY, 4, true)
+        );
+
+        verify(dailyIntensityRepository).add(7L, DAY, -4, -1, -1);
+        verify(dailyIntensityRepository).add(7L, NEXT_DAY, 4, 1, 1);
+    }
+
+    @Test
+    void replace_WhenUnchanged_ShouldNotWrite() {
+        DailyIntensityService.Contribution contribution = new DailyIntensityService.Contribution(7L, DAY, 4, true);
+
+        dailyIntensityService.replace(contribution, new DailyIntensityService.Contribution(7L, DAY, 4, true));
+
+        verifyNoInteractions(dailyIntensityRepository);
+    }
+
+    @Test
+    void addAll_ShouldAddEachDayOnce() {
+        dailyIntensityService.addAll(Arrays.asList(
+                new DailyIntensityService.Contribution(7L, DAY, 4, true),
+                new DailyIntensityService.Contribution(7L, NEXT_DAY, 1, false),
+                null,
+                new DailyIntensityService.Contribution(7L, DAY, 2, false)
+        ));
+
+        verify(dailyIntensityRepository).add(7L, DAY, 6, 1, 2);
+        verify(dailyIntensityRepository).add(7L, NEXT_DAY, 1, 0, 1);
+        verifyNoMoreInteractions(dailyIntensityRepository);
+    }
+
+    @Test
+    void getIntensityLevel_WhenNothingStored_ShouldBeLight() {
+        when(dailyIntensityRepository.findById(any())).thenReturn(Optional.empty());
+
+        assertEquals("LIGHT", dailyIntensityService.getIntensityLevel(7L, Instant.parse("2024-05-01T12:00:00Z")));
+        verify(dailyIntensityRepository).findById(new DailyIntensity.Key(7L, DAY));
+    }
+
+    @Test
+    void getIntensityLevels_ShouldAnswerEveryQueryInOrderFromOneLookup() {
+        Instant morning = Instant.parse("2024-05-01T08:00:00Z");
+        Instant evening = Instant.parse("2024-05-01T20:00:00Z");
+        Instant nextDay = Instant.parse("2024-05-02T08:00:00Z");
+        when(dailyIntensityRepository.findAllById(any())).thenReturn(List.of(
+                new DailyIntensity(new DailyIntensity.Key(7L, DAY), 9, 1, 2)
+        ));
+
+        List<IntensityLevelDTO> levels = dailyIntensityService.getIntensityLevels(List.of(
+                new IntensityLevelQueryDTO(7L, morning),
+                new IntensityLevelQueryDTO(7L, nextDay),
+                new IntensityLevelQueryDTO(7L, evening)
+        ));
+
+        assertEquals(List.of(
+                new IntensityLevelDTO(7L, morning, DAY, "INTENSE", true),
+                new IntensityLevelDTO(7L, nextDay, NEXT_DAY, "LIGHT", false),
+                new IntensityLevelDTO(7L, evening, DAY, "INTENSE", true)
+        ), levels);
+        verify(dailyIntensityRepository, times(1)).findAllById(
+                new LinkedHashSet<>(List.of(new DailyIntensity.Key(7L, DAY), new DailyIntensity.Key(7L, NEXT_DAY))));
+    }
+
+    @Test
+    void rebuild_ShouldScoreEachDayOfTheUser() {
+        when(workoutRepository.findSummaryRowsByUserId(7L)).thenReturn(List.of(
+                row(3L, "2024-05-02T18:00:00Z", 120, 5, 3),
+                row(2L, "2024-05-01T18:00:00Z", 40, 12, 4),
+                row(2L, "2024-05-01T18:00:00Z", 40, 8, 3),
+                emptyRow(1L, "2024-05-01T07:00:00Z")
+        ));
+
+        dailyIntensityService.rebuild(7L);
+
+        verify(dailyIntensityRepository).lockUser(7L);
+        verify(dailyIntensityRepository).deleteByUserId(7L);
+        verify(dailyIntensityRepository).add(7L, DAY, 2, 1, 2);
+        verify(dailyIntensityRepository).add(7L, NEXT_DAY, 3, 1, 1);
+    }
+
+    private Workout workout(Instant date, Exercise... exercises) {
+        Workout workout = new Workout("Workout", date, user, new ArrayList<>(List.of(exercises)));
+        workout.setId(1L);
+        return workout;
+    }
+
+    private static Exercise exercise(double weight, int reps, int sets) {
+        return new Exercise(weight, reps, sets, null, null);
+    }
+
+    private static WorkoutExerciseRow row(Long workoutId, String date, double weight, int reps, int sets) {
+        return new WorkoutExerciseRow(workoutId, UUID.randomUUID(), "Workout", Instant.parse(date),
+                workoutId * 10 + reps, UUID.randomUUID(), weight, reps, sets,
+                1L, UUID.randomUUID(), "Squat", null, "Legs", "Barbell", "Intermediate");
+    }
+
+    private static WorkoutExerciseRow emptyRow(Long workoutId, String date) {
+        return new WorkoutExerciseRow(workoutId, UUID.randomUUID(), "Workout", Instant.parse(date),
+                null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
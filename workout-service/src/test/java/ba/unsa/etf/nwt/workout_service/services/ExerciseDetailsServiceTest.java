@@ -31,6 +31,9 @@ public class ExerciseDetailsServiceTest {
     @Mock
     private ExerciseDetailsRepository exerciseDetailsRepository;
 
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
     @InjectMocks
     private ExerciseDetailsService exerciseDetailsService;
 
@@ -139,6 +142,7 @@ public class ExerciseDetailsServiceTest {
         assertNotNull(result);
         assertEquals("Bench Press", result.getName());
         verify(exerciseDetailsRepository, times(1)).save(testExerciseDetails);
+        verify(cacheInvalidationPublisher, times(1)).publishInvalidation(ExerciseDetailsService.CACHE_REGION);
     }
 
     @Test
@@ -153,6 +157,7 @@ public class ExerciseDetailsServiceTest {
         assertEquals(ErrorType.VALIDATION_FAILED, exception.getErrorType());
         assertTrue(exception.getMessage().contains("Failed to create exercise details"));
         verify(exerciseDetailsRepository, times(1)).save(testExerciseDetails);
+        verify(cacheInvalidationPublisher, never()).publishInvalidation(anyString());
     }
 
     @Test
@@ -257,6 +262,7 @@ public class ExerciseDetailsServiceTest {
 
         verify(exerciseDetailsRepository, times(1)).findById(1L);
         verify(exerciseDetailsRepository, times(1)).delete(testExerciseDetails);
+        verify(cacheInvalidationPublisher, times(1)).publishInvalidation(ExerciseDetailsService.CACHE_REGION);
     }
 
     @Test
@@ -18,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +43,9 @@ public class ExerciseServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private DailyIntensityService dailyIntensityService;
+
     @InjectMocks
     private ExerciseService exerciseService;
 
@@ -65,6 +69,7 @@ public class ExerciseServiceTest {
         exercise.setSets(3);
         exercise.setExerciseDetails(exerciseDetails);
         exercise.setWorkout(workout);
+        workout.setExercises(new ArrayList<>(List.of(exercise)));
 
         exerciseDTO = new ExerciseDTO();
         exerciseDTO.setReps(10);
@@ -3,9 +3,15 @@ package ba.unsa.etf.nwt.workout_service.services;
 import ba.unsa.etf.nwt.error_logging.model.ErrorType;
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
+import ba.unsa.etf.nwt.workout_service.repositories.DailyIntensityRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseTemplateRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.UserRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutTemplateRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -16,6 +22,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 class UserServiceTest {
@@ -23,6 +30,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DailyIntensityRepository dailyIntensityRepository;
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @Mock
+    private WorkoutTemplateRepository workoutTemplateRepository;
+
+    @Mock
+    private ExerciseTemplateRepository exerciseTemplateRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -113,19 +135,26 @@ class UserServiceTest {
     }
 
     @Test
-    void deleteUser_WithValidId_ShouldDeleteUser() throws UserServiceException {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).delete(user);
+    void deleteUser_WithValidId_ShouldDeleteUserAndEverythingTheyOwn() throws UserServiceException {
+        when(userRepository.existsById(1L)).thenReturn(true);
 
         userService.deleteUser(1L);
 
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).delete(user);
+        // Children before their parents, each table in one statement
+        InOrder inOrder = inOrder(exerciseRepository, workoutRepository, exerciseTemplateRepository,
+                workoutTemplateRepository, dailyIntensityRepository, userRepository);
+        inOrder.verify(exerciseRepository).deleteByUserId(1L);
+        inOrder.verify(workoutRepository).deleteByUserId(1L);
+        inOrder.verify(exerciseTemplateRepository).deleteByUserId(1L);
+        inOrder.verify(workoutTemplateRepository).deleteByUserId(1L);
+        inOrder.verify(dailyIntensityRepository).deleteByUserId(1L);
+        inOrder.verify(userRepository).deleteUser(1L);
+        verify(userRepository, never()).delete(any(User.class));
     }
 
     @Test
     void deleteUser_WithInvalidId_ShouldThrowException() {
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(99L)).thenReturn(false);
 
         UserServiceException exception = assertThrows(
                 UserServiceException.class,
@@ -134,7 +163,9 @@ class UserServiceTest {
 
         assertEquals("Could not find user with id: 99", exception.getMessage());
         assertEquals(ErrorType.ENTITY_NOT_FOUND, exception.getErrorType());
-        verify(userRepository, times(1)).findById(99L);
-        verify(userRepository, never()).delete(any(User.class));
+        verify(userRepository, times(1)).existsById(99L);
+        verify(userRepository, never()).deleteUser(anyLong());
+        verifyNoInteractions(exerciseRepository, workoutRepository, exerciseTemplateRepository,
+                workoutTemplateRepository, dailyIntensityRepository);
     }
 }
\ No newline at end of file
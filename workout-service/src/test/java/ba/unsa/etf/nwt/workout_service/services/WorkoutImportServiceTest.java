@@ -0,0 +1,267 @@
+package ba.unsa.etf.nwt.workout_service.services;
+
+import ba.unsa.etf.nwt.error_logging.model.ErrorType;
+import ba.unsa.etf.nwt.workout_service.domain.Exercise;
+import ba.unsa.etf.nwt.workout_service.domain.ExerciseDetails;
+import ba.unsa.etf.nwt.workout_service.domain.User;
+import ba.unsa.etf.nwt.workout_service.domain.Workout;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutImportErrorDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutImportResultDTO;
+import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseDetailsRepository;
+import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkoutImportServiceTest {
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private ExerciseDetailsRepository exerciseDetailsRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DailyIntensityService dailyIntensityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<Iterable<Workout>> savedWorkouts;
+
+    private WorkoutImportService workoutImportService;
+
+    private static final UUID USER_HANDLE = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID OTHER_USER_HANDLE = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    private User user;
+    private ExerciseDetails squat;
+
+    @BeforeEach
+    void setUp() throws UserServiceException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        workoutImportService = new WorkoutImportService(workoutRepository, exerciseDetailsRepository, userService,
+                dailyIntensityService, new TransactionTemplate(transactionManager), entityManager, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        user = new User();
+        user.setId(7L);
+        squat = new ExerciseDetails("Squat", "Barbell back squat", "Legs", "Barbell", "Intermediate");
+        squat.setId(1L);
+        lenient().when(userService.getUserByUuid(USER_HANDLE)).thenReturn(user);
+        lenient().when(exerciseDetailsRepository.findAll()).thenReturn(List.of(squat));
+    }
+
+    @Test
+    void importWorkouts_WithNdjson_ShouldImportValidLinesAndReportTheRest() throws Exception {
+        String input = workout("Legs", USER_HANDLE, 1L) + "\n"
+                + "{\"workout\": \n"
+                + "\n"
+                + "{\"workout\": {\"name\": \"No date\", \"userHandle\": \"" + USER_HANDLE + "\"}, \"exercises\": []}\n";
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input));
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(2, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("Malformed JSON"));
+        assertEquals(new WorkoutImportErrorDTO(4, "workout.date: Date is required"), result.errors().get(1));
+
+        verify(workoutRepository).saveAll(savedWorkouts.capture());
+        Workout workout = savedWorkouts.getValue().iterator().next();
+        assertEquals("Legs", workout.getName());
+        assertSame(user, workout.getUser());
+        assertEquals(2, workout.getExercises().size());
+        for (Exercise exercise : workout.getExercises()) {
+            assertSame(workout, exercise.getWorkout());
+            assertSame(squat, exercise.getExerciseDetails());
+        }
+        verify(dailyIntensityService).addAll(any());
+        verify(entityManager).clear();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void importWorkouts_WithJsonArray_ShouldReportElementsByTheLineTheyStartOn() throws Exception {
+        String input = "\n[\n"
+                + workout("Own", USER_HANDLE, 1L) + ",\n"
+                + workout("Other user", OTHER_USER_HANDLE, 1L) + ",\n"
+                + workout("Unknown details", USER_HANDLE, 99L) + ",\n"
+                + "{\"workout\": {\"name\": \"No handle\", \"date\": \"2024-05-01T10:00:00Z\"},"
+                + " \"exercises\": [{\"weight\": 40, \"reps\": 8, \"sets\": 3, \"exerciseDetailsId\": 1}]}\n"
+                + "]\n";
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(
+                new WorkoutImportErrorDTO(4, "Workout belongs to another user: " + OTHER_USER_HANDLE),
+                new WorkoutImportErrorDTO(5, "Could not find exercise details with id: 99")
+        ), result.errors());
+
+        verify(workoutRepository).saveAll(savedWorkouts.capture());
+        List<String> names = new ArrayList<>();
+        savedWorkouts.getValue().forEach(workout -> names.add(workout.getName()));
+        assertEquals(List.of("Own", "No handle"), names);
+    }
+
+    @Test
+    void importWorkouts_WhenArrayIsMalformed_ShouldKeepWhatCameBefore() throws Exception {
+        String input = "[\n"
+                + workout("Before", USER_HANDLE, 1L) + ",\n"
+                + "{\"workout\": }\n"
+                + "]";
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(3, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).message().startsWith("Malformed JSON, the rest of the input was skipped"));
+        verify(workoutRepository).saveAll(any());
+    }
+
+    @Test
+    void importWorkouts_ShouldWriteInChunks() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i <= WorkoutImportService.CHUNK_SIZE; i++) {
+            input.append(workout("Workout " + i, USER_HANDLE, 1L)).append('\n');
+        }
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input.toString()));
+
+        assertEquals(WorkoutImportService.CHUNK_SIZE + 1, result.imported());
+        assertTrue(result.errors().isEmpty());
+        verify(workoutRepository, times(2)).saveAll(savedWorkouts.capture());
+        assertEquals(WorkoutImportService.CHUNK_SIZE, ((List<Workout>) savedWorkouts.getAllValues().get(0)).size());
+        assertEquals(1, ((List<Workout>) savedWorkouts.getAllValues().get(1)).size());
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+        // The user and the catalog are read once for the whole import
+        verify(userService, times(1)).getUserByUuid(USER_HANDLE);
+        verify(exerciseDetailsRepository, times(1)).findAll();
+    }
+
+    @Test
+    void importWorkouts_WhenChunkFailsToSave_ShouldSaveTheOthersOneByOne() throws Exception {
+        doAnswer(invocation -> {
+            Iterable<Workout> workouts = invocation.getArgument(0);
+            for (Workout workout : workouts) {
+                if (workout.getName().equals("Broken")) {
+                    throw new DataIntegrityViolationException("value too long");
+                }
+            }
+            return List.of();
+        }).when(workoutRepository).saveAll(any());
+        String input = workout("First", USER_HANDLE, 1L) + "\n"
+                + workout("Broken", USER_HANDLE, 1L) + "\n"
+                + workout("Third", USER_HANDLE, 1L) + "\n";
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(new WorkoutImportErrorDTO(2, "Failed to save workout: value too long")), result.errors());
+        // The chunk, then each workout on its own
+        verify(workoutRepository, times(4)).saveAll(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void importWorkouts_WhenExerciseIsNull_ShouldReportThatRecordOnly() throws Exception {
+        String input = "{\"workout\": {\"name\": \"Null exercise\", \"date\": \"2024-05-01T10:00:00Z\"},"
+                + " \"exercises\": [{\"weight\": 40, \"reps\": 8, \"sets\": 3, \"exerciseDetailsId\": 1}, null]}\n"
+                + workout("Legs", USER_HANDLE, 1L) + "\n";
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input));
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new WorkoutImportErrorDTO(1, "exercises[1]: Exercise is empty")), result.errors());
+    }
+
+    @Test
+    void importWorkouts_WhenRecordFailsUnexpectedly_ShouldReportThatRecordOnly() throws Exception {
+        Validator validator = spy(Validation.buildDefaultValidatorFactory().getValidator());
+        doThrow(new IllegalStateException("Validator failed")).doCallRealMethod().when(validator).validate(any());
+        workoutImportService = new WorkoutImportService(workoutRepository, exerciseDetailsRepository, userService,
+                dailyIntensityService, new TransactionTemplate(transactionManager), entityManager, new ObjectMapper().findAndRegisterModules(),
+                validator);
+        String input = workout("Broken", USER_HANDLE, 1L) + "\n" + workout("Legs", USER_HANDLE, 1L) + "\n";
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input));
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new WorkoutImportErrorDTO(1, "Invalid workout: Validator failed")), result.errors());
+    }
+
+    @Test
+    void importWorkouts_ShouldReportOnlyTheFirstErrors() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < WorkoutImportService.MAX_REPORTED_ERRORS + 5; i++) {
+            input.append("not json\n");
+        }
+
+        WorkoutImportResultDTO result = workoutImportService.importWorkouts(USER_HANDLE, stream(input.toString()));
+
+        assertEquals(0, result.imported());
+        assertEquals(WorkoutImportService.MAX_REPORTED_ERRORS + 5, result.failed());
+        assertEquals(WorkoutImportService.MAX_REPORTED_ERRORS, result.errors().size());
+        verifyNoInteractions(workoutRepository, transactionManager);
+    }
+
+    @Test
+    void importWorkouts_WhenUserDoesNotExist_ShouldThrowException() throws Exception {
+        when(userService.getUserByUuid(OTHER_USER_HANDLE))
+                .thenThrow(new UserServiceException("Could not find user with uuid: " + OTHER_USER_HANDLE, ErrorType.ENTITY_NOT_FOUND));
+
+        UserServiceException exception = assertThrows(UserServiceException.class, () ->
+                workoutImportService.importWorkouts(OTHER_USER_HANDLE, stream(workout("Legs", OTHER_USER_HANDLE, 1L))));
+
+        assertEquals(ErrorType.ENTITY_NOT_FOUND, exception.getErrorType());
+        verifyNoInteractions(workoutRepository, exerciseDetailsRepository, transactionManager);
+    }
+
+    // A /with-exercises body with two exercises on one line
+    private static String workout(String name, UUID userHandle, Long exerciseDetailsId) {
+        return "{\"workout\": {\"name\": \"" + name + "\", \"date\": \"2024-05-01T10:00:00Z\", \"userHandle\": \"" + userHandle + "\"},"
+                + " \"exercises\": ["
+                + "{\"weight\": 120, \"reps\": 5, \"sets\": 3, \"exerciseDetailsId\": " + exerciseDetailsId + "},"
+                + " {\"weight\": 100, \"reps\": 8, \"sets\": 3, \"exerciseDetailsId\": " + exerciseDetailsId + "}]}";
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,10 +6,16 @@ import ba.unsa.etf.nwt.workout_service.domain.Exercise;
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.domain.Workout;
 import ba.unsa.etf.nwt.workout_service.dto.ExerciseDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutExerciseRow;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutSummaryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutWithExercisesDTO;
 import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
 import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutServiceException;
+import ba.unsa.etf.nwt.workout_service.intensity.IntensityScorer;
+import ba.unsa.etf.nwt.workout_service.intensity.properties.IntensityProperties;
 import ba.unsa.etf.nwt.workout_service.repositories.ExerciseRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.WorkoutRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +23,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +56,12 @@ public class WorkoutServiceTest {
     @Mock
     private NutritionClient nutritionClient;
 
+    @Mock
+    private DailyIntensityService dailyIntensityService;
+
+    @Spy
+    private IntensityScorer intensityScorer = new IntensityScorer(IntensityProperties.defaults());
+
     @InjectMocks
     private WorkoutService workoutService;
 
@@ -72,13 +88,55 @@ public class WorkoutServiceTest {
 
     @Test
     void getAllWorkouts_ShouldReturnAllWorkouts() {
-        List<Workout> workouts = Arrays.asList(testWorkout);
-        when(workoutRepository.findAll()).thenReturn(workouts);
+        when(workoutRepository.findSummaryRows()).thenReturn(List.of(
+                summaryRow(1L, 10L),
+                summaryRow(1L, 11L),
+                summaryRow(2L, null)
+        ));
+
+        List<WorkoutSummaryDTO> result = workoutService.getAllWorkouts(Pageable.unpaged());
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).id());
+        assertEquals(List.of(10L, 11L), result.get(0).exercises().stream().map(WorkoutSummaryDTO.Exercise::id).toList());
+        assertEquals("Squat", result.get(0).exercises().get(0).exerciseDetails().name());
+        assertEquals(2L, result.get(1).id());
+        assertTrue(result.get(1).exercises().isEmpty());
+        verify(workoutRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllWorkouts_WhenPaged_ShouldLoadRowsOfThePageOnly() {
+        Pageable pageable = PageRequest.of(1, 2);
+        when(workoutRepository.findPageOfIds(pageable)).thenReturn(List.of(3L, 4L));
+        when(workoutRepository.findSummaryRowsByWorkoutIdIn(List.of(3L, 4L)))
+                .thenReturn(List.of(summaryRow(3L, 30L), summaryRow(4L, 40L)));
 
-        List<Workout> result = workoutService.getAllWorkouts();
+        List<WorkoutSummaryDTO> result = workoutService.getAllWorkouts(pageable);
 
-        assertEquals(workouts, result);
-        verify(workoutRepository).findAll();
+        assertEquals(List.of(3L, 4L), result.stream().map(WorkoutSummaryDTO::id).toList());
+        verify(workoutRepository, never()).findSummaryRows();
+    }
+
+    @Test
+    void getAllWorkouts_WhenPageIsEmpty_ShouldNotLoadRows() {
+        Pageable pageable = PageRequest.of(5, 20);
+        when(workoutRepository.findPageOfIds(pageable)).thenReturn(List.of());
+
+        assertTrue(workoutService.getAllWorkouts(pageable).isEmpty());
+        verify(workoutRepository, never()).findSummaryRowsByWorkoutIdIn(any());
+    }
+
+    @Test
+    void getWorkoutsByUserUuid_ShouldReturnWorkoutsOfUser() throws WorkoutServiceException, UserServiceException {
+        when(userService.getUserByUuid(VALID_USER_UUID)).thenReturn(testUser);
+        when(workoutRepository.findSummaryRowsByUserId(1L)).thenReturn(List.of(summaryRow(1L, 10L)));
+
+        List<WorkoutSummaryDTO> result = workoutService.getWorkoutsByUserUuid(VALID_USER_UUID.toString(), Pageable.unpaged());
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).exercises().size());
+        verify(workoutRepository, never()).findWorkoutsByUserId(anyLong());
     }
 
     @Test
@@ -172,7 +230,9 @@ public class WorkoutServiceTest {
         workoutService.deleteWorkout(1L);
 
         verify(workoutRepository).findById(1L);
-        verify(workoutRepository).delete(testWorkout);
+        verify(exerciseRepository).deleteByWorkoutId(1L);
+        verify(workoutRepository).deleteWorkout(1L);
+        verify(workoutRepository, never()).delete(any(Workout.class));
     }
 
     @Test
@@ -213,7 +273,6 @@ public class WorkoutServiceTest {
         when(workoutRepository.save(workout)).thenReturn(workout);
         when(modelMapper.map(exerciseDTO1, Exercise.class)).thenReturn(exercise1);
         when(modelMapper.map(exerciseDTO2, Exercise.class)).thenReturn(exercise2);
-        when(exerciseRepository.save(any(Exercise.class))).thenReturn(new Exercise());
         when(modelMapper.map(workout, WorkoutDTO.class)).thenReturn(workoutDTO);
 
         WorkoutDTO result = workoutService.createWorkoutWithExercises(requestDTO);
@@ -223,8 +282,13 @@ public class WorkoutServiceTest {
         verify(modelMapper).map(workoutDTO, Workout.class);
         verify(workoutRepository).save(workout);
         verify(modelMapper, times(2)).map(any(ExerciseDTO.class), eq(Exercise.class));
-        verify(exerciseRepository, times(2)).save(any(Exercise.class));
         verify(modelMapper).map(workout, WorkoutDTO.class);
+
+        // Saved through the workout's cascade, not one by one
+        assertEquals(List.of(exercise1, exercise2), workout.getExercises());
+        assertSame(workout, exercise1.getWorkout());
+        assertSame(workout, exercise2.getWorkout());
+        verifyNoInteractions(exerciseRepository);
     }
 
     @Test
@@ -330,7 +394,6 @@ public class WorkoutServiceTest {
         when(modelMapper.map(workoutDTO, Workout.class)).thenReturn(workout);
         when(workoutRepository.save(workout)).thenReturn(workout);
         when(modelMapper.map(any(ExerciseDTO.class), eq(Exercise.class))).thenReturn(new Exercise());
-        when(exerciseRepository.save(any(Exercise.class))).thenReturn(new Exercise());
         when(modelMapper.map(workout, WorkoutDTO.class)).thenReturn(workoutDTO);
 
         WorkoutDTO result = workoutService.createWorkoutWithExercises(requestDTO);
@@ -339,7 +402,7 @@ public class WorkoutServiceTest {
         verify(nutritionClient).hasRecentMeal(VALID_USER_UUID, workoutDate);
         verify(userService).getUserByUuid(VALID_USER_UUID);
         verify(workoutRepository).save(workout);
-        verify(exerciseRepository, times(4)).save(any(Exercise.class));
+        assertEquals(4, workout.getExercises().size());
     }
 
     @Test
@@ -366,7 +429,6 @@ public class WorkoutServiceTest {
         when(modelMapper.map(workoutDTO, Workout.class)).thenReturn(workout);
         when(workoutRepository.save(workout)).thenReturn(workout);
         when(modelMapper.map(any(ExerciseDTO.class), eq(Exercise.class))).thenReturn(new Exercise());
-        when(exerciseRepository.save(any(Exercise.class))).thenReturn(new Exercise());
         when(modelMapper.map(workout, WorkoutDTO.class)).thenReturn(workoutDTO);
 
         WorkoutDTO result = workoutService.createWorkoutWithExercises(requestDTO);
@@ -374,11 +436,60 @@ public class WorkoutServiceTest {
         assertNotNull(result);
         verify(userService).getUserByUuid(VALID_USER_UUID);
         verify(workoutRepository).save(workout);
-        verify(exerciseRepository, times(2)).save(any(Exercise.class));
+        assertEquals(2, workout.getExercises().size());
 
         verifyNoInteractions(nutritionClient);
     }
 
+    @Test
+    void deleteWorkout_ShouldRemoveItsContributionFromTheDay() throws WorkoutServiceException {
+        DailyIntensityService.Contribution contribution = new DailyIntensityService.Contribution(1L, LocalDate.of(2024, 5, 1), 4, true);
+        when(workoutRepository.findById(1L)).thenReturn(Optional.of(testWorkout));
+        when(dailyIntensityService.lockedContributionOf(testWorkout)).thenReturn(contribution);
+
+        workoutService.deleteWorkout(1L);
+
+        verify(workoutRepository).deleteWorkout(1L);
+        verify(dailyIntensityService).replace(contribution, null);
+    }
+
+    @Test
+    void getWorkoutIntensityLevel_ShouldReadTheMaterializedDay() {
+        Instant date = Instant.parse("2024-05-01T10:00:00Z");
+        when(dailyIntensityService.getIntensityLevel(1L, date)).thenReturn("MODERATE");
+
+        assertEquals("MODERATE", workoutService.getWorkoutIntensityLevel(1L, date));
+        verifyNoInteractions(workoutRepository);
+    }
+
+    @Test
+    void getWorkoutIntensityLevels_ShouldLookUpAllDaysAtOnce() throws WorkoutServiceException {
+        Instant date = Instant.parse("2024-05-01T10:00:00Z");
+        List<IntensityLevelQueryDTO> queries = List.of(
+                new IntensityLevelQueryDTO(1L, date),
+                new IntensityLevelQueryDTO(2L, date)
+        );
+        List<IntensityLevelDTO> levels = List.of(
+                new IntensityLevelDTO(1L, date, LocalDate.of(2024, 5, 1), "INTENSE", true),
+                new IntensityLevelDTO(2L, date, LocalDate.of(2024, 5, 1), "LIGHT", false)
+        );
+        when(dailyIntensityService.getIntensityLevels(queries)).thenReturn(levels);
+
+        assertEquals(levels, workoutService.getWorkoutIntensityLevels(queries));
+    }
+
+    @Test
+    void getWorkoutIntensityLevels_WhenDateIsMissing_ShouldThrowException() {
+        List<IntensityLevelQueryDTO> queries = List.of(new IntensityLevelQueryDTO(1L, null));
+
+        WorkoutServiceException exception = assertThrows(WorkoutServiceException.class, () ->
+                workoutService.getWorkoutIntensityLevels(queries)
+        );
+
+        assertEquals(ErrorType.VALIDATION_FAILED, exception.getErrorType());
+        verifyNoInteractions(dailyIntensityService);
+    }
+
     private ExerciseDTO createExerciseDTO(Double weight, Integer reps, Integer sets) {
         ExerciseDTO exerciseDTO = new ExerciseDTO();
         exerciseDTO.setWeight(weight);
@@ -386,4 +497,14 @@ public class WorkoutServiceTest {
         exerciseDTO.setSets(sets);
         return exerciseDTO;
     }
-}
\ No newline at end of file
+
+    private WorkoutExerciseRow summaryRow(Long workoutId, Long exerciseId) {
+        if (exerciseId == null) {
+            return new WorkoutExerciseRow(workoutId, UUID.randomUUID(), "Workout " + workoutId, Instant.now(),
+                    null, null, null, null, null, null, null, null, null, null, null, null);
+        }
+        return new WorkoutExerciseRow(workoutId, UUID.randomUUID(), "Workout " + workoutId, Instant.now(),
+                exerciseId, UUID.randomUUID(), 80.0, 8, 3,
+                1L, UUID.randomUUID(), "Squat", "Barbell back squat", "Legs", "Barbell", "Intermediate");
+    }
+}
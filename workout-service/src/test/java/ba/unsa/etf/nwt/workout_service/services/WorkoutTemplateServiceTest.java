@@ -1,11 +1,16 @@
 package ba.unsa.etf.nwt.workout_service.services;
 
 import ba.unsa.etf.nwt.error_logging.model.ErrorType;
+import ba.unsa.etf.nwt.workout_service.domain.ExerciseTemplate;
 import ba.unsa.etf.nwt.workout_service.domain.User;
 import ba.unsa.etf.nwt.workout_service.domain.WorkoutTemplate;
+import ba.unsa.etf.nwt.workout_service.dto.ExerciseTemplateDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutTemplateDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutTemplateWithExerciseTemplatesDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutTemplateWithUserUuidDTO;
 import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
 import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutTemplateServiceException;
+import ba.unsa.etf.nwt.workout_service.repositories.ExerciseTemplateRepository;
 import ba.unsa.etf.nwt.workout_service.repositories.WorkoutTemplateRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,10 +23,12 @@ import org.modelmapper.ModelMapper;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +43,9 @@ public class WorkoutTemplateServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ExerciseTemplateRepository exerciseTemplateRepository;
+
     @InjectMocks
     private WorkoutTemplateService workoutTemplateService;
 
@@ -199,24 +209,59 @@ public class WorkoutTemplateServiceTest {
 
     @Test
     void deleteWorkoutTemplate_WhenTemplateExists_ShouldDeleteTemplate() throws WorkoutTemplateServiceException {
-        when(workoutTemplateRepository.findById(anyLong())).thenReturn(Optional.of(testWorkoutTemplate));
-        doNothing().when(workoutTemplateRepository).delete(any(WorkoutTemplate.class));
+        when(workoutTemplateRepository.existsById(anyLong())).thenReturn(true);
 
         workoutTemplateService.deleteWorkoutTemplate(1L);
 
-        verify(workoutTemplateRepository).findById(1L);
-        verify(workoutTemplateRepository).delete(testWorkoutTemplate);
+        verify(workoutTemplateRepository).existsById(1L);
+        verify(exerciseTemplateRepository).deleteByWorkoutTemplateId(1L);
+        verify(workoutTemplateRepository).deleteWorkoutTemplate(1L);
+        verify(workoutTemplateRepository, never()).delete(any(WorkoutTemplate.class));
     }
 
     @Test
     void deleteWorkoutTemplate_WhenTemplateDoesNotExist_ShouldThrowException() {
-        when(workoutTemplateRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(workoutTemplateRepository.existsById(anyLong())).thenReturn(false);
 
         WorkoutTemplateServiceException exception = assertThrows(WorkoutTemplateServiceException.class, () -> {
             workoutTemplateService.deleteWorkoutTemplate(1L);
         });
         assertEquals(ErrorType.ENTITY_NOT_FOUND, exception.getErrorType());
-        verify(workoutTemplateRepository).findById(1L);
+        verify(workoutTemplateRepository).existsById(1L);
         verifyNoMoreInteractions(workoutTemplateRepository);
+        verifyNoInteractions(exerciseTemplateRepository);
+    }
+
+    @Test
+    void createWorkoutTemplateWithExerciseTemplates_ShouldSaveExerciseTemplatesThroughTheTemplate() throws Exception {
+        UUID userHandle = UUID.randomUUID();
+        WorkoutTemplateWithUserUuidDTO templateDTO = new WorkoutTemplateWithUserUuidDTO();
+        templateDTO.setUserHandle(userHandle);
+        ExerciseTemplateDTO exerciseTemplateDTO1 = new ExerciseTemplateDTO();
+        ExerciseTemplateDTO exerciseTemplateDTO2 = new ExerciseTemplateDTO();
+
+        WorkoutTemplateWithExerciseTemplatesDTO request = new WorkoutTemplateWithExerciseTemplatesDTO();
+        request.setWorkoutTemplate(templateDTO);
+        request.setExerciseTemplates(Arrays.asList(exerciseTemplateDTO1, exerciseTemplateDTO2));
+
+        WorkoutTemplate template = new WorkoutTemplate();
+        ExerciseTemplate exerciseTemplate1 = new ExerciseTemplate();
+        ExerciseTemplate exerciseTemplate2 = new ExerciseTemplate();
+
+        when(userService.getUserByUuid(userHandle)).thenReturn(testUser);
+        when(modelMapper.map(templateDTO, WorkoutTemplate.class)).thenReturn(template);
+        when(modelMapper.map(exerciseTemplateDTO1, ExerciseTemplate.class)).thenReturn(exerciseTemplate1);
+        when(modelMapper.map(exerciseTemplateDTO2, ExerciseTemplate.class)).thenReturn(exerciseTemplate2);
+        when(workoutTemplateRepository.save(template)).thenReturn(template);
+        when(modelMapper.map(template, WorkoutTemplateWithUserUuidDTO.class)).thenReturn(templateDTO);
+
+        WorkoutTemplateWithUserUuidDTO result = workoutTemplateService.createWorkoutTemplateWithExerciseTemplates(request);
+
+        assertSame(templateDTO, result);
+        assertEquals(List.of(exerciseTemplate1, exerciseTemplate2), template.getExerciseTemplates());
+        assertSame(template, exerciseTemplate1.getWorkoutTemplate());
+        verify(workoutTemplateRepository).save(template);
+        verify(modelMapper, times(2)).map(any(ExerciseTemplateDTO.class), eq(ExerciseTemplate.class));
+        verifyNoInteractions(exerciseTemplateRepository);
     }
 }
\ No newline at end of file
@@ -3,21 +3,33 @@ package ba.unsa.etf.nwt.workout_service.ws;
 import ba.unsa.etf.nwt.error_logging.model.ErrorType;
 import ba.unsa.etf.nwt.workout_service.domain.Workout;
 import ba.unsa.etf.nwt.workout_service.dto.ExerciseDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelDTO;
+import ba.unsa.etf.nwt.workout_service.dto.IntensityLevelQueryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutImportErrorDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutImportResultDTO;
+import ba.unsa.etf.nwt.workout_service.dto.WorkoutSummaryDTO;
 import ba.unsa.etf.nwt.workout_service.dto.WorkoutWithExercisesDTO;
+import ba.unsa.etf.nwt.workout_service.exceptions.UserServiceException;
 import ba.unsa.etf.nwt.workout_service.exceptions.WorkoutServiceException;
+import ba.unsa.etf.nwt.workout_service.services.WorkoutImportService;
 import ba.unsa.etf.nwt.workout_service.services.WorkoutService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -37,6 +49,9 @@ public class WorkoutControllerTest {
     @Mock
     private WorkoutService workoutService;
 
+    @Mock
+    private WorkoutImportService workoutImportService;
+
     @InjectMocks
     private WorkoutController workoutController;
 
@@ -49,35 +64,51 @@ public class WorkoutControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        // Dates as ISO strings, as the application's ObjectMapper writes them
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mockMvc = MockMvcBuilders
                 .standaloneSetup(workoutController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .build();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
     }
 
     @Test
     public void testGetAllWorkouts() throws Exception {
-        Workout workout1 = new Workout();
-        workout1.setId(1L);
-        workout1.setDate(Instant.now());
+        List<WorkoutSummaryDTO> workouts = Arrays.asList(
+                new WorkoutSummaryDTO(1L, UUID.randomUUID(), "Push", Instant.now(), List.of(
+                        new WorkoutSummaryDTO.Exercise(10L, UUID.randomUUID(), 60.0, 8, 3,
+                                new WorkoutSummaryDTO.Details(5L, UUID.randomUUID(), "Bench press", null, "Chest", "Barbell", "Intermediate"))
+                )),
+                new WorkoutSummaryDTO(2L, UUID.randomUUID(), "Pull", Instant.now(), List.of())
+        );
 
-        Workout workout2 = new Workout();
-        workout2.setId(2L);
-        workout2.setDate(Instant.now()); // Fixed: was setting workout1.setDate
-
-        List<Workout> workouts = Arrays.asList(workout1, workout2);
-
-        when(workoutService.getAllWorkouts()).thenReturn(workouts);
+        when(workoutService.getAllWorkouts(Pageable.unpaged())).thenReturn(workouts);
 
         mockMvc.perform(get("/api/v1/workout")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].exercises[0].exerciseDetails.name", is("Bench press")))
                 .andExpect(jsonPath("$[1].id", is(2)));
 
-        verify(workoutService, times(1)).getAllWorkouts();
+        verify(workoutService, times(1)).getAllWorkouts(Pageable.unpaged());
+    }
+
+    @Test
+    public void testGetAllWorkouts_Paged() throws Exception {
+        when(workoutService.getAllWorkouts(any(Pageable.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/workout")
+                        .param("page", "2")
+                        .param("size", "1000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(workoutService, times(1)).getAllWorkouts(PageRequest.of(2, 200));
     }
 
     @Test
@@ -289,6 +320,78 @@ public class WorkoutControllerTest {
         verify(workoutService, times(1)).createWorkoutWithExercises(any(WorkoutWithExercisesDTO.class));
     }
 
+    @Test
+    public void testGetWorkoutIntensityLevels_Success() throws Exception {
+        Instant date = Instant.parse("2024-05-01T10:00:00Z");
+        List<IntensityLevelQueryDTO> queries = List.of(
+                new IntensityLevelQueryDTO(1L, date),
+                new IntensityLevelQueryDTO(2L, date)
+        );
+        when(workoutService.getWorkoutIntensityLevels(queries)).thenReturn(List.of(
+                new IntensityLevelDTO(1L, date, LocalDate.of(2024, 5, 1), "INTENSE", true),
+                new IntensityLevelDTO(2L, date, LocalDate.of(2024, 5, 1), "LIGHT", false)
+        ));
+
+        mockMvc.perform(post("/api/v1/workout/intensity-levels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(queries)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].userId", is(1)))
+                .andExpect(jsonPath("$[0].day", is("2024-05-01")))
+                .andExpect(jsonPath("$[0].level", is("INTENSE")))
+                .andExpect(jsonPath("$[0].hadIntenseWorkout", is(true)))
+                .andExpect(jsonPath("$[1].level", is("LIGHT")));
+
+        verify(workoutService, times(1)).getWorkoutIntensityLevels(queries);
+    }
+
+    @Test
+    public void testGetWorkoutIntensityLevels_Failure() throws Exception {
+        when(workoutService.getWorkoutIntensityLevels(any()))
+                .thenThrow(new WorkoutServiceException("Every day needs a userId and a date", ErrorType.VALIDATION_FAILED));
+
+        mockMvc.perform(post("/api/v1/workout/intensity-levels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\": 1}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Every day needs a userId and a date")))
+                .andExpect(jsonPath("$.type", is(ErrorType.VALIDATION_FAILED.toString())));
+    }
+
+    @Test
+    public void testImportWorkouts_Success() throws Exception {
+        when(workoutImportService.importWorkouts(eq(VALID_USER_UUID), any())).thenReturn(new WorkoutImportResultDTO(
+                1, 1, List.of(new WorkoutImportErrorDTO(2, "workout.date: Date is required"))
+        ));
+
+        mockMvc.perform(post("/api/v1/workout/import")
+                        .param("userHandle", VALID_USER_UUID.toString())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"workout\": {}, \"exercises\": []}\n{\"workout\": {}, \"exercises\": []}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", is("workout.date: Date is required")));
+
+        verify(workoutImportService, times(1)).importWorkouts(eq(VALID_USER_UUID), any());
+    }
+
+    @Test
+    public void testImportWorkouts_UnknownUser() throws Exception {
+        when(workoutImportService.importWorkouts(eq(ERROR_USER_UUID), any()))
+                .thenThrow(new UserServiceException("Could not find user with uuid: " + ERROR_USER_UUID, ErrorType.ENTITY_NOT_FOUND));
+
+        mockMvc.perform(post("/api/v1/workout/import")
+                        .param("userHandle", ERROR_USER_UUID.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Could not find user with uuid: " + ERROR_USER_UUID)))
+                .andExpect(jsonPath("$.type", is(ErrorType.ENTITY_NOT_FOUND.toString())));
+    }
+
 //    @Test
 //    public void testGetWorkoutsByUserIdAndDateRange_Success() throws Exception {
 //        String from = "2023-01-01T00:00:00Z";